@@ -13,4 +13,11 @@ public class CourseFullException extends RuntimeException {
     public CourseFullException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * @param writableStackTrace false jika stack trace tidak perlu diisi (mode stackless)
+     */
+    public CourseFullException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.siakad.exception;
+
+/**
+ * Exception yang dilempar ketika akses ke database gagal
+ */
+
+public class DataAccessException extends RuntimeException {
+
+    public DataAccessException(String message) {
+        super(message);
+    }
+
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
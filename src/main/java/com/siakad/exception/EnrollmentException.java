@@ -13,4 +13,11 @@ public class EnrollmentException extends RuntimeException {
     public EnrollmentException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * @param writableStackTrace false jika stack trace tidak perlu diisi (mode stackless)
+     */
+    public EnrollmentException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
\ No newline at end of file
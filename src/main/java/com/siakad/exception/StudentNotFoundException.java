@@ -13,4 +13,11 @@ public class StudentNotFoundException extends RuntimeException {
     public StudentNotFoundException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * @param writableStackTrace false jika stack trace tidak perlu diisi (mode stackless)
+     */
+    public StudentNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.siakad.repository;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter untuk key String yang aman dipakai banyak thread
+ *
+ * {@link #mightContain(String)} tidak pernah menghasilkan false negative: jika hasilnya
+ * false, key pasti belum pernah ditambahkan. Bit di-set dengan CAS sehingga penambahan
+ * tidak memerlukan lock.
+ */
+
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitMask;
+    private final int hashFunctions;
+
+    private BloomFilter(long numBits, int hashFunctions) {
+        this.bits = new AtomicLongArray((int) (numBits >>> 6));
+        this.bitMask = numBits - 1;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Membuat Bloom filter dengan ukuran optimal
+     * @param expectedInsertions Perkiraan jumlah key
+     * @param falsePositiveRate Target false positive rate, misalnya 0.01
+     * @return Bloom filter kosong
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long n = Math.max(1, expectedInsertions);
+        double optimalBits = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long numBits = Math.max(64, Long.highestOneBit((long) Math.ceil(optimalBits) - 1) << 1);
+        if (numBits > (long) Integer.MAX_VALUE << 6) {
+            throw new IllegalArgumentException("Bloom filter too large: " + numBits + " bits");
+        }
+        int hashFunctions = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+        return new BloomFilter(numBits, Math.min(hashFunctions, 16));
+    }
+
+    /**
+     * Menambahkan key ke filter
+     * @param key Key yang ditambahkan
+     */
+    public void add(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = (h1 + (long) i * h2) & bitMask;
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = bits.get(index);
+            while ((word & mask) == 0 && !bits.compareAndSet(index, word, word | mask)) {
+                word = bits.get(index);
+            }
+        }
+    }
+
+    /**
+     * Mengecek apakah key mungkin sudah ditambahkan
+     * @param key Key yang dicek
+     * @return false jika key pasti belum pernah ditambahkan
+     */
+    public boolean mightContain(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = (h1 + (long) i * h2) & bitMask;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash64(String key) {
+        // FNV-1a 64-bit lalu finalizer murmur3
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,281 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decorator StudentRepository dengan cache read-through berkapasitas terbatas
+ *
+ * Kebijakan eviction mengikuti W-TinyLFU: entry baru masuk ke window LRU kecil (1%),
+ * lalu bersaing masuk ke main cache (SLRU probation/protected) berdasarkan perkiraan
+ * frekuensi akses dari {@link FrequencySketch}. Entry yang hanya diakses sekali tidak
+ * bisa menggeser entry yang sering diakses.
+ *
+ * Data cache dibaca tanpa lock. Pencatatan akses memakai tryLock dan boleh dilewati saat
+ * lock sedang dipakai, sehingga pembaca tidak pernah menunggu. {@link #update(Student)}
+ * bersifat write-through dan dijalankan di dalam {@link ConcurrentHashMap#compute}, sehingga
+ * load dari delegate untuk key yang sama tidak bisa menimpa data yang lebih baru.
+ *
+ * {@link #findAllById(List)} dan {@link #updateAll(Collection)} diteruskan ke delegate dalam satu
+ * panggilan. Setelah updateAll, entry yang ditulis dihapus dari cache (bukan diganti), dan hasil
+ * findAllById hanya disimpan jika tidak ada penulisan selama pembacaan berlangsung.
+ */
+
+public class CachingStudentRepository implements StudentRepository {
+
+    private final StudentRepository delegate;
+    private final ConcurrentHashMap<String, Student> data = new ConcurrentHashMap<>();
+    // Bumped before a bulk write or invalidation drops entries; bulk loads cache nothing across a bump
+    private final AtomicLong removals = new AtomicLong();
+
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<String, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Boolean> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Boolean> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxWindow;
+    private final int maxMain;
+    private final int maxProtected;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param delegate Repository asli (misalnya database)
+     * @param maximumSize Jumlah maksimal mahasiswa yang disimpan di cache
+     */
+    public CachingStudentRepository(StudentRepository delegate, int maximumSize) {
+        if (maximumSize < 2) {
+            throw new IllegalArgumentException("Maximum size must be at least 2");
+        }
+        this.delegate = delegate;
+        this.sketch = new FrequencySketch(maximumSize);
+        this.maxWindow = Math.max(1, maximumSize / 100);
+        this.maxMain = maximumSize - maxWindow;
+        this.maxProtected = Math.max(1, maxMain * 4 / 5);
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        Student cached = data.get(studentId);
+        if (cached != null) {
+            hits.increment();
+            if (policyLock.tryLock()) {
+                try {
+                    onAccess(studentId);
+                } finally {
+                    policyLock.unlock();
+                }
+            }
+            return InMemoryStudentRepository.copyOf(cached);
+        }
+
+        misses.increment();
+        Student loaded = data.computeIfAbsent(studentId, delegate::findById);
+        if (loaded == null) {
+            return null;
+        }
+        admit(studentId);
+        return InMemoryStudentRepository.copyOf(loaded);
+    }
+
+    @Override
+    public void update(Student student) {
+        Student snapshot = InMemoryStudentRepository.copyOf(student);
+        data.compute(student.getStudentId(), (id, current) -> {
+            delegate.update(snapshot);
+            return snapshot;
+        });
+        admit(student.getStudentId());
+    }
+
+    @Override
+    public List<Student> findAllById(List<String> studentIds) {
+        Map<String, Student> cached = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String studentId : studentIds) {
+            Student student = data.get(studentId);
+            if (student != null) {
+                cached.put(studentId, student);
+            } else {
+                missing.add(studentId);
+            }
+        }
+        hits.add(cached.size());
+        if (!cached.isEmpty() && policyLock.tryLock()) {
+            try {
+                for (String studentId : cached.keySet()) {
+                    onAccess(studentId);
+                }
+            } finally {
+                policyLock.unlock();
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            misses.add(missing.size());
+            long stamp = removals.get();
+            for (Student loaded : delegate.findAllById(missing)) {
+                String studentId = loaded.getStudentId();
+                cached.put(studentId, loaded);
+                // An entry already present is newer; a bump means this read may predate a write
+                Student kept = data.compute(studentId,
+                        (id, current) -> current != null || removals.get() != stamp ? current : loaded);
+                if (kept == loaded) {
+                    admit(studentId);
+                }
+            }
+        }
+
+        List<Student> students = new ArrayList<>(studentIds.size());
+        for (String studentId : studentIds) {
+            Student student = cached.get(studentId);
+            if (student != null) {
+                students.add(InMemoryStudentRepository.copyOf(student));
+            }
+        }
+        return students;
+    }
+
+    @Override
+    public void updateAll(Collection<Student> students) {
+        delegate.updateAll(students);
+        for (Student student : students) {
+            invalidate(student.getStudentId());
+        }
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        return delegate.getCompletedCourses(studentId);
+    }
+
+    /**
+     * Menghapus mahasiswa dari cache, misalnya setelah data diubah langsung di database
+     * @param studentId ID mahasiswa
+     */
+    public void invalidate(String studentId) {
+        removals.incrementAndGet();
+        policyLock.lock();
+        try {
+            data.remove(studentId);
+            if (window.remove(studentId) == null && probation.remove(studentId) == null) {
+                protectedSegment.remove(studentId);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Rasio hit terhadap seluruh pembacaan
+     * @return Hit rate (0.0 - 1.0), atau 0.0 jika belum ada pembacaan
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * Jumlah mahasiswa yang sedang disimpan di cache
+     * @return Ukuran cache
+     */
+    public int size() {
+        return data.size();
+    }
+
+    private void admit(String studentId) {
+        String victim;
+        policyLock.lock();
+        try {
+            victim = onInsert(studentId);
+            if (victim != null) {
+                data.remove(victim);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+        if (victim != null) {
+            evictions.increment();
+        }
+    }
+
+    // ---- W-TinyLFU policy, dipanggil dengan policyLock ----
+
+    private void onAccess(String key) {
+        sketch.increment(key);
+        if (window.get(key) != null || protectedSegment.get(key) != null) {
+            return;
+        }
+        if (probation.remove(key) != null) {
+            protectedSegment.put(key, Boolean.TRUE);
+            if (protectedSegment.size() > maxProtected) {
+                String demoted = removeEldest(protectedSegment);
+                probation.put(demoted, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * @return Key yang harus dikeluarkan dari cache, atau null
+     */
+    private String onInsert(String key) {
+        if (window.containsKey(key) || probation.containsKey(key) || protectedSegment.containsKey(key)) {
+            onAccess(key);
+            return null;
+        }
+        sketch.increment(key);
+        window.put(key, Boolean.TRUE);
+        if (window.size() <= maxWindow) {
+            return null;
+        }
+
+        String candidate = removeEldest(window);
+        if (probation.size() + protectedSegment.size() < maxMain) {
+            probation.put(candidate, Boolean.TRUE);
+            return null;
+        }
+
+        LinkedHashMap<String, Boolean> victimSegment = probation.isEmpty() ? protectedSegment : probation;
+        String victim = victimSegment.keySet().iterator().next();
+        if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+            victimSegment.remove(victim);
+            probation.put(candidate, Boolean.TRUE);
+            return victim;
+        }
+        return candidate;
+    }
+
+    private static String removeEldest(LinkedHashMap<String, Boolean> segment) {
+        Iterator<String> iterator = segment.keySet().iterator();
+        String eldest = iterator.next();
+        iterator.remove();
+        return eldest;
+    }
+}
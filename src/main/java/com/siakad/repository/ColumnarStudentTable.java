@@ -0,0 +1,454 @@
+package com.siakad.repository;
+
+import com.siakad.model.Student;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tabel mahasiswa kolumnar (struct-of-arrays) untuk kebutuhan analitik
+ *
+ * Setiap atribut disimpan di array primitif tersendiri: IPK di double[], semester di short[],
+ * status akademik sebagai kode byte, dan jurusan sebagai kode short dari kamus. Agregasi
+ * seluruh cohort hanya membaca kolom yang diperlukan secara berurutan, tanpa menyentuh
+ * object {@link Student}. Tabel diisi dari {@link StudentRepository} dan dijaga tetap
+ * sinkron lewat {@link #upsert(Student)}. Scan boleh berjalan bersamaan; penulisan
+ * mengambil write lock.
+ */
+
+public class ColumnarStudentTable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final HashMap<String, Integer> rowOf = new HashMap<>();
+    private final Dictionary majors = new Dictionary(Short.MAX_VALUE);
+    private final Dictionary statuses = new Dictionary(Byte.MAX_VALUE);
+
+    private String[] studentIds = new String[INITIAL_CAPACITY];
+    private double[] gpa = new double[INITIAL_CAPACITY];
+    private short[] semester = new short[INITIAL_CAPACITY];
+    private byte[] status = new byte[INITIAL_CAPACITY];
+    private short[] major = new short[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Membuat tabel dari kumpulan mahasiswa
+     * @param students Data mahasiswa, misalnya {@link InMemoryStudentRepository#findAll()}
+     * @return Tabel kolumnar
+     */
+    public static ColumnarStudentTable of(Collection<Student> students) {
+        ColumnarStudentTable table = new ColumnarStudentTable();
+        table.upsertAll(students);
+        return table;
+    }
+
+    /**
+     * Menambahkan mahasiswa baru atau memperbarui baris yang sudah ada
+     * @param student Data mahasiswa
+     */
+    public void upsert(Student student) {
+        lock.writeLock().lock();
+        try {
+            write(student);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Menambahkan atau memperbarui banyak mahasiswa dengan satu kali write lock
+     * @param students Data mahasiswa
+     */
+    public void upsertAll(Collection<Student> students) {
+        lock.writeLock().lock();
+        try {
+            for (Student student : students) {
+                write(student);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(Student student) {
+        Integer existing = rowOf.get(student.getStudentId());
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            if (size == studentIds.length) {
+                grow();
+            }
+            row = size++;
+            studentIds[row] = student.getStudentId();
+            rowOf.put(student.getStudentId(), row);
+        }
+        gpa[row] = student.getGpa();
+        semester[row] = (short) student.getSemester();
+        status[row] = (byte) statuses.codeOf(student.getAcademicStatus());
+        major[row] = (short) majors.codeOf(student.getMajor());
+    }
+
+    private void grow() {
+        int capacity = studentIds.length * 2;
+        studentIds = Arrays.copyOf(studentIds, capacity);
+        gpa = Arrays.copyOf(gpa, capacity);
+        semester = Arrays.copyOf(semester, capacity);
+        status = Arrays.copyOf(status, capacity);
+        major = Arrays.copyOf(major, capacity);
+    }
+
+    /**
+     * Menghapus mahasiswa dari tabel. Baris terakhir dipindah ke posisi yang kosong.
+     * @param studentId ID mahasiswa
+     * @return true jika mahasiswa ada di tabel
+     */
+    public boolean remove(String studentId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowOf.remove(studentId);
+            if (row == null) {
+                return false;
+            }
+            int last = --size;
+            if (row != last) {
+                studentIds[row] = studentIds[last];
+                gpa[row] = gpa[last];
+                semester[row] = semester[last];
+                status[row] = status[last];
+                major[row] = major[last];
+                rowOf.put(studentIds[row], row);
+            }
+            studentIds[last] = null;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Jumlah mahasiswa di tabel
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Menghitung mahasiswa yang cocok dengan filter
+     * @param filter Filter baris
+     * @return Jumlah mahasiswa
+     */
+    public long count(Filter filter) {
+        lock.readLock().lock();
+        try {
+            Scan scan = compile(filter);
+            long count = 0;
+            for (int row = 0; row < size; row++) {
+                count += scan.matches(row) ? 1 : 0;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rata-rata IPK mahasiswa yang cocok dengan filter
+     * @param filter Filter baris
+     * @return Rata-rata IPK, atau 0.0 jika tidak ada yang cocok
+     */
+    public double averageGpa(Filter filter) {
+        lock.readLock().lock();
+        try {
+            double sum = 0.0;
+            long count = 0;
+            if (filter.isAll()) {
+                // Full-cohort fast path: a single sequential pass over one column
+                for (int row = 0; row < size; row++) {
+                    sum += gpa[row];
+                }
+                count = size;
+            } else {
+                Scan scan = compile(filter);
+                for (int row = 0; row < size; row++) {
+                    // Add 0 or 1 instead of branching on the (unpredictable) match result
+                    int hit = scan.matches(row) ? 1 : 0;
+                    sum += gpa[row] * hit;
+                    count += hit;
+                }
+            }
+            return count == 0 ? 0.0 : sum / count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Jumlah mahasiswa per status akademik
+     * @param filter Filter baris
+     * @return Map status ke jumlah mahasiswa, terurut berdasarkan status
+     */
+    public Map<String, Long> countByStatus(Filter filter) {
+        lock.readLock().lock();
+        try {
+            Scan scan = compile(filter);
+            long[] counts = new long[statuses.size()];
+            for (int row = 0; row < size; row++) {
+                if (scan.matches(row)) {
+                    counts[status[row]]++;
+                }
+            }
+            Map<String, Long> result = new TreeMap<>(NULLS_FIRST);
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    result.put(statuses.valueOf(code), counts[code]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rata-rata IPK per jurusan
+     * @param filter Filter baris
+     * @return Map jurusan ke rata-rata IPK, terurut berdasarkan jurusan
+     */
+    public Map<String, Double> averageGpaByMajor(Filter filter) {
+        lock.readLock().lock();
+        try {
+            Scan scan = compile(filter);
+            double[] sums = new double[majors.size()];
+            long[] counts = new long[majors.size()];
+            for (int row = 0; row < size; row++) {
+                if (scan.matches(row)) {
+                    sums[major[row]] += gpa[row];
+                    counts[major[row]]++;
+                }
+            }
+            Map<String, Double> result = new TreeMap<>(NULLS_FIRST);
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    result.put(majors.valueOf(code), sums[code] / counts[code]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Histogram IPK dengan lebar bin yang sama di rentang 0.0 - 4.0
+     * IPK 4.0 masuk ke bin terakhir.
+     * @param filter Filter baris
+     * @param bins Jumlah bin
+     * @return Jumlah mahasiswa per bin
+     */
+    public long[] gpaHistogram(Filter filter, int bins) {
+        if (bins < 1) {
+            throw new IllegalArgumentException("Bins must be positive");
+        }
+        lock.readLock().lock();
+        try {
+            Scan scan = compile(filter);
+            long[] histogram = new long[bins];
+            double scale = bins / 4.0;
+            for (int row = 0; row < size; row++) {
+                if (scan.matches(row)) {
+                    int bin = (int) (gpa[row] * scale);
+                    histogram[Math.max(0, Math.min(bins - 1, bin))]++;
+                }
+            }
+            return histogram;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * ID mahasiswa yang cocok dengan filter
+     * @param filter Filter baris
+     * @return Daftar ID sesuai urutan baris di tabel
+     */
+    public List<String> studentIds(Filter filter) {
+        lock.readLock().lock();
+        try {
+            Scan scan = compile(filter);
+            List<String> ids = new ArrayList<>();
+            for (int row = 0; row < size; row++) {
+                if (scan.matches(row)) {
+                    ids.add(studentIds[row]);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Scan compile(Filter filter) {
+        return new Scan(this, codeFor(majors, filter.major), codeFor(statuses, filter.status),
+                filter.minGpa, filter.maxGpa, filter.minSemester, filter.maxSemester);
+    }
+
+    // -1 matches any value; a value never stored gets a code no row carries
+    private static int codeFor(Dictionary dictionary, String value) {
+        if (value == null) {
+            return -1;
+        }
+        int code = dictionary.find(value);
+        return code >= 0 ? code : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Filter baris untuk scan dan agregasi. Kriteria yang tidak diset cocok dengan semua baris.
+     */
+    public static final class Filter {
+        private String major;
+        private String status;
+        private double minGpa = Double.NEGATIVE_INFINITY;
+        private double maxGpa = Double.POSITIVE_INFINITY;
+        private int minSemester = Integer.MIN_VALUE;
+        private int maxSemester = Integer.MAX_VALUE;
+
+        private Filter() {
+        }
+
+        /**
+         * @return Filter yang cocok dengan semua mahasiswa
+         */
+        public static Filter all() {
+            return new Filter();
+        }
+
+        public Filter major(String major) {
+            this.major = major;
+            return this;
+        }
+
+        public Filter status(String status) {
+            this.status = status;
+            return this;
+        }
+
+        /**
+         * @param min IPK minimum (inklusif)
+         * @param max IPK maksimum (inklusif)
+         */
+        public Filter gpaBetween(double min, double max) {
+            this.minGpa = min;
+            this.maxGpa = max;
+            return this;
+        }
+
+        /**
+         * @param min Semester minimum (inklusif)
+         * @param max Semester maksimum (inklusif)
+         */
+        public Filter semesterBetween(int min, int max) {
+            this.minSemester = min;
+            this.maxSemester = max;
+            return this;
+        }
+
+        boolean isAll() {
+            return major == null && status == null
+                    && minGpa == Double.NEGATIVE_INFINITY && maxGpa == Double.POSITIVE_INFINITY
+                    && minSemester == Integer.MIN_VALUE && maxSemester == Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Filter yang sudah diterjemahkan ke kode kolom untuk satu scan
+     * Kolom disalin ke field final agar JIT bisa menjaga referensinya di register selama loop.
+     */
+    private static final class Scan {
+        private final double[] gpa;
+        private final short[] semester;
+        private final byte[] status;
+        private final short[] major;
+        private final int majorCode;
+        private final int statusCode;
+        private final double minGpa;
+        private final double maxGpa;
+        private final int minSemester;
+        private final int maxSemester;
+
+        Scan(ColumnarStudentTable table, int majorCode, int statusCode,
+             double minGpa, double maxGpa, int minSemester, int maxSemester) {
+            this.gpa = table.gpa;
+            this.semester = table.semester;
+            this.status = table.status;
+            this.major = table.major;
+            this.majorCode = majorCode;
+            this.statusCode = statusCode;
+            this.minGpa = minGpa;
+            this.maxGpa = maxGpa;
+            this.minSemester = minSemester;
+            this.maxSemester = maxSemester;
+        }
+
+        // Non-short-circuit '&' keeps the per-row check free of data-dependent branches
+        boolean matches(int row) {
+            return (majorCode < 0 | major[row] == majorCode)
+                    & (statusCode < 0 | status[row] == statusCode)
+                    & gpa[row] >= minGpa & gpa[row] <= maxGpa
+                    & semester[row] >= minSemester & semester[row] <= maxSemester;
+        }
+    }
+
+    /**
+     * Kamus string ke kode padat untuk kolom jurusan dan status
+     */
+    private static final class Dictionary {
+        private final int maxCodes;
+        private final HashMap<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        Dictionary(int maxCodes) {
+            this.maxCodes = maxCodes;
+        }
+
+        int codeOf(String value) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (values.size() >= maxCodes) {
+                throw new IllegalStateException("Too many distinct values: " + values.size());
+            }
+            values.add(value);
+            codes.put(value, values.size() - 1);
+            return values.size() - 1;
+        }
+
+        int find(String value) {
+            Integer code = codes.get(value);
+            return code == null ? -1 : code;
+        }
+
+        String valueOf(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
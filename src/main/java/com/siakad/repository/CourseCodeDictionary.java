@@ -0,0 +1,74 @@
+package com.siakad.repository;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kamus yang memetakan setiap kode mata kuliah ke ID integer yang padat (0, 1, 2, ...)
+ * ID yang sudah diberikan tidak pernah berubah, sehingga aman dipakai sebagai indeks bitset.
+ */
+
+public class CourseCodeDictionary {
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private volatile String[] codes = new String[64];
+
+    /**
+     * Mendapatkan ID untuk kode mata kuliah, memberikan ID baru jika belum ada
+     * @param courseCode Kode mata kuliah
+     * @return ID padat mata kuliah
+     */
+    public int idOf(String courseCode) {
+        Integer id = ids.get(courseCode);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(courseCode, code -> {
+            int assigned = nextId.getAndIncrement();
+            registerCode(assigned, code);
+            return assigned;
+        });
+    }
+
+    /**
+     * Mendapatkan kode mata kuliah dari ID-nya
+     * @param id ID dari {@link #idOf(String)}
+     * @return Kode mata kuliah
+     */
+    public String codeOf(int id) {
+        String[] current = codes;
+        if (id < 0 || id >= current.length || current[id] == null) {
+            throw new IllegalArgumentException("Unknown course id: " + id);
+        }
+        return current[id];
+    }
+
+    private synchronized void registerCode(int id, String code) {
+        String[] current = codes;
+        if (id >= current.length) {
+            current = Arrays.copyOf(current, Math.max(current.length * 2, id + 1));
+        }
+        current[id] = code;
+        codes = current;
+    }
+
+    /**
+     * Mencari ID kode mata kuliah tanpa memberikan ID baru
+     * @param courseCode Kode mata kuliah
+     * @return ID padat mata kuliah, atau -1 jika belum terdaftar
+     */
+    public int find(String courseCode) {
+        Integer id = ids.get(courseCode);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Jumlah kode mata kuliah yang sudah terdaftar
+     * @return Jumlah ID yang sudah diberikan
+     */
+    public int size() {
+        return nextId.get();
+    }
+}
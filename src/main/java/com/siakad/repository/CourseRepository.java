@@ -2,6 +2,8 @@ package com.siakad.repository;
 
 import com.siakad.model.Course;
 
+import java.util.Collection;
+
 /**
  * Interface untuk akses data mata kuliah
  * Interface ini akan di-stub atau di-mock dalam unit testing
@@ -22,6 +24,17 @@ public interface CourseRepository {
      */
     void update(Course course);
 
+    /**
+     * Update banyak data sekaligus
+     * Implementasi database dapat mengirimkannya sebagai satu batch
+     * @param courses Course object yang akan diupdate
+     */
+    default void updateAll(Collection<Course> courses) {
+        for (Course course : courses) {
+            update(course);
+        }
+    }
+
     /**
      * Mengecek apakah prasyarat mata kuliah sudah terpenuhi
      * @param studentId ID mahasiswa
@@ -0,0 +1,84 @@
+package com.siakad.repository;
+
+/**
+ * Count-min sketch dengan counter 4-bit untuk memperkirakan frekuensi akses (TinyLFU)
+ *
+ * Setiap long menampung 16 counter. Setelah jumlah penambahan mencapai sample size,
+ * semua counter dibagi dua (aging) agar frekuensi lama perlahan dilupakan.
+ * Class ini tidak thread-safe; pemanggil harus menjaga aksesnya.
+ */
+
+class FrequencySketch {
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int[] SEEDS = {0x97cb3127, 0xc2b2ae35, 0x85ebca6b, 0x27d4eb2f};
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int size = Integer.highestOneBit(Math.max(8, maximumSize) - 1) << 1;
+        this.table = new long[size];
+        this.tableMask = size - 1;
+        this.sampleSize = 10 * Math.max(1, maximumSize);
+    }
+
+    /**
+     * Perkiraan frekuensi akses sebuah key (0 - 15)
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int offset = counterOffset(hash, i);
+            frequency = Math.min(frequency, (int) ((table[index] >>> offset) & 0xF));
+        }
+        return frequency;
+    }
+
+    /**
+     * Menambah frekuensi akses sebuah key
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int offset = counterOffset(hash, i);
+            if (((table[index] >>> offset) & 0xF) != 0xF) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private int indexOf(int hash, int i) {
+        int h = (hash + SEEDS[i]) * SEEDS[i];
+        h ^= h >>> 17;
+        return h & tableMask;
+    }
+
+    private static int counterOffset(int hash, int i) {
+        // 16 counter per long, masing-masing 4 bit
+        return (((hash >>> (i << 3)) & 0xF) << 2);
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -0,0 +1,53 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+
+import java.util.Collection;
+
+/**
+ * Decorator CourseRepository yang menolak kode mata kuliah tidak dikenal tanpa menyentuh store
+ * Lihat {@link KnownKeyFilter}.
+ */
+
+public class GuardedCourseRepository implements CourseRepository {
+
+    private final CourseRepository delegate;
+    private final KnownKeyFilter filter;
+
+    public GuardedCourseRepository(CourseRepository delegate, KnownKeyFilter filter) {
+        this.delegate = delegate;
+        this.filter = filter;
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        if (!filter.mayExist(courseCode)) {
+            return null;
+        }
+        long version = filter.version(courseCode);
+        Course course = delegate.findByCourseCode(courseCode);
+        if (course == null) {
+            filter.recordMissing(courseCode, version);
+        }
+        return course;
+    }
+
+    @Override
+    public void update(Course course) {
+        delegate.update(course);
+        filter.register(course.getCourseCode());
+    }
+
+    @Override
+    public void updateAll(Collection<Course> courses) {
+        delegate.updateAll(courses);
+        for (Course course : courses) {
+            filter.register(course.getCourseCode());
+        }
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        return filter.mayExist(courseCode) && delegate.isPrerequisiteMet(studentId, courseCode);
+    }
+}
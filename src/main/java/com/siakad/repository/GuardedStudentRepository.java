@@ -0,0 +1,87 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decorator StudentRepository yang menolak ID mahasiswa tidak dikenal tanpa menyentuh store
+ * Lihat {@link KnownKeyFilter}.
+ */
+
+public class GuardedStudentRepository implements StudentRepository {
+
+    private final StudentRepository delegate;
+    private final KnownKeyFilter filter;
+
+    public GuardedStudentRepository(StudentRepository delegate, KnownKeyFilter filter) {
+        this.delegate = delegate;
+        this.filter = filter;
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        if (!filter.mayExist(studentId)) {
+            return null;
+        }
+        long version = filter.version(studentId);
+        Student student = delegate.findById(studentId);
+        if (student == null) {
+            filter.recordMissing(studentId, version);
+        }
+        return student;
+    }
+
+    @Override
+    public List<Student> findAllById(List<String> studentIds) {
+        List<String> candidates = new ArrayList<>(studentIds.size());
+        long[] versions = new long[studentIds.size()];
+        for (String studentId : studentIds) {
+            if (filter.mayExist(studentId)) {
+                versions[candidates.size()] = filter.version(studentId);
+                candidates.add(studentId);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Student> students = delegate.findAllById(candidates);
+        Set<String> found = new HashSet<>();
+        for (Student student : students) {
+            found.add(student.getStudentId());
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            if (!found.contains(candidates.get(i))) {
+                filter.recordMissing(candidates.get(i), versions[i]);
+            }
+        }
+        return students;
+    }
+
+    @Override
+    public void update(Student student) {
+        delegate.update(student);
+        filter.register(student.getStudentId());
+    }
+
+    @Override
+    public void updateAll(Collection<Student> students) {
+        delegate.updateAll(students);
+        for (Student student : students) {
+            filter.register(student.getStudentId());
+        }
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        if (!filter.mayExist(studentId)) {
+            return List.of();
+        }
+        return delegate.getCompletedCourses(studentId);
+    }
+}
@@ -0,0 +1,163 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementasi CourseRepository di memori
+ *
+ * Sama seperti {@link InMemoryStudentRepository}, data disimpan sebagai salinan di
+ * {@link ConcurrentHashMap}: {@link #findByCourseCode(String)} tidak mengambil lock
+ * dan {@link #update(Course)} mengganti data secara atomik.
+ *
+ * Jika dibuat dari {@link InMemoryStudentRepository}, repository ini juga mendukung
+ * {@link #reserveSeat(String, String)}: validasi dan penambahan jumlah peserta dilakukan
+ * atomik di dalam satu {@link ConcurrentHashMap#compute}.
+ */
+
+public class InMemoryCourseRepository implements CourseRepository, SeatReservationRepository {
+
+    private final ConcurrentHashMap<String, Course> courses = new ConcurrentHashMap<>();
+    private final PrerequisiteIndex prerequisiteIndex;
+    private final StudentRepository studentRepository;
+    private volatile KnownKeyFilter keyFilter;
+
+    /**
+     * @param prerequisiteIndex Indeks prasyarat yang juga dipakai oleh repository mahasiswa
+     */
+    public InMemoryCourseRepository(PrerequisiteIndex prerequisiteIndex) {
+        this.prerequisiteIndex = prerequisiteIndex;
+        this.studentRepository = null;
+    }
+
+    /**
+     * @param studentRepository Repository mahasiswa yang indeks prasyaratnya akan dipakai bersama
+     */
+    public InMemoryCourseRepository(InMemoryStudentRepository studentRepository) {
+        this.prerequisiteIndex = studentRepository.getPrerequisiteIndex();
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * Menyimpan mata kuliah baru atau mengganti data yang sudah ada
+     * @param course Course object yang akan disimpan
+     */
+    public void save(Course course) {
+        update(course);
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        Course course = courses.get(courseCode);
+        return course == null ? null : copyOf(course);
+    }
+
+    @Override
+    public void update(Course course) {
+        Course snapshot = copyOf(course);
+        boolean[] inserted = new boolean[1];
+        courses.compute(course.getCourseCode(), (code, previous) -> {
+            if (previous == null || !previous.getPrerequisites().equals(snapshot.getPrerequisites())) {
+                prerequisiteIndex.setPrerequisites(code, snapshot.getPrerequisites());
+            }
+            inserted[0] = previous == null;
+            return snapshot;
+        });
+        KnownKeyFilter filter = keyFilter;
+        if (inserted[0] && filter != null) {
+            filter.register(course.getCourseCode());
+        }
+    }
+
+    /**
+     * Mendaftarkan semua kode yang sudah ada, dan setiap kode baru dari {@link #save(Course)}
+     * atau {@link #update(Course)}, ke filter {@link GuardedCourseRepository}
+     * @param filter Filter yang menjaga repository ini
+     */
+    public void registerKeysWith(KnownKeyFilter filter) {
+        keyFilter = filter;
+        for (String courseCode : courses.keySet()) {
+            filter.register(courseCode);
+        }
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        return prerequisiteIndex.isPrerequisiteMet(studentId, courseCode);
+    }
+
+    @Override
+    public SeatReservation reserveSeat(String studentId, String courseCode) {
+        if (studentRepository == null) {
+            throw new IllegalStateException("Seat reservation requires a student repository");
+        }
+        Student student = studentRepository.findById(studentId);
+        if (student == null) {
+            return SeatReservation.rejected(SeatReservation.Status.STUDENT_NOT_FOUND);
+        }
+        if ("SUSPENDED".equals(student.getAcademicStatus())) {
+            return SeatReservation.rejected(SeatReservation.Status.STUDENT_SUSPENDED);
+        }
+
+        SeatReservation[] outcome = new SeatReservation[1];
+        courses.computeIfPresent(courseCode, (code, current) -> {
+            if (current.getEnrolledCount() >= current.getCapacity()) {
+                outcome[0] = SeatReservation.rejected(SeatReservation.Status.COURSE_FULL);
+                return current;
+            }
+            if (!prerequisiteIndex.isPrerequisiteMet(studentId, code)) {
+                outcome[0] = SeatReservation.rejected(SeatReservation.Status.PREREQUISITE_NOT_MET);
+                return current;
+            }
+            Course reserved = copyOf(current);
+            reserved.setEnrolledCount(current.getEnrolledCount() + 1);
+            outcome[0] = new SeatReservation(SeatReservation.Status.RESERVED, student, copyOf(reserved));
+            return reserved;
+        });
+        if (outcome[0] == null) {
+            return SeatReservation.rejected(SeatReservation.Status.COURSE_NOT_FOUND);
+        }
+        return outcome[0];
+    }
+
+    @Override
+    public boolean releaseSeat(String courseCode) {
+        boolean[] released = new boolean[1];
+        courses.computeIfPresent(courseCode, (code, current) -> {
+            if (current.getEnrolledCount() <= 0) {
+                return current;
+            }
+            Course updated = copyOf(current);
+            updated.setEnrolledCount(current.getEnrolledCount() - 1);
+            released[0] = true;
+            return updated;
+        });
+        return released[0];
+    }
+
+    /**
+     * Mendapatkan semua mata kuliah yang tersimpan
+     * @return Salinan semua data mata kuliah
+     */
+    public Collection<Course> findAll() {
+        List<Course> all = new ArrayList<>(courses.size());
+        for (Course course : courses.values()) {
+            all.add(copyOf(course));
+        }
+        return all;
+    }
+
+    static Course copyOf(Course course) {
+        Course copy = new Course(course.getCourseCode(), course.getCourseName(), course.getCredits(),
+                course.getCapacity(), course.getEnrolledCount(), course.getLecturer());
+        if (course.getPrerequisites() != null) {
+            copy.setPrerequisites(new ArrayList<>(course.getPrerequisites()));
+        }
+        return copy;
+    }
+}
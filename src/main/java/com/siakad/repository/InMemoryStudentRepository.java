@@ -0,0 +1,126 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementasi StudentRepository di memori
+ *
+ * Data disimpan sebagai salinan di {@link ConcurrentHashMap}, sehingga pembacaan
+ * tidak mengambil lock dan setiap {@link #update(Student)} terlihat utuh (linearizable)
+ * oleh pembaca berikutnya. Object yang dikembalikan adalah salinan; perubahan pada
+ * object tersebut baru tersimpan setelah {@link #update(Student)} dipanggil.
+ */
+
+public class InMemoryStudentRepository implements StudentRepository {
+
+    private final ConcurrentHashMap<String, Student> students = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, List<Course>> completedCourses = new ConcurrentHashMap<>();
+    private final PrerequisiteIndex prerequisiteIndex;
+    private volatile KnownKeyFilter keyFilter;
+
+    public InMemoryStudentRepository() {
+        this(new PrerequisiteIndex());
+    }
+
+    /**
+     * @param prerequisiteIndex Indeks prasyarat yang diperbarui setiap ada mata kuliah selesai
+     */
+    public InMemoryStudentRepository(PrerequisiteIndex prerequisiteIndex) {
+        this.prerequisiteIndex = prerequisiteIndex;
+    }
+
+    public PrerequisiteIndex getPrerequisiteIndex() {
+        return prerequisiteIndex;
+    }
+
+    /**
+     * Menyimpan mahasiswa baru atau mengganti data yang sudah ada
+     * @param student Student object yang akan disimpan
+     */
+    public void save(Student student) {
+        update(student);
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        Student student = students.get(studentId);
+        return student == null ? null : copyOf(student);
+    }
+
+    @Override
+    public void update(Student student) {
+        if (students.put(student.getStudentId(), copyOf(student)) == null) {
+            registerKey(student.getStudentId());
+        }
+    }
+
+    /**
+     * Mendaftarkan semua ID yang sudah ada, dan setiap ID baru dari {@link #save(Student)}
+     * atau {@link #update(Student)}, ke filter {@link GuardedStudentRepository}
+     * @param filter Filter yang menjaga repository ini
+     */
+    public void registerKeysWith(KnownKeyFilter filter) {
+        keyFilter = filter;
+        for (String studentId : students.keySet()) {
+            filter.register(studentId);
+        }
+    }
+
+    private void registerKey(String studentId) {
+        KnownKeyFilter filter = keyFilter;
+        if (filter != null) {
+            filter.register(studentId);
+        }
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        return completedCourses.getOrDefault(studentId, List.of());
+    }
+
+    /**
+     * Mencatat mata kuliah yang sudah diselesaikan mahasiswa
+     * @param studentId ID mahasiswa
+     * @param course Mata kuliah yang sudah diselesaikan
+     */
+    public void addCompletedCourse(String studentId, Course course) {
+        Course snapshot = InMemoryCourseRepository.copyOf(course);
+        completedCourses.compute(studentId, (id, current) -> {
+            List<Course> next = current == null ? new ArrayList<>(1) : new ArrayList<>(current);
+            next.add(snapshot);
+            return List.copyOf(next);
+        });
+        prerequisiteIndex.recordCompletion(studentId, course.getCourseCode());
+    }
+
+    /**
+     * Mendapatkan semua mahasiswa yang tersimpan
+     * @return Salinan semua data mahasiswa
+     */
+    public Collection<Student> findAll() {
+        List<Student> all = new ArrayList<>(students.size());
+        for (Student student : students.values()) {
+            all.add(copyOf(student));
+        }
+        return all;
+    }
+
+    /**
+     * Jumlah mahasiswa yang tersimpan
+     * @return Jumlah mahasiswa
+     */
+    public int size() {
+        return students.size();
+    }
+
+    static Student copyOf(Student student) {
+        return new Student(student.getStudentId(), student.getName(), student.getEmail(),
+                student.getMajor(), student.getSemester(), student.getGpa(), student.getAcademicStatus());
+    }
+}
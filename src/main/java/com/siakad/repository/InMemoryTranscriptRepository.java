@@ -0,0 +1,45 @@
+package com.siakad.repository;
+
+import com.siakad.model.CourseGrade;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementasi TranscriptRepository di memori
+ * Setiap transkrip disimpan sebagai list immutable yang diganti utuh saat ada nilai baru.
+ */
+
+public class InMemoryTranscriptRepository implements TranscriptRepository {
+
+    private final ConcurrentHashMap<String, List<CourseGrade>> transcripts = new ConcurrentHashMap<>();
+
+    /**
+     * Menambahkan satu nilai ke transkrip mahasiswa
+     * @param studentId ID mahasiswa
+     * @param grade Nilai mata kuliah
+     */
+    public void addGrade(String studentId, CourseGrade grade) {
+        CourseGrade snapshot = new CourseGrade(grade.getCourseCode(), grade.getCredits(), grade.getGradePoint());
+        transcripts.compute(studentId, (id, current) -> {
+            List<CourseGrade> next = current == null ? new ArrayList<>(1) : new ArrayList<>(current);
+            next.add(snapshot);
+            return List.copyOf(next);
+        });
+    }
+
+    @Override
+    public Map<String, List<CourseGrade>> findTranscripts(List<String> studentIds) {
+        Map<String, List<CourseGrade>> found = new HashMap<>(studentIds.size() * 2);
+        for (String studentId : studentIds) {
+            List<CourseGrade> transcript = transcripts.get(studentId);
+            if (transcript != null) {
+                found.put(studentId, transcript);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,331 @@
+package com.siakad.repository;
+
+import com.siakad.exception.DataAccessException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection pool JDBC sederhana dengan cache PreparedStatement per koneksi
+ *
+ * Jumlah koneksi dibatasi oleh {@link Semaphore}; koneksi dibuat saat dibutuhkan dan
+ * dikembalikan ke antrian idle (LIFO, agar koneksi yang masih "hangat" dipakai ulang).
+ * Setiap koneksi menyimpan PreparedStatement yang sudah di-prepare dalam cache LRU,
+ * sehingga SQL yang sama tidak di-parse ulang oleh database. Koneksi yang mengalami
+ * error koneksi (SQLState 08xxx) dibuang, bukan dikembalikan ke pool.
+ * Setiap peminjaman mendapat {@link PooledConnection} baru, sehingga close() yang
+ * terpanggil dua kali tidak bisa mengembalikan koneksi yang sudah dipinjam orang lain.
+ */
+
+public class JdbcConnectionPool implements AutoCloseable {
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int statementCacheSize;
+    private final long borrowTimeoutNanos;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PhysicalConnection> idle = new ConcurrentLinkedDeque<>();
+    private volatile boolean closed;
+
+    public JdbcConnectionPool(String url, String user, String password, int maxSize) {
+        this(url, user, password, maxSize, 64, Duration.ofSeconds(30));
+    }
+
+    /**
+     * @param url JDBC URL
+     * @param user Username database
+     * @param password Password database
+     * @param maxSize Jumlah maksimal koneksi yang terbuka
+     * @param statementCacheSize Jumlah PreparedStatement yang disimpan per koneksi
+     * @param borrowTimeout Lama maksimal menunggu koneksi yang tersedia
+     */
+    public JdbcConnectionPool(String url, String user, String password, int maxSize,
+                              int statementCacheSize, Duration borrowTimeout) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.statementCacheSize = statementCacheSize;
+        this.borrowTimeoutNanos = borrowTimeout.toNanos();
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Pekerjaan yang dijalankan dengan satu koneksi dari pool
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(PooledConnection connection) throws SQLException;
+    }
+
+    /**
+     * Menjalankan pekerjaan dengan koneksi dalam mode auto-commit
+     * @param work Pekerjaan yang dijalankan
+     * @return Hasil pekerjaan
+     * @throws DataAccessException jika terjadi SQLException
+     */
+    public <T> T withConnection(SqlWork<T> work) {
+        PooledConnection connection = borrow();
+        try {
+            return work.run(connection);
+        } catch (SQLException e) {
+            connection.markBrokenIfFatal(e);
+            throw new DataAccessException("Database operation failed: " + e.getMessage(), e);
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Menjalankan pekerjaan di dalam satu transaksi. Transaksi di-rollback jika terjadi error.
+     * @param work Pekerjaan yang dijalankan
+     * @return Hasil pekerjaan
+     * @throws DataAccessException jika terjadi SQLException
+     */
+    public <T> T inTransaction(SqlWork<T> work) {
+        PooledConnection connection = borrow();
+        try {
+            Connection raw = connection.connection();
+            raw.setAutoCommit(false);
+            T result;
+            try {
+                result = work.run(connection);
+                raw.commit();
+            } catch (SQLException | RuntimeException | Error e) {
+                rollbackQuietly(raw, e);
+                restoreAutoCommit(connection, e);
+                throw e;
+            }
+            raw.setAutoCommit(true);
+            return result;
+        } catch (SQLException e) {
+            connection.markBrokenIfFatal(e);
+            throw new DataAccessException("Database transaction failed: " + e.getMessage(), e);
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Meminjam koneksi. Koneksi harus dikembalikan dengan {@link PooledConnection#close()}.
+     * @return Koneksi dari pool
+     * @throws DataAccessException jika pool ditutup, koneksi gagal dibuat, atau waktu tunggu habis
+     */
+    public PooledConnection borrow() {
+        if (closed) {
+            throw new DataAccessException("Connection pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new DataAccessException("Timed out waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("Interrupted while waiting for a database connection", e);
+        }
+        PhysicalConnection connection = idle.pollFirst();
+        if (connection != null) {
+            return new PooledConnection(connection);
+        }
+        try {
+            return new PooledConnection(new PhysicalConnection(DriverManager.getConnection(url, user, password)));
+        } catch (SQLException e) {
+            permits.release();
+            throw new DataAccessException("Cannot open database connection: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Jumlah koneksi idle yang siap dipakai
+     */
+    public int idleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Menutup semua koneksi idle. Koneksi yang sedang dipinjam ditutup saat dikembalikan.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PhysicalConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            connection.closePhysically();
+        }
+    }
+
+    private void giveBack(PhysicalConnection connection) {
+        try {
+            if (closed || connection.broken) {
+                connection.closePhysically();
+            } else {
+                idle.offerFirst(connection);
+                // close() may have drained the deque between the check and the offer
+                if (closed && idle.remove(connection)) {
+                    connection.closePhysically();
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void rollbackQuietly(Connection connection, Throwable cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Mengembalikan mode auto-commit tanpa menutupi error asal transaksi.
+     * Jika gagal, status koneksi tidak pasti sehingga koneksi dibuang.
+     */
+    private static void restoreAutoCommit(PooledConnection connection, Throwable cause) {
+        try {
+            connection.physical.connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+            connection.physical.broken = true;
+        }
+    }
+
+    /**
+     * Satu peminjaman koneksi dari pool. Hanya boleh dipakai oleh satu thread selama dipinjam
+     * dan tidak bisa dipakai lagi setelah {@link #close()}.
+     */
+    public final class PooledConnection implements AutoCloseable {
+
+        private final PhysicalConnection physical;
+        private boolean returned;
+
+        private PooledConnection(PhysicalConnection physical) {
+            this.physical = physical;
+        }
+
+        public Connection connection() {
+            return live().connection;
+        }
+
+        /**
+         * Mengambil PreparedStatement dari cache, atau mem-prepare jika belum ada.
+         * Parameter dan batch sebelumnya sudah dibersihkan. Statement tidak boleh ditutup pemanggil.
+         * @param sql SQL dengan placeholder ?
+         * @return PreparedStatement siap pakai
+         */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            return live().prepare(sql);
+        }
+
+        /**
+         * Jumlah PreparedStatement di cache koneksi ini
+         */
+        public int cachedStatementCount() {
+            return live().statements.size();
+        }
+
+        /**
+         * Mengembalikan koneksi ke pool. Pemanggilan berikutnya diabaikan.
+         */
+        @Override
+        public void close() {
+            if (returned) {
+                return;
+            }
+            returned = true;
+            giveBack(physical);
+        }
+
+        private void markBrokenIfFatal(SQLException e) {
+            physical.markBrokenIfFatal(e);
+        }
+
+        private PhysicalConnection live() {
+            if (returned) {
+                throw new IllegalStateException("Connection was already returned to the pool");
+            }
+            return physical;
+        }
+    }
+
+    /**
+     * Koneksi fisik beserta cache PreparedStatement-nya; berpindah dari satu peminjaman ke berikutnya
+     */
+    private final class PhysicalConnection {
+
+        private final Connection connection;
+        private final LinkedHashMap<String, PreparedStatement> statements;
+        private boolean broken;
+
+        private PhysicalConnection(Connection connection) {
+            this.connection = connection;
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() <= statementCacheSize) {
+                        return false;
+                    }
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+            };
+        }
+
+        private PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            } else {
+                statement.clearParameters();
+                statement.clearBatch();
+            }
+            return statement;
+        }
+
+        private void markBrokenIfFatal(SQLException e) {
+            String state = e.getSQLState();
+            if (state != null && state.startsWith("08")) {
+                broken = true;
+                return;
+            }
+            try {
+                broken = !connection.isValid(1);
+            } catch (SQLException ignored) {
+                broken = true;
+            }
+        }
+
+        private void closePhysically() {
+            for (PreparedStatement statement : statements.values()) {
+                closeQuietly(statement);
+            }
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Connection is being discarded anyway
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // Statement is being evicted anyway
+        }
+    }
+}
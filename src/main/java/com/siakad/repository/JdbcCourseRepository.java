@@ -0,0 +1,219 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementasi CourseRepository di atas database relasional (JDBC)
+ *
+ * Reservasi kursi memakai UPDATE bersyarat
+ * ({@code enrolled_count = enrolled_count + 1 WHERE enrolled_count < capacity AND ...}),
+ * sehingga database sendiri yang menjamin kapasitas tidak terlampaui meskipun banyak
+ * aplikasi menulis bersamaan. Prasyarat ikut dicek di statement yang sama.
+ * {@link #updateAll(Collection)} dikirim sebagai JDBC batch dalam satu transaksi; prasyarat
+ * tersimpan seluruh mata kuliah dibaca dengan satu query, dan hanya ditulis ulang untuk
+ * mata kuliah yang daftar prasyaratnya berubah.
+ */
+
+public class JdbcCourseRepository implements CourseRepository, SeatReservationRepository {
+
+    private static final String UPDATE_COURSE =
+            "UPDATE courses SET course_name = ?, credits = ?, capacity = ?, enrolled_count = ?, lecturer = ? "
+                    + "WHERE course_code = ?";
+    private static final String INSERT_COURSE =
+            "INSERT INTO courses (course_name, credits, capacity, enrolled_count, lecturer, course_code) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_PREREQUISITES =
+            "DELETE FROM course_prerequisites WHERE course_code = ?";
+    private static final String INSERT_PREREQUISITE =
+            "INSERT INTO course_prerequisites (course_code, seq, prerequisite_code) VALUES (?, ?, ?)";
+    private static final String MISSING_PREREQUISITES =
+            "SELECT COUNT(*) FROM course_prerequisites p WHERE p.course_code = ? AND NOT EXISTS "
+                    + "(SELECT 1 FROM completed_courses cc WHERE cc.student_id = ? AND cc.course_code = p.prerequisite_code)";
+    private static final String RESERVE_SEAT =
+            "UPDATE courses SET enrolled_count = enrolled_count + 1 "
+                    + "WHERE course_code = ? AND enrolled_count < capacity AND NOT EXISTS "
+                    + "(SELECT 1 FROM course_prerequisites p WHERE p.course_code = courses.course_code AND NOT EXISTS "
+                    + "(SELECT 1 FROM completed_courses cc WHERE cc.student_id = ? AND cc.course_code = p.prerequisite_code))";
+    private static final String RELEASE_SEAT =
+            "UPDATE courses SET enrolled_count = enrolled_count - 1 WHERE course_code = ? AND enrolled_count > 0";
+
+    private final JdbcConnectionPool pool;
+
+    public JdbcCourseRepository(JdbcConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Menyimpan mata kuliah baru atau mengganti data yang sudah ada
+     * @param course Course object yang akan disimpan
+     */
+    public void save(Course course) {
+        update(course);
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        return pool.withConnection(connection -> JdbcRows.findCourse(connection, courseCode));
+    }
+
+    @Override
+    public void update(Course course) {
+        updateAll(List.of(course));
+    }
+
+    @Override
+    public void updateAll(Collection<Course> courses) {
+        if (courses.isEmpty()) {
+            return;
+        }
+        List<Course> rows = new ArrayList<>(courses);
+        pool.inTransaction(connection -> {
+            PreparedStatement update = connection.prepare(UPDATE_COURSE);
+            for (Course course : rows) {
+                bind(update, course);
+                update.addBatch();
+            }
+            List<Integer> missing = JdbcRows.missingRows(update.executeBatch(), index -> {
+                bind(update, rows.get(index));
+                return update.executeUpdate();
+            });
+            Set<String> inserted = new HashSet<>();
+            if (!missing.isEmpty()) {
+                PreparedStatement insert = connection.prepare(INSERT_COURSE);
+                for (int index : missing) {
+                    bind(insert, rows.get(index));
+                    insert.addBatch();
+                    inserted.add(rows.get(index).getCourseCode());
+                }
+                insert.executeBatch();
+            }
+
+            // Prerequisites rarely change; a seat publish must not rewrite them
+            Map<String, List<String>> latest = new LinkedHashMap<>();
+            for (Course course : rows) {
+                latest.put(course.getCourseCode(), prerequisitesOf(course));
+            }
+            // One round trip for the stored prerequisites of every updated course
+            Set<String> existing = new HashSet<>(latest.keySet());
+            existing.removeAll(inserted);
+            Map<String, List<String>> stored = JdbcRows.findPrerequisites(connection, existing);
+            Map<String, List<String>> changed = new LinkedHashMap<>();
+            for (Map.Entry<String, List<String>> entry : latest.entrySet()) {
+                if (!stored.getOrDefault(entry.getKey(), List.of()).equals(entry.getValue())) {
+                    changed.put(entry.getKey(), entry.getValue());
+                }
+            }
+            if (changed.isEmpty()) {
+                return null;
+            }
+
+            PreparedStatement delete = connection.prepare(DELETE_PREREQUISITES);
+            for (String courseCode : changed.keySet()) {
+                delete.setString(1, courseCode);
+                delete.addBatch();
+            }
+            delete.executeBatch();
+
+            PreparedStatement insertPrerequisite = connection.prepare(INSERT_PREREQUISITE);
+            boolean hasPrerequisites = false;
+            for (Map.Entry<String, List<String>> entry : changed.entrySet()) {
+                List<String> prerequisites = entry.getValue();
+                for (int seq = 0; seq < prerequisites.size(); seq++) {
+                    insertPrerequisite.setString(1, entry.getKey());
+                    insertPrerequisite.setInt(2, seq);
+                    insertPrerequisite.setString(3, prerequisites.get(seq));
+                    insertPrerequisite.addBatch();
+                    hasPrerequisites = true;
+                }
+            }
+            if (hasPrerequisites) {
+                insertPrerequisite.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        return pool.withConnection(connection -> prerequisitesMet(connection, studentId, courseCode));
+    }
+
+    @Override
+    public SeatReservation reserveSeat(String studentId, String courseCode) {
+        return pool.inTransaction(connection -> {
+            Student student = JdbcRows.findStudent(connection, studentId);
+            if (student == null) {
+                return SeatReservation.rejected(SeatReservation.Status.STUDENT_NOT_FOUND);
+            }
+            if ("SUSPENDED".equals(student.getAcademicStatus())) {
+                return SeatReservation.rejected(SeatReservation.Status.STUDENT_SUSPENDED);
+            }
+
+            PreparedStatement reserve = connection.prepare(RESERVE_SEAT);
+            reserve.setString(1, courseCode);
+            reserve.setString(2, studentId);
+            boolean reserved = reserve.executeUpdate() == 1;
+
+            Course course = JdbcRows.findCourse(connection, courseCode);
+            if (course == null) {
+                return SeatReservation.rejected(SeatReservation.Status.COURSE_NOT_FOUND);
+            }
+            if (reserved) {
+                return new SeatReservation(SeatReservation.Status.RESERVED, student, course);
+            }
+            // The UPDATE matched nothing. If prerequisites are met it can only have failed on
+            // capacity, even when a concurrent drop has freed a seat since.
+            boolean full = course.getEnrolledCount() >= course.getCapacity()
+                    || prerequisitesMet(connection, studentId, courseCode);
+            return SeatReservation.rejected(full ? SeatReservation.Status.COURSE_FULL
+                    : SeatReservation.Status.PREREQUISITE_NOT_MET);
+        });
+    }
+
+    @Override
+    public boolean releaseSeat(String courseCode) {
+        return pool.withConnection(connection -> {
+            PreparedStatement release = connection.prepare(RELEASE_SEAT);
+            release.setString(1, courseCode);
+            return release.executeUpdate() == 1;
+        });
+    }
+
+    private static boolean prerequisitesMet(JdbcConnectionPool.PooledConnection connection,
+                                            String studentId, String courseCode) throws SQLException {
+        PreparedStatement statement = connection.prepare(MISSING_PREREQUISITES);
+        statement.setString(1, courseCode);
+        statement.setString(2, studentId);
+        try (ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            return rs.getInt(1) == 0;
+        }
+    }
+
+    private static List<String> prerequisitesOf(Course course) {
+        List<String> prerequisites = course.getPrerequisites();
+        return prerequisites == null ? List.of() : new ArrayList<>(prerequisites);
+    }
+
+    // UPDATE_COURSE and INSERT_COURSE share the same parameter order
+    private static void bind(PreparedStatement statement, Course course) throws SQLException {
+        statement.setString(1, course.getCourseName());
+        statement.setInt(2, course.getCredits());
+        statement.setInt(3, course.getCapacity());
+        statement.setInt(4, course.getEnrolledCount());
+        statement.setString(5, course.getLecturer());
+        statement.setString(6, course.getCourseCode());
+    }
+}
@@ -0,0 +1,192 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL dan pemetaan baris yang dipakai bersama oleh repository JDBC
+ */
+final class JdbcRows {
+
+    static final String SELECT_STUDENT =
+            "SELECT student_id, name, email, major, semester, gpa, academic_status FROM students WHERE student_id = ?";
+    static final String SELECT_COURSE =
+            "SELECT course_code, course_name, credits, capacity, enrolled_count, lecturer FROM courses WHERE course_code = ?";
+    static final String SELECT_PREREQUISITES =
+            "SELECT prerequisite_code FROM course_prerequisites WHERE course_code = ? ORDER BY seq";
+    private static final String SELECT_STUDENTS_IN =
+            "SELECT student_id, name, email, major, semester, gpa, academic_status FROM students "
+                    + "WHERE student_id IN (%s)";
+    private static final String SELECT_PREREQUISITES_IN =
+            "SELECT course_code, prerequisite_code FROM course_prerequisites WHERE course_code IN (%s) "
+                    + "ORDER BY course_code, seq";
+
+    private JdbcRows() {
+    }
+
+    static Student findStudent(JdbcConnectionPool.PooledConnection connection, String studentId) throws SQLException {
+        PreparedStatement statement = connection.prepare(SELECT_STUDENT);
+        statement.setString(1, studentId);
+        try (ResultSet rs = statement.executeQuery()) {
+            if (!rs.next()) {
+                return null;
+            }
+            return studentOf(rs);
+        }
+    }
+
+    /**
+     * Membaca banyak mahasiswa dengan satu query {@code IN (...)}, dengan pembulatan jumlah
+     * parameter yang sama seperti {@link #findPrerequisites(JdbcConnectionPool.PooledConnection, Collection)}
+     * @return Mahasiswa per ID; ID yang tidak ada tidak muncul di map
+     */
+    static Map<String, Student> findStudents(JdbcConnectionPool.PooledConnection connection,
+                                             Collection<String> studentIds) throws SQLException {
+        Map<String, Student> students = new HashMap<>();
+        if (studentIds.isEmpty()) {
+            return students;
+        }
+        PreparedStatement statement = prepareIn(connection, SELECT_STUDENTS_IN, new ArrayList<>(studentIds));
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                Student student = studentOf(rs);
+                students.put(student.getStudentId(), student);
+            }
+        }
+        return students;
+    }
+
+    static Course findCourse(JdbcConnectionPool.PooledConnection connection, String courseCode) throws SQLException {
+        PreparedStatement statement = connection.prepare(SELECT_COURSE);
+        statement.setString(1, courseCode);
+        Course course;
+        try (ResultSet rs = statement.executeQuery()) {
+            if (!rs.next()) {
+                return null;
+            }
+            course = courseOf(rs);
+        }
+
+        course.setPrerequisites(findPrerequisites(connection, courseCode));
+        return course;
+    }
+
+    /**
+     * Membaca daftar kode prasyarat sesuai urutan penyimpanan
+     */
+    static List<String> findPrerequisites(JdbcConnectionPool.PooledConnection connection, String courseCode)
+            throws SQLException {
+        PreparedStatement statement = connection.prepare(SELECT_PREREQUISITES);
+        statement.setString(1, courseCode);
+        List<String> codes = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                codes.add(rs.getString(1));
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Membaca daftar prasyarat banyak mata kuliah dengan satu query {@code IN (...)}
+     * Jumlah parameter dibulatkan ke pangkat dua (sisanya diisi kode terakhir), sehingga
+     * cache PreparedStatement hanya berisi sedikit variasi SQL.
+     * @return Prasyarat setiap kode sesuai urutan penyimpanan; kode tanpa prasyarat berisi list kosong
+     */
+    static Map<String, List<String>> findPrerequisites(JdbcConnectionPool.PooledConnection connection,
+                                                       Collection<String> courseCodes) throws SQLException {
+        Map<String, List<String>> prerequisites = new HashMap<>();
+        if (courseCodes.isEmpty()) {
+            return prerequisites;
+        }
+        List<String> codes = new ArrayList<>(courseCodes);
+        for (String code : codes) {
+            prerequisites.put(code, new ArrayList<>());
+        }
+        PreparedStatement statement = prepareIn(connection, SELECT_PREREQUISITES_IN, codes);
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                prerequisites.computeIfAbsent(rs.getString(1), code -> new ArrayList<>()).add(rs.getString(2));
+            }
+        }
+        return prerequisites;
+    }
+
+    /**
+     * Menyiapkan query {@code IN (%s)} dengan jumlah parameter dibulatkan ke pangkat dua
+     * Slot sisa diisi key terakhir, sehingga hasilnya sama dengan query tanpa padding.
+     * @param keys Key yang dicari, tidak boleh kosong
+     */
+    private static PreparedStatement prepareIn(JdbcConnectionPool.PooledConnection connection, String sql,
+                                               List<String> keys) throws SQLException {
+        int arity = Integer.highestOneBit(keys.size());
+        if (arity < keys.size()) {
+            arity <<= 1;
+        }
+        PreparedStatement statement = connection.prepare(
+                String.format(sql, String.join(", ", Collections.nCopies(arity, "?"))));
+        for (int i = 0; i < arity; i++) {
+            statement.setString(i + 1, keys.get(Math.min(i, keys.size() - 1)));
+        }
+        return statement;
+    }
+
+    /**
+     * Membaca kolom student_id, name, email, major, semester, gpa, academic_status (urutan ini)
+     */
+    static Student studentOf(ResultSet rs) throws SQLException {
+        return new Student(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                rs.getInt(5), rs.getDouble(6), rs.getString(7));
+    }
+
+    /**
+     * Membaca kolom course_code, course_name, credits, capacity, enrolled_count, lecturer (urutan ini)
+     */
+    static Course courseOf(ResultSet rs) throws SQLException {
+        return new Course(rs.getString(1), rs.getString(2), rs.getInt(3), rs.getInt(4), rs.getInt(5), rs.getString(6));
+    }
+
+    /**
+     * Mengembalikan index baris yang tidak ter-update oleh batch UPDATE (perlu di-INSERT)
+     * Driver boleh melaporkan {@link Statement#SUCCESS_NO_INFO} tanpa jumlah baris; baris seperti
+     * itu di-UPDATE ulang satu per satu (idempoten) agar jelas sudah ada atau belum.
+     * @param updateCounts Hasil executeBatch()
+     * @param recheck UPDATE tunggal untuk baris dengan index tertentu
+     * @throws SQLException jika driver melaporkan {@link Statement#EXECUTE_FAILED}
+     */
+    static List<Integer> missingRows(int[] updateCounts, RowUpdate recheck) throws SQLException {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            int count = updateCounts[i];
+            if (count == Statement.SUCCESS_NO_INFO) {
+                count = recheck.update(i);
+            }
+            if (count == Statement.EXECUTE_FAILED) {
+                throw new SQLException("Batch update failed at row " + i);
+            }
+            if (count == 0) {
+                missing.add(i);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * UPDATE ulang satu baris batch, mengembalikan jumlah baris yang ter-update
+     */
+    @FunctionalInterface
+    interface RowUpdate {
+        int update(int index) throws SQLException;
+    }
+}
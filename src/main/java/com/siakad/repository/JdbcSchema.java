@@ -0,0 +1,58 @@
+package com.siakad.repository;
+
+import java.sql.Statement;
+
+/**
+ * Skema tabel untuk {@link JdbcStudentRepository} dan {@link JdbcCourseRepository}
+ *
+ * Menggunakan SQL standar sehingga dapat dipakai di database embedded (H2) untuk testing
+ * maupun database produksi.
+ */
+
+public final class JdbcSchema {
+
+    static final String[] DDL = {
+            "CREATE TABLE IF NOT EXISTS students ("
+                    + "student_id VARCHAR(32) PRIMARY KEY, "
+                    + "name VARCHAR(255), "
+                    + "email VARCHAR(255), "
+                    + "major VARCHAR(64), "
+                    + "semester INT NOT NULL, "
+                    + "gpa DOUBLE PRECISION NOT NULL, "
+                    + "academic_status VARCHAR(16))",
+            "CREATE TABLE IF NOT EXISTS courses ("
+                    + "course_code VARCHAR(32) PRIMARY KEY, "
+                    + "course_name VARCHAR(255), "
+                    + "credits INT NOT NULL, "
+                    + "capacity INT NOT NULL, "
+                    + "enrolled_count INT NOT NULL CHECK (enrolled_count >= 0), "
+                    + "lecturer VARCHAR(255))",
+            "CREATE TABLE IF NOT EXISTS course_prerequisites ("
+                    + "course_code VARCHAR(32) NOT NULL, "
+                    + "seq INT NOT NULL, "
+                    + "prerequisite_code VARCHAR(32) NOT NULL, "
+                    + "PRIMARY KEY (course_code, seq))",
+            "CREATE TABLE IF NOT EXISTS completed_courses ("
+                    + "student_id VARCHAR(32) NOT NULL, "
+                    + "course_code VARCHAR(32) NOT NULL, "
+                    + "PRIMARY KEY (student_id, course_code))"
+    };
+
+    private JdbcSchema() {
+    }
+
+    /**
+     * Membuat tabel yang belum ada
+     * @param pool Connection pool ke database tujuan
+     */
+    public static void create(JdbcConnectionPool pool) {
+        pool.withConnection(connection -> {
+            try (Statement statement = connection.connection().createStatement()) {
+                for (String ddl : DDL) {
+                    statement.execute(ddl);
+                }
+            }
+            return null;
+        });
+    }
+}
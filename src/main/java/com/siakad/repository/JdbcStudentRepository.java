@@ -0,0 +1,144 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementasi StudentRepository di atas database relasional (JDBC)
+ *
+ * Semua query memakai PreparedStatement yang di-cache per koneksi oleh
+ * {@link JdbcConnectionPool}. {@link #findAllById(List)} membaca semua ID dengan satu query
+ * {@code IN (...)}. {@link #updateAll(Collection)} mengirim semua baris
+ * sebagai satu batch UPDATE, lalu satu batch INSERT untuk baris yang belum ada,
+ * di dalam satu transaksi.
+ */
+
+public class JdbcStudentRepository implements StudentRepository {
+
+    private static final String UPDATE_STUDENT =
+            "UPDATE students SET name = ?, email = ?, major = ?, semester = ?, gpa = ?, academic_status = ? "
+                    + "WHERE student_id = ?";
+    private static final String INSERT_STUDENT =
+            "INSERT INTO students (name, email, major, semester, gpa, academic_status, student_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_COMPLETED =
+            "SELECT c.course_code, c.course_name, c.credits, c.capacity, c.enrolled_count, c.lecturer "
+                    + "FROM completed_courses cc JOIN courses c ON c.course_code = cc.course_code "
+                    + "WHERE cc.student_id = ? ORDER BY c.course_code";
+    private static final String INSERT_COMPLETED =
+            "INSERT INTO completed_courses (student_id, course_code) VALUES (?, ?)";
+
+    private final JdbcConnectionPool pool;
+
+    public JdbcStudentRepository(JdbcConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Menyimpan mahasiswa baru atau mengganti data yang sudah ada
+     * @param student Student object yang akan disimpan
+     */
+    public void save(Student student) {
+        update(student);
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        return pool.withConnection(connection -> JdbcRows.findStudent(connection, studentId));
+    }
+
+    @Override
+    public List<Student> findAllById(List<String> studentIds) {
+        Map<String, Student> found = pool.withConnection(connection -> JdbcRows.findStudents(connection, studentIds));
+        List<Student> students = new ArrayList<>(studentIds.size());
+        for (String studentId : studentIds) {
+            Student student = found.get(studentId);
+            if (student != null) {
+                students.add(student);
+            }
+        }
+        return students;
+    }
+
+    @Override
+    public void update(Student student) {
+        updateAll(List.of(student));
+    }
+
+    @Override
+    public void updateAll(Collection<Student> students) {
+        if (students.isEmpty()) {
+            return;
+        }
+        List<Student> rows = new ArrayList<>(students);
+        pool.inTransaction(connection -> {
+            PreparedStatement update = connection.prepare(UPDATE_STUDENT);
+            for (Student student : rows) {
+                bind(update, student);
+                update.addBatch();
+            }
+            List<Integer> missing = JdbcRows.missingRows(update.executeBatch(), index -> {
+                bind(update, rows.get(index));
+                return update.executeUpdate();
+            });
+            if (!missing.isEmpty()) {
+                PreparedStatement insert = connection.prepare(INSERT_STUDENT);
+                for (int index : missing) {
+                    bind(insert, rows.get(index));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        return pool.withConnection(connection -> {
+            PreparedStatement statement = connection.prepare(SELECT_COMPLETED);
+            statement.setString(1, studentId);
+            List<Course> courses = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    courses.add(JdbcRows.courseOf(rs));
+                }
+            }
+            return courses;
+        });
+    }
+
+    /**
+     * Mencatat mata kuliah yang sudah diselesaikan mahasiswa
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     */
+    public void addCompletedCourse(String studentId, String courseCode) {
+        pool.withConnection(connection -> {
+            PreparedStatement statement = connection.prepare(INSERT_COMPLETED);
+            statement.setString(1, studentId);
+            statement.setString(2, courseCode);
+            statement.executeUpdate();
+            return null;
+        });
+    }
+
+    // UPDATE_STUDENT and INSERT_STUDENT share the same parameter order
+    private static void bind(PreparedStatement statement, Student student) throws SQLException {
+        statement.setString(1, student.getName());
+        statement.setString(2, student.getEmail());
+        statement.setString(3, student.getMajor());
+        statement.setInt(4, student.getSemester());
+        statement.setDouble(5, student.getGpa());
+        statement.setString(6, student.getAcademicStatus());
+        statement.setString(7, student.getStudentId());
+    }
+}
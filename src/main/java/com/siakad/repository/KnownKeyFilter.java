@@ -0,0 +1,131 @@
+package com.siakad.repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Penyaring key yang tidak dikenal sebelum menyentuh repository
+ *
+ * Menggabungkan {@link BloomFilter} atas semua ID yang diketahui dengan negative cache
+ * berumur pendek. Key yang tidak ada di Bloom filter langsung ditolak; key yang lolos
+ * Bloom filter (false positive) tetapi baru saja terbukti tidak ada juga ditolak sampai
+ * TTL negative cache habis. Setiap insert harus didaftarkan melalui {@link #register(String)}.
+ *
+ * Pendaftaran menaikkan versi key (per stripe), sehingga miss yang dicatat pembaca setelah
+ * insert bersamaan dibuang, alih-alih menyembunyikan key yang sudah ada sampai TTL habis.
+ */
+
+public class KnownKeyFilter {
+
+    private static final int VERSION_STRIPES = 64;
+
+    private final BloomFilter bloomFilter;
+    private final ConcurrentHashMap<String, Long> negativeCache = new ConcurrentHashMap<>();
+    private final long negativeTtlNanos;
+    private final int maxNegativeEntries;
+    private final LongSupplier nanoClock;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public KnownKeyFilter(long expectedKeys, double falsePositiveRate, Duration negativeTtl) {
+        this(expectedKeys, falsePositiveRate, negativeTtl, 100_000, System::nanoTime);
+    }
+
+    public KnownKeyFilter(long expectedKeys, double falsePositiveRate, Duration negativeTtl,
+                          int maxNegativeEntries, LongSupplier nanoClock) {
+        this.bloomFilter = BloomFilter.create(expectedKeys, falsePositiveRate);
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.maxNegativeEntries = maxNegativeEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Membuat filter dari kumpulan ID yang sudah ada
+     * @param knownKeys Semua ID yang diketahui
+     * @param falsePositiveRate Target false positive rate Bloom filter
+     * @param negativeTtl Lama key yang tidak ditemukan diingat
+     * @return Filter yang sudah berisi semua ID
+     */
+    public static KnownKeyFilter of(Collection<String> knownKeys, double falsePositiveRate, Duration negativeTtl) {
+        // Ruang untuk pertumbuhan agar false positive rate tetap terjaga setelah insert baru
+        KnownKeyFilter filter = new KnownKeyFilter(Math.max(1024, knownKeys.size() * 2L),
+                falsePositiveRate, negativeTtl);
+        for (String key : knownKeys) {
+            filter.bloomFilter.add(key);
+        }
+        return filter;
+    }
+
+    /**
+     * Mengecek apakah key perlu dicari di repository
+     * @param key ID yang dicari
+     * @return false jika key pasti tidak ada atau baru saja terbukti tidak ada
+     */
+    public boolean mayExist(String key) {
+        if (!bloomFilter.mightContain(key)) {
+            return false;
+        }
+        Long expiresAt = negativeCache.get(key);
+        if (expiresAt == null) {
+            return true;
+        }
+        if (nanoClock.getAsLong() - expiresAt >= 0) {
+            negativeCache.remove(key, expiresAt);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Versi pendaftaran key; dibaca sebelum mencari di repository
+     * @param key ID yang akan dicari
+     * @return Versi untuk {@link #recordMissing(String, long)}
+     */
+    public long version(String key) {
+        return versions.get(stripe(key));
+    }
+
+    /**
+     * Mencatat bahwa key tidak ditemukan di repository, kecuali key didaftarkan sejak
+     * versinya dibaca
+     * @param key ID yang tidak ditemukan
+     * @param version Hasil {@link #version(String)} sebelum pencarian
+     */
+    public void recordMissing(String key, long version) {
+        int stripe = stripe(key);
+        if (versions.get(stripe) != version) {
+            return;
+        }
+        if (negativeCache.size() >= maxNegativeEntries) {
+            long now = nanoClock.getAsLong();
+            negativeCache.values().removeIf(expiresAt -> now - expiresAt >= 0);
+            if (negativeCache.size() >= maxNegativeEntries) {
+                negativeCache.clear();
+            }
+        }
+        Long expiresAt = nanoClock.getAsLong() + negativeTtlNanos;
+        negativeCache.put(key, expiresAt);
+        // A register() between the check and the put had nothing to remove yet
+        if (versions.get(stripe) != version) {
+            negativeCache.remove(key, expiresAt);
+        }
+    }
+
+    /**
+     * Mendaftarkan key baru (insert) agar tidak lagi ditolak
+     * Dipanggil setelah key tersimpan di repository.
+     * @param key ID baru
+     */
+    public void register(String key) {
+        bloomFilter.add(key);
+        versions.incrementAndGet(stripe(key));
+        negativeCache.remove(key);
+    }
+
+    private static int stripe(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (VERSION_STRIPES - 1);
+    }
+}
@@ -0,0 +1,103 @@
+package com.siakad.repository;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indeks bitset untuk pengecekan prasyarat mata kuliah
+ *
+ * Setiap kode mata kuliah dipetakan ke ID padat melalui {@link CourseCodeDictionary}.
+ * Mata kuliah yang sudah diselesaikan mahasiswa disimpan sebagai bitset dan prasyarat
+ * setiap mata kuliah sebagai mask, sehingga pengecekan prasyarat hanya berupa beberapa
+ * operasi AND per word 64-bit. Array bitset tidak pernah diubah setelah dipublikasikan
+ * (copy-on-write), sehingga pembacaan tidak memerlukan lock.
+ */
+
+public class PrerequisiteIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final CourseCodeDictionary dictionary;
+    private final ConcurrentHashMap<String, long[]> completedByStudent = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, long[]> prerequisiteMasks = new ConcurrentHashMap<>();
+
+    public PrerequisiteIndex() {
+        this(new CourseCodeDictionary());
+    }
+
+    public PrerequisiteIndex(CourseCodeDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public CourseCodeDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Mendaftarkan (atau mengganti) daftar prasyarat sebuah mata kuliah
+     * @param courseCode Kode mata kuliah
+     * @param prerequisites Kode mata kuliah prasyarat, boleh null
+     */
+    public void setPrerequisites(String courseCode, Collection<String> prerequisites) {
+        dictionary.idOf(courseCode);
+        long[] mask = EMPTY;
+        if (prerequisites != null) {
+            for (String prerequisite : prerequisites) {
+                mask = withBit(mask, dictionary.idOf(prerequisite));
+            }
+        }
+        prerequisiteMasks.put(courseCode, mask);
+    }
+
+    /**
+     * Menghapus mata kuliah dari indeks
+     * @param courseCode Kode mata kuliah
+     */
+    public void removeCourse(String courseCode) {
+        prerequisiteMasks.remove(courseCode);
+    }
+
+    /**
+     * Mencatat mata kuliah yang sudah diselesaikan mahasiswa secara inkremental
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah yang sudah diselesaikan
+     */
+    public void recordCompletion(String studentId, String courseCode) {
+        int id = dictionary.idOf(courseCode);
+        completedByStudent.compute(studentId, (key, bits) -> withBit(bits == null ? EMPTY : bits, id));
+    }
+
+    /**
+     * Mengecek apakah prasyarat mata kuliah sudah terpenuhi
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika semua prasyarat sudah diselesaikan, false jika belum
+     *         atau mata kuliah tidak terdaftar di indeks
+     */
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        long[] mask = prerequisiteMasks.get(courseCode);
+        if (mask == null) {
+            return false;
+        }
+        long[] completed = completedByStudent.getOrDefault(studentId, EMPTY);
+        for (int i = 0; i < mask.length; i++) {
+            long word = i < completed.length ? completed[i] : 0L;
+            if ((mask[i] & ~word) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long[] withBit(long[] bits, int id) {
+        int word = id >>> 6;
+        long bit = 1L << id;
+        if (word < bits.length && (bits[word] & bit) != 0) {
+            return bits;
+        }
+        long[] next = Arrays.copyOf(bits, Math.max(bits.length, word + 1));
+        next[word] |= bit;
+        return next;
+    }
+}
@@ -0,0 +1,52 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+/**
+ * Hasil {@link SeatReservationRepository#reserveSeat(String, String)}
+ *
+ * Penolakan memakai satu instance bersama per status dari {@link #rejected(Status)}, sehingga
+ * jalur penolakan tidak mengalokasikan object.
+ *
+ * @param status Hasil validasi dan reservasi
+ * @param student Data mahasiswa, atau null jika ditolak
+ * @param course Data mata kuliah setelah kursi direservasi, atau null jika ditolak
+ */
+public record SeatReservation(Status status, Student student, Course course) {
+
+    public enum Status {
+        RESERVED,
+        STUDENT_NOT_FOUND,
+        STUDENT_SUSPENDED,
+        COURSE_NOT_FOUND,
+        COURSE_FULL,
+        PREREQUISITE_NOT_MET
+    }
+
+    private static final SeatReservation[] REJECTIONS = new SeatReservation[Status.values().length];
+
+    static {
+        for (Status status : Status.values()) {
+            if (status != Status.RESERVED) {
+                REJECTIONS[status.ordinal()] = new SeatReservation(status, null, null);
+            }
+        }
+    }
+
+    /**
+     * @param status Alasan penolakan
+     * @return Hasil penolakan bersama untuk status tersebut
+     * @throws IllegalArgumentException jika status adalah RESERVED
+     */
+    public static SeatReservation rejected(Status status) {
+        if (status == Status.RESERVED) {
+            throw new IllegalArgumentException("A reservation is not a rejection");
+        }
+        return REJECTIONS[status.ordinal()];
+    }
+
+    public boolean isReserved() {
+        return status == Status.RESERVED;
+    }
+}
@@ -0,0 +1,28 @@
+package com.siakad.repository;
+
+/**
+ * Interface untuk validasi dan reservasi kursi dalam satu panggilan repository
+ *
+ * Menggantikan rangkaian findById, findByCourseCode, isPrerequisiteMet, dan update
+ * pada enrollment. Implementasi database dapat menjalankannya dalam satu statement
+ * atau satu transaksi.
+ */
+
+public interface SeatReservationRepository {
+
+    /**
+     * Mengambil mahasiswa dan mata kuliah, mengecek status akademik, kapasitas, dan
+     * prasyarat, lalu menambah jumlah peserta jika semua pengecekan lolos
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Hasil reservasi; jumlah peserta hanya bertambah jika statusnya RESERVED
+     */
+    SeatReservation reserveSeat(String studentId, String courseCode);
+
+    /**
+     * Mengurangi jumlah peserta mata kuliah. Jumlah peserta tidak pernah turun di bawah nol.
+     * @param courseCode Kode mata kuliah
+     * @return true jika ada kursi yang dilepaskan
+     */
+    boolean releaseSeat(String courseCode);
+}
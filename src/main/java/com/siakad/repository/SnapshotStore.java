@@ -0,0 +1,141 @@
+package com.siakad.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Penyimpanan snapshot untuk {@link WriteAheadLog}
+ *
+ * Snapshot generasi N ({@code snapshot-<N>.snap}) mencakup semua record di segmen log
+ * dengan generasi lebih kecil dari N. Snapshot ditulis ke file sementara, di-fsync, lalu
+ * di-rename secara atomik, sehingga crash saat menulis snapshot tidak merusak snapshot lama.
+ */
+
+public class SnapshotStore {
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+    private static final int MAGIC = 0x534E4150;
+
+    private final Path directory;
+
+    public SnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Snapshot yang berhasil dibaca
+     * @param generation Generasi segmen log pertama yang belum tercakup snapshot
+     * @param data Isi snapshot
+     */
+    public record Snapshot(long generation, byte[] data) {
+    }
+
+    /**
+     * Menulis snapshot secara atomik
+     * @param generation Generasi segmen log pertama yang belum tercakup snapshot
+     * @param data Isi snapshot
+     */
+    public void write(long generation, byte[] data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        ByteBuffer content = ByteBuffer.allocate(12 + data.length);
+        content.putInt(MAGIC).putInt((int) crc.getValue()).putInt(data.length).put(data).flip();
+
+        Path target = directory.resolve(String.format("%s%016d%s", PREFIX, generation, SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            WriteAheadLog.syncDirectory(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot " + target, e);
+        }
+    }
+
+    /**
+     * Membaca snapshot valid terbaru. Snapshot yang rusak dilewati.
+     * @return Snapshot terbaru, atau kosong jika belum ada
+     */
+    public Optional<Snapshot> latest() {
+        for (Path path : snapshotsNewestFirst()) {
+            try {
+                ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(path));
+                if (content.remaining() < 12 || content.getInt() != MAGIC) {
+                    continue;
+                }
+                int checksum = content.getInt();
+                int length = content.getInt();
+                if (length != content.remaining()) {
+                    continue;
+                }
+                byte[] data = new byte[length];
+                content.get(data);
+                CRC32C crc = new CRC32C();
+                crc.update(data);
+                if ((int) crc.getValue() == checksum) {
+                    return Optional.of(new Snapshot(generationOf(path), data));
+                }
+            } catch (IOException e) {
+                // Unreadable snapshot, fall back to an older one
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Menghapus snapshot dengan generasi lebih kecil dari nilai yang diberikan
+     * @param generation Batas generasi (eksklusif)
+     */
+    public void deleteBefore(long generation) {
+        for (Path path : snapshotsNewestFirst()) {
+            if (generationOf(path) < generation) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot delete snapshot " + path, e);
+                }
+            }
+        }
+    }
+
+    private List<Path> snapshotsNewestFirst() {
+        List<Path> snapshots = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return snapshots;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted(Comparator.comparingLong(SnapshotStore::generationOf).reversed()).forEach(snapshots::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list snapshots in " + directory, e);
+        }
+        return snapshots;
+    }
+
+    private static long generationOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -4,6 +4,8 @@ package com.siakad.repository;
 import com.siakad.model.Course;
 import com.siakad.model.Student;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,12 +22,40 @@ public interface StudentRepository {
      */
     Student findById(String studentId);
 
+    /**
+     * Mencari banyak mahasiswa sekaligus
+     * Implementasi database dapat membaca seluruh daftar dengan satu koneksi
+     * @param studentIds Daftar ID mahasiswa
+     * @return Mahasiswa yang ditemukan, sesuai urutan ID; ID yang tidak ditemukan dilewati
+     */
+    default List<Student> findAllById(List<String> studentIds) {
+        List<Student> students = new ArrayList<>(studentIds.size());
+        for (String studentId : studentIds) {
+            Student student = findById(studentId);
+            if (student != null) {
+                students.add(student);
+            }
+        }
+        return students;
+    }
+
     /**
      * Update data mahasiswa
      * @param student Student object yang akan diupdate
      */
     void update(Student student);
 
+    /**
+     * Update banyak data sekaligus
+     * Implementasi database dapat mengirimkannya sebagai satu batch
+     * @param students Student object yang akan diupdate
+     */
+    default void updateAll(Collection<Student> students) {
+        for (Student student : students) {
+            update(student);
+        }
+    }
+
     /**
      * Mendapatkan daftar mata kuliah yang sudah diselesaikan mahasiswa
      * @param studentId ID mahasiswa
@@ -0,0 +1,21 @@
+package com.siakad.repository;
+
+import com.siakad.model.CourseGrade;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface untuk membaca transkrip (nilai mata kuliah) mahasiswa
+ */
+
+public interface TranscriptRepository {
+
+    /**
+     * Membaca transkrip banyak mahasiswa sekaligus
+     * Implementasi database dapat mengambil satu chunk dengan satu query
+     * @param studentIds Daftar ID mahasiswa
+     * @return Map ID mahasiswa ke daftar nilai; mahasiswa tanpa nilai boleh tidak ada di map
+     */
+    Map<String, List<CourseGrade>> findTranscripts(List<String> studentIds);
+}
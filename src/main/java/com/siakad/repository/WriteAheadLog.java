@@ -0,0 +1,294 @@
+package com.siakad.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead log append-only berbasis file memory-mapped
+ *
+ * Log terdiri dari segmen berukuran tetap ({@code wal-<generation>.log}). Setiap record
+ * ditulis sebagai {@code [panjang][CRC32C][payload]}; record yang terpotong karena crash
+ * terdeteksi dari panjang atau checksum yang tidak valid dan diabaikan saat replay.
+ *
+ * {@link #append(byte[])} hanya menyalin ke memori dan mengembalikan posisi log (LSN).
+ * {@link #awaitDurable(long)} menerapkan group commit: satu thread menjalankan fsync untuk
+ * semua record yang sudah di-append, sementara thread lain yang menunggu LSN yang sudah
+ * tercakup cukup menunggu fsync tersebut selesai.
+ */
+
+public class WriteAheadLog implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition synced = lock.newCondition();
+    private final CRC32C crc = new CRC32C();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long generation;
+    private long written;
+    private long durable;
+    private boolean syncing;
+    private boolean closed;
+
+    /**
+     * Membuka segmen baru untuk ditulis. Segmen lama tidak pernah ditulis ulang,
+     * sehingga record setelah ekor yang terpotong tidak mungkin tercampur.
+     * @param directory Direktori log
+     * @param segmentSize Ukuran satu segmen dalam byte
+     * @param generation Nomor generasi segmen pertama; harus lebih besar dari segmen yang ada
+     */
+    public WriteAheadLog(Path directory, int segmentSize, long generation) {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("Segment size must be at least 4096 bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            openSegment(generation);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open write-ahead log in " + directory, e);
+        }
+    }
+
+    /**
+     * Menambahkan record ke log (belum tentu durable)
+     * @param payload Isi record, minimal 1 byte
+     * @return LSN akhir record, untuk {@link #awaitDurable(long)}
+     */
+    public long append(byte[] payload) {
+        if (payload.length == 0 || payload.length > segmentSize - HEADER_BYTES) {
+            throw new IllegalArgumentException("Invalid record size: " + payload.length);
+        }
+        lock.lock();
+        try {
+            ensureOpen();
+            if (buffer.remaining() < HEADER_BYTES + payload.length) {
+                rotateLocked();
+            }
+            crc.reset();
+            crc.update(payload);
+            buffer.putInt(payload.length);
+            buffer.putInt((int) crc.getValue());
+            buffer.put(payload);
+            written += HEADER_BYTES + payload.length;
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Menunggu sampai semua record hingga LSN tertentu sudah di-fsync
+     * @param lsn LSN dari {@link #append(byte[])}
+     */
+    public void awaitDurable(long lsn) {
+        lock.lock();
+        try {
+            while (durable < lsn) {
+                if (syncing) {
+                    synced.awaitUninterruptibly();
+                    continue;
+                }
+                ensureOpen();
+                syncing = true;
+                long target = written;
+                MappedByteBuffer toForce = buffer;
+                lock.unlock();
+                try {
+                    toForce.force();
+                } finally {
+                    lock.lock();
+                    syncing = false;
+                    synced.signalAll();
+                }
+                durable = Math.max(durable, target);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Menutup segmen aktif (setelah fsync) dan mulai menulis ke segmen berikutnya
+     * @return Nomor generasi segmen baru
+     */
+    public long rotate() {
+        lock.lock();
+        try {
+            ensureOpen();
+            rotateLocked();
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Nomor generasi segmen yang sedang ditulis
+     */
+    public long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Menghapus segmen dengan generasi lebih kecil dari nilai yang diberikan
+     * @param generation Batas generasi (eksklusif)
+     */
+    public void deleteSegmentsBefore(long generation) {
+        try {
+            for (long existing : generations(directory)) {
+                if (existing < generation) {
+                    Files.deleteIfExists(segmentPath(directory, existing));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete old log segments", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.force();
+            durable = written;
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close write-ahead log", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Membaca ulang semua record yang valid, mulai dari generasi tertentu, secara berurutan.
+     * Pembacaan satu segmen berhenti pada record pertama yang terpotong atau rusak.
+     * @param directory Direktori log
+     * @param fromGeneration Generasi pertama yang dibaca (inklusif)
+     * @param consumer Penerima payload; buffer hanya valid selama pemanggilan
+     * @return Jumlah record yang dibaca
+     */
+    public static long replay(Path directory, long fromGeneration, Consumer<ByteBuffer> consumer) {
+        long records = 0;
+        CRC32C checksum = new CRC32C();
+        try {
+            for (long generation : generations(directory)) {
+                if (generation < fromGeneration) {
+                    continue;
+                }
+                try (FileChannel segment = FileChannel.open(segmentPath(directory, generation), StandardOpenOption.READ)) {
+                    ByteBuffer data = segment.map(FileChannel.MapMode.READ_ONLY, 0, segment.size());
+                    int position = 0;
+                    while (position + HEADER_BYTES <= data.limit()) {
+                        int length = data.getInt(position);
+                        if (length <= 0 || length > data.limit() - position - HEADER_BYTES) {
+                            break;
+                        }
+                        ByteBuffer payload = data.slice(position + HEADER_BYTES, length);
+                        checksum.reset();
+                        checksum.update(payload.duplicate());
+                        if ((int) checksum.getValue() != data.getInt(position + 4)) {
+                            break;
+                        }
+                        consumer.accept(payload);
+                        records++;
+                        position += HEADER_BYTES + length;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay write-ahead log in " + directory, e);
+        }
+        return records;
+    }
+
+    /**
+     * Daftar generasi segmen yang ada di direktori, terurut naik
+     * @param directory Direktori log
+     * @return Nomor generasi
+     */
+    public static List<Long> generations(Path directory) throws IOException {
+        List<Long> generations = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return generations;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))
+                    .filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+                    .map(Long::parseLong)
+                    .sorted()
+                    .forEach(generations::add);
+        }
+        return generations;
+    }
+
+    static Path segmentPath(Path directory, long generation) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, generation, SEGMENT_SUFFIX));
+    }
+
+    private void rotateLocked() {
+        try {
+            buffer.force();
+            durable = written;
+            channel.close();
+            openSegment(generation + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot rotate write-ahead log", e);
+        }
+    }
+
+    private void openSegment(long generation) throws IOException {
+        Path path = segmentPath(directory, generation);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        this.generation = generation;
+        syncDirectory(directory);
+    }
+
+    static void syncDirectory(Path directory) {
+        // Makes the new file name durable; not supported on every platform
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException ignored) {
+            // Best effort
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+    }
+}
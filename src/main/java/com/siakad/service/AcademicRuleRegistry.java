@@ -0,0 +1,159 @@
+package com.siakad.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kumpulan aturan akademik per jurusan yang dimuat dari satu direktori
+ *
+ * Setiap file {@code <jurusan>.properties} berisi aturan untuk jurusan tersebut, dan
+ * {@code default.properties} (opsional) menggantikan aturan default dari classpath untuk
+ * jurusan yang tidak punya file sendiri. Reload mengompilasi ulang seluruh file lalu
+ * menukar aturan sekaligus; jika ada file yang invalid, aturan lama tetap dipakai.
+ * Pembaca tidak pernah melihat campuran aturan lama dan baru.
+ */
+public class AcademicRuleRegistry implements AutoCloseable {
+
+    private static final String EXTENSION = ".properties";
+    private static final String DEFAULT_NAME = "default";
+
+    private final Path directory;
+    private volatile Rules rules;
+    private volatile RuntimeException lastReloadError;
+    private ScheduledExecutorService watcher;
+
+    private AcademicRuleRegistry(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Memuat seluruh aturan dari direktori
+     * @param directory Direktori berisi file aturan
+     * @return Registry yang sudah dimuat
+     * @throws IllegalArgumentException jika ada file aturan yang invalid
+     * @throws UncheckedIOException jika direktori gagal dibaca
+     */
+    public static AcademicRuleRegistry open(Path directory) {
+        AcademicRuleRegistry registry = new AcademicRuleRegistry(directory);
+        registry.reload();
+        return registry;
+    }
+
+    /**
+     * Mendapatkan aturan untuk jurusan, atau aturan default jika jurusan tidak punya file aturan
+     * @param major Jurusan mahasiswa
+     * @return Aturan yang berlaku
+     */
+    public AcademicRules rulesFor(String major) {
+        Rules current = rules;
+        AcademicRules majorRules = major == null ? null : current.byMajor.get(major);
+        return majorRules != null ? majorRules : current.defaults;
+    }
+
+    /**
+     * Memuat ulang seluruh file aturan dari direktori
+     * @throws IllegalArgumentException jika ada file aturan yang invalid; aturan lama tetap dipakai
+     * @throws UncheckedIOException jika direktori gagal dibaca; aturan lama tetap dipakai
+     */
+    public synchronized void reload() {
+        Map<Path, String> versions = scan();
+        Map<String, AcademicRules> byMajor = new HashMap<>();
+        AcademicRules defaults = AcademicRules.defaults();
+        for (Path file : versions.keySet()) {
+            AcademicRules loaded = AcademicRules.load(file);
+            if (loaded.getName().equals(DEFAULT_NAME)) {
+                defaults = loaded;
+            } else {
+                byMajor.put(loaded.getName(), loaded);
+            }
+        }
+        rules = new Rules(Map.copyOf(byMajor), defaults, versions);
+        lastReloadError = null;
+    }
+
+    /**
+     * Memuat ulang aturan hanya jika ada file yang ditambah, dihapus, atau diubah
+     * @return true jika aturan dimuat ulang
+     * @throws IllegalArgumentException jika ada file aturan yang invalid; aturan lama tetap dipakai
+     * @throws UncheckedIOException jika direktori gagal dibaca; aturan lama tetap dipakai
+     */
+    public synchronized boolean reloadIfChanged() {
+        if (scan().equals(rules.versions)) {
+            return false;
+        }
+        reload();
+        return true;
+    }
+
+    /**
+     * Mengecek perubahan file aturan secara berkala di thread latar belakang
+     * Kegagalan reload tidak menghentikan pengecekan; lihat {@link #getLastReloadError()}.
+     * @param interval Jarak antar pengecekan
+     */
+    public synchronized void startWatching(Duration interval) {
+        if (watcher != null) {
+            throw new IllegalStateException("Rule watcher already started");
+        }
+        watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "academic-rule-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        watcher.scheduleWithFixedDelay(this::checkForChanges, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return Error dari reload terakhir yang gagal, atau null jika reload terakhir berhasil
+     */
+    public RuntimeException getLastReloadError() {
+        return lastReloadError;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+            watcher = null;
+        }
+    }
+
+    private void checkForChanges() {
+        try {
+            reloadIfChanged();
+        } catch (RuntimeException e) {
+            // Keep serving the previous rules until the file is fixed
+            lastReloadError = e;
+        }
+    }
+
+    /**
+     * Versi setiap file aturan (waktu modifikasi dan ukuran), diurutkan per path
+     */
+    private Map<Path, String> scan() {
+        Map<Path, String> versions = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file)) {
+                    versions.put(file, Files.getLastModifiedTime(file).toMillis() + ":" + Files.size(file));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to scan academic rules directory: " + directory, e);
+        }
+        return versions;
+    }
+
+    private record Rules(Map<String, AcademicRules> byMajor, AcademicRules defaults, Map<Path, String> versions) {
+    }
+}
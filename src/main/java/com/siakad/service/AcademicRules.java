@@ -0,0 +1,304 @@
+package com.siakad.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Aturan akademik (status dan batas SKS) yang sudah dikompilasi menjadi tabel lookup
+ *
+ * Aturan ditulis dalam file properties, lihat {@code academic-rules/default.properties}.
+ * Saat dimuat, setiap ambang IPK dikuantisasi ke per-seratus (0..400) dan seluruh
+ * kemungkinan hasil diisi ke array datar per band semester. Evaluasi hanya berupa
+ * kuantisasi IPK dan satu akses array, tanpa alokasi objek.
+ */
+public final class AcademicRules {
+
+    /** Nama resource aturan default di classpath */
+    public static final String DEFAULT_RESOURCE = "/academic-rules/default.properties";
+
+    // GPA is quantized to hundredths: level q covers [q / 100, (q + 1) / 100)
+    private static final int LEVELS = 401;
+    private static final double[] HUNDREDTHS = new double[LEVELS + 1];
+
+    static {
+        for (int q = 0; q < HUNDREDTHS.length; q++) {
+            HUNDREDTHS[q] = q / 100.0;
+        }
+    }
+
+    private final String name;
+    private final int[] bandOfSemester;
+    private final byte[] statusTable;
+    private final String[] statusNames;
+    private final int[] maxCreditsTable;
+
+    private AcademicRules(String name, int[] bandOfSemester, byte[] statusTable,
+                          String[] statusNames, int[] maxCreditsTable) {
+        this.name = name;
+        this.bandOfSemester = bandOfSemester;
+        this.statusTable = statusTable;
+        this.statusNames = statusNames;
+        this.maxCreditsTable = maxCreditsTable;
+    }
+
+    /**
+     * Aturan default dari classpath, dimuat sekali
+     * @return Aturan default
+     */
+    public static AcademicRules defaults() {
+        return Defaults.RULES;
+    }
+
+    /**
+     * Memuat dan mengompilasi aturan dari file. Nama aturan adalah nama file tanpa ekstensi.
+     * @param file File properties aturan
+     * @return Aturan yang sudah dikompilasi
+     * @throws IllegalArgumentException jika isi file invalid
+     * @throws UncheckedIOException jika file gagal dibaca
+     */
+    public static AcademicRules load(Path file) {
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String ruleName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(ruleName, read(reader));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read academic rules: " + file, e);
+        }
+    }
+
+    /**
+     * Mengompilasi aturan dari properties
+     * @param name Nama aturan (jurusan atau kurikulum)
+     * @param properties Definisi aturan
+     * @return Aturan yang sudah dikompilasi
+     * @throws IllegalArgumentException jika definisi invalid
+     */
+    public static AcademicRules parse(String name, Properties properties) {
+        List<Band> bands = new ArrayList<>();
+        int[] maxCreditsTable = null;
+        Map<String, Byte> statusCodes = new LinkedHashMap<>();
+
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key);
+            if (key.equals("maxCredits")) {
+                maxCreditsTable = compile(name, key, value, Integer::parseInt);
+            } else if (key.startsWith("status.")) {
+                bands.add(band(name, key, value, statusCodes));
+            } else {
+                throw invalid(name, "unknown key " + key);
+            }
+        }
+        if (maxCreditsTable == null) {
+            throw invalid(name, "missing maxCredits");
+        }
+        if (bands.isEmpty()) {
+            throw invalid(name, "no status bands");
+        }
+
+        bands.sort(Comparator.comparingInt(Band::from));
+        int expected = 1;
+        for (int i = 0; i < bands.size(); i++) {
+            Band band = bands.get(i);
+            boolean last = i == bands.size() - 1;
+            if (band.from != expected) {
+                throw invalid(name, "status bands must cover every semester from 1, expected semester " + expected);
+            }
+            if (last != band.open) {
+                throw invalid(name, last
+                        ? "last status band must be open-ended (status." + band.from + "+)"
+                        : "only the last status band may be open-ended");
+            }
+            expected = band.to + 1;
+        }
+
+        // Index s holds the band of semester s; semesters past the end use the open band
+        Band open = bands.get(bands.size() - 1);
+        int[] bandOfSemester = new int[open.from + 1];
+        byte[] statusTable = new byte[bands.size() * LEVELS];
+        for (int b = 0; b < bands.size(); b++) {
+            Band band = bands.get(b);
+            for (int s = band.from; s <= Math.min(band.to, open.from); s++) {
+                bandOfSemester[s] = b;
+            }
+            System.arraycopy(band.codes, 0, statusTable, b * LEVELS, LEVELS);
+        }
+
+        String[] statusNames = statusCodes.keySet().toArray(new String[0]);
+        return new AcademicRules(name, bandOfSemester, statusTable, statusNames, maxCreditsTable);
+    }
+
+    /**
+     * Menentukan status akademik mahasiswa berdasarkan IPK dan semester
+     * @param gpa IPK mahasiswa (0.0 - 4.0)
+     * @param semester Semester mahasiswa (harus > 0)
+     * @return Status akademik sesuai aturan
+     * @throws IllegalArgumentException jika gpa atau semester invalid
+     */
+    public String determineAcademicStatus(double gpa, int semester) {
+        if (gpa < 0 || gpa > 4.0) {
+            throw new IllegalArgumentException("GPA must be between 0 and 4.0");
+        }
+        if (semester < 1) {
+            throw new IllegalArgumentException("Semester must be positive");
+        }
+        int band = bandOfSemester[Math.min(semester, bandOfSemester.length - 1)];
+        return statusNames[statusTable[band * LEVELS + quantize(gpa)]];
+    }
+
+    /**
+     * Menghitung jumlah SKS maksimal yang boleh diambil mahasiswa berdasarkan IPK
+     * @param gpa IPK mahasiswa (0.0 - 4.0)
+     * @return Jumlah SKS maksimal sesuai aturan
+     * @throws IllegalArgumentException jika gpa invalid
+     */
+    public int calculateMaxCredits(double gpa) {
+        if (gpa < 0 || gpa > 4.0) {
+            throw new IllegalArgumentException("GPA must be between 0 and 4.0");
+        }
+        return maxCreditsTable[quantize(gpa)];
+    }
+
+    /**
+     * @return Nama aturan (jurusan atau kurikulum)
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Level per-seratus terbesar q dengan q / 100 <= gpa, sehingga {@code q >= k}
+     * sama persis dengan {@code gpa >= k / 100.0} untuk setiap ambang k
+     */
+    static int quantize(double gpa) {
+        int q = (int) (gpa * 100.0);
+        // gpa * 100 may land one level off either way; correct without data-dependent branches
+        q -= HUNDREDTHS[q] > gpa ? 1 : 0;
+        q += HUNDREDTHS[q + 1] <= gpa ? 1 : 0;
+        return q;
+    }
+
+    private static Band band(String name, String key, String value, Map<String, Byte> statusCodes) {
+        String range = key.substring("status.".length());
+        int from;
+        int to;
+        boolean open = range.endsWith("+");
+        try {
+            if (open) {
+                from = Integer.parseInt(range.substring(0, range.length() - 1));
+                to = Integer.MAX_VALUE;
+            } else {
+                int dash = range.indexOf('-');
+                from = Integer.parseInt(dash < 0 ? range : range.substring(0, dash));
+                to = dash < 0 ? from : Integer.parseInt(range.substring(dash + 1));
+            }
+        } catch (NumberFormatException e) {
+            throw invalid(name, "invalid semester range in " + key);
+        }
+        if (from < 1 || to < from) {
+            throw invalid(name, "invalid semester range in " + key);
+        }
+
+        int[] codes = compile(name, key, value, status -> {
+            if (status.isEmpty()) {
+                throw new IllegalArgumentException("empty status");
+            }
+            if (!statusCodes.containsKey(status) && statusCodes.size() == Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("too many distinct statuses");
+            }
+            return (int) statusCodes.computeIfAbsent(status, s -> (byte) statusCodes.size());
+        });
+        byte[] packed = new byte[LEVELS];
+        for (int q = 0; q < LEVELS; q++) {
+            packed[q] = (byte) codes[q];
+        }
+        return new Band(from, to, open, packed);
+    }
+
+    /**
+     * Mengompilasi daftar {@code nilai@ambang} menjadi tabel per level IPK
+     */
+    private static int[] compile(String name, String key, String value, ValueParser parser) {
+        int[] table = new int[LEVELS];
+        boolean[] set = new boolean[LEVELS];
+        for (String entry : value.split(",")) {
+            String trimmed = entry.trim();
+            int at = trimmed.lastIndexOf('@');
+            if (at < 0) {
+                throw invalid(name, key + ": expected value@minGpa but was '" + trimmed + "'");
+            }
+            int level;
+            int parsed;
+            try {
+                level = new BigDecimal(trimmed.substring(at + 1).trim()).movePointRight(2).intValueExact();
+                parsed = parser.parse(trimmed.substring(0, at).trim());
+            } catch (ArithmeticException | IllegalArgumentException e) {
+                throw invalid(name, key + ": invalid entry '" + trimmed + "'");
+            }
+            if (level < 0 || level >= LEVELS) {
+                throw invalid(name, key + ": minimum GPA out of range in '" + trimmed + "'");
+            }
+            if (set[level]) {
+                throw invalid(name, key + ": duplicate minimum GPA in '" + trimmed + "'");
+            }
+            set[level] = true;
+            table[level] = parsed;
+        }
+        if (!set[0]) {
+            throw invalid(name, key + ": missing entry for minimum GPA 0.00");
+        }
+        // Each level takes the value of the highest threshold at or below it
+        for (int q = 1; q < LEVELS; q++) {
+            if (!set[q]) {
+                table[q] = table[q - 1];
+            }
+        }
+        return table;
+    }
+
+    private static Properties read(Reader reader) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+        return properties;
+    }
+
+    private static IllegalArgumentException invalid(String name, String message) {
+        return new IllegalArgumentException("Invalid academic rules '" + name + "': " + message);
+    }
+
+    @FunctionalInterface
+    private interface ValueParser {
+        int parse(String value);
+    }
+
+    private record Band(int from, int to, boolean open, byte[] codes) {
+    }
+
+    private static final class Defaults {
+        static final AcademicRules RULES = loadDefaults();
+
+        private static AcademicRules loadDefaults() {
+            try (InputStream in = AcademicRules.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing academic rules resource: " + DEFAULT_RESOURCE);
+                }
+                return parse("default", read(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read academic rules: " + DEFAULT_RESOURCE, e);
+            }
+        }
+    }
+}
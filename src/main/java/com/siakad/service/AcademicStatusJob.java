@@ -0,0 +1,230 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.StudentRepository;
+import com.siakad.repository.TranscriptRepository;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Batch job akhir semester: menghitung ulang IPK, status akademik, dan batas SKS seluruh mahasiswa
+ *
+ * Daftar mahasiswa dibagi menjadi chunk berukuran tetap yang dikerjakan paralel di
+ * {@link ForkJoinPool}. Setiap chunk membaca data mahasiswa dan transkripnya sekaligus,
+ * lalu menulis hanya mahasiswa yang IPK atau statusnya berubah lewat satu
+ * {@link StudentRepository#updateAll}. Jika file checkpoint diset, chunk yang sudah
+ * tersimpan dicatat di sana sehingga job yang crash dapat dilanjutkan tanpa mengulang
+ * chunk tersebut. Memproses ulang sebuah chunk aman karena hasilnya deterministik.
+ */
+public class AcademicStatusJob {
+
+    private final StudentRepository studentRepository;
+    private final TranscriptRepository transcriptRepository;
+    private final GradeCalculator gradeCalculator;
+    private int chunkSize = 1_000;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private Path checkpointFile;
+    private AcademicRuleRegistry ruleRegistry;
+
+    public AcademicStatusJob(StudentRepository studentRepository,
+                             TranscriptRepository transcriptRepository,
+                             GradeCalculator gradeCalculator) {
+        this.studentRepository = studentRepository;
+        this.transcriptRepository = transcriptRepository;
+        this.gradeCalculator = gradeCalculator;
+    }
+
+    /**
+     * Ringkasan hasil job
+     * @param students Jumlah mahasiswa di cohort
+     * @param processed Jumlah mahasiswa yang diproses pada run ini
+     * @param updated Jumlah mahasiswa yang IPK atau statusnya berubah dan ditulis ulang
+     * @param resumedChunks Jumlah chunk yang dilewati karena sudah selesai menurut checkpoint
+     * @param statusCounts Jumlah mahasiswa per status akademik (dari mahasiswa yang diproses)
+     * @param maxCreditCounts Jumlah mahasiswa per batas SKS (dari mahasiswa yang diproses)
+     */
+    public record Report(int students, long processed, long updated, int resumedChunks,
+                         Map<String, Long> statusCounts, Map<Integer, Long> maxCreditCounts) {
+    }
+
+    /**
+     * Menjalankan job untuk seluruh cohort
+     *
+     * @param studentIds ID seluruh mahasiswa; urutannya harus sama saat job dilanjutkan
+     * @return Ringkasan hasil
+     * @throws IllegalArgumentException jika data nilai atau semester mahasiswa invalid;
+     *         chunk yang sudah tersimpan tetap tercatat di checkpoint
+     */
+    public Report run(List<String> studentIds) {
+        int chunks = (studentIds.size() + chunkSize - 1) / chunkSize;
+        JobCheckpoint checkpoint = checkpointFile == null
+                ? null
+                : JobCheckpoint.open(checkpointFile, chunks, fingerprint(studentIds));
+        int resumed = checkpoint == null ? 0 : checkpoint.completedCount();
+
+        Totals totals = new Totals();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            if (chunks > 0) {
+                pool.invoke(new ChunkRange(studentIds, checkpoint, totals, 0, chunks));
+            }
+        } finally {
+            pool.shutdown();
+            if (checkpoint != null) {
+                checkpoint.close();
+            }
+        }
+        if (checkpoint != null) {
+            checkpoint.delete();
+        }
+
+        return new Report(studentIds.size(), totals.processed.sum(), totals.updated.sum(), resumed,
+                sorted(totals.statusCounts), sorted(totals.maxCreditCounts));
+    }
+
+    private void processChunk(List<String> studentIds, int chunk, JobCheckpoint checkpoint, Totals totals) {
+        if (checkpoint != null && checkpoint.isDone(chunk)) {
+            return;
+        }
+        int from = chunk * chunkSize;
+        List<String> ids = studentIds.subList(from, Math.min(from + chunkSize, studentIds.size()));
+
+        List<Student> students = studentRepository.findAllById(ids);
+        Map<String, List<CourseGrade>> transcripts = transcriptRepository.findTranscripts(ids);
+
+        AcademicRuleRegistry registry = ruleRegistry;
+        List<Student> changed = new ArrayList<>();
+        for (Student student : students) {
+            double gpa = gradeCalculator.calculateGPA(transcripts.getOrDefault(student.getStudentId(), List.of()));
+            String status;
+            int maxCredits;
+            if (registry == null) {
+                status = gradeCalculator.determineAcademicStatus(gpa, student.getSemester());
+                maxCredits = gradeCalculator.calculateMaxCredits(gpa);
+            } else {
+                AcademicRules rules = registry.rulesFor(student.getMajor());
+                status = rules.determineAcademicStatus(gpa, student.getSemester());
+                maxCredits = rules.calculateMaxCredits(gpa);
+            }
+
+            totals.statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+            totals.maxCreditCounts.computeIfAbsent(maxCredits, c -> new LongAdder()).increment();
+            if (gpa != student.getGpa() || !status.equals(student.getAcademicStatus())) {
+                student.setGpa(gpa);
+                student.setAcademicStatus(status);
+                changed.add(student);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            studentRepository.updateAll(changed);
+        }
+        // Only mark the chunk once its writes are stored
+        if (checkpoint != null) {
+            checkpoint.markDone(chunk);
+        }
+        totals.processed.add(students.size());
+        totals.updated.add(changed.size());
+    }
+
+    /**
+     * Sidik cohort: checkpoint hanya dipakai ulang untuk daftar mahasiswa dan ukuran chunk yang sama
+     */
+    private long fingerprint(List<String> studentIds) {
+        long hash = 1125899906842597L;
+        for (String studentId : studentIds) {
+            hash = 31 * hash + studentId.hashCode();
+        }
+        return 31 * hash + chunkSize;
+    }
+
+    private static <K extends Comparable<K>> Map<K, Long> sorted(ConcurrentHashMap<K, LongAdder> counts) {
+        Map<K, Long> result = new TreeMap<>();
+        counts.forEach((key, count) -> result.put(key, count.sum()));
+        return result;
+    }
+
+    /**
+     * Mengatur jumlah mahasiswa per chunk (satu kali baca dan satu batch tulis per chunk)
+     * @param chunkSize Ukuran chunk
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Mengatur jumlah worker fork/join
+     * @param parallelism Jumlah worker
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Mengaktifkan checkpoint agar job yang crash bisa dilanjutkan. File dihapus setelah job selesai.
+     * @param checkpointFile Lokasi file checkpoint, atau null untuk menonaktifkan
+     */
+    public void setCheckpointFile(Path checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * Memakai aturan akademik per jurusan alih-alih aturan {@link GradeCalculator}
+     * @param ruleRegistry Registry aturan, atau null untuk memakai aturan GradeCalculator
+     */
+    public void setRuleRegistry(AcademicRuleRegistry ruleRegistry) {
+        this.ruleRegistry = ruleRegistry;
+    }
+
+    private static final class Totals {
+        final LongAdder processed = new LongAdder();
+        final LongAdder updated = new LongAdder();
+        final ConcurrentHashMap<String, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Integer, LongAdder> maxCreditCounts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Rentang chunk yang dibelah dua sampai tersisa satu chunk per task
+     */
+    private final class ChunkRange extends RecursiveAction {
+        private final List<String> studentIds;
+        private final JobCheckpoint checkpoint;
+        private final Totals totals;
+        private final int from;
+        private final int to;
+
+        ChunkRange(List<String> studentIds, JobCheckpoint checkpoint, Totals totals, int from, int to) {
+            this.studentIds = studentIds;
+            this.checkpoint = checkpoint;
+            this.totals = totals;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                processChunk(studentIds, from, checkpoint, totals);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkRange(studentIds, checkpoint, totals, from, mid),
+                    new ChunkRange(studentIds, checkpoint, totals, mid, to));
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.siakad.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service notifikasi yang mengumpulkan pesan per penerima selama satu window,
+ * lalu menggabungkannya menjadi satu digest dan mengirim seluruh batch sekaligus
+ * melalui {@link NotificationService#sendEmailBatch} dan {@link NotificationService#sendSMSBatch}.
+ *
+ * Contoh: mahasiswa yang mendaftar delapan mata kuliah berturut-turut hanya menerima
+ * satu email "Enrollment Confirmation (8)".
+ *
+ * Jika delegate gagal mengirim satu batch, pesan batch tersebut dikembalikan ke antrean
+ * dan dicoba lagi pada window berikutnya; batch lainnya tetap dikirim. Pesan seorang penerima
+ * dicoba paling banyak {@code maxAttempts} kali, lalu dipindahkan ke daftar dead letter yang
+ * bisa diambil lewat {@link #drainFailedEmails()} dan {@link #drainFailedSms()}. Pesan yang
+ * gagal dikirim oleh flush terakhir di {@link #close()} langsung masuk dead letter.
+ */
+
+public class BatchingNotificationService implements NotificationService, AutoCloseable {
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    private final NotificationService delegate;
+    private final Duration window;
+    private final int maxAttempts;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private volatile RuntimeException lastFlushError;
+
+    // Dijaga oleh lock "this"
+    private Map<String, List<EmailMessage>> emails = new LinkedHashMap<>();
+    private Map<String, List<SmsMessage>> smsMessages = new LinkedHashMap<>();
+    private final Map<String, Integer> emailAttempts = new HashMap<>();
+    private final Map<String, Integer> smsAttempts = new HashMap<>();
+    private List<EmailMessage> failedEmails = new ArrayList<>();
+    private List<SmsMessage> failedSms = new ArrayList<>();
+    private boolean flushScheduled;
+    private boolean closed;
+
+    public BatchingNotificationService(NotificationService delegate, Duration window) {
+        this(delegate, window, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /**
+     * @param maxAttempts Jumlah maksimum pengiriman batch seorang penerima sebelum pesannya
+     *        dipindahkan ke dead letter
+     */
+    public BatchingNotificationService(NotificationService delegate, Duration window, int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.delegate = delegate;
+        this.window = window;
+        this.maxAttempts = maxAttempts;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "notification-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // close() flushes synchronously, so a pending window must not hold it up
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Menampung email sampai window selesai; setelah {@link #close()} email dikirim langsung
+     */
+    @Override
+    public void sendEmail(String email, String subject, String message) {
+        synchronized (this) {
+            if (!closed) {
+                emails.computeIfAbsent(email, key -> new ArrayList<>())
+                        .add(new EmailMessage(email, subject, message));
+                scheduleFlush();
+                return;
+            }
+        }
+        delegate.sendEmail(email, subject, message);
+    }
+
+    /**
+     * Menampung SMS sampai window selesai; setelah {@link #close()} SMS dikirim langsung
+     */
+    @Override
+    public void sendSMS(String phone, String message) {
+        synchronized (this) {
+            if (!closed) {
+                smsMessages.computeIfAbsent(phone, key -> new ArrayList<>())
+                        .add(new SmsMessage(phone, message));
+                scheduleFlush();
+                return;
+            }
+        }
+        delegate.sendSMS(phone, message);
+    }
+
+    /**
+     * Mengirim semua pesan yang sedang ditampung tanpa menunggu window selesai
+     * Batch email dan SMS dikirim terpisah: kegagalan salah satu tidak menghalangi yang lain.
+     *
+     * @throws RuntimeException error pertama dari delegate; pesan batch yang gagal dikembalikan
+     *         ke antrean, atau masuk dead letter jika percobaannya habis atau service sudah ditutup
+     */
+    public void flush() {
+        Map<String, List<EmailMessage>> emailBatch;
+        Map<String, List<SmsMessage>> smsBatch;
+        synchronized (this) {
+            emailBatch = emails;
+            smsBatch = smsMessages;
+            emails = new LinkedHashMap<>();
+            smsMessages = new LinkedHashMap<>();
+            flushScheduled = false;
+        }
+
+        RuntimeException failure = null;
+        if (!emailBatch.isEmpty()) {
+            List<EmailMessage> digests = new ArrayList<>(emailBatch.size());
+            for (List<EmailMessage> messages : emailBatch.values()) {
+                digests.add(mergeEmails(messages));
+            }
+            try {
+                delegate.sendEmailBatch(digests);
+                synchronized (this) {
+                    emailAttempts.keySet().removeAll(emailBatch.keySet());
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+                synchronized (this) {
+                    emails = requeue(emailBatch, emails, emailAttempts, failedEmails);
+                    scheduleFlush();
+                }
+            }
+        }
+        if (!smsBatch.isEmpty()) {
+            List<SmsMessage> digests = new ArrayList<>(smsBatch.size());
+            for (List<SmsMessage> messages : smsBatch.values()) {
+                digests.add(mergeSms(messages));
+            }
+            try {
+                delegate.sendSMSBatch(digests);
+                synchronized (this) {
+                    smsAttempts.keySet().removeAll(smsBatch.keySet());
+                }
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+                synchronized (this) {
+                    smsMessages = requeue(smsBatch, smsMessages, smsAttempts, failedSms);
+                    scheduleFlush();
+                }
+            }
+        }
+
+        if (failure != null) {
+            lastFlushError = failure;
+            throw failure;
+        }
+    }
+
+    /**
+     * @return Error dari flush terakhir yang gagal, atau null jika belum pernah gagal
+     */
+    public RuntimeException getLastFlushError() {
+        return lastFlushError;
+    }
+
+    /**
+     * Mengambil dan mengosongkan email yang tidak terkirim setelah percobaannya habis
+     * @return Email asli (belum digabung) sesuai urutan masuk
+     */
+    public synchronized List<EmailMessage> drainFailedEmails() {
+        List<EmailMessage> drained = failedEmails;
+        failedEmails = new ArrayList<>();
+        return drained;
+    }
+
+    /**
+     * Mengambil dan mengosongkan SMS yang tidak terkirim setelah percobaannya habis
+     * @return SMS asli (belum digabung) sesuai urutan masuk
+     */
+    public synchronized List<SmsMessage> drainFailedSms() {
+        List<SmsMessage> drained = failedSms;
+        failedSms = new ArrayList<>();
+        return drained;
+    }
+
+    /**
+     * Mengirim sisa pesan lalu menghentikan scheduler. Pesan yang dikirim setelah close
+     * diteruskan langsung ke delegate.
+     *
+     * @throws RuntimeException jika delegate gagal mengirim sisa pesan; pesan tersebut tidak
+     *         diantrekan lagi tetapi tersedia lewat {@link #drainFailedEmails()} dan {@link #drainFailedSms()}
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        // Drops the pending window; only waits for a flush that is already running
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(window.toMillis() + 1000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled && !closed) {
+            flushScheduled = true;
+            scheduler.schedule(this::scheduledFlush, window.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Already recorded by flush(); requeued for the next window or dead-lettered
+        }
+    }
+
+    /**
+     * Pesan yang gagal dikirim diletakkan sebelum pesan yang masuk selama pengiriman
+     * Penerima yang percobaannya habis (atau semua penerima setelah close) dipindahkan ke dead letter.
+     */
+    private <M> Map<String, List<M>> requeue(Map<String, List<M>> failed, Map<String, List<M>> current,
+                                             Map<String, Integer> attempts, List<M> deadLetters) {
+        Map<String, List<M>> merged = new LinkedHashMap<>();
+        failed.forEach((recipient, messages) -> {
+            if (closed || attempts.merge(recipient, 1, Integer::sum) >= maxAttempts) {
+                attempts.remove(recipient);
+                deadLetters.addAll(messages);
+            } else {
+                merged.put(recipient, messages);
+            }
+        });
+        current.forEach((recipient, messages) -> merged.merge(recipient, messages, (first, later) -> {
+            List<M> combined = new ArrayList<>(first);
+            combined.addAll(later);
+            return combined;
+        }));
+        return merged;
+    }
+
+    static EmailMessage mergeEmails(List<EmailMessage> messages) {
+        EmailMessage first = messages.get(0);
+        if (messages.size() == 1) {
+            return first;
+        }
+
+        boolean sameSubject = true;
+        StringBuilder body = new StringBuilder();
+        for (EmailMessage message : messages) {
+            sameSubject &= first.subject().equals(message.subject());
+            if (body.length() > 0) {
+                body.append('\n');
+            }
+            body.append(message.message());
+        }
+        String subject = (sameSubject ? first.subject() : "Notification Digest")
+                + " (" + messages.size() + ")";
+        return new EmailMessage(first.email(), subject, body.toString());
+    }
+
+    static SmsMessage mergeSms(List<SmsMessage> messages) {
+        if (messages.size() == 1) {
+            return messages.get(0);
+        }
+        StringBuilder body = new StringBuilder();
+        for (SmsMessage message : messages) {
+            if (body.length() > 0) {
+                body.append('\n');
+            }
+            body.append(message.message());
+        }
+        return new SmsMessage(messages.get(0).phone(), body.toString());
+    }
+}
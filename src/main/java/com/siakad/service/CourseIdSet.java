@@ -0,0 +1,60 @@
+package com.siakad.service;
+
+import java.util.Arrays;
+
+/**
+ * Himpunan ID mata kuliah ({@link com.siakad.repository.CourseCodeDictionary}) milik satu mahasiswa
+ *
+ * Disimpan sebagai int[] terurut: mahasiswa hanya mengambil puluhan mata kuliah, sehingga
+ * binary search di array kecil lebih cepat dan jauh lebih hemat memori dibanding Set<String>.
+ */
+final class CourseIdSet {
+
+    private int[] ids;
+    private int size;
+
+    CourseIdSet() {
+        this(8);
+    }
+
+    CourseIdSet(int initialCapacity) {
+        this.ids = new int[Math.max(1, initialCapacity)];
+    }
+
+    synchronized boolean add(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+        return true;
+    }
+
+    synchronized boolean remove(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    synchronized boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+}
@@ -0,0 +1,43 @@
+package com.siakad.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Proyeksi jumlah peserta per mata kuliah
+ */
+public class CourseOccupancyProjection implements EnrollmentProjection {
+
+    private final ConcurrentHashMap<String, Integer> occupancy = new ConcurrentHashMap<>();
+
+    @Override
+    public String partitionKey(EnrollmentEvent event) {
+        return event.courseCode();
+    }
+
+    @Override
+    public void apply(EnrollmentEvent event) {
+        int delta = event instanceof EnrollmentEvent.EnrollmentCreated ? 1 : -1;
+        occupancy.merge(event.courseCode(), delta, Integer::sum);
+    }
+
+    @Override
+    public void reset() {
+        occupancy.clear();
+    }
+
+    /**
+     * @param courseCode Kode mata kuliah
+     * @return Jumlah peserta aktif
+     */
+    public int occupancyOf(String courseCode) {
+        return occupancy.getOrDefault(courseCode, 0);
+    }
+
+    /**
+     * @return Salinan jumlah peserta semua mata kuliah
+     */
+    public Map<String, Integer> snapshot() {
+        return Map.copyOf(occupancy);
+    }
+}
@@ -0,0 +1,297 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Mode eksekusi single-writer: semua mutasi untuk satu kode mata kuliah dijalankan oleh
+ * satu shard (satu thread) yang sama, sehingga perubahan pada Course milik shard itu
+ * tidak pernah bersaing dengan thread lain.
+ *
+ * Mata kuliah dipetakan ke shard berdasarkan hash kode mata kuliah. Setiap shard punya
+ * mailbox FIFO sendiri, jadi request untuk mata kuliah populer mengantre di shard-nya
+ * tanpa menghambat mata kuliah lain. Shard mengambil isi mailbox per batch: enrollment
+ * dalam satu batch dicatat berurutan, lalu jumlah peserta setiap mata kuliah yang tersentuh
+ * dipublikasikan sekali. Future selesai setelah publikasi; email konfirmasi dikirim oleh
+ * thread notifikasi terpisah agar tidak menahan shard.
+ */
+
+public class CourseShardExecutor implements AutoCloseable {
+
+    private static final int MAX_BATCH = 256;
+    private static final Command STOP = new Command() {
+    };
+
+    private final EnrollmentService enrollmentService;
+    private final Shard[] shards;
+    private final ExecutorService notifier;
+    private volatile RuntimeException lastNotificationError;
+
+    /**
+     * @param enrollmentService Service yang dieksekusi di dalam shard
+     * @param shardCount Jumlah shard, biasanya sama dengan jumlah core
+     */
+    public CourseShardExecutor(EnrollmentService enrollmentService, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.enrollmentService = enrollmentService;
+        this.notifier = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "course-shard-notifier"));
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+    }
+
+    /**
+     * Mendaftarkan mahasiswa ke mata kuliah melalui shard mata kuliah tersebut
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Future yang selesai dengan Enrollment, atau gagal dengan exception yang
+     *         sama seperti {@link EnrollmentService#enrollCourse(String, String)}
+     */
+    public CompletableFuture<Enrollment> enrollCourse(String studentId, String courseCode) {
+        CompletableFuture<Enrollment> future = new CompletableFuture<>();
+        shardOf(courseCode).submit(new Enroll(studentId, courseCode, null, future));
+        return future;
+    }
+
+    /**
+     * Versi tanpa exception dari {@link #enrollCourse(String, String)}
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Future yang selesai dengan hasil enrollment
+     */
+    public CompletableFuture<EnrollmentResult> tryEnroll(String studentId, String courseCode) {
+        CompletableFuture<EnrollmentResult> future = new CompletableFuture<>();
+        shardOf(courseCode).submit(new Enroll(studentId, courseCode, future, null));
+        return future;
+    }
+
+    /**
+     * Drop mata kuliah melalui shard mata kuliah tersebut
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Future yang selesai setelah drop diproses
+     */
+    public CompletableFuture<Void> dropCourse(String studentId, String courseCode) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        shardOf(courseCode).submit(new Drop(studentId, courseCode, future));
+        return future;
+    }
+
+    /**
+     * Index shard yang memiliki mata kuliah
+     * @param courseCode Kode mata kuliah
+     * @return Index shard
+     */
+    public int shardIndexOf(String courseCode) {
+        int h = courseCode.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shards.length);
+    }
+
+    /**
+     * @return Error dari pengiriman email konfirmasi terakhir yang gagal, atau null
+     */
+    public RuntimeException getLastNotificationError() {
+        return lastNotificationError;
+    }
+
+    /**
+     * Menghentikan semua shard setelah mailbox masing-masing kosong,
+     * lalu menunggu email konfirmasi yang masih antre
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.stop();
+        }
+        boolean interrupted = false;
+        for (Shard shard : shards) {
+            while (shard.thread.isAlive()) {
+                try {
+                    shard.thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        notifier.close();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Shard shardOf(String courseCode) {
+        return shards[shardIndexOf(courseCode)];
+    }
+
+    /**
+     * Memproses satu batch: enrollment dicatat, jumlah peserta dipublikasikan sekali per
+     * mata kuliah, lalu future diselesaikan dan email diserahkan ke thread notifikasi
+     */
+    private void process(List<Command> batch) {
+        List<Enroll> enrolls = new ArrayList<>(batch.size());
+        List<EnrollmentService.StagedEnrollment> staged = new ArrayList<>(batch.size());
+        Map<String, Course> touched = new LinkedHashMap<>();
+
+        for (Command command : batch) {
+            if (command instanceof Drop drop) {
+                // Drop publishes its own count and may promote from the waitlist
+                try {
+                    enrollmentService.dropCourse(drop.studentId(), drop.courseCode());
+                    drop.future().complete(null);
+                } catch (RuntimeException | Error e) {
+                    drop.future().completeExceptionally(e);
+                }
+                continue;
+            }
+            Enroll enroll = (Enroll) command;
+            EnrollmentService.StagedEnrollment result;
+            try {
+                result = enrollmentService.stageEnrollment(enroll.studentId(), enroll.courseCode());
+            } catch (RuntimeException | Error e) {
+                enroll.fail(e);
+                continue;
+            }
+            if (result.rejection() != null) {
+                enroll.complete(result.rejection(), enrollmentService);
+                continue;
+            }
+            enrolls.add(enroll);
+            staged.add(result);
+            touched.putIfAbsent(result.course().getCourseCode(), result.course());
+        }
+
+        Map<String, RuntimeException> failedPublishes = new LinkedHashMap<>();
+        for (Course course : touched.values()) {
+            try {
+                enrollmentService.publishSeat(course);
+            } catch (RuntimeException e) {
+                failedPublishes.put(course.getCourseCode(), e);
+            }
+        }
+
+        for (int i = 0; i < enrolls.size(); i++) {
+            EnrollmentService.StagedEnrollment result = staged.get(i);
+            RuntimeException failure = failedPublishes.get(result.course().getCourseCode());
+            if (failure != null) {
+                // The enrollment is already recorded: undo it so the caller can retry
+                enrollmentService.unstageEnrollment(result, failure);
+                enrolls.get(i).fail(failure);
+                continue;
+            }
+            enrolls.get(i).complete(new EnrollmentResult.Enrolled(result.enrollment()), enrollmentService);
+            notifier.execute(() -> sendConfirmation(result));
+        }
+    }
+
+    private void sendConfirmation(EnrollmentService.StagedEnrollment staged) {
+        try {
+            enrollmentService.sendEnrollmentConfirmation(staged);
+        } catch (RuntimeException e) {
+            // The enrollment itself already succeeded
+            lastNotificationError = e;
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Satu shard: mailbox FIFO dan thread yang memprosesnya
+     */
+    private final class Shard {
+        private final BlockingQueue<Command> mailbox = new LinkedBlockingQueue<>();
+        private final Thread thread;
+        private boolean stopped;
+
+        Shard(int index) {
+            thread = daemon(this::run, "course-shard-" + index);
+            thread.start();
+        }
+
+        synchronized void submit(Command command) {
+            if (stopped) {
+                throw new RejectedExecutionException("Course shard executor is closed");
+            }
+            mailbox.add(command);
+        }
+
+        synchronized void stop() {
+            if (!stopped) {
+                stopped = true;
+                mailbox.add(STOP);
+            }
+        }
+
+        private void run() {
+            List<Command> batch = new ArrayList<>();
+            while (true) {
+                try {
+                    batch.add(mailbox.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                mailbox.drainTo(batch, MAX_BATCH - 1);
+                // STOP is always the last command ever queued
+                boolean stop = batch.get(batch.size() - 1) == STOP;
+                if (stop) {
+                    batch.remove(batch.size() - 1);
+                }
+                process(batch);
+                batch.clear();
+                if (stop) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private interface Command {
+    }
+
+    /**
+     * Request enrollment; tepat satu dari kedua future yang diisi
+     */
+    private record Enroll(String studentId, String courseCode,
+                          CompletableFuture<EnrollmentResult> result,
+                          CompletableFuture<Enrollment> enrollment) implements Command {
+
+        void complete(EnrollmentResult outcome, EnrollmentService service) {
+            if (result != null) {
+                result.complete(outcome);
+            } else if (outcome instanceof EnrollmentResult.Enrolled enrolled) {
+                enrollment.complete(enrolled.enrollment());
+            } else {
+                enrollment.completeExceptionally(
+                        service.toException((EnrollmentResult.Rejection) outcome, studentId, courseCode));
+            }
+        }
+
+        void fail(Throwable error) {
+            if (result != null) {
+                result.completeExceptionally(error);
+            } else {
+                enrollment.completeExceptionally(error);
+            }
+        }
+    }
+
+    private record Drop(String studentId, String courseCode, CompletableFuture<Void> future) implements Command {
+    }
+}
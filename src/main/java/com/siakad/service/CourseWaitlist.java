@@ -0,0 +1,122 @@
+package com.siakad.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Daftar tunggu (waitlist) FIFO per mata kuliah
+ *
+ * Antrian setiap mata kuliah adalah satu {@link LinkedHashSet} (urutan masuk sekaligus
+ * keanggotaan) yang dijaga lock milik antrian itu sendiri, sehingga join, leave, dan poll
+ * selalu atomik: mahasiswa yang sudah keluar tidak mungkin tertinggal di antrian lalu
+ * dipromosikan. Antrian mata kuliah yang berbeda tidak saling menunggu.
+ */
+
+public class CourseWaitlist {
+
+    private final ConcurrentHashMap<String, Waitlist> waitlists = new ConcurrentHashMap<>();
+
+    /**
+     * Memasukkan mahasiswa ke antrian mata kuliah
+     * @param courseCode Kode mata kuliah
+     * @param studentId ID mahasiswa
+     * @return Posisi mahasiswa di antrian (dimulai dari 1)
+     */
+    public int join(String courseCode, String studentId) {
+        Waitlist waitlist = waitlists.computeIfAbsent(courseCode, code -> new Waitlist());
+        synchronized (waitlist) {
+            waitlist.queue.add(studentId);
+            return waitlist.positionOf(studentId);
+        }
+    }
+
+    /**
+     * Mengambil mahasiswa terdepan dari antrian
+     * @param courseCode Kode mata kuliah
+     * @return ID mahasiswa, atau null jika antrian kosong
+     */
+    public String poll(String courseCode) {
+        Waitlist waitlist = waitlists.get(courseCode);
+        if (waitlist == null) {
+            return null;
+        }
+        synchronized (waitlist) {
+            Iterator<String> queued = waitlist.queue.iterator();
+            if (!queued.hasNext()) {
+                return null;
+            }
+            String studentId = queued.next();
+            queued.remove();
+            return studentId;
+        }
+    }
+
+    /**
+     * Mengeluarkan mahasiswa dari antrian
+     * @param courseCode Kode mata kuliah
+     * @param studentId ID mahasiswa
+     * @return true jika mahasiswa sebelumnya ada di antrian
+     */
+    public boolean leave(String courseCode, String studentId) {
+        Waitlist waitlist = waitlists.get(courseCode);
+        if (waitlist == null) {
+            return false;
+        }
+        synchronized (waitlist) {
+            return waitlist.queue.remove(studentId);
+        }
+    }
+
+    /**
+     * Posisi mahasiswa di antrian
+     * @param courseCode Kode mata kuliah
+     * @param studentId ID mahasiswa
+     * @return Posisi (dimulai dari 1), atau 0 jika tidak ada di antrian
+     */
+    public int positionOf(String courseCode, String studentId) {
+        Waitlist waitlist = waitlists.get(courseCode);
+        if (waitlist == null) {
+            return 0;
+        }
+        synchronized (waitlist) {
+            return waitlist.positionOf(studentId);
+        }
+    }
+
+    /**
+     * Jumlah mahasiswa di antrian
+     * @param courseCode Kode mata kuliah
+     * @return Panjang antrian
+     */
+    public int size(String courseCode) {
+        Waitlist waitlist = waitlists.get(courseCode);
+        if (waitlist == null) {
+            return 0;
+        }
+        synchronized (waitlist) {
+            return waitlist.queue.size();
+        }
+    }
+
+    /**
+     * Antrian satu mata kuliah; semua akses dijaga lock objek ini
+     */
+    private static final class Waitlist {
+        final LinkedHashSet<String> queue = new LinkedHashSet<>();
+
+        int positionOf(String studentId) {
+            if (!queue.contains(studentId)) {
+                return 0;
+            }
+            int position = 0;
+            for (String queued : queue) {
+                position++;
+                if (queued.equals(studentId)) {
+                    break;
+                }
+            }
+            return position;
+        }
+    }
+}
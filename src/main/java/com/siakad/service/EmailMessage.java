@@ -0,0 +1,13 @@
+package com.siakad.service;
+
+/**
+ * Pesan email yang akan dikirim ke mahasiswa
+ */
+
+public record EmailMessage(String email, String subject, String message) implements NotificationMessage {
+
+    @Override
+    public void deliverTo(NotificationService notificationService) {
+        notificationService.sendEmail(email, subject, message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.siakad.service;
+
+/**
+ * Event di {@link EnrollmentLedger}
+ *
+ * Setiap event membawa dosen dan SKS mata kuliah, sehingga proyeksi dapat dibangun
+ * ulang dari log saja tanpa membaca repository.
+ */
+
+public sealed interface EnrollmentEvent {
+
+    /**
+     * @return Nomor urut event di ledger (dimulai dari 1)
+     */
+    long sequence();
+
+    String studentId();
+
+    String courseCode();
+
+    String lecturer();
+
+    int credits();
+
+    /**
+     * @return Waktu event dalam epoch milidetik
+     */
+    long timestamp();
+
+    /**
+     * Mahasiswa didaftarkan ke mata kuliah
+     */
+    record EnrollmentCreated(long sequence, String enrollmentId, String studentId, String courseCode,
+                             String lecturer, int credits, long timestamp) implements EnrollmentEvent {
+    }
+
+    /**
+     * Mahasiswa melepas mata kuliah
+     */
+    record EnrollmentDropped(long sequence, String studentId, String courseCode,
+                             String lecturer, int credits, long timestamp) implements EnrollmentEvent {
+    }
+}
@@ -0,0 +1,32 @@
+package com.siakad.service;
+
+/**
+ * Interface untuk pembangkit ID enrollment
+ * Implementasi harus aman dipanggil dari banyak thread sekaligus
+ */
+
+public interface EnrollmentIdGenerator {
+
+    /**
+     * Membangkitkan ID enrollment 64-bit yang unik
+     * @return ID enrollment
+     */
+    long nextId();
+
+    /**
+     * Mengubah ID numerik menjadi string yang ringkas
+     * @param id ID enrollment
+     * @return ID dalam bentuk string, misalnya "ENR-2X4K9QZ1A"
+     */
+    default String format(long id) {
+        return "ENR-" + Long.toString(id, 36).toUpperCase();
+    }
+
+    /**
+     * Membangkitkan ID enrollment dalam bentuk string
+     * @return ID enrollment
+     */
+    default String nextIdString() {
+        return format(nextId());
+    }
+}
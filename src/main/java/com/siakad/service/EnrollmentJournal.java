@@ -0,0 +1,569 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.SnapshotStore;
+import com.siakad.repository.WriteAheadLog;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Journal durable untuk state enrollment yang disimpan di memori
+ *
+ * Setiap enrollment dan drop dicatat ke {@link WriteAheadLog} sebelum method
+ * {@link EnrollmentService} mengembalikan hasil (daftarkan dengan
+ * {@link EnrollmentService#addEnrollmentListener(EnrollmentListener)}). Banyak request yang
+ * berjalan bersamaan berbagi satu fsync (group commit). Snapshot berkala menyimpan
+ * enrollment aktif dan selisih jumlah peserta per mata kuliah, lalu segmen log lama dihapus.
+ *
+ * Saat startup, {@link #open(Path)} memuat snapshot terbaru dan me-replay log setelahnya.
+ * Panggil {@link #restoreInto(CourseRepository)} pada repository yang baru diisi data awal
+ * sebelum service dipakai.
+ *
+ * Setelah {@link OutboxNotificationService} dipasang sebagai outbox-nya, notifikasi untuk
+ * setiap enrollment dan drop ditulis dalam record log yang sama dengan perubahan kursinya,
+ * dan baru dihapus setelah outbox mengonfirmasi pengiriman. Notifikasi yang belum terkirim
+ * saat crash diserahkan ulang ke outbox setelah restart (at-least-once).
+ *
+ * Jika dibuka dengan {@link EnrollmentLedger}, setiap record juga membawa dosen, SKS, dan
+ * waktu event, dan ledger dipulihkan dari snapshot dan log yang sama lalu diisi dalam
+ * urutan log; ledger tidak menulis log sendiri.
+ */
+public class EnrollmentJournal implements EnrollmentListener, NotificationOutboxStore, AutoCloseable {
+
+    private static final byte ENROLLED = 1;
+    private static final byte DROPPED = 2;
+    private static final byte NOTIFIED = 3;
+    private static final byte ENROLLED_WITH_NOTIFICATION = 4;
+    private static final byte DROPPED_WITH_NOTIFICATION = 5;
+    private static final byte EMAIL = 1;
+    private static final byte SMS = 2;
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final SnapshotStore snapshots;
+    private final WriteAheadLog log;
+    private final EnrollmentLedger ledger;
+    private final Object stateLock = new Object();
+    private final Map<String, Active> activeEnrollments = new HashMap<>();
+    private final Map<String, Integer> courseDeltas = new HashMap<>();
+    private final Map<Long, NotificationMessage> pendingNotifications = new LinkedHashMap<>();
+    private long nextNotificationId = 1;
+    private Dispatcher dispatcher;
+    private boolean recovering;
+    private ScheduledExecutorService checkpointScheduler;
+
+    private EnrollmentJournal(Path directory, int segmentSize, EnrollmentLedger ledger) {
+        this.snapshots = new SnapshotStore(directory);
+        this.ledger = ledger;
+        if (ledger != null) {
+            ledger.attachToJournal();
+        }
+        recovering = true;
+        long firstGeneration = 1;
+        Optional<SnapshotStore.Snapshot> snapshot = snapshots.latest();
+        if (snapshot.isPresent()) {
+            decodeSnapshot(snapshot.get().data());
+            firstGeneration = snapshot.get().generation();
+            for (Active active : activeEnrollments.values()) {
+                publish(true, active.enrollment().getEnrollmentId(), active.enrollment().getStudentId(),
+                        active.enrollment().getCourseCode(), active);
+            }
+        }
+        WriteAheadLog.replay(directory, firstGeneration, this::applyRecord);
+        recovering = false;
+        if (ledger != null) {
+            ledger.finishRestore(Runtime.getRuntime().availableProcessors());
+        }
+        try {
+            // Never append after a possibly torn tail: always start a fresh segment
+            for (long generation : WriteAheadLog.generations(directory)) {
+                firstGeneration = Math.max(firstGeneration, generation + 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list log segments in " + directory, e);
+        }
+        this.log = new WriteAheadLog(directory, segmentSize, firstGeneration);
+    }
+
+    /**
+     * Membuka journal dan memulihkan state dari snapshot dan log
+     * @param directory Direktori tempat log dan snapshot disimpan
+     * @return Journal yang siap dipakai
+     */
+    public static EnrollmentJournal open(Path directory) {
+        return new EnrollmentJournal(directory, DEFAULT_SEGMENT_SIZE, null);
+    }
+
+    /**
+     * @param segmentSize Ukuran satu segmen log dalam byte
+     */
+    public static EnrollmentJournal open(Path directory, int segmentSize) {
+        return new EnrollmentJournal(directory, segmentSize, null);
+    }
+
+    /**
+     * Membuka journal sekaligus memulihkan ledger event dari snapshot dan log yang sama
+     * @param directory Direktori tempat log dan snapshot disimpan
+     * @param ledger Ledger kosong yang selanjutnya diisi oleh journal ini
+     * @return Journal yang siap dipakai
+     */
+    public static EnrollmentJournal open(Path directory, EnrollmentLedger ledger) {
+        return new EnrollmentJournal(directory, DEFAULT_SEGMENT_SIZE, ledger);
+    }
+
+    /**
+     * @param segmentSize Ukuran satu segmen log dalam byte
+     */
+    public static EnrollmentJournal open(Path directory, int segmentSize, EnrollmentLedger ledger) {
+        return new EnrollmentJournal(directory, segmentSize, ledger);
+    }
+
+    @Override
+    public void onEnrolled(Enrollment enrollment, Course course) {
+        onEnrolled(enrollment, course, null);
+    }
+
+    @Override
+    public void onDropped(String studentId, Course course) {
+        onDropped(studentId, course, null);
+    }
+
+    @Override
+    public boolean onEnrolled(Enrollment enrollment, Course course, NotificationMessage notification) {
+        Active active = new Active(enrollment, EnrollmentLedger.lecturerOf(course), course.getCredits(),
+                System.currentTimeMillis());
+        byte[] record = encodeEnrolled(active, 0, null);
+        long lsn;
+        long id = 0;
+        Dispatcher target;
+        synchronized (stateLock) {
+            target = notification == null ? null : dispatcher;
+            if (target == null) {
+                lsn = log.append(record);
+            } else {
+                id = nextNotificationId++;
+                lsn = log.append(encodeEnrolled(active, id, notification));
+                pendingNotifications.put(id, notification);
+            }
+            applyEnrolled(active);
+        }
+        log.awaitDurable(lsn);
+        return handOver(target, id, notification);
+    }
+
+    @Override
+    public boolean onDropped(String studentId, Course course, NotificationMessage notification) {
+        Active event = new Active(null, EnrollmentLedger.lecturerOf(course), course.getCredits(),
+                System.currentTimeMillis());
+        byte[] record = encodeDropped(studentId, course.getCourseCode(), event, 0, null);
+        long lsn;
+        long id = 0;
+        Dispatcher target;
+        synchronized (stateLock) {
+            target = notification == null ? null : dispatcher;
+            if (target == null) {
+                lsn = log.append(record);
+            } else {
+                id = nextNotificationId++;
+                lsn = log.append(encodeDropped(studentId, course.getCourseCode(), event, id, notification));
+                pendingNotifications.put(id, notification);
+            }
+            applyDropped(studentId, course.getCourseCode(), event);
+        }
+        log.awaitDurable(lsn);
+        return handOver(target, id, notification);
+    }
+
+    @Override
+    public void attach(Dispatcher dispatcher) {
+        Map<Long, NotificationMessage> recovered;
+        synchronized (stateLock) {
+            if (this.dispatcher != null) {
+                throw new IllegalStateException("Notification outbox already attached");
+            }
+            this.dispatcher = dispatcher;
+            recovered = new LinkedHashMap<>(pendingNotifications);
+        }
+        recovered.forEach(dispatcher::dispatch);
+    }
+
+    @Override
+    public void acknowledge(long id) {
+        synchronized (stateLock) {
+            // Not awaited: losing the mark only means the message is sent once more after a crash
+            if (pendingNotifications.remove(id) != null) {
+                log.append(encodeNotified(id));
+            }
+        }
+    }
+
+    /**
+     * Jumlah notifikasi yang sudah tercatat tetapi belum dikonfirmasi terkirim
+     */
+    public int getPendingNotificationCount() {
+        synchronized (stateLock) {
+            return pendingNotifications.size();
+        }
+    }
+
+    /**
+     * Menerapkan selisih jumlah peserta hasil recovery ke repository mata kuliah
+     * @param courseRepository Repository yang berisi data awal (sebelum enrollment apa pun)
+     */
+    public void restoreInto(CourseRepository courseRepository) {
+        Map<String, Integer> deltas;
+        synchronized (stateLock) {
+            deltas = new HashMap<>(courseDeltas);
+        }
+        List<Course> restored = new ArrayList<>(deltas.size());
+        for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+            Course course = courseRepository.findByCourseCode(entry.getKey());
+            if (course != null) {
+                course.setEnrolledCount(Math.max(0, course.getEnrolledCount() + entry.getValue()));
+                restored.add(course);
+            }
+        }
+        courseRepository.updateAll(restored);
+    }
+
+    /**
+     * Enrollment yang masih aktif (belum di-drop)
+     * @return Salinan daftar enrollment aktif
+     */
+    public List<Enrollment> getActiveEnrollments() {
+        synchronized (stateLock) {
+            List<Enrollment> enrollments = new ArrayList<>(activeEnrollments.size());
+            for (Active active : activeEnrollments.values()) {
+                enrollments.add(active.enrollment());
+            }
+            return enrollments;
+        }
+    }
+
+    /**
+     * Mencari enrollment aktif mahasiswa pada mata kuliah
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Enrollment atau null jika tidak ada
+     */
+    public Enrollment findEnrollment(String studentId, String courseCode) {
+        synchronized (stateLock) {
+            Active active = activeEnrollments.get(key(studentId, courseCode));
+            return active == null ? null : active.enrollment();
+        }
+    }
+
+    /**
+     * Selisih jumlah peserta mata kuliah sejak log pertama kali dibuat
+     * @param courseCode Kode mata kuliah
+     * @return Jumlah enrollment dikurangi jumlah drop
+     */
+    public int getEnrolledDelta(String courseCode) {
+        synchronized (stateLock) {
+            return courseDeltas.getOrDefault(courseCode, 0);
+        }
+    }
+
+    /**
+     * Menulis snapshot state saat ini lalu menghapus segmen log yang sudah tercakup
+     */
+    public synchronized void checkpoint() {
+        byte[] data;
+        long generation;
+        synchronized (stateLock) {
+            data = encodeSnapshot();
+            generation = log.rotate();
+        }
+        snapshots.write(generation, data);
+        snapshots.deleteBefore(generation);
+        log.deleteSegmentsBefore(generation);
+    }
+
+    /**
+     * Menjalankan {@link #checkpoint()} secara berkala di thread latar belakang
+     * @param interval Jarak antar snapshot
+     */
+    public synchronized void startPeriodicCheckpoints(Duration interval) {
+        if (checkpointScheduler != null) {
+            throw new IllegalStateException("Periodic checkpoints already started");
+        }
+        checkpointScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "enrollment-journal-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        checkpointScheduler.scheduleWithFixedDelay(this::checkpoint, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (checkpointScheduler != null) {
+                checkpointScheduler.shutdownNow();
+            }
+        }
+        log.close();
+    }
+
+    private static boolean handOver(Dispatcher target, long id, NotificationMessage notification) {
+        if (target == null) {
+            return false;
+        }
+        target.dispatch(id, notification);
+        return true;
+    }
+
+    private void applyRecord(ByteBuffer record) {
+        byte[] bytes = new byte[record.remaining()];
+        record.get(bytes);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte type = in.readByte();
+            if (type == NOTIFIED) {
+                pendingNotifications.remove(in.readLong());
+                return;
+            }
+            boolean enrolled = type == ENROLLED || type == ENROLLED_WITH_NOTIFICATION;
+            if (!enrolled && type != DROPPED && type != DROPPED_WITH_NOTIFICATION) {
+                throw new IllegalStateException("Unknown journal record type: " + type);
+            }
+            Enrollment enrollment = enrolled ? readEnrollment(in) : null;
+            String studentId = enrolled ? enrollment.getStudentId() : in.readUTF();
+            String courseCode = enrolled ? enrollment.getCourseCode() : in.readUTF();
+            if (type == ENROLLED_WITH_NOTIFICATION || type == DROPPED_WITH_NOTIFICATION) {
+                long id = in.readLong();
+                pendingNotifications.put(id, readMessage(in));
+                nextNotificationId = Math.max(nextNotificationId, id + 1);
+            }
+            Active event = new Active(enrollment, in.readUTF(), in.readInt(), in.readLong());
+            if (enrolled) {
+                applyEnrolled(event);
+            } else {
+                applyDropped(studentId, courseCode, event);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt journal record", e);
+        }
+    }
+
+    private void applyEnrolled(Active active) {
+        Enrollment enrollment = active.enrollment();
+        activeEnrollments.put(key(enrollment.getStudentId(), enrollment.getCourseCode()), active);
+        courseDeltas.merge(enrollment.getCourseCode(), 1, Integer::sum);
+        publish(true, enrollment.getEnrollmentId(), enrollment.getStudentId(), enrollment.getCourseCode(), active);
+    }
+
+    /**
+     * @param event Dosen, SKS, dan waktu drop
+     */
+    private void applyDropped(String studentId, String courseCode, Active event) {
+        activeEnrollments.remove(key(studentId, courseCode));
+        courseDeltas.merge(courseCode, -1, Integer::sum);
+        publish(false, null, studentId, courseCode, event);
+    }
+
+    // Caller holds stateLock (or is still recovering), so the ledger sees events in log order
+    private void publish(boolean created, String enrollmentId, String studentId, String courseCode, Active event) {
+        if (ledger == null) {
+            return;
+        }
+        if (recovering) {
+            ledger.restore(created, enrollmentId, studentId, courseCode,
+                    event.lecturer(), event.credits(), event.timestamp());
+        } else {
+            ledger.append(created, enrollmentId, studentId, courseCode,
+                    event.lecturer(), event.credits(), event.timestamp());
+        }
+    }
+
+    private static String key(String studentId, String courseCode) {
+        return studentId + '\u0000' + courseCode;
+    }
+
+    /**
+     * Record enrollment; notifikasi (jika ada) ditulis sebelum data event di akhir record
+     */
+    private static byte[] encodeEnrolled(Active active, long id, NotificationMessage notification) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(notification == null ? 128 : 256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(notification == null ? ENROLLED : ENROLLED_WITH_NOTIFICATION);
+            writeEnrollment(out, active.enrollment());
+            writeNotification(out, id, notification);
+            writeEvent(out, active);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeDropped(String studentId, String courseCode, Active event,
+                                        long id, NotificationMessage notification) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(notification == null ? 80 : 208);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(notification == null ? DROPPED : DROPPED_WITH_NOTIFICATION);
+            out.writeUTF(studentId);
+            out.writeUTF(courseCode);
+            writeNotification(out, id, notification);
+            writeEvent(out, event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeNotified(long id) {
+        ByteBuffer record = ByteBuffer.allocate(9);
+        record.put(NOTIFIED).putLong(id);
+        return record.array();
+    }
+
+    private static void writeNotification(DataOutputStream out, long id, NotificationMessage notification)
+            throws IOException {
+        if (notification != null) {
+            out.writeLong(id);
+            writeMessage(out, notification);
+        }
+    }
+
+    private static void writeEvent(DataOutputStream out, Active event) throws IOException {
+        out.writeUTF(event.lecturer());
+        out.writeInt(event.credits());
+        out.writeLong(event.timestamp());
+    }
+
+    private byte[] encodeSnapshot() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(courseDeltas.size());
+            for (Map.Entry<String, Integer> entry : courseDeltas.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+            out.writeInt(activeEnrollments.size());
+            for (Active active : activeEnrollments.values()) {
+                writeEnrollment(out, active.enrollment());
+            }
+            out.writeLong(nextNotificationId);
+            out.writeInt(pendingNotifications.size());
+            for (Map.Entry<Long, NotificationMessage> entry : pendingNotifications.entrySet()) {
+                out.writeLong(entry.getKey());
+                writeMessage(out, entry.getValue());
+            }
+            // Same iteration order as the enrollments above
+            for (Active active : activeEnrollments.values()) {
+                writeEvent(out, active);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void decodeSnapshot(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int courses = in.readInt();
+            for (int i = 0; i < courses; i++) {
+                courseDeltas.put(in.readUTF(), in.readInt());
+            }
+            int count = in.readInt();
+            List<Enrollment> enrollments = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                enrollments.add(readEnrollment(in));
+            }
+            nextNotificationId = in.readLong();
+            int notifications = in.readInt();
+            for (int i = 0; i < notifications; i++) {
+                pendingNotifications.put(in.readLong(), readMessage(in));
+            }
+            // Event data follows in the same order as the enrollments
+            for (Enrollment enrollment : enrollments) {
+                Active active = new Active(enrollment, in.readUTF(), in.readInt(), in.readLong());
+                activeEnrollments.put(key(enrollment.getStudentId(), enrollment.getCourseCode()), active);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt journal snapshot", e);
+        }
+    }
+
+    private static void writeEnrollment(DataOutputStream out, Enrollment enrollment) throws IOException {
+        out.writeUTF(enrollment.getEnrollmentId());
+        out.writeUTF(enrollment.getStudentId());
+        out.writeUTF(enrollment.getCourseCode());
+        out.writeUTF(enrollment.getEnrollmentDate() == null ? "" : enrollment.getEnrollmentDate().toString());
+        out.writeUTF(enrollment.getStatus() == null ? "" : enrollment.getStatus());
+    }
+
+    private static void writeMessage(DataOutputStream out, NotificationMessage message) throws IOException {
+        if (message instanceof EmailMessage email) {
+            out.writeByte(EMAIL);
+            writeNullable(out, email.email());
+            writeNullable(out, email.subject());
+            writeNullable(out, email.message());
+        } else {
+            SmsMessage sms = (SmsMessage) message;
+            out.writeByte(SMS);
+            writeNullable(out, sms.phone());
+            writeNullable(out, sms.message());
+        }
+    }
+
+    private static NotificationMessage readMessage(DataInputStream in) throws IOException {
+        byte kind = in.readByte();
+        if (kind == EMAIL) {
+            return new EmailMessage(readNullable(in), readNullable(in), readNullable(in));
+        }
+        if (kind == SMS) {
+            return new SmsMessage(readNullable(in), readNullable(in));
+        }
+        throw new IllegalStateException("Unknown notification kind: " + kind);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static Enrollment readEnrollment(DataInputStream in) throws IOException {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setEnrollmentId(in.readUTF());
+        enrollment.setStudentId(in.readUTF());
+        enrollment.setCourseCode(in.readUTF());
+        String date = in.readUTF();
+        enrollment.setEnrollmentDate(date.isEmpty() ? null : LocalDateTime.parse(date));
+        String status = in.readUTF();
+        enrollment.setStatus(status.isEmpty() ? null : status);
+        return enrollment;
+    }
+
+    /**
+     * Enrollment aktif beserta data event-nya: dosen, SKS, dan waktu dicatat.
+     * Untuk drop, enrollment bernilai null.
+     */
+    private record Active(Enrollment enrollment, String lecturer, int credits, long timestamp) {
+    }
+}
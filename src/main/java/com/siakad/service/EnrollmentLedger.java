@@ -0,0 +1,288 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.LongSupplier;
+
+/**
+ * Ledger append-only berisi event {@link EnrollmentEvent} sebagai sumber kebenaran enrollment
+ *
+ * Setiap event yang di-append langsung diterapkan ke semua {@link EnrollmentProjection}
+ * (occupancy per mata kuliah, jadwal per mahasiswa, beban dosen). Saat rebuild, log dibaca
+ * sekali untuk membagi event ke partisi setiap proyeksi berdasarkan partition key, lalu
+ * setiap partisi menerapkan event miliknya secara paralel, sehingga urutan event per key
+ * tetap terjaga.
+ *
+ * Ledger tidak punya log sendiri. Jika dibuka lewat
+ * {@link EnrollmentJournal#open(Path, EnrollmentLedger)}, setiap event adalah record journal
+ * yang sama (satu log, satu fsync) dan ledger dipulihkan dari snapshot dan log journal itu.
+ * Setelah checkpoint journal, riwayat sebelum snapshot dipadatkan menjadi satu
+ * EnrollmentCreated per enrollment yang masih aktif.
+ */
+public class EnrollmentLedger implements EnrollmentListener {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private final Object appendLock = new Object();
+    private EnrollmentEvent[][] chunks = new EnrollmentEvent[16][];
+    private volatile int size;
+
+    private final CourseOccupancyProjection courseOccupancy = new CourseOccupancyProjection();
+    private final StudentScheduleProjection studentSchedules = new StudentScheduleProjection();
+    private final LecturerLoadProjection lecturerLoad = new LecturerLoadProjection();
+    private final List<EnrollmentProjection> projections = List.of(courseOccupancy, studentSchedules, lecturerLoad);
+
+    private volatile boolean journaled;
+    private Map<String, String> restoredStrings;
+    private LongSupplier clock = System::currentTimeMillis;
+
+    /**
+     * Membuat ledger kosong; tanpa journal, ledger hanya ada di memori
+     */
+    public EnrollmentLedger() {
+    }
+
+    /**
+     * Membuat ledger di memori dari event yang sudah ada lalu membangun proyeksi secara paralel
+     * @param events Event berurutan
+     * @param parallelism Jumlah partisi per proyeksi
+     * @return Ledger yang siap dipakai
+     */
+    public static EnrollmentLedger replay(List<EnrollmentEvent> events, int parallelism) {
+        EnrollmentLedger ledger = new EnrollmentLedger();
+        ledger.load(events);
+        ledger.rebuildProjections(parallelism);
+        return ledger;
+    }
+
+    /**
+     * Ledger yang diisi journal mengabaikan panggilan ini, jadi mendaftarkannya juga
+     * sebagai listener tidak menduplikasi event
+     */
+    @Override
+    public void onEnrolled(Enrollment enrollment, Course course) {
+        if (!journaled) {
+            append(true, enrollment.getEnrollmentId(), enrollment.getStudentId(), course.getCourseCode(),
+                    lecturerOf(course), course.getCredits(), clock.getAsLong());
+        }
+    }
+
+    @Override
+    public void onDropped(String studentId, Course course) {
+        if (!journaled) {
+            append(false, null, studentId, course.getCourseCode(),
+                    lecturerOf(course), course.getCredits(), clock.getAsLong());
+        }
+    }
+
+    static String lecturerOf(Course course) {
+        return course.getLecturer() == null ? "" : course.getLecturer();
+    }
+
+    /**
+     * Menandai ledger sebagai milik journal sebelum journal memulihkan event ke dalamnya
+     */
+    void attachToJournal() {
+        synchronized (appendLock) {
+            if (journaled || size > 0) {
+                throw new IllegalStateException("Ledger already has events or a journal");
+            }
+            journaled = true;
+            restoredStrings = new HashMap<>();
+        }
+    }
+
+    /**
+     * Menyimpan event hasil recovery journal tanpa menerapkannya ke proyeksi
+     */
+    void restore(boolean created, String enrollmentId, String studentId, String courseCode,
+                 String lecturer, int credits, long timestamp) {
+        synchronized (appendLock) {
+            // Repeated IDs share one String instance to keep millions of replayed events compact
+            Map<String, String> strings = restoredStrings;
+            store(event(created, size + 1L, enrollmentId, strings.computeIfAbsent(studentId, v -> v),
+                    strings.computeIfAbsent(courseCode, v -> v), strings.computeIfAbsent(lecturer, v -> v),
+                    credits, timestamp));
+        }
+    }
+
+    /**
+     * Menyelesaikan recovery journal: proyeksi dibangun ulang dari event yang dipulihkan
+     */
+    void finishRestore(int parallelism) {
+        synchronized (appendLock) {
+            restoredStrings = null;
+            rebuildProjections(parallelism);
+        }
+    }
+
+    /**
+     * Menambahkan satu event dan menerapkannya ke semua proyeksi. Journal memanggilnya
+     * sambil memegang lock state-nya, sehingga urutan ledger sama dengan urutan log.
+     */
+    void append(boolean created, String enrollmentId, String studentId, String courseCode,
+                String lecturer, int credits, long timestamp) {
+        synchronized (appendLock) {
+            EnrollmentEvent event = event(created, size + 1L, enrollmentId, studentId, courseCode,
+                    lecturer, credits, timestamp);
+            store(event);
+            for (EnrollmentProjection projection : projections) {
+                projection.apply(event);
+            }
+        }
+    }
+
+    private static EnrollmentEvent event(boolean created, long sequence, String enrollmentId, String studentId,
+                                         String courseCode, String lecturer, int credits, long timestamp) {
+        return created
+                ? new EnrollmentEvent.EnrollmentCreated(sequence, enrollmentId, studentId, courseCode,
+                        lecturer, credits, timestamp)
+                : new EnrollmentEvent.EnrollmentDropped(sequence, studentId, courseCode,
+                        lecturer, credits, timestamp);
+    }
+
+    /**
+     * Membangun ulang semua proyeksi dari log secara paralel. Append baru menunggu sampai selesai.
+     * @param parallelism Jumlah partisi per proyeksi
+     */
+    public void rebuildProjections(int parallelism) {
+        synchronized (appendLock) {
+            int count = size;
+            EnrollmentEvent[][] events = chunks;
+            for (EnrollmentProjection projection : projections) {
+                projection.reset();
+            }
+            Partition[][] partitions = partition(events, count, parallelism);
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                List<Future<?>> tasks = new ArrayList<>();
+                for (int p = 0; p < projections.size(); p++) {
+                    EnrollmentProjection projection = projections.get(p);
+                    for (Partition partition : partitions[p]) {
+                        tasks.add(pool.submit(() -> {
+                            for (int k = 0; k < partition.size; k++) {
+                                int i = partition.indexes[k];
+                                projection.apply(events[i >>> CHUNK_BITS][i & (CHUNK_SIZE - 1)]);
+                            }
+                        }));
+                    }
+                }
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while rebuilding projections", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Projection rebuild failed", e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Satu pass atas log: posisi setiap event dicatat di partisi miliknya untuk setiap proyeksi
+     */
+    private Partition[][] partition(EnrollmentEvent[][] events, int count, int parallelism) {
+        Partition[][] partitions = new Partition[projections.size()][parallelism];
+        for (Partition[] perProjection : partitions) {
+            for (int partition = 0; partition < parallelism; partition++) {
+                perProjection[partition] = new Partition();
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            EnrollmentEvent event = events[i >>> CHUNK_BITS][i & (CHUNK_SIZE - 1)];
+            for (int p = 0; p < partitions.length; p++) {
+                partitions[p][Math.floorMod(projections.get(p).partitionKey(event).hashCode(), parallelism)].add(i);
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * @return Jumlah event di ledger
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param sequence Nomor urut event (dimulai dari 1)
+     * @return Event pada nomor urut tersebut
+     */
+    public EnrollmentEvent eventAt(long sequence) {
+        if (sequence < 1 || sequence > size) {
+            throw new IndexOutOfBoundsException("No event with sequence " + sequence);
+        }
+        int index = (int) (sequence - 1);
+        return chunks[index >>> CHUNK_BITS][index & (CHUNK_SIZE - 1)];
+    }
+
+    public CourseOccupancyProjection getCourseOccupancy() {
+        return courseOccupancy;
+    }
+
+    public StudentScheduleProjection getStudentSchedules() {
+        return studentSchedules;
+    }
+
+    public LecturerLoadProjection getLecturerLoad() {
+        return lecturerLoad;
+    }
+
+    /**
+     * Mengganti sumber waktu event (untuk testing)
+     */
+    void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    private void load(List<EnrollmentEvent> events) {
+        synchronized (appendLock) {
+            for (EnrollmentEvent event : events) {
+                store(event);
+            }
+        }
+    }
+
+    // Caller holds appendLock; the volatile size write publishes the new element
+    private void store(EnrollmentEvent event) {
+        int index = size;
+        int chunk = index >>> CHUNK_BITS;
+        if (chunk == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        if (chunks[chunk] == null) {
+            chunks[chunk] = new EnrollmentEvent[CHUNK_SIZE];
+        }
+        chunks[chunk][index & (CHUNK_SIZE - 1)] = event;
+        size = index + 1;
+    }
+
+    /**
+     * Posisi event milik satu partisi, terurut sesuai log
+     */
+    private static final class Partition {
+        private int[] indexes = new int[256];
+        private int size;
+
+        void add(int index) {
+            if (size == indexes.length) {
+                indexes = Arrays.copyOf(indexes, size * 2);
+            }
+            indexes[size++] = index;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+
+/**
+ * Listener untuk perubahan enrollment di {@link EnrollmentService}
+ *
+ * Dipanggil di thread pemanggil sebelum method service mengembalikan hasil, sehingga
+ * listener yang menyimpan data secara durable (misalnya write-ahead log) menjamin setiap
+ * enrollment yang sudah dikonfirmasi ke pemanggil tidak hilang. Exception dari listener
+ * diteruskan ke pemanggil.
+ */
+public interface EnrollmentListener {
+
+    /**
+     * Mahasiswa berhasil didaftarkan (langsung, dari hold, dari daftar tunggu, atau hasil swap)
+     * @param enrollment Enrollment yang baru dibuat
+     * @param course Mata kuliah tujuan
+     */
+    void onEnrolled(Enrollment enrollment, Course course);
+
+    /**
+     * Mahasiswa melepas mata kuliah (drop atau bagian dari swap)
+     * @param studentId ID mahasiswa
+     * @param course Mata kuliah yang dilepas
+     */
+    void onDropped(String studentId, Course course);
+
+    /**
+     * Seperti {@link #onEnrolled(Enrollment, Course)}, beserta notifikasi untuk perubahan ini.
+     * Listener yang menyimpan notifikasi secara durable bersama enrollment-nya (lihat
+     * {@link EnrollmentJournal}) mengembalikan true dan mengambil alih pengirimannya.
+     * @param notification Notifikasi yang belum dikirim, atau null
+     * @return true jika listener yang akan mengirim notifikasi
+     */
+    default boolean onEnrolled(Enrollment enrollment, Course course, NotificationMessage notification) {
+        onEnrolled(enrollment, course);
+        return false;
+    }
+
+    /**
+     * Seperti {@link #onDropped(String, Course)}, beserta notifikasi untuk perubahan ini
+     * @param notification Notifikasi yang belum dikirim, atau null
+     * @return true jika listener yang akan mengirim notifikasi
+     */
+    default boolean onDropped(String studentId, Course course, NotificationMessage notification) {
+        onDropped(studentId, course);
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.siakad.service;
+
+/**
+ * Proyeksi (read model) yang diturunkan dari event {@link EnrollmentLedger}
+ *
+ * Event dengan partition key yang sama selalu diterapkan berurutan oleh satu thread;
+ * event dengan key berbeda boleh diterapkan bersamaan dari thread lain saat rebuild paralel.
+ */
+public interface EnrollmentProjection {
+
+    /**
+     * Key yang menentukan urutan penerapan event, misalnya kode mata kuliah
+     * @param event Event ledger
+     * @return Partition key
+     */
+    String partitionKey(EnrollmentEvent event);
+
+    /**
+     * Menerapkan satu event ke proyeksi
+     * @param event Event ledger
+     */
+    void apply(EnrollmentEvent event);
+
+    /**
+     * Mengosongkan proyeksi sebelum dibangun ulang
+     */
+    void reset();
+}
@@ -0,0 +1,98 @@
+package com.siakad.service;
+
+import com.siakad.model.Enrollment;
+import com.siakad.repository.CourseCodeDictionary;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Daftar mata kuliah yang sedang diambil setiap mahasiswa, dipakai untuk menolak enrollment ganda
+ *
+ * Setiap mahasiswa memegang {@link CourseIdSet} berisi ID padat dari {@link CourseCodeDictionary},
+ * bukan kumpulan String, sehingga satu mahasiswa hanya memakan puluhan byte dan pengecekan
+ * duplikat cukup dengan binary search di array yang sangat kecil.
+ */
+public class EnrollmentRegistry {
+
+    // Most students carry a handful of courses; the set grows on demand
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final CourseCodeDictionary dictionary;
+    private final ConcurrentHashMap<String, CourseIdSet> courses = new ConcurrentHashMap<>();
+
+    public EnrollmentRegistry() {
+        this(new CourseCodeDictionary());
+    }
+
+    public EnrollmentRegistry(CourseCodeDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Mencatat mahasiswa sebagai peserta mata kuliah secara atomik
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika berhasil dicatat, false jika mahasiswa sudah terdaftar
+     */
+    public boolean add(String studentId, String courseCode) {
+        CourseIdSet set = courses.get(studentId);
+        if (set == null) {
+            set = courses.computeIfAbsent(studentId, id -> new CourseIdSet(INITIAL_CAPACITY));
+        }
+        return set.add(dictionary.idOf(courseCode));
+    }
+
+    /**
+     * Menghapus mahasiswa dari peserta mata kuliah
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika mahasiswa sebelumnya terdaftar
+     */
+    public boolean remove(String studentId, String courseCode) {
+        CourseIdSet set = courses.get(studentId);
+        int id = dictionary.find(courseCode);
+        return set != null && id >= 0 && set.remove(id);
+    }
+
+    /**
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika mahasiswa sedang terdaftar di mata kuliah tersebut
+     */
+    public boolean isEnrolled(String studentId, String courseCode) {
+        CourseIdSet set = courses.get(studentId);
+        int id = dictionary.find(courseCode);
+        return set != null && id >= 0 && set.contains(id);
+    }
+
+    /**
+     * @param studentId ID mahasiswa
+     * @return Kode mata kuliah yang sedang diambil, terurut
+     */
+    public List<String> coursesOf(String studentId) {
+        CourseIdSet set = courses.get(studentId);
+        if (set == null) {
+            return List.of();
+        }
+        List<String> codes = new ArrayList<>();
+        for (int id : set.toArray()) {
+            codes.add(dictionary.codeOf(id));
+        }
+        codes.sort(null);
+        return codes;
+    }
+
+    /**
+     * Mengisi ulang registry dari enrollment yang masih aktif,
+     * misalnya hasil {@link EnrollmentJournal#getActiveEnrollments()} saat startup
+     * @param enrollments Enrollment aktif
+     */
+    public void restore(Collection<Enrollment> enrollments) {
+        for (Enrollment enrollment : enrollments) {
+            add(enrollment.getStudentId(), enrollment.getCourseCode());
+        }
+    }
+}
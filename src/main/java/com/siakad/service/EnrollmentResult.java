@@ -0,0 +1,47 @@
+package com.siakad.service;
+
+import com.siakad.model.Enrollment;
+
+/**
+ * Hasil dari {@link EnrollmentService#tryEnroll(String, String)}
+ *
+ * Penolakan direpresentasikan oleh konstanta {@link Rejection} yang sudah dialokasikan
+ * sebelumnya, sehingga jalur penolakan tidak membuat object baru maupun stack trace.
+ */
+
+public sealed interface EnrollmentResult {
+
+    /**
+     * @return true jika mahasiswa berhasil didaftarkan
+     */
+    default boolean isEnrolled() {
+        return this instanceof Enrolled;
+    }
+
+    /**
+     * Enrollment berhasil
+     * @param enrollment Data enrollment yang dibuat
+     */
+    record Enrolled(Enrollment enrollment) implements EnrollmentResult {
+    }
+
+    /**
+     * Mata kuliah penuh, mahasiswa dimasukkan ke daftar tunggu
+     * @param courseCode Kode mata kuliah
+     * @param position Posisi di daftar tunggu (dimulai dari 1)
+     */
+    record Waitlisted(String courseCode, int position) implements EnrollmentResult {
+    }
+
+    /**
+     * Alasan enrollment ditolak
+     */
+    enum Rejection implements EnrollmentResult {
+        STUDENT_NOT_FOUND,
+        STUDENT_SUSPENDED,
+        COURSE_NOT_FOUND,
+        COURSE_FULL,
+        PREREQUISITE_NOT_MET,
+        ALREADY_ENROLLED
+    }
+}
@@ -5,9 +5,20 @@ import com.siakad.model.Course;
 import com.siakad.model.Enrollment;
 import com.siakad.model.Student;
 import com.siakad.repository.CourseRepository;
+import com.siakad.repository.SeatReservation;
+import com.siakad.repository.SeatReservationRepository;
 import com.siakad.repository.StudentRepository;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
  * Service untuk mengelola enrollment (pendaftaran mata kuliah)
@@ -19,6 +30,21 @@ public class EnrollmentService {
     private CourseRepository courseRepository;
     private NotificationService notificationService;
     private GradeCalculator gradeCalculator;
+    private AcademicRuleRegistry ruleRegistry;
+    private final SeatLedger seatLedger = new SeatLedger();
+    private SeatReservationRepository seatReservations;
+    private final CourseWaitlist waitlist = new CourseWaitlist();
+    private EnrollmentRegistry enrollmentRegistry = new EnrollmentRegistry();
+    private EnrollmentIdGenerator enrollmentIdGenerator = SnowflakeEnrollmentIdGenerator.shared();
+    private boolean stacklessExceptions;
+    private final List<EnrollmentListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final ConcurrentHashMap<String, ActiveHold> seatHolds = new ConcurrentHashMap<>();
+    // Keyed by student and course; the registry slot of a held seat belongs to the hold until it ends
+    private final ConcurrentHashMap<String, ActiveHold> heldSeats = new ConcurrentHashMap<>();
+    private Duration seatHoldTtl = Duration.ofMinutes(15);
+    private LongSupplier nanoClock = System::nanoTime;
+    private HashedTimingWheel<ActiveHold> holdExpiry = newHoldWheel();
 
     public EnrollmentService(StudentRepository studentRepository,
                              CourseRepository courseRepository,
@@ -38,59 +64,577 @@ public class EnrollmentService {
      * @param courseCode Kode mata kuliah
      * @return Enrollment object jika berhasil
      * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
-     * @throws EnrollmentException jika mahasiswa di-suspend
+     * @throws EnrollmentException jika mahasiswa di-suspend atau sudah terdaftar di mata kuliah ini
      * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
      * @throws CourseFullException jika mata kuliah sudah penuh
      * @throws PrerequisiteNotMetException jika prasyarat tidak terpenuhi
      */
     public Enrollment enrollCourse(String studentId, String courseCode) {
+        EnrollmentResult result = tryEnroll(studentId, courseCode);
+        if (result instanceof EnrollmentResult.Enrolled enrolled) {
+            return enrolled.enrollment();
+        }
+        throw toException((EnrollmentResult.Rejection) result, studentId, courseCode);
+    }
+
+    /**
+     * Mendaftarkan mahasiswa ke mata kuliah tanpa melempar exception
+     * Jalur penolakan hanya mengembalikan konstanta {@link EnrollmentResult.Rejection}
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return {@link EnrollmentResult.Enrolled} jika berhasil, atau alasan penolakan
+     */
+    public EnrollmentResult tryEnroll(String studentId, String courseCode) {
+        StagedEnrollment staged = stageEnrollment(studentId, courseCode);
+        if (staged.rejection() != null) {
+            return staged.rejection();
+        }
+
+        // Publish course enrollment count, or undo the recorded enrollment so a retry can succeed
+        try {
+            publishSeat(staged.course());
+        } catch (RuntimeException | Error e) {
+            unstageEnrollment(staged, e);
+            throw e;
+        }
+
+        // Send notification
+        sendEnrollmentConfirmation(staged);
+
+        return new EnrollmentResult.Enrolled(staged.enrollment());
+    }
+
+    /**
+     * Bagian dari tryEnroll tanpa publikasi jumlah peserta dan tanpa notifikasi:
+     * kursi direservasi dan enrollment dicatat. {@link CourseShardExecutor} memakainya agar
+     * jumlah peserta cukup dipublikasikan sekali per mata kuliah untuk satu batch request.
+     * Pemanggil wajib memanggil {@link #publishSeat(Course)} dan
+     * {@link #sendEnrollmentConfirmation(StagedEnrollment)} untuk enrollment yang berhasil.
+     */
+    StagedEnrollment stageEnrollment(String studentId, String courseCode) {
+        Reservation reservation = reserveSeat(studentId, courseCode);
+        if (reservation.rejection() != null) {
+            return StagedEnrollment.rejected(reservation.rejection());
+        }
+        Course course = reservation.course();
+
+        // Create enrollment
+        Enrollment enrollment = newEnrollment(studentId, courseCode);
+        NotificationMessage confirmation = new EmailMessage(reservation.student().getEmail(),
+                "Enrollment Confirmation",
+                "You have been enrolled in: " + course.getCourseName());
+        NotificationMessage unsent = fireEnrolledOrReturn(enrollment, course, confirmation);
+        return new StagedEnrollment(enrollment, course, unsent, null);
+    }
+
+    /**
+     * Mengirim email konfirmasi untuk enrollment dari {@link #stageEnrollment(String, String)},
+     * kecuali sudah diambil alih outbox durable
+     */
+    void sendEnrollmentConfirmation(StagedEnrollment staged) {
+        send(staged.notification());
+    }
+
+    /**
+     * Membatalkan enrollment dari {@link #stageEnrollment(String, String)} yang jumlah
+     * pesertanya gagal dipublikasikan: slot registry dilepas, drop dicatat ke listener,
+     * lalu kursinya dikembalikan. Langkah yang gagal ditempelkan ke failure.
+     */
+    void unstageEnrollment(StagedEnrollment staged, Throwable failure) {
+        String studentId = staged.enrollment().getStudentId();
+        Course course = staged.course();
+        enrollmentRegistry.remove(studentId, course.getCourseCode());
+        rollback(failure, () -> fireDropped(studentId, course, null));
+        rollback(failure, () -> returnSeat(course));
+    }
+
+    /**
+     * Validasi mahasiswa dan mata kuliah lalu mereservasi satu kursi
+     * Jalur penolakan mengembalikan object yang sudah dialokasikan sebelumnya.
+     * Jika berhasil, mahasiswa sudah tercatat di {@link EnrollmentRegistry}.
+     */
+    private Reservation reserveSeat(String studentId, String courseCode) {
+        if (enrollmentRegistry.isEnrolled(studentId, courseCode)) {
+            return Reservation.rejected(EnrollmentResult.Rejection.ALREADY_ENROLLED);
+        }
+
+        if (seatReservations != null) {
+            // Single round trip: the repository validates and increments the count itself
+            SeatReservation reservation = seatReservations.reserveSeat(studentId, courseCode);
+            if (!reservation.isReserved()) {
+                return Reservation.rejected(toRejection(reservation.status()));
+            }
+            // A concurrent retry of the same request may have won in the meantime
+            if (!enrollmentRegistry.add(studentId, courseCode)) {
+                returnSeat(reservation.course());
+                return Reservation.rejected(EnrollmentResult.Rejection.ALREADY_ENROLLED);
+            }
+            return new Reservation(reservation.student(), reservation.course(), null);
+        }
+
         // Validate student
         Student student = studentRepository.findById(studentId);
         if (student == null) {
-            throw new StudentNotFoundException("Student not found: " + studentId);
+            return Reservation.rejected(EnrollmentResult.Rejection.STUDENT_NOT_FOUND);
         }
 
         // Check academic status
         if ("SUSPENDED".equals(student.getAcademicStatus())) {
-            throw new EnrollmentException("Student is suspended");
+            return Reservation.rejected(EnrollmentResult.Rejection.STUDENT_SUSPENDED);
         }
 
         // Validate course
         Course course = courseRepository.findByCourseCode(courseCode);
         if (course == null) {
-            throw new CourseNotFoundException("Course not found: " + courseCode);
+            return Reservation.rejected(EnrollmentResult.Rejection.COURSE_NOT_FOUND);
         }
 
         // Check capacity
-        if (course.getEnrolledCount() >= course.getCapacity()) {
-            throw new CourseFullException("Course is full");
+        if (seatLedger.isFull(course)) {
+            return Reservation.rejected(EnrollmentResult.Rejection.COURSE_FULL);
         }
 
         // Check prerequisites
         if (!courseRepository.isPrerequisiteMet(studentId, courseCode)) {
-            throw new PrerequisiteNotMetException("Prerequisites not met");
+            return Reservation.rejected(EnrollmentResult.Rejection.PREREQUISITE_NOT_MET);
         }
 
-        // Create enrollment
-        Enrollment enrollment = new Enrollment();
-        enrollment.setEnrollmentId(generateEnrollmentId());
-        enrollment.setStudentId(studentId);
-        enrollment.setCourseCode(courseCode);
-        enrollment.setEnrollmentDate(LocalDateTime.now());
-        enrollment.setStatus("APPROVED");
+        // Claim the student's slot first so a concurrent retry cannot take a second seat
+        if (!enrollmentRegistry.add(studentId, courseCode)) {
+            return Reservation.rejected(EnrollmentResult.Rejection.ALREADY_ENROLLED);
+        }
 
-        // Update course enrollment count
-        course.setEnrolledCount(course.getEnrolledCount() + 1);
-        courseRepository.update(course);
+        // Reserve seat (CAS, may still lose the race to a concurrent enrollment)
+        if (!seatLedger.tryReserve(course)) {
+            enrollmentRegistry.remove(studentId, courseCode);
+            return Reservation.rejected(EnrollmentResult.Rejection.COURSE_FULL);
+        }
+        return new Reservation(student, course, null);
+    }
 
-        // Send notification
-        notificationService.sendEmail(student.getEmail(),
-                "Enrollment Confirmation",
-                "You have been enrolled in: " + course.getCourseName());
+    /**
+     * Mendaftarkan mahasiswa ke beberapa mata kuliah sekaligus (all-or-nothing)
+     *
+     * Kursi direservasi dengan CAS dalam urutan kode mata kuliah yang kanonis (terurut),
+     * sehingga keranjang yang saling tumpang tindih tidak bisa saling mengunci. Jika satu
+     * mata kuliah gagal, semua kursi yang sudah direservasi dikembalikan (atau diteruskan ke
+     * daftar tunggu) dan penolakan aslinya dilempar. Batas SKS
+     * dicek sekali untuk seluruh keranjang.
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCodes Daftar kode mata kuliah (duplikat diabaikan)
+     * @return Daftar Enrollment, urut berdasarkan kode mata kuliah
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa di-suspend, sudah terdaftar di salah satu
+     *         mata kuliah, atau total SKS melebihi batas
+     * @throws CourseNotFoundException jika salah satu mata kuliah tidak ditemukan
+     * @throws PrerequisiteNotMetException jika prasyarat salah satu mata kuliah tidak terpenuhi
+     * @throws CourseFullException jika salah satu mata kuliah sudah penuh
+     */
+    public List<Enrollment> enrollAll(String studentId, List<String> courseCodes) {
+        Student student = studentRepository.findById(studentId);
+        if (student == null) {
+            throw toException(EnrollmentResult.Rejection.STUDENT_NOT_FOUND, studentId, null);
+        }
+        if ("SUSPENDED".equals(student.getAcademicStatus())) {
+            throw toException(EnrollmentResult.Rejection.STUDENT_SUSPENDED, studentId, null);
+        }
+
+        List<Course> cart = new ArrayList<>();
+        int totalCredits = 0;
+        for (String courseCode : new TreeSet<>(courseCodes)) {
+            Course course = courseRepository.findByCourseCode(courseCode);
+            if (course == null) {
+                throw toException(EnrollmentResult.Rejection.COURSE_NOT_FOUND, studentId, courseCode);
+            }
+            if (enrollmentRegistry.isEnrolled(studentId, courseCode)) {
+                throw toException(EnrollmentResult.Rejection.ALREADY_ENROLLED, studentId, courseCode);
+            }
+            cart.add(course);
+            totalCredits += course.getCredits();
+        }
+
+        // Credit check once for the whole cart
+        int maxCredits = maxCreditsOf(student);
+        if (totalCredits > maxCredits) {
+            throw new EnrollmentException("Credit limit exceeded: " + totalCredits + " > " + maxCredits,
+                    !stacklessExceptions);
+        }
+
+        for (Course course : cart) {
+            if (!courseRepository.isPrerequisiteMet(studentId, course.getCourseCode())) {
+                throw new PrerequisiteNotMetException("Prerequisites not met: " + course.getCourseCode(),
+                        !stacklessExceptions);
+            }
+        }
 
+        // Reserve every seat in canonical order, or roll back the ones already taken
+        for (int i = 0; i < cart.size(); i++) {
+            String courseCode = cart.get(i).getCourseCode();
+            if (!enrollmentRegistry.add(studentId, courseCode)) {
+                returnCart(studentId, cart, i);
+                throw toException(EnrollmentResult.Rejection.ALREADY_ENROLLED, studentId, courseCode);
+            }
+            EnrollmentResult.Rejection rejection = takeSeat(studentId, cart.get(i));
+            if (rejection != null) {
+                enrollmentRegistry.remove(studentId, courseCode);
+                returnCart(studentId, cart, i);
+                throw toException(rejection, studentId, courseCode);
+            }
+        }
+
+        StringBuilder courseNames = new StringBuilder();
+        for (Course course : cart) {
+            if (courseNames.length() > 0) {
+                courseNames.append(", ");
+            }
+            courseNames.append(course.getCourseName());
+        }
+
+        // One confirmation for the whole cart, recorded with the last enrollment
+        List<Enrollment> enrollments = new ArrayList<>(cart.size());
+        NotificationMessage unsent = null;
+        for (int i = 0; i < cart.size(); i++) {
+            Course course = cart.get(i);
+            Enrollment enrollment = newEnrollment(studentId, course.getCourseCode());
+            NotificationMessage confirmation = i < cart.size() - 1 ? null
+                    : new EmailMessage(student.getEmail(), "Enrollment Confirmation",
+                            "You have been enrolled in: " + courseNames);
+            try {
+                publishSeat(course);
+                unsent = fireEnrolled(enrollment, course, confirmation);
+            } catch (RuntimeException | Error e) {
+                // All-or-nothing: undo what was recorded and give back the seats still reserved
+                for (int j = 0; j < i; j++) {
+                    Course recorded = cart.get(j);
+                    enrollmentRegistry.remove(studentId, recorded.getCourseCode());
+                    rollback(e, () -> fireDropped(studentId, recorded, null));
+                    rollback(e, () -> releaseSeat(recorded));
+                }
+                for (int j = i; j < cart.size(); j++) {
+                    Course reserved = cart.get(j);
+                    enrollmentRegistry.remove(studentId, reserved.getCourseCode());
+                    rollback(e, () -> returnSeat(reserved));
+                }
+                throw e;
+            }
+            enrollments.add(enrollment);
+        }
+
+        send(unsent);
+        return enrollments;
+    }
+
+    /**
+     * Menukar mata kuliah (drop A, enroll B) secara atomik
+     *
+     * Kursi di mata kuliah tujuan direservasi terlebih dahulu; kursi lama baru dilepas
+     * jika reservasi berhasil. Jika mata kuliah tujuan penuh, mahasiswa tetap memegang
+     * kursi lamanya. Enrollment baru dicatat ke listener sebelum drop-nya, sehingga jika
+     * listener gagal, mahasiswa tetap berada di mata kuliah asal.
+     *
+     * @param studentId ID mahasiswa
+     * @param fromCode Kode mata kuliah yang dilepas
+     * @param toCode Kode mata kuliah tujuan
+     * @return Enrollment untuk mata kuliah tujuan
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa di-suspend, kedua kode sama, mahasiswa tidak
+     *         terdaftar di mata kuliah asal, atau sudah terdaftar di mata kuliah tujuan
+     * @throws CourseNotFoundException jika salah satu mata kuliah tidak ditemukan
+     * @throws PrerequisiteNotMetException jika prasyarat mata kuliah tujuan tidak terpenuhi
+     * @throws CourseFullException jika mata kuliah tujuan sudah penuh
+     */
+    public Enrollment swapCourse(String studentId, String fromCode, String toCode) {
+        if (fromCode.equals(toCode)) {
+            throw new EnrollmentException("Cannot swap a course with itself: " + fromCode, !stacklessExceptions);
+        }
+
+        Course from = courseRepository.findByCourseCode(fromCode);
+        if (from == null) {
+            throw toException(EnrollmentResult.Rejection.COURSE_NOT_FOUND, studentId, fromCode);
+        }
+        if (!enrollmentRegistry.isEnrolled(studentId, fromCode)
+                || heldSeats.containsKey(holdKey(studentId, fromCode))) {
+            throw notEnrolled(fromCode);
+        }
+
+        // Reserve the target seat first; the old seat is untouched if this fails
+        Reservation reservation = reserveSeat(studentId, toCode);
+        if (reservation.rejection() != null) {
+            throw toException(reservation.rejection(), studentId, toCode);
+        }
+        Course to = reservation.course();
+
+        // A concurrent drop or swap may have released the old seat in the meantime,
+        // and a seat that is only held is not an enrollment to swap away
+        if (!removeEnrolled(studentId, fromCode)) {
+            enrollmentRegistry.remove(studentId, toCode);
+            returnSeat(to);
+            throw notEnrolled(fromCode);
+        }
+
+        // Record the new enrollment before the drop, so a failure never leaves the student in neither course
+        Enrollment enrollment = newEnrollment(studentId, toCode);
+        try {
+            publishSeat(to);
+            fireEnrolled(enrollment, to, null);
+        } catch (RuntimeException | Error e) {
+            // Nothing was recorded: keep the old seat and give back the new one
+            enrollmentRegistry.add(studentId, fromCode);
+            enrollmentRegistry.remove(studentId, toCode);
+            rollback(e, () -> returnSeat(to));
+            throw e;
+        }
+
+        // Commit the release of the old seat; the confirmation is recorded with it
+        NotificationMessage unsent;
+        try {
+            unsent = fireDropped(studentId, from, new EmailMessage(reservation.student().getEmail(),
+                    "Course Swap Confirmation",
+                    "You have dropped: " + from.getCourseName()
+                            + " and have been enrolled in: " + to.getCourseName()));
+        } catch (RuntimeException | Error e) {
+            // The drop was not recorded: keep the old seat and undo the new enrollment
+            enrollmentRegistry.add(studentId, fromCode);
+            enrollmentRegistry.remove(studentId, toCode);
+            rollback(e, () -> fireDropped(studentId, to, null));
+            rollback(e, () -> releaseSeat(to));
+            throw e;
+        }
+        releaseSeat(from);
+        send(unsent);
+        return enrollment;
+    }
+
+    /**
+     * Mendaftarkan mahasiswa ke mata kuliah, atau memasukkannya ke daftar tunggu jika penuh
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return {@link EnrollmentResult.Enrolled}, {@link EnrollmentResult.Waitlisted},
+     *         atau alasan penolakan lainnya
+     */
+    public EnrollmentResult enrollOrWaitlist(String studentId, String courseCode) {
+        EnrollmentResult result = tryEnroll(studentId, courseCode);
+        if (result != EnrollmentResult.Rejection.COURSE_FULL) {
+            return result;
+        }
+        int position = waitlist.join(courseCode, studentId);
+        return new EnrollmentResult.Waitlisted(courseCode, position);
+    }
+
+    /**
+     * Posisi mahasiswa di daftar tunggu mata kuliah
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Posisi (dimulai dari 1), atau 0 jika tidak ada di daftar tunggu
+     */
+    public int getWaitlistPosition(String studentId, String courseCode) {
+        return waitlist.positionOf(courseCode, studentId);
+    }
+
+    /**
+     * Mengeluarkan mahasiswa dari daftar tunggu mata kuliah
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika mahasiswa sebelumnya ada di daftar tunggu
+     */
+    public boolean leaveWaitlist(String studentId, String courseCode) {
+        return waitlist.leave(courseCode, studentId);
+    }
+
+    /**
+     * Menahan (hold) satu kursi sementara mahasiswa menyusun jadwal
+     * Kursi langsung terhitung terisi dan dilepas otomatis setelah TTL hold habis
+     * jika tidak dikonfirmasi.
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Data hold
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa di-suspend atau sudah terdaftar di mata kuliah ini
+     * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
+     * @throws CourseFullException jika mata kuliah sudah penuh
+     * @throws PrerequisiteNotMetException jika prasyarat tidak terpenuhi
+     */
+    public SeatHold holdSeat(String studentId, String courseCode) {
+        // Mark the hold before its registry slot exists, so a concurrent drop never takes that slot
+        String key = holdKey(studentId, courseCode);
+        if (heldSeats.putIfAbsent(key, ActiveHold.PENDING) != null) {
+            throw toException(EnrollmentResult.Rejection.ALREADY_ENROLLED, studentId, courseCode);
+        }
+        Reservation reservation = reserveSeat(studentId, courseCode);
+        if (reservation.rejection() != null) {
+            heldSeats.remove(key, ActiveHold.PENDING);
+            throw toException(reservation.rejection(), studentId, courseCode);
+        }
+        Course course = reservation.course();
+        try {
+            publishSeat(course);
+        } catch (RuntimeException | Error e) {
+            enrollmentRegistry.remove(studentId, courseCode);
+            rollback(e, () -> returnSeat(course));
+            heldSeats.remove(key, ActiveHold.PENDING);
+            throw e;
+        }
+
+        Duration ttl = seatHoldTtl;
+        long deadline = nanoClock.getAsLong() + ttl.toNanos();
+        SeatHold hold = new SeatHold("HLD-" + Long.toString(enrollmentIdGenerator.nextId(), 36).toUpperCase(),
+                studentId, courseCode, Instant.now().plus(ttl));
+        ActiveHold active = new ActiveHold(hold, reservation.student().getEmail(), course, deadline);
+        seatHolds.put(hold.holdId(), active);
+        heldSeats.put(key, active);
+        active.timeout = holdExpiry.schedule(active, deadline);
+        return hold;
+    }
+
+    /**
+     * Mengonfirmasi hold menjadi enrollment
+     *
+     * @param holdId ID hold
+     * @return Enrollment object
+     * @throws EnrollmentException jika hold tidak ditemukan atau sudah kedaluwarsa
+     */
+    public Enrollment confirmHold(String holdId) {
+        ActiveHold active = seatHolds.remove(holdId);
+        if (active == null) {
+            throw new EnrollmentException("Seat hold not found or expired: " + holdId, !stacklessExceptions);
+        }
+        active.cancelTimeout();
+        // The TTL may have passed before the next expireHolds() run
+        if (nanoClock.getAsLong() - active.deadline >= 0) {
+            releaseHeldSeat(active);
+            throw new EnrollmentException("Seat hold not found or expired: " + holdId, !stacklessExceptions);
+        }
+
+        SeatHold hold = active.hold;
+        Enrollment enrollment = newEnrollment(hold.studentId(), hold.courseCode());
+        NotificationMessage unsent;
+        try {
+            unsent = fireEnrolledOrReturn(enrollment, active.course, new EmailMessage(active.email,
+                    "Enrollment Confirmation",
+                    "You have been enrolled in: " + active.course.getCourseName()));
+        } finally {
+            heldSeats.remove(holdKey(hold.studentId(), hold.courseCode()), active);
+        }
+        send(unsent);
         return enrollment;
     }
 
+    /**
+     * Melepaskan hold sebelum waktunya
+     * @param holdId ID hold
+     * @return true jika hold ditemukan dan dilepas
+     */
+    public boolean releaseHold(String holdId) {
+        ActiveHold active = seatHolds.remove(holdId);
+        if (active == null) {
+            return false;
+        }
+        active.cancelTimeout();
+        releaseHeldSeat(active);
+        return true;
+    }
+
+    /**
+     * Melepaskan semua hold yang sudah kedaluwarsa sekaligus
+     * Cukup dipanggil secara periodik oleh satu scheduler, misalnya setiap detik.
+     * @return Jumlah hold yang dilepas
+     */
+    public int expireHolds() {
+        List<ActiveHold> expired = holdExpiry.advance(nanoClock.getAsLong());
+        int released = 0;
+        for (ActiveHold active : expired) {
+            if (seatHolds.remove(active.hold.holdId(), active)) {
+                releaseHeldSeat(active);
+                released++;
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Jumlah hold yang masih aktif
+     * @return Jumlah hold aktif
+     */
+    public int getActiveHoldCount() {
+        return seatHolds.size();
+    }
+
+    /**
+     * Mengatur lama hold kursi sebelum dilepas otomatis
+     * @param seatHoldTtl Lama hold
+     */
+    public void setSeatHoldTtl(Duration seatHoldTtl) {
+        this.seatHoldTtl = seatHoldTtl;
+    }
+
+    /**
+     * Mengganti sumber waktu untuk kedaluwarsa hold (untuk testing)
+     */
+    void setNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.holdExpiry = newHoldWheel();
+    }
+
+    private HashedTimingWheel<ActiveHold> newHoldWheel() {
+        return new HashedTimingWheel<>(TimeUnit.SECONDS.toNanos(1), 1024, nanoClock.getAsLong());
+    }
+
+    /**
+     * Melepas kursi hold yang sudah diambil dari seatHolds oleh pemanggil. Kursi hanya dilepas
+     * jika slot registry-nya memang masih dipegang hold ini, agar tidak pernah dilepas dua kali.
+     * @return Enrollment mahasiswa yang dipromosikan dari daftar tunggu, atau null
+     */
+    private Enrollment releaseHeldSeat(ActiveHold active) {
+        SeatHold hold = active.hold;
+        try {
+            if (!enrollmentRegistry.remove(hold.studentId(), hold.courseCode())) {
+                return null;
+            }
+            Course course = courseRepository.findByCourseCode(hold.courseCode());
+            return course == null ? null : releaseSeat(course);
+        } finally {
+            heldSeats.remove(holdKey(hold.studentId(), hold.courseCode()), active);
+        }
+    }
+
+    /**
+     * Melepas slot registry enrollment yang sudah dikonfirmasi. Slot milik hold yang belum
+     * dikonfirmasi tidak disentuh; pengecekan dan penghapusan atomik terhadap holdSeat.
+     * @return true jika mahasiswa terdaftar dan slotnya dilepas
+     */
+    private boolean removeEnrolled(String studentId, String courseCode) {
+        boolean[] removed = new boolean[1];
+        heldSeats.compute(holdKey(studentId, courseCode), (key, held) -> {
+            if (held == null) {
+                removed[0] = enrollmentRegistry.remove(studentId, courseCode);
+            }
+            return held;
+        });
+        return removed[0];
+    }
+
+    /**
+     * Membatalkan hold mahasiswa pada mata kuliah jika ada dan belum dikonfirmasi
+     * @return true jika hold ditemukan dan dibatalkan oleh pemanggil ini
+     */
+    private boolean cancelHold(String studentId, String courseCode, Enrollment[] promoted) {
+        ActiveHold held = heldSeats.get(holdKey(studentId, courseCode));
+        if (held == null || held == ActiveHold.PENDING || !seatHolds.remove(held.hold.holdId(), held)) {
+            return false;
+        }
+        held.cancelTimeout();
+        promoted[0] = releaseHeldSeat(held);
+        return true;
+    }
+
+    private static String holdKey(String studentId, String courseCode) {
+        return studentId + '\u0000' + courseCode;
+    }
+
     /**
      * Validasi batas SKS yang boleh diambil mahasiswa
      * Method ini akan diuji dengan STUB
@@ -103,41 +647,430 @@ public class EnrollmentService {
     public boolean validateCreditLimit(String studentId, int requestedCredits) {
         Student student = studentRepository.findById(studentId);
         if (student == null) {
-            throw new StudentNotFoundException("Student not found");
+            throw new StudentNotFoundException("Student not found", !stacklessExceptions);
         }
 
-        int maxCredits = gradeCalculator.calculateMaxCredits(student.getGpa());
+        int maxCredits = maxCreditsOf(student);
         return requestedCredits <= maxCredits;
     }
 
+    /**
+     * Memakai aturan batas SKS per jurusan alih-alih aturan {@link GradeCalculator}
+     * @param ruleRegistry Registry aturan, atau null untuk memakai aturan GradeCalculator
+     */
+    public void setRuleRegistry(AcademicRuleRegistry ruleRegistry) {
+        this.ruleRegistry = ruleRegistry;
+    }
+
+    private int maxCreditsOf(Student student) {
+        AcademicRuleRegistry registry = ruleRegistry;
+        if (registry == null) {
+            return gradeCalculator.calculateMaxCredits(student.getGpa());
+        }
+        return registry.rulesFor(student.getMajor()).calculateMaxCredits(student.getGpa());
+    }
+
     /**
      * Drop (membatalkan) mata kuliah yang sudah didaftarkan
      * Method ini akan diuji dengan STUB
+     * Jika mahasiswa hanya memegang hold yang belum dikonfirmasi, hold tersebut dibatalkan.
      *
      * @param studentId ID mahasiswa
      * @param courseCode Kode mata kuliah
+     * @return Enrollment mahasiswa dari daftar tunggu yang menerima kursi tersebut,
+     *         atau null jika kursi dikosongkan
      * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
      * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa tidak terdaftar di mata kuliah tersebut
      */
-    public void dropCourse(String studentId, String courseCode) {
+    public Enrollment dropCourse(String studentId, String courseCode) {
         Student student = studentRepository.findById(studentId);
         if (student == null) {
-            throw new StudentNotFoundException("Student not found");
+            throw new StudentNotFoundException("Student not found", !stacklessExceptions);
         }
 
         Course course = courseRepository.findByCourseCode(courseCode);
         if (course == null) {
-            throw new CourseNotFoundException("Course not found");
+            throw new CourseNotFoundException("Course not found", !stacklessExceptions);
         }
 
-        // Update enrollment count
-        course.setEnrolledCount(course.getEnrolledCount() - 1);
-        courseRepository.update(course);
+        // An unconfirmed hold is cancelled; it was never recorded as an enrollment
+        Enrollment[] promoted = new Enrollment[1];
+        if (cancelHold(studentId, courseCode, promoted)) {
+            return promoted[0];
+        }
 
-        // Send notification
-        notificationService.sendEmail(student.getEmail(),
+        // Only a student who actually holds the seat may give it back
+        if (!removeEnrolled(studentId, courseCode)) {
+            throw notEnrolled(courseCode);
+        }
+
+        // Update enrollment count (or hand the seat to the waitlist)
+        NotificationMessage unsent = fireDropped(studentId, course, new EmailMessage(student.getEmail(),
                 "Course Drop Confirmation",
-                "You have dropped: " + course.getCourseName());
+                "You have dropped: " + course.getCourseName()));
+        Enrollment next = releaseSeat(course);
+
+        // Send notification
+        send(unsent);
+        return next;
+    }
+
+    /**
+     * Melepaskan satu kursi. Jika ada mahasiswa di daftar tunggu yang memenuhi syarat,
+     * kursi seat ledger langsung dipindahkan kepadanya tanpa pernah kosong, sehingga tidak
+     * bisa direbut oleh enrollCourse lain yang berjalan bersamaan. Untuk mode reservasi
+     * lihat {@link #releaseReservedSeat(Course)}.
+     * @return Enrollment mahasiswa yang dipromosikan, atau null jika kursi dikosongkan
+     */
+    private Enrollment releaseSeat(Course course) {
+        if (seatReservations != null) {
+            return releaseReservedSeat(course);
+        }
+        if (seatLedger.enrolledCount(course) > 0) {
+            Enrollment promoted = promoteFromWaitlist(course);
+            if (promoted != null) {
+                return promoted;
+            }
+        }
+        freeSeat(course);
+        return null;
+    }
+
+    /**
+     * Mereservasi kursi untuk mata kuliah yang sudah divalidasi (dipakai enrollAll)
+     * @return null jika berhasil, atau alasan penolakan dari ledger/repository
+     */
+    private EnrollmentResult.Rejection takeSeat(String studentId, Course course) {
+        if (seatReservations != null) {
+            SeatReservation reservation = seatReservations.reserveSeat(studentId, course.getCourseCode());
+            return reservation.isReserved() ? null : toRejection(reservation.status());
+        }
+        return seatLedger.tryReserve(course) ? null : EnrollmentResult.Rejection.COURSE_FULL;
+    }
+
+    private void returnCart(String studentId, List<Course> cart, int taken) {
+        for (int j = 0; j < taken; j++) {
+            enrollmentRegistry.remove(studentId, cart.get(j).getCourseCode());
+            returnSeat(cart.get(j));
+        }
+    }
+
+    /**
+     * Mengembalikan kursi yang sudah direservasi tetapi enrollment-nya dibatalkan.
+     * Selama kursi tertahan, request lain bisa melihat mata kuliah penuh dan masuk daftar
+     * tunggu, atau publikasi lain bisa sudah menulis jumlah yang ikut menghitungnya; karena
+     * itu kursi diteruskan ke daftar tunggu dulu, dan jumlah terbaru dipublikasikan.
+     */
+    private void returnSeat(Course course) {
+        if (seatReservations != null) {
+            releaseReservedSeat(course);
+            return;
+        }
+        if (promoteFromWaitlist(course) != null) {
+            publishSeat(course);
+            return;
+        }
+        freeSeat(course);
+    }
+
+    /**
+     * Mode {@link SeatReservationRepository}: salinan Course di tangan service bisa usang,
+     * jadi kursi dilepas dulu dan daftar tunggu hanya diproses jika pengurangan itu benar-benar
+     * melepas kursi. Mahasiswa yang dipromosikan mereservasi kursi tersebut lewat repository.
+     * @return Enrollment mahasiswa yang dipromosikan, atau null
+     */
+    private Enrollment releaseReservedSeat(Course course) {
+        if (!seatReservations.releaseSeat(course.getCourseCode())) {
+            return null;
+        }
+        return promoteFromWaitlist(course);
+    }
+
+    /**
+     * Mengosongkan satu kursi tanpa melihat daftar tunggu
+     */
+    private void freeSeat(Course course) {
+        if (seatReservations != null) {
+            seatReservations.releaseSeat(course.getCourseCode());
+            return;
+        }
+        seatLedger.release(course);
+        seatLedger.publish(course, courseRepository);
+    }
+
+    /**
+     * Menulis jumlah peserta terbaru ke repository. Tidak diperlukan jika reservasi
+     * dilakukan oleh {@link SeatReservationRepository}, karena repository sudah menyimpannya.
+     */
+    void publishSeat(Course course) {
+        if (seatReservations == null) {
+            seatLedger.publish(course, courseRepository);
+        }
+    }
+
+    private static EnrollmentResult.Rejection toRejection(SeatReservation.Status status) {
+        return switch (status) {
+            case STUDENT_NOT_FOUND -> EnrollmentResult.Rejection.STUDENT_NOT_FOUND;
+            case STUDENT_SUSPENDED -> EnrollmentResult.Rejection.STUDENT_SUSPENDED;
+            case COURSE_NOT_FOUND -> EnrollmentResult.Rejection.COURSE_NOT_FOUND;
+            case COURSE_FULL -> EnrollmentResult.Rejection.COURSE_FULL;
+            case PREREQUISITE_NOT_MET -> EnrollmentResult.Rejection.PREREQUISITE_NOT_MET;
+            case RESERVED -> throw new IllegalArgumentException("Seat was reserved");
+        };
+    }
+
+    /**
+     * Mempromosikan mahasiswa terdepan yang masih memenuhi syarat dari daftar tunggu.
+     * Mahasiswa yang tidak ditemukan, di-suspend, belum memenuhi prasyarat, atau ternyata
+     * sudah terdaftar di mata kuliah tersebut dilewati.
+     * @return Enrollment mahasiswa yang dipromosikan, atau null jika tidak ada
+     */
+    private Enrollment promoteFromWaitlist(Course course) {
+        String courseCode = course.getCourseCode();
+        String studentId;
+        while ((studentId = waitlist.poll(courseCode)) != null) {
+            Student student;
+            if (seatReservations != null) {
+                if (!enrollmentRegistry.add(studentId, courseCode)) {
+                    continue;
+                }
+                SeatReservation reservation = seatReservations.reserveSeat(studentId, courseCode);
+                if (!reservation.isReserved()) {
+                    enrollmentRegistry.remove(studentId, courseCode);
+                    if (reservation.status() == SeatReservation.Status.COURSE_FULL) {
+                        // A concurrent enrollment took the freed seat; keep waiting for the next one
+                        waitlist.join(courseCode, studentId);
+                        return null;
+                    }
+                    continue;
+                }
+                student = reservation.student();
+            } else {
+                student = studentRepository.findById(studentId);
+                if (student == null
+                        || "SUSPENDED".equals(student.getAcademicStatus())
+                        || !courseRepository.isPrerequisiteMet(studentId, courseCode)
+                        || !enrollmentRegistry.add(studentId, courseCode)) {
+                    continue;
+                }
+            }
+
+            Enrollment enrollment = newEnrollment(studentId, courseCode);
+            NotificationMessage unsent;
+            try {
+                unsent = fireEnrolled(enrollment, course, new EmailMessage(student.getEmail(),
+                        "Waitlist Promotion",
+                        "You have been enrolled from the waitlist in: " + course.getCourseName()));
+            } catch (RuntimeException | Error e) {
+                // The promotion was not recorded: the seat becomes free instead
+                enrollmentRegistry.remove(studentId, courseCode);
+                rollback(e, () -> freeSeat(course));
+                throw e;
+            }
+            send(unsent);
+            return enrollment;
+        }
+        return null;
+    }
+
+    /**
+     * Memakai repository yang memvalidasi dan mereservasi kursi dalam satu panggilan.
+     * Setelah diset, jumlah peserta dikelola repository tersebut, bukan oleh seat ledger di memori.
+     * @param seatReservations Repository reservasi kursi, atau null untuk kembali ke seat ledger
+     */
+    public void setSeatReservationRepository(SeatReservationRepository seatReservations) {
+        this.seatReservations = seatReservations;
+    }
+
+    /**
+     * Mengganti registry mata kuliah per mahasiswa, misalnya yang sudah diisi ulang
+     * dari {@link EnrollmentJournal} saat startup
+     * @param enrollmentRegistry Registry enrollment
+     */
+    public void setEnrollmentRegistry(EnrollmentRegistry enrollmentRegistry) {
+        this.enrollmentRegistry = enrollmentRegistry;
+    }
+
+    /**
+     * @return Registry mata kuliah yang sedang diambil setiap mahasiswa
+     */
+    public EnrollmentRegistry getEnrollmentRegistry() {
+        return enrollmentRegistry;
+    }
+
+    /**
+     * Mendaftarkan listener yang diberi tahu setiap enrollment dan drop
+     * Jika listener berupa {@link EnrollmentJournal} yang sudah dipasangi
+     * {@link OutboxNotificationService}, notifikasi dicatat bersama perubahan kursi lalu
+     * dikirim oleh outbox, dan method service tidak lagi menunggu mail server.
+     * @param listener Listener, misalnya journal untuk persistensi
+     */
+    public void addEnrollmentListener(EnrollmentListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Memberi tahu listener, beserta notifikasi untuk enrollment ini
+     * @return Notifikasi yang masih harus dikirim, atau null jika sudah diambil alih
+     *         listener durable (journal dengan outbox)
+     */
+    private NotificationMessage fireEnrolled(Enrollment enrollment, Course course, NotificationMessage notification) {
+        NotificationMessage unsent = notification;
+        for (EnrollmentListener listener : listeners) {
+            if (listener.onEnrolled(enrollment, course, unsent)) {
+                unsent = null;
+            }
+        }
+        return unsent;
+    }
+
+    /**
+     * {@link #fireEnrolled} untuk kursi yang sudah direservasi: jika listener (misalnya
+     * journal) gagal, slot registry dan kursinya dikembalikan sebelum exception dilempar ulang
+     */
+    private NotificationMessage fireEnrolledOrReturn(Enrollment enrollment, Course course,
+                                                     NotificationMessage notification) {
+        try {
+            return fireEnrolled(enrollment, course, notification);
+        } catch (RuntimeException | Error e) {
+            enrollmentRegistry.remove(enrollment.getStudentId(), course.getCourseCode());
+            rollback(e, () -> returnSeat(course));
+            throw e;
+        }
+    }
+
+    // A failing rollback step must not hide the original failure
+    private static void rollback(Throwable failure, Runnable step) {
+        try {
+            step.run();
+        } catch (RuntimeException | Error e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private NotificationMessage fireDropped(String studentId, Course course, NotificationMessage notification) {
+        NotificationMessage unsent = notification;
+        for (EnrollmentListener listener : listeners) {
+            if (listener.onDropped(studentId, course, unsent)) {
+                unsent = null;
+            }
+        }
+        return unsent;
+    }
+
+    private void send(NotificationMessage notification) {
+        if (notification != null) {
+            notification.deliverTo(notificationService);
+        }
+    }
+
+    /**
+     * Mengaktifkan mode stackless: exception yang dilempar service ini tidak mengisi stack trace.
+     * Berguna saat sebagian besar request ditolak, misalnya pada hari registrasi.
+     * @param stacklessExceptions true untuk mengaktifkan mode stackless
+     */
+    public void setStacklessExceptions(boolean stacklessExceptions) {
+        this.stacklessExceptions = stacklessExceptions;
+    }
+
+    RuntimeException toException(EnrollmentResult.Rejection rejection,
+                                         String studentId, String courseCode) {
+        boolean trace = !stacklessExceptions;
+        return switch (rejection) {
+            case STUDENT_NOT_FOUND -> new StudentNotFoundException("Student not found: " + studentId, trace);
+            case STUDENT_SUSPENDED -> new EnrollmentException("Student is suspended", trace);
+            case COURSE_NOT_FOUND -> new CourseNotFoundException("Course not found: " + courseCode, trace);
+            case COURSE_FULL -> new CourseFullException("Course is full", trace);
+            case PREREQUISITE_NOT_MET -> new PrerequisiteNotMetException("Prerequisites not met", trace);
+            case ALREADY_ENROLLED -> new EnrollmentException("Student is already enrolled in: " + courseCode, trace);
+        };
+    }
+
+    private EnrollmentException notEnrolled(String courseCode) {
+        return new EnrollmentException("Student is not enrolled in: " + courseCode, !stacklessExceptions);
+    }
+
+    /**
+     * Mengganti pembangkit ID enrollment. Secara default service memakai
+     * {@link SnowflakeEnrollmentIdGenerator#shared()}, yang node ID-nya diambil dari
+     * {@code -Dsiakad.node.id}. Pembangkit pengganti harus memakai node ID yang tidak
+     * dipakai pembangkit lain yang aktif bersamaan.
+     * @param enrollmentIdGenerator Pembangkit ID enrollment
+     */
+    public void setEnrollmentIdGenerator(EnrollmentIdGenerator enrollmentIdGenerator) {
+        this.enrollmentIdGenerator = enrollmentIdGenerator;
+    }
+
+    private Enrollment newEnrollment(String studentId, String courseCode) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setEnrollmentId(generateEnrollmentId());
+        enrollment.setStudentId(studentId);
+        enrollment.setCourseCode(courseCode);
+        enrollment.setEnrollmentDate(LocalDateTime.now());
+        enrollment.setStatus("APPROVED");
+        return enrollment;
+    }
+
+    private record Reservation(Student student, Course course, EnrollmentResult.Rejection rejection) {
+        private static final Reservation[] REJECTED = new Reservation[EnrollmentResult.Rejection.values().length];
+
+        static {
+            for (EnrollmentResult.Rejection rejection : EnrollmentResult.Rejection.values()) {
+                REJECTED[rejection.ordinal()] = new Reservation(null, null, rejection);
+            }
+        }
+
+        static Reservation rejected(EnrollmentResult.Rejection rejection) {
+            return REJECTED[rejection.ordinal()];
+        }
+    }
+
+    /**
+     * Enrollment yang sudah dicatat tetapi jumlah pesertanya belum dipublikasikan dan
+     * notifikasinya belum dikirim (null jika diambil alih outbox durable), atau alasan penolakannya
+     */
+    record StagedEnrollment(Enrollment enrollment, Course course, NotificationMessage notification,
+                            EnrollmentResult.Rejection rejection) {
+        private static final StagedEnrollment[] REJECTED =
+                new StagedEnrollment[EnrollmentResult.Rejection.values().length];
+
+        static {
+            for (EnrollmentResult.Rejection rejection : EnrollmentResult.Rejection.values()) {
+                REJECTED[rejection.ordinal()] = new StagedEnrollment(null, null, null, rejection);
+            }
+        }
+
+        static StagedEnrollment rejected(EnrollmentResult.Rejection rejection) {
+            return REJECTED[rejection.ordinal()];
+        }
+    }
+
+    private static final class ActiveHold {
+        // Placeholder while holdSeat is still reserving the seat
+        static final ActiveHold PENDING = new ActiveHold(null, null, null, 0);
+
+        final SeatHold hold;
+        final String email;
+        final Course course;
+        // nanoClock value at which the hold expires
+        final long deadline;
+        // Diisi setelah hold terdaftar; hold yang sudah dikonfirmasi sebelum itu diabaikan saat kedaluwarsa
+        volatile HashedTimingWheel.Timeout<ActiveHold> timeout;
+
+        ActiveHold(SeatHold hold, String email, Course course, long deadline) {
+            this.hold = hold;
+            this.email = email;
+            this.course = course;
+            this.deadline = deadline;
+        }
+
+        void cancelTimeout() {
+            HashedTimingWheel.Timeout<ActiveHold> scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel();
+            }
+        }
     }
 
     /**
@@ -145,6 +1078,6 @@ public class EnrollmentService {
      * @return Enrollment ID
      */
     private String generateEnrollmentId() {
-        return "ENR-" + System.currentTimeMillis();
+        return enrollmentIdGenerator.nextIdString();
     }
 }
\ No newline at end of file
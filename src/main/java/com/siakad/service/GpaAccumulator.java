@@ -0,0 +1,130 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Akumulator IPK inkremental untuk satu mahasiswa
+ *
+ * Menyimpan total bobot eksak (Grade Point × SKS) dan total SKS, sehingga menambah, mengganti,
+ * atau menghapus satu nilai tidak perlu memindai ulang transkrip. Nilai diindeks per kode mata
+ * kuliah (satu nilai per mata kuliah; mengulang berarti mengganti) dengan urutan transkrip tetap
+ * terjaga: jika IPK eksak terlalu dekat dengan batas pembulatan, IPK dihitung ulang dengan
+ * penjumlahan yang sama seperti {@link GradeCalculator#calculateGPA(List)}, sehingga hasilnya
+ * selalu sama persis.
+ */
+public class GpaAccumulator {
+
+    private final Map<String, CourseGrade> grades = new LinkedHashMap<>();
+    private long totalPointMicros;
+    private int totalCredits;
+
+    /**
+     * Membuat akumulator dari transkrip yang sudah ada
+     * @param grades Daftar nilai mata kuliah
+     * @return Akumulator yang sudah berisi seluruh nilai
+     * @throws IllegalArgumentException jika grade point invalid
+     * @throws IllegalStateException jika satu mata kuliah muncul lebih dari sekali
+     */
+    public static GpaAccumulator of(List<CourseGrade> grades) {
+        GpaAccumulator accumulator = new GpaAccumulator();
+        for (CourseGrade grade : grades) {
+            accumulator.add(grade);
+        }
+        return accumulator;
+    }
+
+    /**
+     * Menambahkan satu nilai mata kuliah di akhir transkrip
+     * @param grade Nilai mata kuliah
+     * @throws IllegalArgumentException jika grade point invalid
+     * @throws IllegalStateException jika mata kuliah tersebut sudah punya nilai; gunakan
+     *         {@link #replace(CourseGrade, CourseGrade)}
+     */
+    public synchronized void add(CourseGrade grade) {
+        long points = GradeCalculator.pointMicros(grade.getGradePoint(), grade.getCredits());
+        if (grades.putIfAbsent(grade.getCourseCode(), grade) != null) {
+            throw new IllegalStateException("Grade already added: " + grade.getCourseCode());
+        }
+        totalPointMicros += points;
+        totalCredits += grade.getCredits();
+    }
+
+    /**
+     * Menghapus nilai yang sebelumnya ditambahkan
+     * @param grade Nilai yang sama dengan yang dulu ditambahkan
+     * @throws IllegalStateException jika nilai tersebut tidak pernah ditambahkan
+     */
+    public synchronized void remove(CourseGrade grade) {
+        CourseGrade removed = lookup(grade);
+        grades.remove(removed.getCourseCode());
+        totalPointMicros -= GradeCalculator.pointMicros(removed.getGradePoint(), removed.getCredits());
+        totalCredits -= removed.getCredits();
+    }
+
+    /**
+     * Mengganti nilai lama dengan nilai baru di posisi yang sama, misalnya setelah perbaikan
+     * nilai atau mengulang
+     * @param previous Nilai lama yang dulu ditambahkan
+     * @param updated Nilai baru untuk mata kuliah yang sama
+     * @throws IllegalArgumentException jika grade point nilai baru invalid, atau kode mata
+     *         kuliahnya berbeda dari nilai lama
+     * @throws IllegalStateException jika nilai lama tidak pernah ditambahkan
+     */
+    public synchronized void replace(CourseGrade previous, CourseGrade updated) {
+        if (!Objects.equals(updated.getCourseCode(), previous.getCourseCode())) {
+            throw new IllegalArgumentException("Cannot replace a grade of " + previous.getCourseCode()
+                    + " with a grade of " + updated.getCourseCode());
+        }
+        long points = GradeCalculator.pointMicros(updated.getGradePoint(), updated.getCredits());
+        CourseGrade replaced = lookup(previous);
+        // Replacing the value of an existing key keeps its position in the transcript
+        grades.put(updated.getCourseCode(), updated);
+        totalPointMicros += points - GradeCalculator.pointMicros(replaced.getGradePoint(), replaced.getCredits());
+        totalCredits += updated.getCredits() - replaced.getCredits();
+    }
+
+    /**
+     * @return IPK dengan pembulatan 2 desimal
+     */
+    public synchronized double getGpa() {
+        double gpa = GradeCalculator.roundGpaIfDecided(totalPointMicros, totalCredits);
+        return Double.isNaN(gpa) ? GradeCalculator.sumGpa(grades.values()) : gpa;
+    }
+
+    /**
+     * @return Total SKS yang sudah dinilai
+     */
+    public synchronized int getTotalCredits() {
+        return totalCredits;
+    }
+
+    /**
+     * @param courseCode Kode mata kuliah
+     * @return Nilai yang tersimpan untuk mata kuliah tersebut, atau null
+     */
+    public synchronized CourseGrade gradeOf(String courseCode) {
+        return grades.get(courseCode);
+    }
+
+    /**
+     * Apakah grade menunjuk nilai yang tersimpan: object yang sama, atau SKS dan grade point sama
+     */
+    static boolean matches(CourseGrade stored, CourseGrade grade) {
+        return stored == grade || (stored != null
+                && stored.getCredits() == grade.getCredits()
+                && Double.compare(stored.getGradePoint(), grade.getGradePoint()) == 0);
+    }
+
+    private CourseGrade lookup(CourseGrade grade) {
+        CourseGrade stored = grades.get(grade.getCourseCode());
+        if (!matches(stored, grade)) {
+            throw new IllegalStateException("Grade was never added: " + grade.getCourseCode());
+        }
+        return stored;
+    }
+}
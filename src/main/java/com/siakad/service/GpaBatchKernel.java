@@ -0,0 +1,35 @@
+package com.siakad.service;
+
+/**
+ * Kernel perhitungan IPK massal untuk {@link GradeCalculator#calculateGPAs(int[], double[], int[])}
+ *
+ * {@link VectorGpaKernel} hanya dimuat lewat refleksi jika module jdk.incubator.vector ada
+ * di boot layer (JVM dijalankan dengan {@code --add-modules jdk.incubator.vector}), sehingga
+ * class ini tetap bisa dipakai di JVM tanpa module tersebut. Jalur SIMD dapat dimatikan
+ * dengan {@code -Dsiakad.gpa.vector=false}.
+ */
+interface GpaBatchKernel {
+
+    GpaBatchKernel INSTANCE = load();
+
+    /**
+     * @param credits SKS setiap nilai
+     * @param gradePoints Grade point setiap nilai
+     * @param offsets Awal nilai setiap mahasiswa, ditambah satu elemen penutup
+     * @param gpas Array tujuan, satu elemen per mahasiswa
+     */
+    void computeGpas(int[] credits, double[] gradePoints, int[] offsets, double[] gpas);
+
+    private static GpaBatchKernel load() {
+        boolean enabled = Boolean.parseBoolean(System.getProperty("siakad.gpa.vector", "true"));
+        if (enabled && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (GpaBatchKernel) Class.forName("com.siakad.service.VectorGpaKernel")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Unsupported vector shape on this CPU; the scalar loop gives the same results
+            }
+        }
+        return new ScalarGpaKernel();
+    }
+}
@@ -0,0 +1,153 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.StudentRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Menjaga IPK seluruh mahasiswa secara inkremental saat nilai diposting
+ *
+ * Transkrip tiap mahasiswa cukup dimuat sekali lewat {@link #load(String, List)}. Setelah itu
+ * setiap posting nilai hanya menyentuh {@link GpaAccumulator} milik mahasiswa yang bersangkutan,
+ * dan hanya mahasiswa yang IPK-nya berubah yang ditulis kembali ke repository dalam satu batch.
+ */
+public class GpaTracker {
+
+    private final StudentRepository studentRepository;
+    private final ConcurrentHashMap<String, GpaAccumulator> accumulators = new ConcurrentHashMap<>();
+
+    public GpaTracker(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * Memuat transkrip mahasiswa, menggantikan total yang sudah ada
+     * @param studentId ID mahasiswa
+     * @param transcript Daftar nilai mata kuliah
+     * @throws IllegalArgumentException jika grade point invalid
+     * @throws IllegalStateException jika satu mata kuliah muncul lebih dari sekali
+     */
+    public void load(String studentId, List<CourseGrade> transcript) {
+        accumulators.put(studentId, GpaAccumulator.of(transcript));
+    }
+
+    /**
+     * IPK mahasiswa menurut total yang sedang dijaga
+     * @param studentId ID mahasiswa
+     * @return IPK dengan pembulatan 2 desimal, atau 0.0 jika belum ada nilai
+     */
+    public double gpaOf(String studentId) {
+        GpaAccumulator accumulator = accumulators.get(studentId);
+        return accumulator == null ? 0.0 : accumulator.getGpa();
+    }
+
+    /**
+     * Memposting satu perubahan nilai
+     * @param posting Perubahan nilai
+     * @return IPK baru mahasiswa
+     * @throws IllegalArgumentException jika grade point invalid
+     * @throws IllegalStateException jika nilai lama tidak pernah dimuat, atau nilai baru
+     *         ditambahkan untuk mata kuliah yang sudah punya nilai
+     */
+    public double post(GradePosting posting) {
+        return postAll(List.of(posting)).get(posting.studentId());
+    }
+
+    /**
+     * Memposting banyak perubahan nilai sekaligus, misalnya saat tutup semester
+     * Hanya mahasiswa yang tersentuh posting yang dihitung ulang, dan hanya yang
+     * IPK-nya berbeda dari data di repository yang di-update.
+     *
+     * @param postings Daftar perubahan nilai
+     * @return IPK baru untuk setiap mahasiswa yang tersentuh, sesuai urutan posting
+     * @throws IllegalArgumentException jika salah satu grade point invalid, atau nilai diganti
+     *         dengan nilai mata kuliah lain; tidak ada posting yang diterapkan
+     * @throws IllegalStateException jika nilai lama tidak pernah dimuat, atau nilai baru
+     *         ditambahkan untuk mata kuliah yang sudah punya nilai; tidak ada posting yang diterapkan
+     */
+    public Map<String, Double> postAll(Collection<GradePosting> postings) {
+        // Check every posting up front so a bad row does not leave the batch half applied
+        Map<String, CourseGrade> pending = new HashMap<>();
+        for (GradePosting posting : postings) {
+            check(posting, pending);
+        }
+
+        Set<String> affected = new LinkedHashSet<>();
+        for (GradePosting posting : postings) {
+            GpaAccumulator accumulator = accumulators.computeIfAbsent(posting.studentId(),
+                    id -> new GpaAccumulator());
+            if (posting.previous() == null) {
+                accumulator.add(posting.grade());
+            } else if (posting.grade() == null) {
+                accumulator.remove(posting.previous());
+            } else {
+                accumulator.replace(posting.previous(), posting.grade());
+            }
+            affected.add(posting.studentId());
+        }
+
+        Map<String, Double> gpas = new LinkedHashMap<>();
+        for (String studentId : affected) {
+            gpas.put(studentId, accumulators.get(studentId).getGpa());
+        }
+        List<Student> changed = new ArrayList<>();
+        for (Student student : studentRepository.findAllById(new ArrayList<>(affected))) {
+            double gpa = gpas.get(student.getStudentId());
+            if (student.getGpa() != gpa) {
+                student.setGpa(gpa);
+                changed.add(student);
+            }
+        }
+        if (!changed.isEmpty()) {
+            studentRepository.updateAll(changed);
+        }
+        return gpas;
+    }
+
+    /**
+     * Memvalidasi satu posting terhadap nilai yang tersimpan ditambah efek posting sebelumnya
+     * dalam batch yang sama
+     * @param pending Nilai per mahasiswa dan mata kuliah setelah posting sebelumnya (null jika dihapus)
+     */
+    private void check(GradePosting posting, Map<String, CourseGrade> pending) {
+        CourseGrade previous = posting.previous();
+        CourseGrade grade = posting.grade();
+        if (grade != null) {
+            GradeCalculator.checkGradePoint(grade.getGradePoint());
+        }
+        if (previous != null && grade != null && !Objects.equals(previous.getCourseCode(), grade.getCourseCode())) {
+            throw new IllegalArgumentException("Cannot replace a grade of " + previous.getCourseCode()
+                    + " with a grade of " + grade.getCourseCode());
+        }
+
+        String courseCode = previous != null ? previous.getCourseCode() : grade.getCourseCode();
+        String key = posting.studentId() + '\u0000' + courseCode;
+        CourseGrade current;
+        if (pending.containsKey(key)) {
+            current = pending.get(key);
+        } else {
+            GpaAccumulator accumulator = accumulators.get(posting.studentId());
+            current = accumulator == null ? null : accumulator.gradeOf(courseCode);
+        }
+
+        if (previous == null) {
+            if (current != null) {
+                throw new IllegalStateException("Grade already added: " + courseCode);
+            }
+        } else if (!GpaAccumulator.matches(current, previous)) {
+            throw new IllegalStateException("Grade was never added: " + courseCode);
+        }
+        pending.put(key, grade);
+    }
+}
@@ -1,6 +1,7 @@
 package com.siakad.service;
 
 import com.siakad.model.CourseGrade;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -10,30 +11,77 @@ import java.util.List;
 
 public class GradeCalculator {
 
+    // Exact totals are kept in millionths of a point; see roundGpaIfDecided
+    private static final long POINT_SCALE = 1_000_000L;
+    // Micros per hundredth of GPA, per credit
+    private static final long MICROS_PER_HUNDREDTH = POINT_SCALE / 100;
+    // Exact GPAs within 1/TIE_MARGIN of a hundredth from a rounding tie are re-summed as doubles
+    private static final long TIE_MARGIN = 1_000;
+
+    private final AcademicRules rules;
+
+    /**
+     * Membuat kalkulator dengan aturan akademik default
+     */
+    public GradeCalculator() {
+        this(AcademicRules.defaults());
+    }
+
+    /**
+     * Membuat kalkulator dengan aturan akademik tertentu (misalnya aturan jurusan)
+     * @param rules Aturan status akademik dan batas SKS
+     */
+    public GradeCalculator(AcademicRules rules) {
+        this.rules = rules;
+    }
+
     /**
      * Menghitung IPK (Indeks Prestasi Kumulatif) mahasiswa
      * Formula: Total (Grade Point × SKS) / Total SKS
      *
      * @param grades List of CourseGrade yang berisi nilai mata kuliah
      * @return IPK dengan pembulatan 2 desimal
-     * @throws IllegalArgumentException jika grade point invalid (< 0 atau > 4.0)
+     * @throws IllegalArgumentException jika grade point invalid (< 0, > 4.0, atau NaN)
      */
     public double calculateGPA(List<CourseGrade> grades) {
         if (grades == null || grades.isEmpty()) {
             return 0.0;
         }
+        return sumGpa(grades);
+    }
 
+    /**
+     * Penjumlahan double berurutan milik {@link #calculateGPA(List)}. Hasil pembulatannya
+     * bergantung pada urutan nilai, sehingga semua jalur lain harus kembali ke sini
+     * jika IPK eksaknya terlalu dekat dengan batas pembulatan.
+     */
+    static double sumGpa(Collection<CourseGrade> grades) {
         double totalPoints = 0.0;
         int totalCredits = 0;
 
         for (CourseGrade grade : grades) {
-            if (grade.getGradePoint() < 0 || grade.getGradePoint() > 4.0) {
-                throw new IllegalArgumentException("Invalid grade point: " + grade.getGradePoint());
-            }
+            checkGradePoint(grade.getGradePoint());
             totalPoints += grade.getGradePoint() * grade.getCredits();
             totalCredits += grade.getCredits();
         }
 
+        return roundGpa(totalPoints, totalCredits);
+    }
+
+    static double sumGpa(int[] credits, double[] gradePoints, int from, int to) {
+        double totalPoints = 0.0;
+        int totalCredits = 0;
+
+        for (int i = from; i < to; i++) {
+            checkGradePoint(gradePoints[i]);
+            totalPoints += gradePoints[i] * credits[i];
+            totalCredits += credits[i];
+        }
+
+        return roundGpa(totalPoints, totalCredits);
+    }
+
+    private static double roundGpa(double totalPoints, int totalCredits) {
         if (totalCredits == 0) {
             return 0.0;
         }
@@ -42,10 +90,96 @@ public class GradeCalculator {
         return Math.round((totalPoints / totalCredits) * 100.0) / 100.0;
     }
 
+    static void checkGradePoint(double gradePoint) {
+        if (!(gradePoint >= 0 && gradePoint <= 4.0)) {
+            throw new IllegalArgumentException("Invalid grade point: " + gradePoint);
+        }
+    }
+
+    /**
+     * Menghitung bobot satu nilai (Grade Point × SKS) dalam satuan sepersejuta poin
+     * Bobot dijumlahkan sebagai long sehingga total bisa ditambah atau dikurangi secara
+     * inkremental tanpa galat, lalu dibulatkan lewat {@link #roundGpaIfDecided(long, int)}.
+     *
+     * @param gradePoint Grade point
+     * @param credits SKS
+     * @return Bobot nilai dalam satuan 1/1.000.000 poin
+     * @throws IllegalArgumentException jika grade point invalid (< 0, > 4.0, atau NaN)
+     */
+    static long pointMicros(double gradePoint, int credits) {
+        checkGradePoint(gradePoint);
+        return Math.round(gradePoint * POINT_SCALE) * credits;
+    }
+
+    /**
+     * Membulatkan IPK dari total bobot eksak, hanya jika hasilnya pasti sama dengan
+     * {@link #calculateGPA(List)}. Pembulatan bobot ke sepersejuta poin dan galat penjumlahan
+     * double masing-masing jauh di bawah 1/{@value #TIE_MARGIN} per-seratus IPK, jadi keduanya
+     * hanya bisa berbeda arah pembulatan jika IPK eksak berada sedekat itu dengan x.xx5.
+     *
+     * @param totalPointMicros Total bobot dari {@link #pointMicros(double, int)}
+     * @param totalCredits Total SKS
+     * @return IPK dengan pembulatan 2 desimal, atau NaN jika harus dihitung ulang dengan {@link #sumGpa}
+     */
+    static double roundGpaIfDecided(long totalPointMicros, int totalCredits) {
+        if (totalCredits == 0) {
+            return 0.0;
+        }
+        if (totalCredits < 0 || totalPointMicros < 0) {
+            return Double.NaN;
+        }
+
+        long microsPerHundredth = MICROS_PER_HUNDREDTH * totalCredits;
+        long hundredths = totalPointMicros / microsPerHundredth;
+        long twiceRemainder = 2 * (totalPointMicros % microsPerHundredth);
+        if (Math.abs(twiceRemainder - microsPerHundredth) <= 2 * microsPerHundredth / TIE_MARGIN) {
+            return Double.NaN;
+        }
+        return (hundredths + (twiceRemainder > microsPerHundredth ? 1 : 0)) / 100.0;
+    }
+
+    /**
+     * Menghitung IPK banyak mahasiswa sekaligus dari array primitif yang dipadatkan
+     * Nilai mahasiswa ke-i berada di indeks offsets[i] (inklusif) sampai offsets[i + 1]
+     * (eksklusif). Jika module jdk.incubator.vector tersedia, bobot eksak dijumlahkan dengan
+     * instruksi SIMD; jika tidak, dipakai loop skalar. Hasilnya sama persis dengan
+     * memanggil {@link #calculateGPA(List)} untuk setiap mahasiswa.
+     *
+     * @param credits SKS setiap nilai
+     * @param gradePoints Grade point setiap nilai, sejajar dengan credits
+     * @param offsets Awal nilai setiap mahasiswa, ditambah satu elemen penutup (panjang = jumlah mahasiswa + 1)
+     * @return IPK setiap mahasiswa dengan pembulatan 2 desimal
+     * @throws IllegalArgumentException jika grade point invalid (< 0, > 4.0, atau NaN) atau offsets tidak valid
+     */
+    public double[] calculateGPAs(int[] credits, double[] gradePoints, int[] offsets) {
+        if (credits.length != gradePoints.length) {
+            throw new IllegalArgumentException("Credits and grade points must have the same length");
+        }
+        if (offsets.length == 0 || offsets[0] != 0 || offsets[offsets.length - 1] != credits.length) {
+            throw new IllegalArgumentException("Offsets must start at 0 and end at " + credits.length);
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            if (offsets[i] < offsets[i - 1]) {
+                throw new IllegalArgumentException("Offsets must be non-decreasing at index " + i);
+            }
+        }
+
+        double[] gpas = new double[offsets.length - 1];
+        GpaBatchKernel.INSTANCE.computeGpas(credits, gradePoints, offsets, gpas);
+        return gpas;
+    }
+
+    /**
+     * @return true jika {@link #calculateGPAs(int[], double[], int[])} memakai jalur SIMD
+     */
+    public static boolean isVectorBatchEnabled() {
+        return GpaBatchKernel.INSTANCE instanceof VectorGpaKernel;
+    }
+
     /**
      * Menentukan status akademik mahasiswa berdasarkan IPK dan semester
      *
-     * Aturan:
+     * Aturan default ({@code academic-rules/default.properties}):
      * - Semester 1-2: IPK >= 2.0 → ACTIVE, IPK < 2.0 → PROBATION
      * - Semester 3-4: IPK >= 2.25 → ACTIVE, IPK 2.0-2.24 → PROBATION, IPK < 2.0 → SUSPENDED
      * - Semester 5+: IPK >= 2.5 → ACTIVE, IPK 2.0-2.49 → PROBATION, IPK < 2.0 → SUSPENDED
@@ -56,37 +190,14 @@ public class GradeCalculator {
      * @throws IllegalArgumentException jika gpa atau semester invalid
      */
     public String determineAcademicStatus(double gpa, int semester) {
-        if (gpa < 0 || gpa > 4.0) {
-            throw new IllegalArgumentException("GPA must be between 0 and 4.0");
-        }
-
-        if (semester < 1) {
-            throw new IllegalArgumentException("Semester must be positive");
-        }
-
-        // Semester 1-2: minimal IPK 2.0
-        if (semester <= 2) {
-            return gpa >= 2.0 ? "ACTIVE" : "PROBATION";
-        }
-
-        // Semester 3-4: minimal IPK 2.25
-        if (semester <= 4) {
-            if (gpa >= 2.25) return "ACTIVE";
-            if (gpa >= 2.0) return "PROBATION";
-            return "SUSPENDED";
-        }
-
-        // Semester 5+: minimal IPK 2.5
-        if (gpa >= 2.5) return "ACTIVE";
-        if (gpa >= 2.0) return "PROBATION";
-        return "SUSPENDED";
+        return rules.determineAcademicStatus(gpa, semester);
     }
 
     /**
      * Menghitung jumlah SKS maksimal yang boleh diambil mahasiswa
      * berdasarkan IPK
      *
-     * Aturan:
+     * Aturan default ({@code academic-rules/default.properties}):
      * - IPK >= 3.0: maksimal 24 SKS
      * - IPK 2.5-2.99: maksimal 21 SKS
      * - IPK 2.0-2.49: maksimal 18 SKS
@@ -97,13 +208,6 @@ public class GradeCalculator {
      * @throws IllegalArgumentException jika gpa invalid
      */
     public int calculateMaxCredits(double gpa) {
-        if (gpa < 0 || gpa > 4.0) {
-            throw new IllegalArgumentException("GPA must be between 0 and 4.0");
-        }
-
-        if (gpa >= 3.0) return 24;
-        if (gpa >= 2.5) return 21;
-        if (gpa >= 2.0) return 18;
-        return 15;
+        return rules.calculateMaxCredits(gpa);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+
+/**
+ * Satu perubahan nilai di transkrip mahasiswa
+ *
+ * @param studentId ID mahasiswa
+ * @param previous Nilai lama, atau null jika nilai baru ditambahkan
+ * @param grade Nilai baru, atau null jika nilai lama dihapus
+ */
+public record GradePosting(String studentId, CourseGrade previous, CourseGrade grade) {
+
+    public GradePosting {
+        if (previous == null && grade == null) {
+            throw new IllegalArgumentException("Grade posting without a grade: " + studentId);
+        }
+    }
+
+    public static GradePosting add(String studentId, CourseGrade grade) {
+        return new GradePosting(studentId, null, grade);
+    }
+
+    public static GradePosting replace(String studentId, CourseGrade previous, CourseGrade grade) {
+        return new GradePosting(studentId, previous, grade);
+    }
+
+    public static GradePosting remove(String studentId, CourseGrade previous) {
+        return new GradePosting(studentId, previous, null);
+    }
+}
@@ -0,0 +1,154 @@
+package com.siakad.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel untuk menjadwalkan banyak timeout dengan biaya O(1)
+ *
+ * Waktu dibagi menjadi tick berukuran tetap dan setiap timeout dimasukkan ke bucket
+ * {@code deadlineTick % wheelSize}. Penjadwalan dan pembatalan hanya operasi linked list,
+ * sedangkan {@link #advance(long)} hanya mengunjungi bucket untuk tick yang sudah lewat.
+ * Satu pemanggil periodik cukup untuk menggerakkan seluruh wheel, berapapun jumlah timeout-nya.
+ *
+ * @param <T> Tipe item yang dijadwalkan
+ */
+
+public class HashedTimingWheel<T> {
+
+    private final long tickNanos;
+    private final int mask;
+    private final Timeout<T>[] buckets;
+    private final long originNanos;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickNanos, int wheelSize, long startNanos) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickNanos = tickNanos;
+        this.mask = wheelSize - 1;
+        this.buckets = (Timeout<T>[]) new Timeout<?>[wheelSize];
+        this.originNanos = startNanos;
+    }
+
+    /**
+     * Menjadwalkan item agar kedaluwarsa pada waktu tertentu
+     * @param item Item yang dijadwalkan
+     * @param deadlineNanos Waktu kedaluwarsa (skala yang sama dengan startNanos)
+     * @return Handle untuk membatalkan timeout
+     */
+    public synchronized Timeout<T> schedule(T item, long deadlineNanos) {
+        // Dibulatkan ke atas agar item tidak pernah kedaluwarsa lebih awal dari deadline
+        long tick = Math.max(ceilDiv(deadlineNanos - originNanos, tickNanos), currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(this, item, tick);
+        int index = (int) (tick & mask);
+        timeout.next = buckets[index];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        buckets[index] = timeout;
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Memajukan wheel sampai waktu sekarang dan mengeluarkan semua item yang sudah kedaluwarsa
+     * @param nowNanos Waktu sekarang
+     * @return Item yang kedaluwarsa, urut per tick
+     */
+    public synchronized List<T> advance(long nowNanos) {
+        long nowTick = Math.floorDiv(nowNanos - originNanos, tickNanos);
+        if (nowTick <= currentTick) {
+            return List.of();
+        }
+
+        List<T> expired = new ArrayList<>();
+        // Setiap bucket cukup dikunjungi sekali meskipun wheel tertinggal lebih dari satu putaran
+        long last = Math.min(nowTick, currentTick + buckets.length);
+        for (long tick = currentTick + 1; tick <= last; tick++) {
+            Timeout<T> timeout = buckets[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.deadlineTick <= nowTick) {
+                    unlink(timeout);
+                    expired.add(timeout.item);
+                }
+                timeout = next;
+            }
+        }
+        currentTick = nowTick;
+        return expired;
+    }
+
+    /**
+     * Jumlah timeout yang masih terjadwal
+     * @return Jumlah timeout aktif
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized boolean cancel(Timeout<T> timeout) {
+        if (!timeout.scheduled) {
+            return false;
+        }
+        unlink(timeout);
+        return true;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[(int) (timeout.deadlineTick & mask)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.scheduled = false;
+        size--;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    /**
+     * Handle untuk timeout yang sudah dijadwalkan
+     * @param <T> Tipe item
+     */
+    public static final class Timeout<T> {
+        private final HashedTimingWheel<T> wheel;
+        private final T item;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private boolean scheduled = true;
+
+        private Timeout(HashedTimingWheel<T> wheel, T item, long deadlineTick) {
+            this.wheel = wheel;
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        /**
+         * Membatalkan timeout
+         * @return true jika timeout dibatalkan sebelum kedaluwarsa
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.siakad.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * File checkpoint berisi nomor chunk yang sudah selesai diproses sebuah batch job
+ *
+ * Format: header [magic][jumlah chunk][fingerprint cohort], lalu satu int per chunk selesai,
+ * di-append dan di-fsync setelah hasil chunk tersimpan. Int terakhir yang terpotong karena
+ * crash diabaikan. Checkpoint dengan header berbeda (cohort atau ukuran chunk lain) dibuang.
+ */
+final class JobCheckpoint implements AutoCloseable {
+
+    private static final int MAGIC = 0x4A4F4243;
+    private static final int HEADER_SIZE = 16;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final BitSet done;
+    private final ByteBuffer entry = ByteBuffer.allocate(Integer.BYTES);
+
+    private JobCheckpoint(Path file, FileChannel channel, BitSet done) {
+        this.file = file;
+        this.channel = channel;
+        this.done = done;
+    }
+
+    /**
+     * Membuka checkpoint, atau membuat yang baru jika belum ada atau tidak cocok
+     * @param file Lokasi file checkpoint
+     * @param chunks Jumlah chunk job
+     * @param fingerprint Sidik cohort (daftar mahasiswa dan ukuran chunk)
+     */
+    static JobCheckpoint open(Path file, int chunks, long fingerprint) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            BitSet done = readCompleted(channel, chunks, fingerprint);
+            if (done == null) {
+                done = new BitSet(chunks);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(chunks).putLong(fingerprint).flip();
+                channel.truncate(0);
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            channel.position(HEADER_SIZE + (long) done.cardinality() * Integer.BYTES);
+            return new JobCheckpoint(file, channel, done);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open checkpoint " + file, e);
+        }
+    }
+
+    private static BitSet readCompleted(FileChannel channel, int chunks, long fingerprint) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            return null;
+        }
+        ByteBuffer content = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE));
+        while (content.hasRemaining() && channel.read(content, content.position()) > 0) {
+            // keep reading until the buffer is full
+        }
+        content.flip();
+        if (content.getInt() != MAGIC || content.getInt() != chunks || content.getLong() != fingerprint) {
+            return null;
+        }
+        BitSet done = new BitSet(chunks);
+        int entries = 0;
+        while (content.remaining() >= Integer.BYTES) {
+            int chunk = content.getInt();
+            if (chunk < 0 || chunk >= chunks || done.get(chunk)) {
+                break;
+            }
+            done.set(chunk);
+            entries++;
+        }
+        // Drop a torn or corrupt tail so new entries append right after the last good one
+        channel.truncate(HEADER_SIZE + (long) entries * Integer.BYTES);
+        return done;
+    }
+
+    synchronized boolean isDone(int chunk) {
+        return done.get(chunk);
+    }
+
+    synchronized int completedCount() {
+        return done.cardinality();
+    }
+
+    /**
+     * Mencatat chunk sebagai selesai secara durable
+     * @param chunk Nomor chunk
+     */
+    synchronized void markDone(int chunk) {
+        entry.clear();
+        entry.putInt(chunk).flip();
+        try {
+            while (entry.hasRemaining()) {
+                channel.write(entry);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write checkpoint " + file, e);
+        }
+        done.set(chunk);
+    }
+
+    /**
+     * Menghapus checkpoint setelah job selesai seluruhnya
+     */
+    synchronized void delete() {
+        close();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete checkpoint " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close checkpoint " + file, e);
+        }
+    }
+}
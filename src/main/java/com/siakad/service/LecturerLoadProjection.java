@@ -0,0 +1,49 @@
+package com.siakad.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Proyeksi beban mengajar per dosen: jumlah mahasiswa dan total SKS-mahasiswa
+ */
+public class LecturerLoadProjection implements EnrollmentProjection {
+
+    private final ConcurrentHashMap<String, long[]> loads = new ConcurrentHashMap<>();
+
+    @Override
+    public String partitionKey(EnrollmentEvent event) {
+        return event.lecturer();
+    }
+
+    @Override
+    public void apply(EnrollmentEvent event) {
+        int sign = event instanceof EnrollmentEvent.EnrollmentCreated ? 1 : -1;
+        long credits = (long) sign * event.credits();
+        // Replace instead of mutating so readers never see a half-updated pair
+        loads.compute(event.lecturer(), (lecturer, load) -> load == null
+                ? new long[]{sign, credits}
+                : new long[]{load[0] + sign, load[1] + credits});
+    }
+
+    @Override
+    public void reset() {
+        loads.clear();
+    }
+
+    /**
+     * @param lecturer Nama dosen
+     * @return Jumlah enrollment aktif di semua mata kuliah dosen tersebut
+     */
+    public long studentCountOf(String lecturer) {
+        long[] load = loads.get(lecturer);
+        return load == null ? 0 : load[0];
+    }
+
+    /**
+     * @param lecturer Nama dosen
+     * @return Total SKS dikali jumlah mahasiswa
+     */
+    public long creditLoadOf(String lecturer) {
+        long[] load = loads.get(lecturer);
+        return load == null ? 0 : load[1];
+    }
+}
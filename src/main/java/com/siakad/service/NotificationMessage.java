@@ -0,0 +1,14 @@
+package com.siakad.service;
+
+/**
+ * Pesan notifikasi yang bisa disimpan lalu dikirim belakangan
+ */
+
+public sealed interface NotificationMessage permits EmailMessage, SmsMessage {
+
+    /**
+     * Mengirim pesan ini melalui service notifikasi
+     * @param notificationService Service notifikasi tujuan
+     */
+    void deliverTo(NotificationService notificationService);
+}
@@ -0,0 +1,33 @@
+package com.siakad.service;
+
+/**
+ * Penyimpanan durable untuk pesan outbox notifikasi
+ *
+ * Pesan dicatat oleh store (misalnya bersama perubahan kursi di {@link EnrollmentJournal}),
+ * diserahkan ke {@link OutboxNotificationService} untuk dikirim, lalu dikonfirmasi setelah
+ * terkirim. Pesan yang belum dikonfirmasi saat crash diserahkan ulang setelah restart.
+ */
+public interface NotificationOutboxStore {
+
+    /**
+     * Mulai menyerahkan pesan ke dispatcher: pertama pesan yang belum dikonfirmasi
+     * dari sebelum restart, lalu setiap pesan baru setelah tercatat durable
+     * @param dispatcher Penerima pesan
+     * @throws IllegalStateException jika store sudah punya dispatcher
+     */
+    void attach(Dispatcher dispatcher);
+
+    /**
+     * Menandai pesan sudah terkirim sehingga tidak diserahkan ulang setelah restart
+     * @param id ID pesan dari {@link Dispatcher#dispatch(long, NotificationMessage)}
+     */
+    void acknowledge(long id);
+
+    /**
+     * Penerima pesan yang sudah tercatat durable
+     */
+    @FunctionalInterface
+    interface Dispatcher {
+        void dispatch(long id, NotificationMessage message);
+    }
+}
@@ -1,5 +1,7 @@
 package com.siakad.service;
 
+import java.util.List;
+
 /**
  * Interface untuk service notifikasi
  * Interface ini akan di-mock dalam unit testing
@@ -21,4 +23,26 @@ public interface NotificationService {
      * @param message Isi pesan SMS
      */
     void sendSMS(String phone, String message);
+
+    /**
+     * Mengirim sekumpulan email sekaligus
+     * Implementasi yang mendukung pengiriman batch sebaiknya meng-override method ini
+     * @param messages Daftar email yang akan dikirim
+     */
+    default void sendEmailBatch(List<EmailMessage> messages) {
+        for (EmailMessage message : messages) {
+            sendEmail(message.email(), message.subject(), message.message());
+        }
+    }
+
+    /**
+     * Mengirim sekumpulan SMS sekaligus
+     * Implementasi yang mendukung pengiriman batch sebaiknya meng-override method ini
+     * @param messages Daftar SMS yang akan dikirim
+     */
+    default void sendSMSBatch(List<SmsMessage> messages) {
+        for (SmsMessage message : messages) {
+            sendSMS(message.phone(), message.message());
+        }
+    }
 }
\ No newline at end of file
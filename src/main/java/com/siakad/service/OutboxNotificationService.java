@@ -0,0 +1,250 @@
+package com.siakad.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outbox untuk notifikasi: pesan dicatat secara sinkron lalu dikirim oleh dispatcher
+ * di background menggunakan virtual thread.
+ *
+ * Pemanggil {@link #sendEmail} dan {@link #sendSMS} hanya menunggu pesan masuk outbox,
+ * bukan menunggu mail server. Pesan yang gagal dikirim diulang dengan backoff eksponensial
+ * sampai {@code maxAttempts}; setelah itu pesan dipindahkan ke dead letter.
+ * Karena pesan baru dihapus dari outbox setelah berhasil dikirim, pengiriman bersifat
+ * at-least-once: delegate harus toleran terhadap duplikasi.
+ *
+ * Antrian di memori hilang saat proses mati. Agar tetap at-least-once setelah crash, pasang
+ * {@link NotificationOutboxStore} (misalnya {@link EnrollmentJournal}): pesan dicatat oleh
+ * store bersama perubahan kursinya, dan baru dihapus dari store setelah terkirim. Pesan
+ * yang masuk dead letter tidak dikonfirmasi, sehingga dicoba lagi setelah restart.
+ */
+
+public class OutboxNotificationService implements NotificationService, AutoCloseable {
+
+    private final NotificationService delegate;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Semaphore permits;
+    private final NotificationOutboxStore store;
+
+    private final BlockingQueue<Entry> outbox = new LinkedBlockingQueue<>();
+    private final Queue<NotificationMessage> deadLetters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object idle = new Object();
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public OutboxNotificationService(NotificationService delegate) {
+        this(delegate, 32, 5, Duration.ofMillis(200));
+    }
+
+    public OutboxNotificationService(NotificationService delegate, int maxConcurrency,
+                                     int maxAttempts, Duration retryBackoff) {
+        this(delegate, null, maxConcurrency, maxAttempts, retryBackoff);
+    }
+
+    /**
+     * Outbox durable: mengirim pesan yang tercatat di store, termasuk yang tertunda dari
+     * sebelum restart
+     * @param delegate Service notifikasi yang benar-benar mengirim pesan
+     * @param store Penyimpanan durable pesan outbox
+     */
+    public OutboxNotificationService(NotificationService delegate, NotificationOutboxStore store) {
+        this(delegate, store, 32, 5, Duration.ofMillis(200));
+    }
+
+    public OutboxNotificationService(NotificationService delegate, NotificationOutboxStore store,
+                                     int maxConcurrency, int maxAttempts, Duration retryBackoff) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be positive");
+        }
+        this.delegate = delegate;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.permits = new Semaphore(maxConcurrency);
+        this.store = store;
+        this.dispatcher = Thread.ofVirtual().name("notification-outbox").start(this::dispatch);
+        if (store != null) {
+            store.attach(this::enqueueDurable);
+        }
+    }
+
+    @Override
+    public void sendEmail(String email, String subject, String message) {
+        record(new EmailMessage(email, subject, message));
+    }
+
+    @Override
+    public void sendSMS(String phone, String message) {
+        record(new SmsMessage(phone, message));
+    }
+
+    /**
+     * Mencatat pesan ke outbox tanpa menunggu pengiriman
+     * @param message Pesan notifikasi
+     * @throws IllegalStateException jika outbox sudah ditutup
+     */
+    public void record(NotificationMessage message) {
+        if (!running) {
+            throw new IllegalStateException("Outbox is closed");
+        }
+        pending.incrementAndGet();
+        outbox.add(new Entry(0, message, 0));
+    }
+
+    /**
+     * Menerima pesan yang sudah tercatat di store. Setelah outbox ditutup pesan dibiarkan
+     * di store dan dikirim setelah restart.
+     */
+    private void enqueueDurable(long id, NotificationMessage message) {
+        if (!running) {
+            return;
+        }
+        pending.incrementAndGet();
+        outbox.add(new Entry(id, message, 0));
+    }
+
+    /**
+     * Jumlah pesan yang belum terkirim (termasuk yang sedang diulang)
+     * @return Jumlah pesan pending
+     */
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Pesan yang gagal dikirim setelah semua percobaan habis
+     * @return Salinan daftar dead letter
+     */
+    public List<NotificationMessage> deadLetters() {
+        return new ArrayList<>(deadLetters);
+    }
+
+    /**
+     * Menunggu sampai semua pesan di outbox selesai diproses
+     * @param timeout Batas waktu menunggu
+     * @return true jika outbox kosong sebelum timeout
+     * @throws InterruptedException jika thread diinterupsi saat menunggu
+     */
+    public boolean awaitIdle(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (idle) {
+            while (pending.get() > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(idle, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Menolak pesan baru lalu menunggu semua pesan yang sudah tercatat selesai diproses
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.close();
+
+        // Pesan yang tercatat bersamaan dengan close dikirim langsung
+        Entry entry;
+        while ((entry = outbox.poll()) != null) {
+            permits.acquireUninterruptibly();
+            deliver(entry);
+        }
+    }
+
+    private void dispatch() {
+        try {
+            while (running || pending.get() > 0) {
+                Entry entry = outbox.poll(50, TimeUnit.MILLISECONDS);
+                if (entry == null) {
+                    continue;
+                }
+                permits.acquire();
+                workers.execute(() -> deliver(entry));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliver(Entry entry) {
+        boolean delivered = false;
+        try {
+            entry.message.deliverTo(delegate);
+            delivered = true;
+        } catch (RuntimeException e) {
+            // Dicoba ulang di bawah
+        } finally {
+            // Also runs when the delegate throws an Error, so the entry is never lost from pending
+            permits.release();
+            settle(entry, delivered);
+        }
+    }
+
+    private void settle(Entry entry, boolean delivered) {
+        if (delivered) {
+            done(entry, true);
+            return;
+        }
+
+        int attempts = entry.attempts + 1;
+        if (attempts >= maxAttempts) {
+            deadLetters.add(entry.message);
+            done(entry, false);
+            return;
+        }
+
+        try {
+            Thread.sleep(retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 16)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        outbox.add(new Entry(entry.id, entry.message, attempts));
+    }
+
+    private void done(Entry entry, boolean delivered) {
+        try {
+            if (delivered && entry.id != 0 && store != null) {
+                store.acknowledge(entry.id);
+            }
+        } catch (RuntimeException e) {
+            // Unacknowledged messages are sent again after a restart
+        } finally {
+            if (pending.decrementAndGet() == 0) {
+                synchronized (idle) {
+                    idle.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * @param id ID pesan di store, atau 0 untuk pesan yang hanya ada di memori
+     */
+    private record Entry(long id, NotificationMessage message, int attempts) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.siakad.service;
+
+/**
+ * Kernel IPK massal dengan loop skalar biasa, sama persis dengan {@link GradeCalculator#calculateGPA}
+ */
+final class ScalarGpaKernel implements GpaBatchKernel {
+
+    @Override
+    public void computeGpas(int[] credits, double[] gradePoints, int[] offsets, double[] gpas) {
+        for (int student = 0; student < gpas.length; student++) {
+            gpas[student] = GradeCalculator.sumGpa(credits, gradePoints, offsets[student], offsets[student + 1]);
+        }
+    }
+}
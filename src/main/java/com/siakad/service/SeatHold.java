@@ -0,0 +1,17 @@
+package com.siakad.service;
+
+import java.time.Instant;
+
+/**
+ * Hold sementara atas satu kursi mata kuliah
+ * Kursi sudah terhitung terisi selama hold aktif, dan dilepas otomatis jika tidak dikonfirmasi
+ * sebelum {@code expiresAt}.
+ *
+ * @param holdId ID hold
+ * @param studentId ID mahasiswa
+ * @param courseCode Kode mata kuliah
+ * @param expiresAt Perkiraan waktu hold dilepas
+ */
+
+public record SeatHold(String holdId, String studentId, String courseCode, Instant expiresAt) {
+}
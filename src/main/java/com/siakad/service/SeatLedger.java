@@ -0,0 +1,135 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.repository.CourseRepository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buku besar kursi (seat ledger) untuk setiap mata kuliah.
+ *
+ * Reservasi dan pelepasan kursi dilakukan dengan CAS pada counter per mata kuliah,
+ * sehingga jumlah peserta tidak pernah melebihi kapasitas tanpa perlu lock.
+ * Counter diinisialisasi dari {@link Course#getEnrolledCount()} saat pertama kali
+ * mata kuliah disentuh, lalu hasilnya dipublikasikan kembali melalui
+ * {@link CourseRepository#update(Course)}.
+ */
+public class SeatLedger {
+
+    private final ConcurrentHashMap<String, Seats> seats = new ConcurrentHashMap<>();
+
+    /**
+     * Mengecek apakah mata kuliah sudah penuh menurut ledger
+     * @param course Mata kuliah
+     * @return true jika tidak ada kursi tersisa
+     */
+    public boolean isFull(Course course) {
+        return seatsOf(course).count.get() >= course.getCapacity();
+    }
+
+    /**
+     * Mereservasi satu kursi secara atomik
+     * @param course Mata kuliah
+     * @return true jika kursi berhasil direservasi, false jika sudah penuh
+     */
+    public boolean tryReserve(Course course) {
+        AtomicInteger count = seatsOf(course).count;
+        int capacity = course.getCapacity();
+        while (true) {
+            int current = count.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (count.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Melepaskan satu kursi secara atomik. Counter tidak pernah turun di bawah nol.
+     * @param course Mata kuliah
+     * @return true jika ada kursi yang dilepaskan
+     */
+    public boolean release(Course course) {
+        AtomicInteger count = seatsOf(course).count;
+        while (true) {
+            int current = count.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (count.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Jumlah kursi terisi menurut ledger
+     * @param course Mata kuliah
+     * @return Jumlah kursi terisi
+     */
+    public int enrolledCount(Course course) {
+        return seatsOf(course).count.get();
+    }
+
+    /**
+     * Mempublikasikan nilai counter terbaru ke repository.
+     *
+     * Hanya satu thread per mata kuliah yang menulis ke repository pada satu waktu.
+     * Thread lain yang mengubah counter selama publikasi berlangsung tidak menunggu;
+     * perubahan mereka diambil oleh thread yang sedang mempublikasikan sebelum selesai,
+     * sehingga nilai terakhir yang ditulis selalu nilai counter terbaru.
+     *
+     * @param course Mata kuliah
+     * @param courseRepository Repository tujuan
+     */
+    public void publish(Course course, CourseRepository courseRepository) {
+        Seats s = seatsOf(course);
+        s.pending.incrementAndGet();
+        if (!s.publishing.compareAndSet(false, true)) {
+            return;
+        }
+        while (true) {
+            s.pending.set(0);
+            try {
+                course.setEnrolledCount(s.count.get());
+                courseRepository.update(course);
+            } finally {
+                s.publishing.set(false);
+            }
+            // Perubahan yang masuk setelah pending di-reset harus dipublikasikan ulang
+            if (s.pending.get() == 0 || !s.publishing.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Menghapus counter mata kuliah agar diinisialisasi ulang dari repository
+     * @param courseCode Kode mata kuliah
+     */
+    public void invalidate(String courseCode) {
+        seats.remove(courseCode);
+    }
+
+    private Seats seatsOf(Course course) {
+        Seats s = seats.get(course.getCourseCode());
+        if (s != null) {
+            return s;
+        }
+        return seats.computeIfAbsent(course.getCourseCode(), code -> new Seats(course.getEnrolledCount()));
+    }
+
+    private static final class Seats {
+        final AtomicInteger count;
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicBoolean publishing = new AtomicBoolean();
+
+        Seats(int initial) {
+            this.count = new AtomicInteger(initial);
+        }
+    }
+}
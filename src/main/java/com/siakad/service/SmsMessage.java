@@ -0,0 +1,13 @@
+package com.siakad.service;
+
+/**
+ * Pesan SMS yang akan dikirim ke mahasiswa
+ */
+
+public record SmsMessage(String phone, String message) implements NotificationMessage {
+
+    @Override
+    public void deliverTo(NotificationService notificationService) {
+        notificationService.sendSMS(phone, message);
+    }
+}
@@ -0,0 +1,164 @@
+package com.siakad.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Pembangkit ID enrollment bergaya Snowflake
+ *
+ * Layout 64-bit: 41 bit timestamp (ms sejak {@link #EPOCH}), 10 bit node, 12 bit sequence.
+ * Setiap platform thread mengambil satu blok sequence sekaligus dengan satu CAS, lalu membagikan
+ * ID dari blok tersebut tanpa sinkronisasi. ID kira-kira terurut berdasarkan waktu;
+ * jika sequence dalam satu milidetik habis, timestamp dipinjam dari milidetik berikutnya.
+ *
+ * Virtual thread tidak memakai blok: biasanya hanya membuat satu atau dua ID lalu selesai,
+ * sehingga sisa blok 64 sequence akan terbuang dan timestamp cepat maju melewati jam. Untuk
+ * virtual thread setiap ID diambil dengan satu CAS. Trade-off-nya, contention pada
+ * {@code lastReserved} lebih tinggi jika banyak virtual thread membuat ID bersamaan, tetapi
+ * sequence tidak terbuang dan tidak ada ThreadLocal yang dibuat per virtual thread.
+ *
+ * ID hanya unik jika setiap pembangkit yang aktif bersamaan memakai node ID berbeda. Dalam satu
+ * JVM gunakan {@link #shared()}; antar proses, setiap proses harus diberi
+ * {@code -Dsiakad.node.id} yang unik.
+ */
+
+public class SnowflakeEnrollmentIdGenerator implements EnrollmentIdGenerator {
+
+    /** 2024-01-01T00:00:00Z */
+    public static final long EPOCH = 1704067200000L;
+
+    /** System property berisi node ID proses ini, dipakai oleh {@link #shared()} */
+    public static final String NODE_ID_PROPERTY = "siakad.node.id";
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+    private final int blockSize;
+    private final LongSupplier clock;
+
+    // Gabungan (timestamp << SEQUENCE_BITS | sequence) terakhir yang sudah dibagikan
+    private final AtomicLong lastReserved = new AtomicLong();
+
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+
+    private static SnowflakeEnrollmentIdGenerator shared;
+
+    public SnowflakeEnrollmentIdGenerator(int nodeId) {
+        this(nodeId, 64, System::currentTimeMillis);
+    }
+
+    public SnowflakeEnrollmentIdGenerator(int nodeId, int blockSize, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        if (blockSize < 1 || blockSize > SEQUENCE_MASK + 1) {
+            throw new IllegalArgumentException("Block size must be between 1 and " + (SEQUENCE_MASK + 1));
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.blockSize = blockSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Pembangkit bersama untuk seluruh JVM, dipakai setiap {@link EnrollmentService} yang tidak
+     * diberi pembangkit sendiri. Karena semua service berbagi satu instance, ID-nya tidak
+     * bertabrakan meskipun ada banyak service dalam satu proses.
+     *
+     * Node ID diambil dari {@code -Dsiakad.node.id} dan harus unik untuk setiap proses yang
+     * membuat enrollment. Jika tidak diset, node 0 dipakai dan peringatan dicatat sekali.
+     * @return Pembangkit bersama
+     * @throws IllegalArgumentException jika {@code siakad.node.id} bukan node ID yang valid
+     */
+    public static synchronized SnowflakeEnrollmentIdGenerator shared() {
+        if (shared == null) {
+            String configured = System.getProperty(NODE_ID_PROPERTY);
+            if (configured == null) {
+                System.getLogger(SnowflakeEnrollmentIdGenerator.class.getName()).log(System.Logger.Level.WARNING,
+                        NODE_ID_PROPERTY + " is not set; using node 0. Enrollment IDs will collide "
+                                + "with any other process left on the default.");
+            }
+            shared = new SnowflakeEnrollmentIdGenerator(parseNodeId(configured));
+        }
+        return shared;
+    }
+
+    /**
+     * @param value Nilai {@code siakad.node.id}, atau null jika tidak diset
+     * @return Node ID, 0 jika tidak diset
+     * @throws IllegalArgumentException jika nilai bukan bilangan antara 0 dan {@link #MAX_NODE_ID}
+     */
+    static int parseNodeId(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int nodeId;
+        try {
+            nodeId = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + NODE_ID_PROPERTY + ": " + value, e);
+        }
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException(NODE_ID_PROPERTY + " must be between 0 and " + MAX_NODE_ID);
+        }
+        return nodeId;
+    }
+
+    @Override
+    public long nextId() {
+        if (Thread.currentThread().isVirtual()) {
+            return encode(reserveOne());
+        }
+        Block block = blocks.get();
+        if (block.next == block.limit) {
+            reserveBlock(block);
+        }
+        return encode(block.next++);
+    }
+
+    private long encode(long combined) {
+        long timestamp = combined >>> SEQUENCE_BITS;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (combined & SEQUENCE_MASK);
+    }
+
+    private long reserveOne() {
+        while (true) {
+            long last = lastReserved.get();
+            long next = Math.max(last + 1, (clock.getAsLong() - EPOCH) << SEQUENCE_BITS);
+            if (lastReserved.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    private void reserveBlock(Block block) {
+        while (true) {
+            long last = lastReserved.get();
+            long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+            long start = Math.max(last + 1, now);
+            // Blok tidak boleh melewati batas milidetik agar sequence tidak bertabrakan dengan node bits
+            long end = Math.min(start + blockSize, (start | SEQUENCE_MASK) + 1);
+            if (lastReserved.compareAndSet(last, end - 1)) {
+                block.next = start;
+                block.limit = end;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Mengambil timestamp (epoch ms) dari ID
+     * @param id ID enrollment
+     * @return Waktu pembuatan dalam epoch milidetik
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    private static final class Block {
+        long next;
+        long limit;
+    }
+}
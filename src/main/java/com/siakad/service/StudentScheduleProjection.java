@@ -0,0 +1,72 @@
+package com.siakad.service;
+
+import com.siakad.repository.CourseCodeDictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Proyeksi jadwal (mata kuliah aktif) per mahasiswa
+ * Mata kuliah disimpan sebagai ID dari {@link CourseCodeDictionary} dalam {@link CourseIdSet}.
+ */
+public class StudentScheduleProjection implements EnrollmentProjection {
+
+    private final CourseCodeDictionary dictionary = new CourseCodeDictionary();
+    private final ConcurrentHashMap<String, CourseIdSet> schedules = new ConcurrentHashMap<>();
+
+    @Override
+    public String partitionKey(EnrollmentEvent event) {
+        return event.studentId();
+    }
+
+    @Override
+    public void apply(EnrollmentEvent event) {
+        if (event instanceof EnrollmentEvent.EnrollmentCreated) {
+            CourseIdSet courses = schedules.get(event.studentId());
+            if (courses == null) {
+                courses = schedules.computeIfAbsent(event.studentId(), id -> new CourseIdSet());
+            }
+            courses.add(dictionary.idOf(event.courseCode()));
+        } else {
+            CourseIdSet courses = schedules.get(event.studentId());
+            int id = dictionary.find(event.courseCode());
+            if (courses != null && id >= 0) {
+                courses.remove(id);
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        schedules.clear();
+    }
+
+    /**
+     * @param studentId ID mahasiswa
+     * @return Kode mata kuliah yang sedang diambil, terurut
+     */
+    public List<String> scheduleOf(String studentId) {
+        CourseIdSet courses = schedules.get(studentId);
+        if (courses == null) {
+            return List.of();
+        }
+        List<String> codes = new ArrayList<>();
+        for (int id : courses.toArray()) {
+            codes.add(dictionary.codeOf(id));
+        }
+        codes.sort(null);
+        return codes;
+    }
+
+    /**
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika mahasiswa sedang terdaftar di mata kuliah tersebut
+     */
+    public boolean isEnrolled(String studentId, String courseCode) {
+        CourseIdSet courses = schedules.get(studentId);
+        int id = dictionary.find(courseCode);
+        return courses != null && id >= 0 && courses.contains(id);
+    }
+}
@@ -0,0 +1,82 @@
+package com.siakad.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel IPK massal dengan Vector API (SIMD)
+ *
+ * Setiap lane menghitung bobot satu nilai dalam satuan sepersejuta poin, persis seperti
+ * {@link GradeCalculator#pointMicros(double, int)}, lalu dijumlahkan per mahasiswa.
+ * Sisa nilai yang tidak mengisi satu vektor penuh dihitung secara skalar. Mahasiswa yang
+ * IPK eksaknya terlalu dekat dengan batas pembulatan dihitung ulang dengan penjumlahan
+ * double berurutan agar hasilnya sama dengan {@link GradeCalculator#calculateGPA}.
+ */
+final class VectorGpaKernel implements GpaBatchKernel {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = VectorSpecies.of(long.class, DOUBLES.vectorShape());
+    // Same lane count as the double species, half the width
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+    private static final double POINT_SCALE = 1_000_000.0;
+
+    VectorGpaKernel() {
+        if (INTS.length() != DOUBLES.length()) {
+            throw new IllegalStateException("Unsupported vector shape: " + DOUBLES);
+        }
+    }
+
+    @Override
+    public void computeGpas(int[] credits, double[] gradePoints, int[] offsets, double[] gpas) {
+        int lanes = DOUBLES.length();
+        for (int student = 0; student < gpas.length; student++) {
+            int from = offsets[student];
+            int to = offsets[student + 1];
+            int upper = from + DOUBLES.loopBound(to - from);
+
+            LongVector points = LongVector.zero(LONGS);
+            IntVector creditSum = IntVector.zero(INTS);
+            int i = from;
+            for (; i < upper; i += lanes) {
+                DoubleVector gradePoint = DoubleVector.fromArray(DOUBLES, gradePoints, i);
+                VectorMask<Double> invalid = gradePoint.compare(VectorOperators.GE, 0.0)
+                        .and(gradePoint.compare(VectorOperators.LE, 4.0)).not();
+                if (invalid.anyTrue()) {
+                    rejectInvalid(credits, gradePoints, i, i + lanes);
+                }
+
+                // Math.round(x) for x >= 0: truncating x + 0.5 is exact from 0.5 upwards, and x < 0.5 rounds to 0
+                DoubleVector scaled = gradePoint.mul(POINT_SCALE);
+                LongVector rounded = (LongVector) scaled.add(0.5).convertShape(VectorOperators.D2L, LONGS, 0);
+                rounded = rounded.blend(0L, scaled.lt(0.5).cast(LONGS));
+
+                IntVector credit = IntVector.fromArray(INTS, credits, i);
+                LongVector wideCredit = (LongVector) credit.convertShape(VectorOperators.I2L, LONGS, 0);
+                points = points.add(rounded.mul(wideCredit));
+                creditSum = creditSum.add(credit);
+            }
+
+            long totalPointMicros = points.reduceLanes(VectorOperators.ADD);
+            int totalCredits = creditSum.reduceLanes(VectorOperators.ADD);
+            for (; i < to; i++) {
+                totalPointMicros += GradeCalculator.pointMicros(gradePoints[i], credits[i]);
+                totalCredits += credits[i];
+            }
+            double gpa = GradeCalculator.roundGpaIfDecided(totalPointMicros, totalCredits);
+            gpas[student] = Double.isNaN(gpa) ? GradeCalculator.sumGpa(credits, gradePoints, from, to) : gpa;
+        }
+    }
+
+    // Re-run the lanes through the scalar check so the exception names the offending value
+    private static void rejectInvalid(int[] credits, double[] gradePoints, int from, int to) {
+        for (int i = from; i < to; i++) {
+            GradeCalculator.checkGradePoint(gradePoints[i]);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryStudentRepository;
+import com.siakad.repository.InMemoryTranscriptRepository;
+import com.siakad.service.AcademicStatusJob;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark job status akademik akhir semester untuk 1 juta mahasiswa
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class AcademicStatusJobBenchmark {
+
+    private static final double[] GRADE_POINTS = {4.0, 3.7, 3.3, 3.0, 2.7, 2.3, 2.0, 1.0, 0.0};
+    private static final int TRANSCRIPT_SIZE = 24;
+
+    @Param({"1000000"})
+    public int studentCount;
+
+    @Param({"1", "4", "8"})
+    public int parallelism;
+
+    private final List<String> studentIds = new ArrayList<>();
+    private InMemoryStudentRepository students;
+    private InMemoryTranscriptRepository transcripts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        students = new InMemoryStudentRepository();
+        transcripts = new InMemoryTranscriptRepository();
+        for (int i = 0; i < studentCount; i++) {
+            String id = BenchmarkFixtures.studentId(i);
+            studentIds.add(id);
+            for (int c = 0; c < TRANSCRIPT_SIZE; c++) {
+                transcripts.addGrade(id, new CourseGrade(BenchmarkFixtures.courseCode(c), 3,
+                        GRADE_POINTS[random.nextInt(GRADE_POINTS.length)]));
+            }
+        }
+    }
+
+    /** Setiap iterasi dimulai dari data lama agar job benar-benar menulis perubahan */
+    @Setup(Level.Iteration)
+    public void resetStudents() {
+        for (int i = 0; i < studentCount; i++) {
+            students.save(new Student(studentIds.get(i), "Student " + i, "s" + i + "@test.com",
+                    "CS", 1 + i % 8, 3.0, "ACTIVE"));
+        }
+    }
+
+    @Benchmark
+    public AcademicStatusJob.Report run() {
+        AcademicStatusJob job = new AcademicStatusJob(students, transcripts, new GradeCalculator());
+        job.setParallelism(parallelism);
+        return job.run(studentIds);
+    }
+}
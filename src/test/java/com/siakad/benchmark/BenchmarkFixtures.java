@@ -0,0 +1,51 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import com.siakad.service.NotificationService;
+
+/**
+ * Data dan dependency bersama untuk benchmark
+ */
+final class BenchmarkFixtures {
+
+    static final NotificationService NO_OP_NOTIFICATIONS = new NotificationService() {
+        @Override
+        public void sendEmail(String email, String subject, String message) {
+        }
+
+        @Override
+        public void sendSMS(String phone, String message) {
+        }
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    static String studentId(int i) {
+        return "STU" + i;
+    }
+
+    static String courseCode(int i) {
+        return "C" + i;
+    }
+
+    static InMemoryStudentRepository students(int count) {
+        InMemoryStudentRepository repository = new InMemoryStudentRepository();
+        for (int i = 0; i < count; i++) {
+            repository.save(new Student(studentId(i), "Student " + i, "s" + i + "@test.com",
+                    "CS", 3, 3.0, "ACTIVE"));
+        }
+        return repository;
+    }
+
+    static InMemoryCourseRepository courses(InMemoryStudentRepository students, int count, int capacity) {
+        InMemoryCourseRepository repository = new InMemoryCourseRepository(students);
+        for (int i = 0; i < count; i++) {
+            repository.save(new Course(courseCode(i), "Course " + i, 3, capacity, 0, "Lecturer " + (i % 10)));
+        }
+        return repository;
+    }
+}
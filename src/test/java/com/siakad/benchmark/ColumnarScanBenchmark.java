@@ -0,0 +1,77 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.Student;
+import com.siakad.repository.ColumnarStudentTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark agregasi seluruh cohort: List<Student> dibandingkan dengan ColumnarStudentTable
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ColumnarScanBenchmark {
+
+    private static final String[] MAJORS = {"CS", "IS", "EE", "ME", "CE", "IE"};
+    private static final String[] STATUSES = {"ACTIVE", "PROBATION", "SUSPENDED"};
+
+    @Param({"500000"})
+    public int studentCount;
+
+    private List<Student> students;
+    private ColumnarStudentTable table;
+    private ColumnarStudentTable.Filter activeCs;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        students = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            students.add(new Student(BenchmarkFixtures.studentId(i), "Student " + i, "s" + i + "@test.com",
+                    MAJORS[random.nextInt(MAJORS.length)], 1 + random.nextInt(8),
+                    random.nextInt(401) / 100.0, STATUSES[random.nextInt(STATUSES.length)]));
+        }
+        table = ColumnarStudentTable.of(students);
+        activeCs = ColumnarStudentTable.Filter.all().major("CS").status("ACTIVE");
+    }
+
+    @Benchmark
+    public double averageGpa_objects() {
+        double sum = 0.0;
+        for (Student student : students) {
+            sum += student.getGpa();
+        }
+        return sum / students.size();
+    }
+
+    @Benchmark
+    public double averageGpa_columnar() {
+        return table.averageGpa(ColumnarStudentTable.Filter.all());
+    }
+
+    @Benchmark
+    public double averageGpaActiveCs_objects() {
+        double sum = 0.0;
+        long count = 0;
+        for (Student student : students) {
+            if ("CS".equals(student.getMajor()) && "ACTIVE".equals(student.getAcademicStatus())) {
+                sum += student.getGpa();
+                count++;
+            }
+        }
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    @Benchmark
+    public double averageGpaActiveCs_columnar() {
+        return table.averageGpa(activeCs);
+    }
+}
@@ -0,0 +1,76 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.Course;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membandingkan InMemoryCourseRepository dengan implementasi naif berbasis
+ * synchronized HashMap pada beban baca-dominan dari banyak thread
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class CourseRepositoryBenchmark {
+
+    private static final int COURSES = 1_000;
+
+    @Param({"inMemory", "synchronizedHashMap"})
+    public String implementation;
+
+    private CourseRepository repository;
+
+    @Setup
+    public void setUp() {
+        if ("inMemory".equals(implementation)) {
+            repository = BenchmarkFixtures.courses(new InMemoryStudentRepository(), COURSES, 40);
+        } else {
+            SynchronizedCourseRepository naive = new SynchronizedCourseRepository();
+            for (int i = 0; i < COURSES; i++) {
+                naive.update(new Course(BenchmarkFixtures.courseCode(i), "Course " + i, 3, 40, 0, "Lecturer"));
+            }
+            repository = naive;
+        }
+    }
+
+    /** 90% findByCourseCode, 10% update */
+    @Benchmark
+    public Course readMostly() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Course course = repository.findByCourseCode(BenchmarkFixtures.courseCode(random.nextInt(COURSES)));
+        if (random.nextInt(10) == 0) {
+            course.setEnrolledCount(random.nextInt(40));
+            repository.update(course);
+        }
+        return course;
+    }
+
+    static final class SynchronizedCourseRepository implements CourseRepository {
+        private final Map<String, Course> courses = new HashMap<>();
+
+        @Override
+        public synchronized Course findByCourseCode(String courseCode) {
+            return courses.get(courseCode);
+        }
+
+        @Override
+        public synchronized void update(Course course) {
+            courses.put(course.getCourseCode(), course);
+        }
+
+        @Override
+        public synchronized boolean isPrerequisiteMet(String studentId, String courseCode) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.siakad.benchmark;
+
+import com.siakad.service.SnowflakeEnrollmentIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark throughput pembangkit ID enrollment dari banyak thread
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class EnrollmentIdGeneratorBenchmark {
+
+    private final SnowflakeEnrollmentIdGenerator generator = new SnowflakeEnrollmentIdGenerator(0);
+
+    @Benchmark
+    public long snowflakeNextId() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    public String snowflakeNextIdString() {
+        return generator.nextIdString();
+    }
+
+    /** Implementasi lama: tidak unik dalam milidetik yang sama */
+    @Benchmark
+    public String legacyCurrentTimeMillis() {
+        return "ENR-" + System.currentTimeMillis();
+    }
+}
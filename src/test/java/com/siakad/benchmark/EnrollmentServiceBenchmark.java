@@ -0,0 +1,84 @@
+package com.siakad.benchmark;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import com.siakad.service.EnrollmentResult;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark single-thread untuk EnrollmentService di atas repository in-memory,
+ * termasuk biaya jalur penolakan (tryEnroll vs exception vs exception stackless)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnrollmentServiceBenchmark {
+
+    private static final int STUDENTS = 10_000;
+    private static final int COURSES = 100;
+
+    private EnrollmentService service;
+    private EnrollmentService stacklessService;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        InMemoryStudentRepository students = BenchmarkFixtures.students(STUDENTS);
+        InMemoryCourseRepository courses = BenchmarkFixtures.courses(students, COURSES, Integer.MAX_VALUE);
+        courses.save(new Course("FULL", "Full Course", 3, 0, 0, "Lecturer"));
+
+        service = new EnrollmentService(students, courses,
+                BenchmarkFixtures.NO_OP_NOTIFICATIONS, new GradeCalculator());
+        stacklessService = new EnrollmentService(students, courses,
+                BenchmarkFixtures.NO_OP_NOTIFICATIONS, new GradeCalculator());
+        stacklessService.setStacklessExceptions(true);
+    }
+
+    @Benchmark
+    public Enrollment enrollThenDrop() {
+        int i = cursor++;
+        String studentId = BenchmarkFixtures.studentId(i % STUDENTS);
+        String courseCode = BenchmarkFixtures.courseCode(i % COURSES);
+        Enrollment enrollment = service.enrollCourse(studentId, courseCode);
+        service.dropCourse(studentId, courseCode);
+        return enrollment;
+    }
+
+    @Benchmark
+    public boolean validateCreditLimit() {
+        return service.validateCreditLimit(BenchmarkFixtures.studentId(cursor++ % STUDENTS), 21);
+    }
+
+    @Benchmark
+    public EnrollmentResult rejectCourseFull_tryEnroll() {
+        return service.tryEnroll("STU0", "FULL");
+    }
+
+    @Benchmark
+    public Object rejectCourseFull_exception() {
+        try {
+            return service.enrollCourse("STU0", "FULL");
+        } catch (CourseFullException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object rejectCourseFull_stacklessException() {
+        try {
+            return stacklessService.enrollCourse("STU0", "FULL");
+        } catch (CourseFullException e) {
+            return e;
+        }
+    }
+}
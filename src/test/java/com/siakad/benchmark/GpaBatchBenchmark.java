@@ -0,0 +1,88 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark audit transkrip: IPK 1 juta mahasiswa dengan calculateGPA per mahasiswa
+ * dibandingkan dengan calculateGPAs (SIMD dan skalar)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class GpaBatchBenchmark {
+
+    private static final double[] GRADE_POINTS = {4.0, 3.7, 3.3, 3.0, 2.7, 2.3, 2.0, 1.0, 0.0};
+
+    @Param({"1000000"})
+    public int studentCount;
+
+    /** Rata-rata jumlah nilai per transkrip */
+    @Param({"24"})
+    public int transcriptSize;
+
+    private final GradeCalculator calculator = new GradeCalculator();
+    private List<List<CourseGrade>> transcripts;
+    private int[] credits;
+    private double[] gradePoints;
+    private int[] offsets;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        transcripts = new ArrayList<>(studentCount);
+        offsets = new int[studentCount + 1];
+        int total = 0;
+        for (int s = 0; s < studentCount; s++) {
+            int size = transcriptSize / 2 + random.nextInt(transcriptSize + 1);
+            List<CourseGrade> transcript = new ArrayList<>(size);
+            for (int c = 0; c < size; c++) {
+                transcript.add(new CourseGrade(BenchmarkFixtures.courseCode(c), 2 + random.nextInt(3),
+                        GRADE_POINTS[random.nextInt(GRADE_POINTS.length)]));
+            }
+            transcripts.add(transcript);
+            total += size;
+            offsets[s + 1] = total;
+        }
+
+        credits = new int[total];
+        gradePoints = new double[total];
+        int i = 0;
+        for (List<CourseGrade> transcript : transcripts) {
+            for (CourseGrade grade : transcript) {
+                credits[i] = grade.getCredits();
+                gradePoints[i] = grade.getGradePoint();
+                i++;
+            }
+        }
+    }
+
+    @Benchmark
+    public double[] loopCalculateGPA() {
+        double[] gpas = new double[studentCount];
+        for (int s = 0; s < studentCount; s++) {
+            gpas[s] = calculator.calculateGPA(transcripts.get(s));
+        }
+        return gpas;
+    }
+
+    @Benchmark
+    public double[] batchVector() {
+        return calculator.calculateGPAs(credits, gradePoints, offsets);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xmx6g", "--add-modules=jdk.incubator.vector", "-Dsiakad.gpa.vector=false"})
+    public double[] batchScalar() {
+        return calculator.calculateGPAs(credits, gradePoints, offsets);
+    }
+}
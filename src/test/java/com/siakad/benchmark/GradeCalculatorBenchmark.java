@@ -0,0 +1,83 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.service.GpaAccumulator;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark GradeCalculator untuk transkrip dengan berbagai ukuran
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GradeCalculatorBenchmark {
+
+    private static final double[] GRADE_POINTS = {4.0, 3.7, 3.3, 3.0, 2.7, 2.3, 2.0, 1.0, 0.0};
+
+    /** Jumlah mata kuliah dalam transkrip (satu semester, pertengahan studi, lulus) */
+    @Param({"8", "48", "144"})
+    public int transcriptSize;
+
+    private final GradeCalculator calculator = new GradeCalculator();
+    private List<CourseGrade> transcript;
+    private GpaAccumulator accumulator;
+    private CourseGrade[] retakes;
+    private int cursor;
+    private double gpa;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        transcript = new ArrayList<>(transcriptSize);
+        for (int i = 0; i < transcriptSize; i++) {
+            transcript.add(new CourseGrade("C" + i, 2 + random.nextInt(3),
+                    GRADE_POINTS[random.nextInt(GRADE_POINTS.length)]));
+        }
+        gpa = calculator.calculateGPA(transcript);
+
+        // Each retake alternates between two grades so the accumulator stays consistent
+        accumulator = GpaAccumulator.of(transcript);
+        retakes = new CourseGrade[transcriptSize];
+        for (int i = 0; i < transcriptSize; i++) {
+            CourseGrade original = transcript.get(i);
+            retakes[i] = new CourseGrade(original.getCourseCode(), original.getCredits(), 4.0);
+        }
+    }
+
+    @Benchmark
+    public double calculateGPA() {
+        return calculator.calculateGPA(transcript);
+    }
+
+    /** Satu perbaikan nilai lalu IPK baru, tanpa memindai ulang transkrip */
+    @Benchmark
+    public double incrementalReplace() {
+        int i = cursor;
+        cursor = (i + 1) % transcriptSize;
+        CourseGrade current = transcript.get(i);
+        CourseGrade next = retakes[i];
+        accumulator.replace(current, next);
+        transcript.set(i, next);
+        retakes[i] = current;
+        return accumulator.getGpa();
+    }
+
+    @Benchmark
+    public String determineAcademicStatus() {
+        return calculator.determineAcademicStatus(gpa, 5);
+    }
+
+    @Benchmark
+    public int calculateMaxCredits() {
+        return calculator.calculateMaxCredits(gpa);
+    }
+}
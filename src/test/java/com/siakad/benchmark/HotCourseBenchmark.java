@@ -0,0 +1,63 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.Course;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import com.siakad.service.EnrollmentResult;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark multi-thread: banyak mahasiswa berebut satu mata kuliah populer.
+ * Jumlah thread dapat diubah dengan opsi JMH {@code -t}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class HotCourseBenchmark {
+
+    private static final int STUDENTS = 1_024;
+
+    /** Kapasitas mata kuliah; kecil berarti sebagian besar request ditolak karena penuh */
+    @Param({"4", "1000000"})
+    public int capacity;
+
+    private EnrollmentService service;
+    private final AtomicInteger nextStudent = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Caller {
+        String studentId;
+
+        @Setup
+        public void setUp(HotCourseBenchmark benchmark) {
+            studentId = BenchmarkFixtures.studentId(benchmark.nextStudent.getAndIncrement() % STUDENTS);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        InMemoryStudentRepository students = BenchmarkFixtures.students(STUDENTS);
+        InMemoryCourseRepository courses = BenchmarkFixtures.courses(students, 0, 0);
+        courses.save(new Course("HOT", "Hot Course", 3, capacity, 0, "Lecturer"));
+        service = new EnrollmentService(students, courses,
+                BenchmarkFixtures.NO_OP_NOTIFICATIONS, new GradeCalculator());
+    }
+
+    @Benchmark
+    public EnrollmentResult enrollThenDrop(Caller caller) {
+        EnrollmentResult result = service.tryEnroll(caller.studentId, "HOT");
+        if (result.isEnrolled()) {
+            service.dropCourse(caller.studentId, "HOT");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,95 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.JdbcConnectionPool;
+import com.siakad.repository.JdbcCourseRepository;
+import com.siakad.repository.JdbcSchema;
+import com.siakad.repository.JdbcStudentRepository;
+import com.siakad.service.EnrollmentResult;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark multi-thread enrollment terhadap repository JDBC (H2 in-memory).
+ * Setiap operasi adalah reserveSeat (UPDATE bersyarat) diikuti drop.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class JdbcEnrollmentBenchmark {
+
+    private static final int STUDENTS = 1_024;
+    private static final int COURSES = 64;
+
+    /** Jumlah koneksi di pool */
+    @Param({"4", "16"})
+    public int poolSize;
+
+    private JdbcConnectionPool pool;
+    private EnrollmentService service;
+    private final AtomicInteger nextCaller = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Caller {
+        String studentId;
+        int course;
+
+        @Setup
+        public void setUp(JdbcEnrollmentBenchmark benchmark) {
+            int index = benchmark.nextCaller.getAndIncrement();
+            studentId = BenchmarkFixtures.studentId(index % STUDENTS);
+            course = index % COURSES;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        pool = new JdbcConnectionPool("jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                "sa", "", poolSize);
+        JdbcSchema.create(pool);
+        JdbcStudentRepository students = new JdbcStudentRepository(pool);
+        JdbcCourseRepository courses = new JdbcCourseRepository(pool);
+
+        List<Student> studentRows = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            studentRows.add(new Student(BenchmarkFixtures.studentId(i), "Student " + i, "s" + i + "@test.com",
+                    "CS", 3, 3.0, "ACTIVE"));
+        }
+        students.updateAll(studentRows);
+        List<Course> courseRows = new ArrayList<>(COURSES);
+        for (int i = 0; i < COURSES; i++) {
+            courseRows.add(new Course(BenchmarkFixtures.courseCode(i), "Course " + i, 3, STUDENTS, 0, "Lecturer"));
+        }
+        courses.updateAll(courseRows);
+
+        service = new EnrollmentService(students, courses, BenchmarkFixtures.NO_OP_NOTIFICATIONS, new GradeCalculator());
+        service.setSeatReservationRepository(courses);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public EnrollmentResult enrollThenDrop(Caller caller) {
+        String courseCode = BenchmarkFixtures.courseCode(caller.course);
+        EnrollmentResult result = service.tryEnroll(caller.studentId, courseCode);
+        if (result.isEnrolled()) {
+            service.dropCourse(caller.studentId, courseCode);
+        }
+        return result;
+    }
+}
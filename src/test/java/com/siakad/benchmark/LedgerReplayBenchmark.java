@@ -0,0 +1,74 @@
+package com.siakad.benchmark;
+
+import com.siakad.service.EnrollmentEvent;
+import com.siakad.service.EnrollmentLedger;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark rebuild proyeksi EnrollmentLedger dari 10 juta event
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class LedgerReplayBenchmark {
+
+    private static final int STUDENTS = 200_000;
+    private static final int COURSES = 2_000;
+
+    @Param({"10000000"})
+    public int eventCount;
+
+    /** Jumlah partisi per proyeksi */
+    @Param({"1", "4", "8"})
+    public int parallelism;
+
+    private List<EnrollmentEvent> events;
+
+    @Setup
+    public void setUp() {
+        String[] studentIds = new String[STUDENTS];
+        for (int i = 0; i < STUDENTS; i++) {
+            studentIds[i] = BenchmarkFixtures.studentId(i);
+        }
+        String[] courseCodes = new String[COURSES];
+        String[] lecturers = new String[COURSES];
+        for (int i = 0; i < COURSES; i++) {
+            courseCodes[i] = BenchmarkFixtures.courseCode(i);
+            lecturers[i] = "Lecturer " + (i % 300);
+        }
+
+        // Each enrollment is dropped again with probability 1/4 a little later in the log
+        SplittableRandom random = new SplittableRandom(42);
+        events = new ArrayList<>(eventCount);
+        List<EnrollmentEvent.EnrollmentCreated> droppable = new ArrayList<>();
+        for (long sequence = 1; sequence <= eventCount; sequence++) {
+            if (!droppable.isEmpty() && random.nextInt(4) == 0) {
+                EnrollmentEvent.EnrollmentCreated created = droppable.remove(droppable.size() - 1);
+                events.add(new EnrollmentEvent.EnrollmentDropped(sequence, created.studentId(), created.courseCode(),
+                        created.lecturer(), created.credits(), sequence));
+            } else {
+                int course = random.nextInt(COURSES);
+                EnrollmentEvent.EnrollmentCreated created = new EnrollmentEvent.EnrollmentCreated(sequence,
+                        "ENR-" + sequence, studentIds[random.nextInt(STUDENTS)], courseCodes[course],
+                        lecturers[course], 3, sequence);
+                events.add(created);
+                if (random.nextInt(3) == 0) {
+                    droppable.add(created);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public EnrollmentLedger replay() {
+        return EnrollmentLedger.replay(events, parallelism);
+    }
+}
@@ -0,0 +1,110 @@
+package com.siakad.benchmark;
+
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import com.siakad.service.CourseShardExecutor;
+import com.siakad.service.EnrollmentResult;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Membandingkan tiga cara memproses enrollment pada beban miring (skewed):
+ * 80% request menuju 4 mata kuliah populer, sisanya tersebar ke 96 mata kuliah lain.
+ * <ul>
+ *     <li>{@code cas}: pemanggil langsung memakai EnrollmentService (SeatLedger CAS)</li>
+ *     <li>{@code lock}: setiap request dibungkus lock per mata kuliah</li>
+ *     <li>{@code sharded}: request dikirim ke {@link CourseShardExecutor} lalu ditunggu</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ShardedEnrollmentBenchmark {
+
+    private static final int COURSES = 100;
+    private static final int HOT_COURSES = 4;
+    private static final int STUDENTS = 1_024;
+
+    @Param({"cas", "lock", "sharded"})
+    public String mode;
+
+    private EnrollmentService service;
+    private CourseShardExecutor executor;
+    private final ConcurrentHashMap<String, Object> locks = new ConcurrentHashMap<>();
+    private final AtomicInteger nextStudent = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Caller {
+        String studentId;
+        SplittableRandom random;
+
+        @Setup
+        public void setUp(ShardedEnrollmentBenchmark benchmark) {
+            int index = benchmark.nextStudent.getAndIncrement();
+            studentId = BenchmarkFixtures.studentId(index % STUDENTS);
+            random = new SplittableRandom(index);
+        }
+
+        String nextCourse() {
+            int course = random.nextInt(10) < 8
+                    ? random.nextInt(HOT_COURSES)
+                    : HOT_COURSES + random.nextInt(COURSES - HOT_COURSES);
+            return BenchmarkFixtures.courseCode(course);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        InMemoryStudentRepository students = BenchmarkFixtures.students(STUDENTS);
+        InMemoryCourseRepository courses = BenchmarkFixtures.courses(students, COURSES, Integer.MAX_VALUE);
+        service = new EnrollmentService(students, courses,
+                BenchmarkFixtures.NO_OP_NOTIFICATIONS, new GradeCalculator());
+        if ("sharded".equals(mode)) {
+            executor = new CourseShardExecutor(service, Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    @Benchmark
+    public EnrollmentResult enrollThenDrop(Caller caller) {
+        String courseCode = caller.nextCourse();
+        switch (mode) {
+            case "sharded":
+                EnrollmentResult result = executor.tryEnroll(caller.studentId, courseCode).join();
+                if (result.isEnrolled()) {
+                    executor.dropCourse(caller.studentId, courseCode).join();
+                }
+                return result;
+            case "lock":
+                synchronized (locks.computeIfAbsent(courseCode, code -> new Object())) {
+                    return enrollThenDropDirect(caller.studentId, courseCode);
+                }
+            default:
+                return enrollThenDropDirect(caller.studentId, courseCode);
+        }
+    }
+
+    private EnrollmentResult enrollThenDropDirect(String studentId, String courseCode) {
+        EnrollmentResult result = service.tryEnroll(studentId, courseCode);
+        if (result.isEnrolled()) {
+            service.dropCourse(studentId, courseCode);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.Course;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import com.siakad.service.EnrollmentResult;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput promosi dari daftar tunggu: setiap operasi adalah satu drop yang
+ * memindahkan kursi ke mahasiswa terdepan, lalu mahasiswa yang drop masuk
+ * kembali ke ekor antrian.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WaitlistBenchmark {
+
+    @Param({"16", "1024"})
+    public int waitlistLength;
+
+    private EnrollmentService service;
+    private int holder;
+
+    @Setup
+    public void setUp() {
+        int students = waitlistLength + 1;
+        InMemoryStudentRepository studentRepository = BenchmarkFixtures.students(students);
+        InMemoryCourseRepository courseRepository = BenchmarkFixtures.courses(studentRepository, 0, 0);
+        courseRepository.save(new Course("HOT", "Hot Course", 3, 1, 0, "Lecturer"));
+        service = new EnrollmentService(studentRepository, courseRepository,
+                BenchmarkFixtures.NO_OP_NOTIFICATIONS, new GradeCalculator());
+
+        for (int i = 0; i < students; i++) {
+            service.enrollOrWaitlist(BenchmarkFixtures.studentId(i), "HOT");
+        }
+        holder = 0;
+    }
+
+    @Benchmark
+    public EnrollmentResult dropAndPromote() {
+        String studentId = BenchmarkFixtures.studentId(holder);
+        service.dropCourse(studentId, "HOT");
+        holder = (holder + 1) % (waitlistLength + 1);
+        return service.enrollOrWaitlist(studentId, "HOT");
+    }
+}
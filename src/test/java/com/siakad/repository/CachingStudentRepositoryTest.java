@@ -0,0 +1,162 @@
+package com.siakad.repository;
+
+import com.siakad.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk CachingStudentRepository
+ */
+public class CachingStudentRepositoryTest {
+
+    private InMemoryStudentRepository store;
+    private StudentRepository delegate;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryStudentRepository();
+        for (int i = 0; i < 1_000; i++) {
+            store.save(new Student("STU" + i, "Student " + i, "s" + i + "@test.com", "CS", 1, 3.0, "ACTIVE"));
+        }
+        delegate = spy(store);
+    }
+
+    @Test
+    void testFindById_ReadThroughAndHit() {
+        CachingStudentRepository cache = new CachingStudentRepository(delegate, 100);
+
+        assertEquals("Student 1", cache.findById("STU1").getName());
+        assertEquals("Student 1", cache.findById("STU1").getName());
+
+        verify(delegate, times(1)).findById("STU1");
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 0.0001);
+    }
+
+    @Test
+    void testFindById_UnknownNotCached() {
+        CachingStudentRepository cache = new CachingStudentRepository(delegate, 100);
+
+        assertNull(cache.findById("UNKNOWN"));
+        assertNull(cache.findById("UNKNOWN"));
+
+        verify(delegate, times(2)).findById("UNKNOWN");
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testFindAllById_LoadsOnlyMissesInOneCall() {
+        CachingStudentRepository cache = new CachingStudentRepository(delegate, 100);
+        cache.findById("STU1");
+
+        List<Student> students = cache.findAllById(List.of("STU1", "STU2", "UNKNOWN", "STU3"));
+
+        assertEquals(List.of("Student 1", "Student 2", "Student 3"),
+                students.stream().map(Student::getName).toList());
+        verify(delegate).findAllById(List.of("STU2", "UNKNOWN", "STU3"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+
+        assertEquals("Student 2", cache.findById("STU2").getName());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testUpdateAll_OneDelegateCallAndNoStaleEntries() {
+        CachingStudentRepository cache = new CachingStudentRepository(delegate, 100);
+        Student first = cache.findById("STU1");
+        Student second = cache.findById("STU2");
+        first.setGpa(3.9);
+        second.setGpa(2.1);
+
+        cache.updateAll(List.of(first, second));
+
+        verify(delegate, times(1)).updateAll(anyCollection());
+        assertEquals(3.9, cache.findById("STU1").getGpa());
+        assertEquals(2.1, cache.findById("STU2").getGpa());
+    }
+
+    @Test
+    void testUpdate_WriteThrough() {
+        CachingStudentRepository cache = new CachingStudentRepository(delegate, 100);
+        Student student = cache.findById("STU1");
+        student.setAcademicStatus("PROBATION");
+
+        cache.update(student);
+
+        assertEquals("PROBATION", cache.findById("STU1").getAcademicStatus());
+        assertEquals("PROBATION", store.findById("STU1").getAcademicStatus());
+        verify(delegate, times(1)).findById("STU1");
+    }
+
+    @Test
+    void testEviction_BoundedSize() {
+        CachingStudentRepository cache = new CachingStudentRepository(delegate, 50);
+        for (int i = 0; i < 1_000; i++) {
+            cache.findById("STU" + i);
+        }
+
+        assertTrue(cache.size() <= 50);
+        assertEquals(1_000 - cache.size(), cache.getEvictionCount());
+    }
+
+    @Test
+    void testEviction_FrequentEntriesSurviveScan() {
+        CachingStudentRepository cache = new CachingStudentRepository(delegate, 100);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 20; i++) {
+                cache.findById("STU" + i);
+            }
+        }
+        // Scan satu kali atas banyak mahasiswa lain
+        for (int i = 100; i < 1_000; i++) {
+            cache.findById("STU" + i);
+        }
+
+        long missesBefore = cache.getMissCount();
+        for (int i = 0; i < 20; i++) {
+            cache.findById("STU" + i);
+        }
+        assertEquals(missesBefore, cache.getMissCount());
+    }
+
+    @Test
+    void testConcurrentUpdateAndRead_NoStaleValues() throws Exception {
+        CachingStudentRepository cache = new CachingStudentRepository(store, 10);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    cache.findById("STU" + (i % 30));
+                }
+            }));
+        }
+        futures.add(pool.submit(() -> {
+            for (int semester = 1; semester <= 2_000; semester++) {
+                Student student = store.findById("STU0");
+                student.setSemester(semester);
+                cache.update(student);
+            }
+        }));
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(2_000, cache.findById("STU0").getSemester());
+        assertEquals(2_000, store.findById("STU0").getSemester());
+    }
+}
@@ -0,0 +1,90 @@
+package com.siakad.repository;
+
+import com.siakad.model.Student;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk ColumnarStudentTable: hasil scan dibandingkan dengan perhitungan di atas List<Student>
+ */
+public class ColumnarStudentTableTest {
+
+    private static final String[] MAJORS = {"CS", "IS", "EE", "ME"};
+    private static final String[] STATUSES = {"ACTIVE", "PROBATION", "SUSPENDED"};
+
+    private static List<Student> cohort(int size) {
+        Random random = new Random(11);
+        List<Student> students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double gpa = Math.round(random.nextDouble() * 400) / 100.0;
+            students.add(new Student("STU" + i, "Name", "s" + i + "@test.com", MAJORS[random.nextInt(MAJORS.length)],
+                    1 + random.nextInt(8), gpa, STATUSES[random.nextInt(STATUSES.length)]));
+        }
+        return students;
+    }
+
+    @Test
+    void testAggregates_MatchRowWiseComputation() {
+        List<Student> students = cohort(5_000);
+        ColumnarStudentTable table = ColumnarStudentTable.of(students);
+
+        assertEquals(5_000, table.size());
+        assertEquals(students.stream().mapToDouble(Student::getGpa).average().orElse(0),
+                table.averageGpa(ColumnarStudentTable.Filter.all()), 1e-9);
+        assertEquals(students.stream().collect(Collectors.groupingBy(Student::getAcademicStatus, Collectors.counting())),
+                table.countByStatus(ColumnarStudentTable.Filter.all()));
+
+        Map<String, Double> expectedByMajor = students.stream()
+                .filter(s -> s.getSemester() >= 3 && s.getSemester() <= 4)
+                .collect(Collectors.groupingBy(Student::getMajor, Collectors.averagingDouble(Student::getGpa)));
+        Map<String, Double> byMajor = table.averageGpaByMajor(ColumnarStudentTable.Filter.all().semesterBetween(3, 4));
+        assertEquals(expectedByMajor.keySet(), byMajor.keySet());
+        expectedByMajor.forEach((major, avg) -> assertEquals(avg, byMajor.get(major), 1e-9));
+
+        long probationInCs = students.stream()
+                .filter(s -> s.getMajor().equals("CS") && s.getAcademicStatus().equals("PROBATION"))
+                .filter(s -> s.getGpa() >= 2.0 && s.getGpa() <= 2.5)
+                .count();
+        ColumnarStudentTable.Filter filter = ColumnarStudentTable.Filter.all()
+                .major("CS").status("PROBATION").gpaBetween(2.0, 2.5);
+        assertEquals(probationInCs, table.count(filter));
+        assertEquals(probationInCs, table.studentIds(filter).size());
+    }
+
+    @Test
+    void testGpaHistogram_PutsFourPointZeroInLastBin() {
+        ColumnarStudentTable table = ColumnarStudentTable.of(List.of(
+                new Student("S1", "A", "a", "CS", 1, 0.0, "ACTIVE"),
+                new Student("S2", "B", "b", "CS", 1, 1.99, "ACTIVE"),
+                new Student("S3", "C", "c", "CS", 1, 2.0, "ACTIVE"),
+                new Student("S4", "D", "d", "CS", 1, 4.0, "ACTIVE")));
+
+        assertArrayEquals(new long[]{1, 1, 1, 1}, table.gpaHistogram(ColumnarStudentTable.Filter.all(), 4));
+        assertArrayEquals(new long[]{2, 2}, table.gpaHistogram(ColumnarStudentTable.Filter.all(), 2));
+    }
+
+    @Test
+    void testUpsertAndRemove_KeepRowsConsistent() {
+        ColumnarStudentTable table = ColumnarStudentTable.of(List.of(
+                new Student("S1", "A", "a", "CS", 1, 3.0, "ACTIVE"),
+                new Student("S2", "B", "b", "IS", 2, 2.0, "PROBATION"),
+                new Student("S3", "C", "c", "EE", 3, 1.0, "SUSPENDED")));
+
+        table.upsert(new Student("S2", "B", "b", "IS", 2, 3.5, "ACTIVE"));
+        assertTrue(table.remove("S1"));
+        assertFalse(table.remove("S1"));
+
+        assertEquals(2, table.size());
+        assertEquals(Map.of("ACTIVE", 1L, "SUSPENDED", 1L), table.countByStatus(ColumnarStudentTable.Filter.all()));
+        assertEquals(List.of("S3"), table.studentIds(ColumnarStudentTable.Filter.all().major("EE")));
+        assertEquals(0, table.count(ColumnarStudentTable.Filter.all().major("UNKNOWN")));
+        assertEquals(2.25, table.averageGpa(ColumnarStudentTable.Filter.all()), 1e-9);
+    }
+}
@@ -0,0 +1,171 @@
+package com.siakad.repository;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk InMemoryStudentRepository dan InMemoryCourseRepository
+ */
+public class InMemoryRepositoryTest {
+
+    private InMemoryStudentRepository studentRepository;
+    private InMemoryCourseRepository courseRepository;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        courseRepository = new InMemoryCourseRepository(studentRepository);
+    }
+
+    @Test
+    void testFindById_ReturnsCopy() {
+        studentRepository.save(new Student("STU001", "Ani", "ani@test.com", "CS", 3, 3.2, "ACTIVE"));
+
+        Student found = studentRepository.findById("STU001");
+        found.setAcademicStatus("SUSPENDED");
+
+        assertEquals("ACTIVE", studentRepository.findById("STU001").getAcademicStatus());
+        studentRepository.update(found);
+        assertEquals("SUSPENDED", studentRepository.findById("STU001").getAcademicStatus());
+    }
+
+    @Test
+    void testFindById_NotFound() {
+        assertNull(studentRepository.findById("UNKNOWN"));
+        assertNull(courseRepository.findByCourseCode("UNKNOWN"));
+    }
+
+    @Test
+    void testIsPrerequisiteMet() {
+        Course basic = new Course("CS101", "Intro to Programming", 3, 30, 0, "Dr. A");
+        Course advanced = new Course("CS201", "Data Structures", 3, 30, 0, "Dr. B");
+        advanced.addPrerequisite("CS101");
+        courseRepository.save(basic);
+        courseRepository.save(advanced);
+
+        assertTrue(courseRepository.isPrerequisiteMet("STU001", "CS101"));
+        assertFalse(courseRepository.isPrerequisiteMet("STU001", "CS201"));
+        assertFalse(courseRepository.isPrerequisiteMet("STU001", "UNKNOWN"));
+
+        studentRepository.addCompletedCourse("STU001", basic);
+        assertTrue(courseRepository.isPrerequisiteMet("STU001", "CS201"));
+    }
+
+    @Test
+    void testConcurrentEnrollment_HotCourseNeverOversold() throws Exception {
+        int capacity = 200;
+        int students = 2_000;
+        courseRepository.save(new Course("CS101", "Intro to Programming", 3, capacity, 0, "Dr. A"));
+        for (int i = 0; i < students; i++) {
+            studentRepository.save(new Student("STU" + i, "Student " + i, "s" + i + "@test.com",
+                    "CS", 1, 3.0, "ACTIVE"));
+        }
+        EnrollmentService service = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            String studentId = "STU" + i;
+            results.add(pool.submit(() -> {
+                try {
+                    service.enrollCourse(studentId, "CS101");
+                    return true;
+                } catch (CourseFullException e) {
+                    return false;
+                }
+            }));
+        }
+
+        int enrolled = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                enrolled++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(capacity, enrolled);
+        assertEquals(capacity, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    void testReserveSeat_ValidatesAndIncrementsInOneCall() {
+        Course advanced = new Course("CS201", "Data Structures", 3, 1, 0, "Dr. B");
+        advanced.addPrerequisite("CS101");
+        courseRepository.save(new Course("CS101", "Intro to Programming", 3, 30, 0, "Dr. A"));
+        courseRepository.save(advanced);
+        studentRepository.save(new Student("STU001", "Ani", "ani@test.com", "CS", 3, 3.2, "ACTIVE"));
+        studentRepository.save(new Student("STU002", "Budi", "budi@test.com", "CS", 3, 3.2, "SUSPENDED"));
+
+        assertEquals(SeatReservation.Status.STUDENT_NOT_FOUND, courseRepository.reserveSeat("UNKNOWN", "CS101").status());
+        assertEquals(SeatReservation.Status.STUDENT_SUSPENDED, courseRepository.reserveSeat("STU002", "CS101").status());
+        assertEquals(SeatReservation.Status.COURSE_NOT_FOUND, courseRepository.reserveSeat("STU001", "CS999").status());
+        assertEquals(SeatReservation.Status.PREREQUISITE_NOT_MET, courseRepository.reserveSeat("STU001", "CS201").status());
+        assertEquals(0, courseRepository.findByCourseCode("CS201").getEnrolledCount());
+
+        studentRepository.addCompletedCourse("STU001", courseRepository.findByCourseCode("CS101"));
+        SeatReservation reservation = courseRepository.reserveSeat("STU001", "CS201");
+
+        assertTrue(reservation.isReserved());
+        assertEquals(1, reservation.course().getEnrolledCount());
+        assertEquals(1, courseRepository.findByCourseCode("CS201").getEnrolledCount());
+        assertEquals(SeatReservation.Status.COURSE_FULL, courseRepository.reserveSeat("STU001", "CS201").status());
+        // Rejections are shared instances, so the rejection path allocates nothing
+        assertSame(SeatReservation.rejected(SeatReservation.Status.COURSE_FULL),
+                courseRepository.reserveSeat("STU001", "CS201"));
+        assertThrows(IllegalArgumentException.class, () -> SeatReservation.rejected(SeatReservation.Status.RESERVED));
+
+        assertTrue(courseRepository.releaseSeat("CS201"));
+        assertFalse(courseRepository.releaseSeat("CS201"));
+        assertEquals(0, courseRepository.findByCourseCode("CS201").getEnrolledCount());
+    }
+
+    @Test
+    void testConcurrentReserveSeat_HotCourseNeverOversold() throws Exception {
+        int capacity = 200;
+        int students = 2_000;
+        courseRepository.save(new Course("CS101", "Intro to Programming", 3, capacity, 0, "Dr. A"));
+        for (int i = 0; i < students; i++) {
+            studentRepository.save(new Student("STU" + i, "Student " + i, "s" + i + "@test.com",
+                    "CS", 1, 3.0, "ACTIVE"));
+        }
+        EnrollmentService service = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        service.setSeatReservationRepository(courseRepository);
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            String studentId = "STU" + i;
+            results.add(pool.submit(() -> service.tryEnroll(studentId, "CS101").isEnrolled()));
+        }
+
+        int enrolled = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                enrolled++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(capacity, enrolled);
+        assertEquals(capacity, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+}
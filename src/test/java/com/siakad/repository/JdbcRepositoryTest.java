@@ -0,0 +1,308 @@
+package com.siakad.repository;
+
+import com.siakad.exception.DataAccessException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration test untuk JdbcStudentRepository dan JdbcCourseRepository
+ * menggunakan database H2 embedded (in-memory)
+ */
+public class JdbcRepositoryTest {
+
+    private JdbcConnectionPool pool;
+    private JdbcStudentRepository studentRepository;
+    private JdbcCourseRepository courseRepository;
+
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:h2:mem:siakad-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+        pool = new JdbcConnectionPool(url, "sa", "", 8);
+        JdbcSchema.create(pool);
+        studentRepository = new JdbcStudentRepository(pool);
+        courseRepository = new JdbcCourseRepository(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testStudent_SaveFindAndUpdate() {
+        studentRepository.save(new Student("STU001", "Ani", "ani@test.com", "CS", 3, 3.25, "ACTIVE"));
+
+        Student found = studentRepository.findById("STU001");
+        assertEquals("Ani", found.getName());
+        assertEquals(3.25, found.getGpa());
+
+        found.setAcademicStatus("PROBATION");
+        studentRepository.update(found);
+
+        assertEquals("PROBATION", studentRepository.findById("STU001").getAcademicStatus());
+        assertNull(studentRepository.findById("UNKNOWN"));
+    }
+
+    @Test
+    void testUpdateAll_MixedInsertAndUpdateInOneBatch() {
+        studentRepository.save(new Student("STU001", "Ani", "ani@test.com", "CS", 3, 3.0, "ACTIVE"));
+
+        List<Student> batch = new ArrayList<>();
+        batch.add(new Student("STU001", "Ani", "ani@test.com", "CS", 4, 3.5, "ACTIVE"));
+        for (int i = 2; i <= 100; i++) {
+            batch.add(new Student("STU" + i, "Student " + i, "s" + i + "@test.com", "CS", 1, 2.0, "ACTIVE"));
+        }
+        studentRepository.updateAll(batch);
+
+        assertEquals(4, studentRepository.findById("STU001").getSemester());
+        assertEquals("Student 100", studentRepository.findById("STU100").getName());
+    }
+
+    @Test
+    void testFindAllById_OneQueryInRequestOrder() {
+        for (int i = 1; i <= 3; i++) {
+            studentRepository.save(new Student("STU00" + i, "Student " + i, "s" + i + "@test.com", "CS", 1, 3.0, "ACTIVE"));
+        }
+
+        // Five IDs are padded to eight parameters; the unknown ID is skipped
+        List<Student> students = studentRepository.findAllById(List.of("STU003", "UNKNOWN", "STU001", "STU002", "STU003"));
+
+        assertEquals(List.of("STU003", "STU001", "STU002", "STU003"),
+                students.stream().map(Student::getStudentId).toList());
+        assertEquals("Student 2", students.get(2).getName());
+        assertTrue(studentRepository.findAllById(List.of()).isEmpty());
+    }
+
+    @Test
+    void testCourse_PrerequisitesRoundTrip() {
+        Course course = new Course("CS201", "Data Structures", 3, 30, 0, "Dr. B");
+        course.addPrerequisite("CS101");
+        course.addPrerequisite("MA101");
+        courseRepository.updateAll(List.of(new Course("CS101", "Intro", 3, 30, 0, "Dr. A"), course));
+
+        assertEquals(List.of("CS101", "MA101"), courseRepository.findByCourseCode("CS201").getPrerequisites());
+
+        course.setPrerequisites(new ArrayList<>(List.of("CS101")));
+        courseRepository.update(course);
+
+        assertEquals(List.of("CS101"), courseRepository.findByCourseCode("CS201").getPrerequisites());
+    }
+
+    @Test
+    void testUpdate_UnchangedPrerequisitesAreNotRewritten() {
+        Course course = new Course("CS201", "Data Structures", 3, 30, 0, "Dr. B");
+        course.addPrerequisite("CS101");
+        course.addPrerequisite("MA101");
+        courseRepository.save(course);
+        // Shift seq so a rewrite (which starts again at 0) would be visible
+        pool.withConnection(connection -> connection.connection().createStatement()
+                .executeUpdate("UPDATE course_prerequisites SET seq = seq + 10"));
+
+        course.setEnrolledCount(5);
+        courseRepository.update(course);
+
+        assertEquals(5, courseRepository.findByCourseCode("CS201").getEnrolledCount());
+        assertEquals(List.of(10, 11), prerequisiteSeqs("CS201"));
+
+        course.setPrerequisites(new ArrayList<>(List.of("MA101", "CS101")));
+        courseRepository.update(course);
+
+        assertEquals(List.of(0, 1), prerequisiteSeqs("CS201"));
+        assertEquals(List.of("MA101", "CS101"), courseRepository.findByCourseCode("CS201").getPrerequisites());
+    }
+
+    @Test
+    void testUpdateAll_RewritesOnlyChangedPrerequisitesAcrossCourses() {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Course course = new Course("CS20" + i, "Course " + i, 3, 30, 0, "Dr. B");
+            course.addPrerequisite("CS101");
+            course.addPrerequisite("MA10" + i);
+            courses.add(course);
+        }
+        courseRepository.updateAll(courses);
+        pool.withConnection(connection -> connection.connection().createStatement()
+                .executeUpdate("UPDATE course_prerequisites SET seq = seq + 10"));
+
+        for (Course course : courses) {
+            course.setEnrolledCount(7);
+        }
+        courses.get(1).setPrerequisites(new ArrayList<>(List.of("MA101")));
+        Course added = new Course("CS299", "New Course", 3, 30, 0, "Dr. B");
+        added.addPrerequisite("CS200");
+        courses.add(added);
+        courseRepository.updateAll(courses);
+
+        assertEquals(List.of(10, 11), prerequisiteSeqs("CS200"));
+        assertEquals(List.of(0), prerequisiteSeqs("CS201"));
+        assertEquals(List.of(10, 11), prerequisiteSeqs("CS202"));
+        assertEquals(List.of("CS200"), courseRepository.findByCourseCode("CS299").getPrerequisites());
+        assertEquals(7, courseRepository.findByCourseCode("CS202").getEnrolledCount());
+    }
+
+    private List<Integer> prerequisiteSeqs(String courseCode) {
+        return pool.withConnection(connection -> {
+            List<Integer> seqs = new ArrayList<>();
+            try (ResultSet rs = connection.connection().createStatement().executeQuery(
+                    "SELECT seq FROM course_prerequisites WHERE course_code = '" + courseCode + "' ORDER BY seq")) {
+                while (rs.next()) {
+                    seqs.add(rs.getInt(1));
+                }
+            }
+            return seqs;
+        });
+    }
+
+    @Test
+    void testMissingRows_RechecksSuccessNoInfo() throws SQLException {
+        List<Integer> rechecked = new ArrayList<>();
+        List<Integer> missing = JdbcRows.missingRows(
+                new int[]{1, 0, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO},
+                index -> {
+                    rechecked.add(index);
+                    return index == 2 ? 0 : 1;
+                });
+
+        assertEquals(List.of(1, 2), missing);
+        assertEquals(List.of(2, 3), rechecked);
+        assertThrows(SQLException.class, () -> JdbcRows.missingRows(new int[]{Statement.EXECUTE_FAILED}, index -> 1));
+    }
+
+    @Test
+    void testIsPrerequisiteMet_UsesCompletedCourses() {
+        Course course = new Course("CS201", "Data Structures", 3, 30, 0, "Dr. B");
+        course.addPrerequisite("CS101");
+        courseRepository.save(new Course("CS101", "Intro", 3, 30, 0, "Dr. A"));
+        courseRepository.save(course);
+        studentRepository.save(new Student("STU001", "Ani", "ani@test.com", "CS", 3, 3.0, "ACTIVE"));
+
+        assertFalse(courseRepository.isPrerequisiteMet("STU001", "CS201"));
+
+        studentRepository.addCompletedCourse("STU001", "CS101");
+
+        assertTrue(courseRepository.isPrerequisiteMet("STU001", "CS201"));
+        assertEquals("CS101", studentRepository.getCompletedCourses("STU001").get(0).getCourseCode());
+    }
+
+    @Test
+    void testReserveSeat_ConditionalUpdate() {
+        Course course = new Course("CS201", "Data Structures", 3, 1, 0, "Dr. B");
+        course.addPrerequisite("CS101");
+        courseRepository.save(new Course("CS101", "Intro", 3, 30, 0, "Dr. A"));
+        courseRepository.save(course);
+        studentRepository.save(new Student("STU001", "Ani", "ani@test.com", "CS", 3, 3.0, "ACTIVE"));
+        studentRepository.save(new Student("STU002", "Budi", "budi@test.com", "CS", 3, 3.0, "SUSPENDED"));
+
+        assertEquals(SeatReservation.Status.STUDENT_NOT_FOUND, courseRepository.reserveSeat("UNKNOWN", "CS201").status());
+        assertEquals(SeatReservation.Status.STUDENT_SUSPENDED, courseRepository.reserveSeat("STU002", "CS201").status());
+        assertEquals(SeatReservation.Status.COURSE_NOT_FOUND, courseRepository.reserveSeat("STU001", "CS999").status());
+        assertEquals(SeatReservation.Status.PREREQUISITE_NOT_MET, courseRepository.reserveSeat("STU001", "CS201").status());
+
+        studentRepository.addCompletedCourse("STU001", "CS101");
+        SeatReservation reservation = courseRepository.reserveSeat("STU001", "CS201");
+
+        assertTrue(reservation.isReserved());
+        assertEquals(1, reservation.course().getEnrolledCount());
+        assertEquals(SeatReservation.Status.COURSE_FULL, courseRepository.reserveSeat("STU001", "CS201").status());
+
+        assertTrue(courseRepository.releaseSeat("CS201"));
+        assertFalse(courseRepository.releaseSeat("CS201"));
+    }
+
+    @Test
+    void testPool_ReusesConnectionsAndStatements() {
+        studentRepository.save(new Student("STU001", "Ani", "ani@test.com", "CS", 3, 3.0, "ACTIVE"));
+        for (int i = 0; i < 100; i++) {
+            studentRepository.findById("STU001");
+        }
+
+        assertEquals(1, pool.idleCount());
+        try (JdbcConnectionPool.PooledConnection connection = pool.borrow()) {
+            assertTrue(connection.cachedStatementCount() > 0);
+        }
+    }
+
+    @Test
+    void testPool_DoubleCloseReturnsConnectionOnce() {
+        JdbcConnectionPool single = new JdbcConnectionPool(
+                "jdbc:h2:mem:siakad-" + UUID.randomUUID(), "sa", "", 1, 8, Duration.ofMillis(100));
+        try (single) {
+            JdbcConnectionPool.PooledConnection first = single.borrow();
+            first.close();
+            first.close();
+
+            assertEquals(1, single.idleCount());
+            assertThrows(IllegalStateException.class, first::connection);
+            try (JdbcConnectionPool.PooledConnection second = single.borrow()) {
+                assertEquals(0, single.idleCount());
+                assertThrows(DataAccessException.class, single::borrow);
+                first.close();
+                assertEquals(0, single.idleCount());
+            }
+        }
+    }
+
+    @Test
+    void testInTransaction_RestoresAutoCommitAfterFailure() {
+        assertThrows(IllegalStateException.class, () -> pool.inTransaction(connection -> {
+            throw new IllegalStateException("boom");
+        }));
+        boolean autoCommit = pool.withConnection(connection -> connection.connection().getAutoCommit());
+        assertTrue(autoCommit);
+    }
+
+    @Test
+    void testConcurrentEnrollment_DatabaseNeverOversold() throws Exception {
+        int capacity = 50;
+        int students = 400;
+        courseRepository.save(new Course("CS101", "Intro to Programming", 3, capacity, 0, "Dr. A"));
+        List<Student> batch = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            batch.add(new Student("STU" + i, "Student " + i, "s" + i + "@test.com", "CS", 1, 3.0, "ACTIVE"));
+        }
+        studentRepository.updateAll(batch);
+
+        EnrollmentService service = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        service.setSeatReservationRepository(courseRepository);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            String studentId = "STU" + i;
+            results.add(executor.submit(() -> service.tryEnroll(studentId, "CS101").isEnrolled()));
+        }
+
+        int enrolled = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                enrolled++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(capacity, enrolled);
+        assertEquals(capacity, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+}
@@ -0,0 +1,169 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk BloomFilter, KnownKeyFilter, dan decorator repository yang memakainya
+ */
+public class KnownKeyFilterTest {
+
+    @Test
+    void testBloomFilter_NoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("S" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("S" + i));
+        }
+    }
+
+    @Test
+    void testBloomFilter_FalsePositiveRateNearTarget() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("S" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("X" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 3_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testMayExist_NegativeCacheExpires() {
+        AtomicLong now = new AtomicLong();
+        KnownKeyFilter filter = new KnownKeyFilter(100, 0.01, Duration.ofSeconds(5), 100, now::get);
+        filter.register("S001");
+
+        filter.recordMissing("S001", filter.version("S001"));
+        assertFalse(filter.mayExist("S001"));
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertTrue(filter.mayExist("S001"));
+    }
+
+    @Test
+    void testRegister_ClearsNegativeEntry() {
+        KnownKeyFilter filter = KnownKeyFilter.of(List.of("S001"), 0.01, Duration.ofMinutes(1));
+        filter.recordMissing("S002", filter.version("S002"));
+        assertFalse(filter.mayExist("S002"));
+
+        filter.register("S002");
+
+        assertTrue(filter.mayExist("S002"));
+    }
+
+    @Test
+    void testGuardedStudentRepository_UnknownIdSkipsDelegate() {
+        StudentRepository delegate = mock(StudentRepository.class);
+        KnownKeyFilter filter = KnownKeyFilter.of(List.of("S001"), 0.01, Duration.ofMinutes(1));
+        GuardedStudentRepository repository = new GuardedStudentRepository(delegate, filter);
+
+        assertNull(repository.findById("UNKNOWN"));
+        assertTrue(repository.getCompletedCourses("UNKNOWN").isEmpty());
+
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void testGuardedStudentRepository_MissIsCachedUntilInsert() {
+        InMemoryStudentRepository store = new InMemoryStudentRepository();
+        // Daftarkan ID yang belum disimpan untuk mensimulasikan false positive Bloom filter
+        KnownKeyFilter filter = KnownKeyFilter.of(List.of("S999"), 0.01, Duration.ofMinutes(1));
+        StudentRepository delegate = spy(store);
+        GuardedStudentRepository repository = new GuardedStudentRepository(delegate, filter);
+
+        assertNull(repository.findById("S999"));
+        assertNull(repository.findById("S999"));
+        verify(delegate, times(1)).findById("S999");
+
+        repository.update(new Student("S999", "New", "new@univ.ac.id", "IF", 1, 3.0, "ACTIVE"));
+
+        assertNotNull(repository.findById("S999"));
+    }
+
+    @Test
+    void testGuardedStudentRepository_BulkCallsPassThroughInOneCall() {
+        StudentRepository delegate = mock(StudentRepository.class);
+        KnownKeyFilter filter = KnownKeyFilter.of(List.of("S001", "S002"), 0.01, Duration.ofMinutes(1));
+        GuardedStudentRepository repository = new GuardedStudentRepository(delegate, filter);
+        Student known = new Student("S001", "Ani", "ani@univ.ac.id", "IF", 1, 3.0, "ACTIVE");
+        when(delegate.findAllById(List.of("S001", "S002"))).thenReturn(List.of(known));
+
+        assertEquals(List.of(known), repository.findAllById(List.of("S001", "UNKNOWN", "S002")));
+        verify(delegate).findAllById(List.of("S001", "S002"));
+        // S002 was missing from the store, so it is now in the negative cache
+        assertFalse(filter.mayExist("S002"));
+
+        Student added = new Student("S003", "Budi", "budi@univ.ac.id", "IF", 1, 3.0, "ACTIVE");
+        repository.updateAll(List.of(known, added));
+        verify(delegate).updateAll(List.of(known, added));
+        verify(delegate, never()).update(any());
+        assertTrue(filter.mayExist("S003"));
+    }
+
+    @Test
+    void testGuardedCourseRepository_UnknownCodeSkipsDelegate() {
+        CourseRepository delegate = mock(CourseRepository.class);
+        KnownKeyFilter filter = KnownKeyFilter.of(List.of("CS101"), 0.01, Duration.ofMinutes(1));
+        GuardedCourseRepository repository = new GuardedCourseRepository(delegate, filter);
+
+        assertNull(repository.findByCourseCode("XX999"));
+        assertFalse(repository.isPrerequisiteMet("S001", "XX999"));
+        verifyNoInteractions(delegate);
+
+        Course course = new Course("CS101", "Intro", 3, 40, 0, "Dr. A");
+        when(delegate.findByCourseCode("CS101")).thenReturn(course);
+        assertSame(course, repository.findByCourseCode("CS101"));
+    }
+
+    @Test
+    void testRecordMissing_IgnoredAfterConcurrentInsert() {
+        StudentRepository delegate = mock(StudentRepository.class);
+        KnownKeyFilter filter = KnownKeyFilter.of(List.of("S001"), 0.01, Duration.ofMinutes(1));
+        GuardedStudentRepository repository = new GuardedStudentRepository(delegate, filter);
+        Student student = new Student("S001", "Ani", "ani@univ.ac.id", "IF", 1, 3.0, "ACTIVE");
+        // The writer inserts and registers after the reader's lookup missed
+        when(delegate.findById("S001")).thenAnswer(invocation -> {
+            filter.register("S001");
+            return null;
+        }).thenReturn(student);
+
+        assertNull(repository.findById("S001"));
+
+        assertSame(student, repository.findById("S001"));
+    }
+
+    @Test
+    void testInMemorySave_RegistersNewKeys() {
+        InMemoryStudentRepository students = new InMemoryStudentRepository();
+        InMemoryCourseRepository courses = new InMemoryCourseRepository(students);
+        students.save(new Student("S001", "Ani", "ani@univ.ac.id", "IF", 1, 3.0, "ACTIVE"));
+        KnownKeyFilter studentFilter = KnownKeyFilter.of(List.of(), 0.01, Duration.ofMinutes(1));
+        KnownKeyFilter courseFilter = KnownKeyFilter.of(List.of(), 0.01, Duration.ofMinutes(1));
+        students.registerKeysWith(studentFilter);
+        courses.registerKeysWith(courseFilter);
+        GuardedStudentRepository guardedStudents = new GuardedStudentRepository(students, studentFilter);
+        GuardedCourseRepository guardedCourses = new GuardedCourseRepository(courses, courseFilter);
+
+        students.save(new Student("S002", "Budi", "budi@univ.ac.id", "IF", 1, 3.0, "ACTIVE"));
+        courses.save(new Course("CS101", "Intro", 3, 40, 0, "Dr. A"));
+
+        assertNotNull(guardedStudents.findById("S001"));
+        assertNotNull(guardedStudents.findById("S002"));
+        assertNotNull(guardedCourses.findByCourseCode("CS101"));
+    }
+}
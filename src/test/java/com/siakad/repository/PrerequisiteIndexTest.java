@@ -0,0 +1,63 @@
+package com.siakad.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk PrerequisiteIndex
+ */
+public class PrerequisiteIndexTest {
+
+    @Test
+    void testIsPrerequisiteMet_NoPrerequisites() {
+        PrerequisiteIndex index = new PrerequisiteIndex();
+        index.setPrerequisites("CS101", null);
+
+        assertTrue(index.isPrerequisiteMet("STU001", "CS101"));
+    }
+
+    @Test
+    void testIsPrerequisiteMet_UnknownCourse() {
+        PrerequisiteIndex index = new PrerequisiteIndex();
+        assertFalse(index.isPrerequisiteMet("STU001", "CS999"));
+    }
+
+    @Test
+    void testRecordCompletion_UpdatesIncrementally() {
+        PrerequisiteIndex index = new PrerequisiteIndex();
+        index.setPrerequisites("CS301", List.of("CS101", "CS201"));
+
+        assertFalse(index.isPrerequisiteMet("STU001", "CS301"));
+        index.recordCompletion("STU001", "CS101");
+        assertFalse(index.isPrerequisiteMet("STU001", "CS301"));
+        index.recordCompletion("STU001", "CS201");
+        assertTrue(index.isPrerequisiteMet("STU001", "CS301"));
+        assertFalse(index.isPrerequisiteMet("STU002", "CS301"));
+    }
+
+    @Test
+    void testIsPrerequisiteMet_SpansMultipleWords() {
+        PrerequisiteIndex index = new PrerequisiteIndex();
+        for (int i = 0; i < 200; i++) {
+            index.getDictionary().idOf("FILLER" + i);
+        }
+        index.setPrerequisites("CS401", List.of("FILLER3", "FILLER150"));
+
+        index.recordCompletion("STU001", "FILLER3");
+        assertFalse(index.isPrerequisiteMet("STU001", "CS401"));
+        index.recordCompletion("STU001", "FILLER150");
+        assertTrue(index.isPrerequisiteMet("STU001", "CS401"));
+    }
+
+    @Test
+    void testSetPrerequisites_ReplacesMask() {
+        PrerequisiteIndex index = new PrerequisiteIndex();
+        index.setPrerequisites("CS201", List.of("CS101"));
+        index.setPrerequisites("CS201", List.of());
+
+        assertTrue(index.isPrerequisiteMet("STU001", "CS201"));
+    }
+}
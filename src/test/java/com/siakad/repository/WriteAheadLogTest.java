@@ -0,0 +1,150 @@
+package com.siakad.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk WriteAheadLog dan SnapshotStore
+ */
+public class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<String> replayAll(long fromGeneration) {
+        List<String> records = new ArrayList<>();
+        WriteAheadLog.replay(directory, fromGeneration, buffer -> records.add(StandardCharsets.UTF_8.decode(buffer).toString()));
+        return records;
+    }
+
+    @Test
+    void testAppendAndReplay_AcrossSegments() throws Exception {
+        try (WriteAheadLog log = new WriteAheadLog(directory, 4096, 1)) {
+            for (int i = 0; i < 1_000; i++) {
+                log.awaitDurable(log.append(bytes("record-" + i)));
+            }
+        }
+
+        List<String> records = replayAll(0);
+        assertEquals(1_000, records.size());
+        assertEquals("record-0", records.get(0));
+        assertEquals("record-999", records.get(999));
+        assertTrue(WriteAheadLog.generations(directory).size() > 1);
+    }
+
+    @Test
+    void testReplay_StopsAtTornRecord() throws Exception {
+        long end;
+        try (WriteAheadLog log = new WriteAheadLog(directory, 4096, 1)) {
+            log.append(bytes("first"));
+            end = log.append(bytes("second"));
+        }
+
+        // Simulate a crash after the header of a third record reached the page cache
+        try (FileChannel segment = FileChannel.open(WriteAheadLog.segmentPath(directory, 1), StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(12).putInt(100).putInt(12345).put(bytes("thi"));
+            torn.flip();
+            segment.write(torn, end);
+        }
+
+        assertEquals(List.of("first", "second"), replayAll(0));
+    }
+
+    @Test
+    void testReplay_StopsAtCorruptedChecksum() throws Exception {
+        try (WriteAheadLog log = new WriteAheadLog(directory, 4096, 1)) {
+            log.append(bytes("first"));
+            log.append(bytes("second"));
+        }
+
+        try (FileChannel segment = FileChannel.open(WriteAheadLog.segmentPath(directory, 1), StandardOpenOption.WRITE)) {
+            // Flip one byte inside the payload of the second record
+            segment.write(ByteBuffer.wrap(bytes("X")), 8 + 5 + 8);
+        }
+
+        assertEquals(List.of("first"), replayAll(0));
+    }
+
+    @Test
+    void testGroupCommit_ConcurrentWritersAllDurable() throws Exception {
+        int threads = 8;
+        int perThread = 500;
+        try (WriteAheadLog log = new WriteAheadLog(directory, 64 * 1024, 1)) {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        log.awaitDurable(log.append(bytes(thread + ":" + i)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            pool.shutdown();
+        }
+
+        assertEquals(threads * perThread, replayAll(0).size());
+    }
+
+    @Test
+    void testRotateAndDelete_ReplayFromGeneration() throws Exception {
+        try (WriteAheadLog log = new WriteAheadLog(directory, 4096, 1)) {
+            log.append(bytes("old"));
+            long generation = log.rotate();
+            log.append(bytes("new"));
+            log.deleteSegmentsBefore(generation);
+
+            assertEquals(List.of(generation), WriteAheadLog.generations(directory));
+        }
+        assertEquals(List.of("new"), replayAll(0));
+    }
+
+    @Test
+    void testSnapshotStore_LatestValidSnapshot() throws Exception {
+        SnapshotStore store = new SnapshotStore(directory);
+        assertTrue(store.latest().isEmpty());
+
+        store.write(3, bytes("three"));
+        store.write(7, bytes("seven"));
+        assertEquals(7, store.latest().orElseThrow().generation());
+
+        // A corrupted newest snapshot falls back to the previous one
+        Path newest;
+        try (var files = Files.list(directory)) {
+            newest = files.filter(path -> path.toString().endsWith("7.snap")).findFirst().orElseThrow();
+        }
+        byte[] content = Files.readAllBytes(newest);
+        content[content.length - 1] ^= 1;
+        Files.write(newest, content);
+
+        SnapshotStore.Snapshot latest = store.latest().orElseThrow();
+        assertEquals(3, latest.generation());
+        assertEquals("three", new String(latest.data(), StandardCharsets.UTF_8));
+
+        // Only the corrupted snapshot is left
+        store.deleteBefore(7);
+        assertTrue(store.latest().isEmpty());
+    }
+}
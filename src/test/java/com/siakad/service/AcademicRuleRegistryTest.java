@@ -0,0 +1,119 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk AcademicRuleRegistry: aturan per jurusan dan hot reload
+ */
+public class AcademicRuleRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    private static final String STRICT = """
+            status.1+ = ACTIVE@3.00, PROBATION@0.00
+            maxCredits = 20@0.00
+            """;
+
+    private static final String LENIENT = """
+            status.1+ = ACTIVE@1.00, PROBATION@0.00
+            maxCredits = 24@0.00
+            """;
+
+    private long clock = System.currentTimeMillis();
+
+    private void write(String fileName, String content) throws IOException {
+        Path file = directory.resolve(fileName);
+        Files.writeString(file, content);
+        // Make sure the change is visible even with coarse file timestamps
+        clock += 2_000;
+        Files.setLastModifiedTime(file, FileTime.fromMillis(clock));
+    }
+
+    @Test
+    void testRulesFor_MajorFileOrDefault() throws IOException {
+        write("Medicine.properties", STRICT);
+
+        try (AcademicRuleRegistry registry = AcademicRuleRegistry.open(directory)) {
+            assertEquals("PROBATION", registry.rulesFor("Medicine").determineAcademicStatus(2.9, 1));
+            assertEquals(20, registry.rulesFor("Medicine").calculateMaxCredits(4.0));
+            assertSame(AcademicRules.defaults(), registry.rulesFor("Computer Science"));
+            assertSame(AcademicRules.defaults(), registry.rulesFor(null));
+        }
+    }
+
+    @Test
+    void testDefaultFile_OverridesBuiltInDefault() throws IOException {
+        write("default.properties", LENIENT);
+
+        try (AcademicRuleRegistry registry = AcademicRuleRegistry.open(directory)) {
+            assertEquals("ACTIVE", registry.rulesFor("Computer Science").determineAcademicStatus(1.5, 5));
+        }
+    }
+
+    @Test
+    void testReloadIfChanged_PicksUpNewAndChangedFiles() throws IOException {
+        write("Medicine.properties", STRICT);
+
+        try (AcademicRuleRegistry registry = AcademicRuleRegistry.open(directory)) {
+            assertFalse(registry.reloadIfChanged());
+
+            write("Medicine.properties", LENIENT);
+            write("Law.properties", STRICT);
+            assertTrue(registry.reloadIfChanged());
+
+            assertEquals("ACTIVE", registry.rulesFor("Medicine").determineAcademicStatus(1.5, 1));
+            assertEquals("PROBATION", registry.rulesFor("Law").determineAcademicStatus(2.9, 1));
+
+            Files.delete(directory.resolve("Law.properties"));
+            assertTrue(registry.reloadIfChanged());
+            assertSame(AcademicRules.defaults(), registry.rulesFor("Law"));
+        }
+    }
+
+    @Test
+    void testReload_InvalidFileKeepsPreviousRules() throws IOException {
+        write("Medicine.properties", STRICT);
+
+        try (AcademicRuleRegistry registry = AcademicRuleRegistry.open(directory)) {
+            AcademicRules before = registry.rulesFor("Medicine");
+            write("Medicine.properties", "status.1+ = ACTIVE@3.00\nmaxCredits = 20@0.00\n");
+
+            assertThrows(IllegalArgumentException.class, registry::reloadIfChanged);
+            assertSame(before, registry.rulesFor("Medicine"));
+        }
+    }
+
+    @Test
+    void testStartWatching_ReloadsInBackground() throws Exception {
+        write("Medicine.properties", STRICT);
+
+        try (AcademicRuleRegistry registry = AcademicRuleRegistry.open(directory)) {
+            registry.startWatching(Duration.ofMillis(20));
+
+            write("Medicine.properties", "status.1+ = ACTIVE@0.00\nmaxCredits = 20@0.00\n");
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!registry.rulesFor("Medicine").determineAcademicStatus(0.5, 1).equals("ACTIVE")) {
+                assertTrue(System.currentTimeMillis() < deadline, "rules were not reloaded");
+                Thread.sleep(20);
+            }
+
+            write("Medicine.properties", "not a rule file");
+            deadline = System.currentTimeMillis() + 10_000;
+            while (registry.getLastReloadError() == null) {
+                assertTrue(System.currentTimeMillis() < deadline, "reload error was not recorded");
+                Thread.sleep(20);
+            }
+            assertEquals("ACTIVE", registry.rulesFor("Medicine").determineAcademicStatus(0.5, 1));
+        }
+    }
+}
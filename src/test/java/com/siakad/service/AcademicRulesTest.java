@@ -0,0 +1,148 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk AcademicRules: aturan default harus sama persis dengan aturan lama yang di-hardcode
+ */
+public class AcademicRulesTest {
+
+    private static String legacyStatus(double gpa, int semester) {
+        if (semester <= 2) {
+            return gpa >= 2.0 ? "ACTIVE" : "PROBATION";
+        }
+        if (semester <= 4) {
+            if (gpa >= 2.25) return "ACTIVE";
+            if (gpa >= 2.0) return "PROBATION";
+            return "SUSPENDED";
+        }
+        if (gpa >= 2.5) return "ACTIVE";
+        if (gpa >= 2.0) return "PROBATION";
+        return "SUSPENDED";
+    }
+
+    private static int legacyMaxCredits(double gpa) {
+        if (gpa >= 3.0) return 24;
+        if (gpa >= 2.5) return 21;
+        if (gpa >= 2.0) return 18;
+        return 15;
+    }
+
+    private static AcademicRules rules(String definition) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(definition));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return AcademicRules.parse("test", properties);
+    }
+
+    @Test
+    void testDefaults_MatchLegacyRulesAtEveryBoundary() {
+        AcademicRules rules = AcademicRules.defaults();
+        for (int semester = 1; semester <= 14; semester++) {
+            for (int hundredths = 0; hundredths <= 400; hundredths++) {
+                double gpa = hundredths / 100.0;
+                for (double probe : new double[]{gpa, Math.nextDown(gpa), Math.nextUp(gpa)}) {
+                    if (probe < 0 || probe > 4.0) {
+                        continue;
+                    }
+                    assertEquals(legacyStatus(probe, semester), rules.determineAcademicStatus(probe, semester),
+                            "gpa=" + probe + " semester=" + semester);
+                    assertEquals(legacyMaxCredits(probe), rules.calculateMaxCredits(probe), "gpa=" + probe);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testDefaults_MatchLegacyRulesForRandomGpa() {
+        AcademicRules rules = AcademicRules.defaults();
+        Random random = new Random(25);
+        for (int i = 0; i < 200_000; i++) {
+            double gpa = random.nextDouble() * 4.0;
+            int semester = 1 + random.nextInt(20);
+            assertEquals(legacyStatus(gpa, semester), rules.determineAcademicStatus(gpa, semester));
+            assertEquals(legacyMaxCredits(gpa), rules.calculateMaxCredits(gpa));
+        }
+    }
+
+    @Test
+    void testQuantize_IsFloorOfHundredths() {
+        assertEquals(0, AcademicRules.quantize(0.0));
+        assertEquals(229, AcademicRules.quantize(2.29));
+        assertEquals(228, AcademicRules.quantize(Math.nextDown(2.29)));
+        assertEquals(300, AcademicRules.quantize(3.005));
+        assertEquals(400, AcademicRules.quantize(4.0));
+    }
+
+    @Test
+    void testInvalidInput_Rejected() {
+        AcademicRules rules = AcademicRules.defaults();
+        assertThrows(IllegalArgumentException.class, () -> rules.determineAcademicStatus(-0.01, 1));
+        assertThrows(IllegalArgumentException.class, () -> rules.determineAcademicStatus(4.01, 1));
+        assertThrows(IllegalArgumentException.class, () -> rules.determineAcademicStatus(3.0, 0));
+        assertThrows(IllegalArgumentException.class, () -> rules.calculateMaxCredits(4.5));
+    }
+
+    @Test
+    void testCustomRules_BandsAndThresholds() {
+        AcademicRules rules = rules("""
+                status.1 = ACTIVE@1.75, WARNING@0.00
+                status.2-6 = ACTIVE@2.75, WARNING@2.00, DROPPED_OUT@0.00
+                status.7+ = ACTIVE@2.00, DROPPED_OUT@0.00
+                maxCredits = 22@3.25, 20@0.00
+                """);
+
+        assertEquals("ACTIVE", rules.determineAcademicStatus(1.75, 1));
+        assertEquals("WARNING", rules.determineAcademicStatus(1.74, 1));
+        assertEquals("WARNING", rules.determineAcademicStatus(2.74, 6));
+        assertEquals("DROPPED_OUT", rules.determineAcademicStatus(1.99, 2));
+        assertEquals("ACTIVE", rules.determineAcademicStatus(2.0, 7));
+        assertEquals("DROPPED_OUT", rules.determineAcademicStatus(1.99, 30));
+        assertEquals(22, rules.calculateMaxCredits(3.25));
+        assertEquals(20, rules.calculateMaxCredits(3.24));
+    }
+
+    @Test
+    void testParse_RejectsInvalidDefinitions() {
+        // Tidak ada ambang 0.00
+        assertThrows(IllegalArgumentException.class, () -> rules("""
+                status.1+ = ACTIVE@2.00
+                maxCredits = 24@0.00
+                """));
+        // Ambang lebih presisi dari per-seratus
+        assertThrows(IllegalArgumentException.class, () -> rules("""
+                status.1+ = ACTIVE@2.005, PROBATION@0.00
+                maxCredits = 24@0.00
+                """));
+        // Semester 3 tidak tercakup
+        assertThrows(IllegalArgumentException.class, () -> rules("""
+                status.1-2 = ACTIVE@0.00
+                status.4+ = ACTIVE@0.00
+                maxCredits = 24@0.00
+                """));
+        // Band terakhir harus terbuka
+        assertThrows(IllegalArgumentException.class, () -> rules("""
+                status.1-8 = ACTIVE@0.00
+                maxCredits = 24@0.00
+                """));
+        // Key tidak dikenal
+        assertThrows(IllegalArgumentException.class, () -> rules("""
+                status.1+ = ACTIVE@0.00
+                maxCredit = 24@0.00
+                """));
+        // Tanpa maxCredits
+        assertThrows(IllegalArgumentException.class, () -> rules("""
+                status.1+ = ACTIVE@0.00
+                """));
+    }
+}
@@ -0,0 +1,142 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryStudentRepository;
+import com.siakad.repository.InMemoryTranscriptRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk AcademicStatusJob dengan repository di memori
+ */
+public class AcademicStatusJobTest {
+
+    private static final int STUDENTS = 1_000;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger updatedRows = new AtomicInteger();
+    private final List<String> studentIds = new ArrayList<>();
+    private InMemoryStudentRepository students;
+    private InMemoryTranscriptRepository transcripts;
+
+    @BeforeEach
+    void setUp() {
+        students = new InMemoryStudentRepository() {
+            @Override
+            public void updateAll(Collection<Student> batch) {
+                updatedRows.addAndGet(batch.size());
+                super.updateAll(batch);
+            }
+        };
+        transcripts = new InMemoryTranscriptRepository();
+        for (int i = 0; i < STUDENTS; i++) {
+            String id = String.format("STU%04d", i);
+            studentIds.add(id);
+            // Every third student drops to 1.0 and changes status; the rest stay at 3.0 ACTIVE
+            double gradePoint = i % 3 == 0 ? 1.0 : 3.0;
+            students.save(new Student(id, "Name", id + "@test.com", "CS", 5, 3.0, "ACTIVE"));
+            transcripts.addGrade(id, new CourseGrade("CS101", 3, gradePoint));
+            transcripts.addGrade(id, new CourseGrade("CS102", 3, gradePoint));
+        }
+    }
+
+    private AcademicStatusJob job(InMemoryStudentRepository repository) {
+        AcademicStatusJob job = new AcademicStatusJob(repository, transcripts, new GradeCalculator());
+        job.setChunkSize(100);
+        job.setParallelism(4);
+        return job;
+    }
+
+    @Test
+    void testRun_WritesOnlyChangedStudents() {
+        AcademicStatusJob.Report report = job(students).run(studentIds);
+
+        assertEquals(STUDENTS, report.processed());
+        assertEquals(334, report.updated());
+        assertEquals(334, updatedRows.get());
+        assertEquals(Map.of("ACTIVE", 666L, "SUSPENDED", 334L), report.statusCounts());
+        assertEquals(Map.of(15, 334L, 24, 666L), report.maxCreditCounts());
+
+        Student suspended = students.findById("STU0003");
+        assertEquals(1.0, suspended.getGpa());
+        assertEquals("SUSPENDED", suspended.getAcademicStatus());
+        assertEquals("ACTIVE", students.findById("STU0004").getAcademicStatus());
+    }
+
+    @Test
+    void testRun_ResumesFromCheckpointAfterCrash() {
+        Path checkpoint = directory.resolve("status-job.ckpt");
+        InMemoryStudentRepository crashing = new InMemoryStudentRepository() {
+            @Override
+            public Student findById(String studentId) {
+                return students.findById(studentId);
+            }
+
+            @Override
+            public void updateAll(Collection<Student> batch) {
+                if (batch.stream().anyMatch(student -> student.getStudentId().equals("STU0555"))) {
+                    throw new IllegalStateException("database went away");
+                }
+                students.updateAll(batch);
+            }
+        };
+        AcademicStatusJob first = job(crashing);
+        first.setParallelism(1);
+        first.setCheckpointFile(checkpoint);
+        assertThrows(IllegalStateException.class, () -> first.run(studentIds));
+        assertTrue(Files.exists(checkpoint));
+
+        AcademicStatusJob second = job(students);
+        second.setCheckpointFile(checkpoint);
+        AcademicStatusJob.Report report = second.run(studentIds);
+
+        assertTrue(report.resumedChunks() >= 1);
+        assertEquals(STUDENTS - report.resumedChunks() * 100L, report.processed());
+        assertFalse(Files.exists(checkpoint));
+        for (String id : studentIds) {
+            int index = Integer.parseInt(id.substring(3));
+            assertEquals(index % 3 == 0 ? "SUSPENDED" : "ACTIVE", students.findById(id).getAcademicStatus(), id);
+        }
+    }
+
+    @Test
+    void testCheckpoint_IgnoresTornTailAndOtherCohorts() throws IOException {
+        Path file = directory.resolve("job.ckpt");
+        try (JobCheckpoint checkpoint = JobCheckpoint.open(file, 10, 42L)) {
+            checkpoint.markDone(3);
+            checkpoint.markDone(7);
+        }
+        // Half-written entry from a crash
+        Files.write(file, new byte[]{0, 0}, StandardOpenOption.APPEND);
+
+        try (JobCheckpoint checkpoint = JobCheckpoint.open(file, 10, 42L)) {
+            assertEquals(2, checkpoint.completedCount());
+            assertTrue(checkpoint.isDone(3));
+            assertTrue(checkpoint.isDone(7));
+            checkpoint.markDone(1);
+        }
+        try (JobCheckpoint checkpoint = JobCheckpoint.open(file, 10, 42L)) {
+            assertEquals(3, checkpoint.completedCount());
+        }
+        try (JobCheckpoint checkpoint = JobCheckpoint.open(file, 10, 43L)) {
+            assertEquals(0, checkpoint.completedCount());
+        }
+        assertEquals(16, Files.size(file));
+    }
+}
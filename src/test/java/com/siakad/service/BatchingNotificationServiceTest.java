@@ -0,0 +1,161 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk BatchingNotificationService
+ */
+public class BatchingNotificationServiceTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_CoalescesPerRecipient() {
+        NotificationService delegate = mock(NotificationService.class);
+        BatchingNotificationService batching =
+                new BatchingNotificationService(delegate, Duration.ofMinutes(1));
+
+        for (int i = 1; i <= 8; i++) {
+            batching.sendEmail("a@test.com", "Enrollment Confirmation", "You have been enrolled in: C" + i);
+        }
+        batching.sendEmail("b@test.com", "Course Drop Confirmation", "You have dropped: C1");
+        batching.flush();
+
+        ArgumentCaptor<List<EmailMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(delegate).sendEmailBatch(captor.capture());
+        verify(delegate, never()).sendEmail(anyString(), anyString(), anyString());
+
+        List<EmailMessage> batch = captor.getValue();
+        assertEquals(2, batch.size());
+        assertEquals("a@test.com", batch.get(0).email());
+        assertEquals("Enrollment Confirmation (8)", batch.get(0).subject());
+        assertEquals(8, batch.get(0).message().split("\n").length);
+        assertEquals(new EmailMessage("b@test.com", "Course Drop Confirmation", "You have dropped: C1"),
+                batch.get(1));
+        batching.close();
+    }
+
+    @Test
+    void testMergeEmails_MixedSubjects() {
+        EmailMessage merged = BatchingNotificationService.mergeEmails(List.of(
+                new EmailMessage("a@test.com", "Enrollment Confirmation", "In: CS101"),
+                new EmailMessage("a@test.com", "Course Drop Confirmation", "Out: CS102")));
+
+        assertEquals("Notification Digest (2)", merged.subject());
+        assertEquals("In: CS101\nOut: CS102", merged.message());
+    }
+
+    @Test
+    void testSendSMS_FlushedAfterWindow() {
+        NotificationService delegate = mock(NotificationService.class);
+        BatchingNotificationService batching =
+                new BatchingNotificationService(delegate, Duration.ofMillis(20));
+
+        batching.sendSMS("08123", "First");
+        batching.sendSMS("08123", "Second");
+
+        verify(delegate, timeout(2000)).sendSMSBatch(List.of(new SmsMessage("08123", "First\nSecond")));
+        batching.close();
+    }
+
+    @Test
+    void testClose_FlushesRemainingMessages() {
+        NotificationService delegate = mock(NotificationService.class);
+        BatchingNotificationService batching =
+                new BatchingNotificationService(delegate, Duration.ofMillis(50));
+
+        batching.sendEmail("a@test.com", "Subject", "Body");
+        batching.close();
+
+        verify(delegate).sendEmailBatch(List.of(new EmailMessage("a@test.com", "Subject", "Body")));
+    }
+
+    @Test
+    void testClose_DoesNotWaitForPendingWindow() {
+        NotificationService delegate = mock(NotificationService.class);
+        BatchingNotificationService batching =
+                new BatchingNotificationService(delegate, Duration.ofMinutes(1));
+        batching.sendEmail("a@test.com", "Subject", "Body");
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), batching::close);
+        verify(delegate).sendEmailBatch(List.of(new EmailMessage("a@test.com", "Subject", "Body")));
+    }
+
+    @Test
+    void testSendAfterClose_DeliveredDirectly() {
+        NotificationService delegate = mock(NotificationService.class);
+        BatchingNotificationService batching =
+                new BatchingNotificationService(delegate, Duration.ofMillis(50));
+        batching.close();
+
+        batching.sendEmail("a@test.com", "Subject", "Body");
+        batching.sendSMS("08123", "Late");
+
+        verify(delegate).sendEmail("a@test.com", "Subject", "Body");
+        verify(delegate).sendSMS("08123", "Late");
+    }
+
+    @Test
+    void testFlush_FailedBatchIsRequeuedAndOtherBatchStillSent() {
+        NotificationService delegate = mock(NotificationService.class);
+        doThrow(new IllegalStateException("mail server down")).doNothing()
+                .when(delegate).sendEmailBatch(anyList());
+        BatchingNotificationService batching =
+                new BatchingNotificationService(delegate, Duration.ofMinutes(1));
+
+        batching.sendEmail("a@test.com", "Subject", "First");
+        batching.sendSMS("08123", "Text");
+        assertThrows(IllegalStateException.class, batching::flush);
+        verify(delegate).sendSMSBatch(List.of(new SmsMessage("08123", "Text")));
+        assertNotNull(batching.getLastFlushError());
+
+        batching.sendEmail("a@test.com", "Subject", "Second");
+        batching.flush();
+
+        verify(delegate).sendEmailBatch(List.of(new EmailMessage("a@test.com", "Subject (2)", "First\nSecond")));
+        batching.close();
+    }
+
+    @Test
+    void testFlush_ExhaustedRetriesMoveToDeadLetters() {
+        NotificationService delegate = mock(NotificationService.class);
+        doThrow(new IllegalStateException("mail server down")).when(delegate).sendEmailBatch(anyList());
+        BatchingNotificationService batching =
+                new BatchingNotificationService(delegate, Duration.ofMinutes(1), 2);
+
+        batching.sendEmail("a@test.com", "Subject", "First");
+        assertThrows(IllegalStateException.class, batching::flush);
+        assertTrue(batching.drainFailedEmails().isEmpty());
+        assertThrows(IllegalStateException.class, batching::flush);
+
+        assertEquals(List.of(new EmailMessage("a@test.com", "Subject", "First")), batching.drainFailedEmails());
+        assertTrue(batching.drainFailedEmails().isEmpty());
+        // Nothing is left to retry
+        batching.flush();
+        verify(delegate, times(2)).sendEmailBatch(anyList());
+        batching.close();
+    }
+
+    @Test
+    void testClose_FailedFinalFlushIsReturnedNotRequeued() {
+        NotificationService delegate = mock(NotificationService.class);
+        doThrow(new IllegalStateException("sms gateway down")).when(delegate).sendSMSBatch(anyList());
+        BatchingNotificationService batching =
+                new BatchingNotificationService(delegate, Duration.ofMinutes(1));
+
+        batching.sendSMS("08123", "One");
+        batching.sendSMS("08123", "Two");
+        assertThrows(IllegalStateException.class, batching::close);
+
+        assertEquals(List.of(new SmsMessage("08123", "One"), new SmsMessage("08123", "Two")),
+                batching.drainFailedSms());
+        batching.flush();
+        verify(delegate, times(1)).sendSMSBatch(anyList());
+    }
+}
@@ -0,0 +1,193 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk CourseShardExecutor
+ */
+public class CourseShardExecutorTest {
+
+    @Test
+    void testEnrollCourse_HotCourseFilledExactlyOnce() throws Exception {
+        InMemoryStudentRepository students = new InMemoryStudentRepository();
+        InMemoryCourseRepository courses = new InMemoryCourseRepository(students);
+        courses.save(new Course("CS101", "Intro to Programming", 3, 50, 0, "Dr. A"));
+        for (int i = 0; i < 500; i++) {
+            students.save(new Student("STU" + i, "Student " + i, "s" + i + "@test.com", "CS", 1, 3.0, "ACTIVE"));
+        }
+        EnrollmentService service = new EnrollmentService(students, courses,
+                mock(NotificationService.class), new GradeCalculator());
+
+        try (CourseShardExecutor executor = new CourseShardExecutor(service, 4)) {
+            List<CompletableFuture<Enrollment>> futures = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                futures.add(executor.enrollCourse("STU" + i, "CS101"));
+            }
+
+            int enrolled = 0;
+            int full = 0;
+            for (CompletableFuture<Enrollment> future : futures) {
+                try {
+                    assertNotNull(future.get(10, TimeUnit.SECONDS));
+                    enrolled++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(CourseFullException.class, e.getCause());
+                    full++;
+                }
+            }
+            assertEquals(50, enrolled);
+            assertEquals(450, full);
+        }
+        assertEquals(50, courses.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    void testEnrollCourse_PublishesOncePerCoursePerBatchAndNotifiesOffShard() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        AtomicInteger updates = new AtomicInteger();
+        InMemoryStudentRepository students = new InMemoryStudentRepository();
+        InMemoryCourseRepository courses = new InMemoryCourseRepository(students) {
+            @Override
+            public void update(Course course) {
+                if (course.getCourseCode().equals("CS101")) {
+                    updates.incrementAndGet();
+                }
+                super.update(course);
+            }
+
+            @Override
+            public boolean isPrerequisiteMet(String studentId, String courseCode) {
+                if (courseCode.equals("GATE")) {
+                    entered.countDown();
+                    try {
+                        gate.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.isPrerequisiteMet(studentId, courseCode);
+            }
+        };
+        courses.save(new Course("GATE", "Gate", 3, 10, 0, "Dr. A"));
+        courses.save(new Course("CS101", "Intro to Programming", 3, 100, 0, "Dr. A"));
+        updates.set(0);
+        for (int i = 0; i < 100; i++) {
+            students.save(new Student("STU" + i, "Student " + i, "s" + i + "@test.com", "CS", 1, 3.0, "ACTIVE"));
+        }
+        List<String> emailThreads = new CopyOnWriteArrayList<>();
+        NotificationService notifications = mock(NotificationService.class);
+        doAnswer(invocation -> emailThreads.add(Thread.currentThread().getName()))
+                .when(notifications).sendEmail(anyString(), anyString(), anyString());
+        EnrollmentService service = new EnrollmentService(students, courses, notifications, new GradeCalculator());
+
+        List<CompletableFuture<Enrollment>> futures = new ArrayList<>();
+        try (CourseShardExecutor executor = new CourseShardExecutor(service, 1)) {
+            // The shard is stuck on GATE while the CS101 requests pile up in its mailbox
+            CompletableFuture<Enrollment> gated = executor.enrollCourse("STU0", "GATE");
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 100; i++) {
+                futures.add(executor.enrollCourse("STU" + i, "CS101"));
+            }
+            gate.countDown();
+            gated.get(10, TimeUnit.SECONDS);
+            for (CompletableFuture<Enrollment> future : futures) {
+                assertNotNull(future.get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(100, courses.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(1, updates.get());
+        assertEquals(101, emailThreads.size());
+        assertTrue(emailThreads.stream().allMatch("course-shard-notifier"::equals));
+    }
+
+    @Test
+    void testEnrollCourse_FailedPublishUndoesStagedEnrollment() throws Exception {
+        AtomicBoolean failUpdates = new AtomicBoolean();
+        InMemoryStudentRepository students = new InMemoryStudentRepository();
+        InMemoryCourseRepository courses = new InMemoryCourseRepository(students) {
+            @Override
+            public void update(Course course) {
+                if (failUpdates.get()) {
+                    throw new IllegalStateException("database down");
+                }
+                super.update(course);
+            }
+        };
+        courses.save(new Course("CS101", "Intro to Programming", 3, 1, 0, "Dr. A"));
+        students.save(new Student("STU001", "Student 1", "s1@test.com", "CS", 1, 3.0, "ACTIVE"));
+        EnrollmentService service = new EnrollmentService(students, courses,
+                mock(NotificationService.class), new GradeCalculator());
+        EnrollmentListener listener = mock(EnrollmentListener.class);
+        service.addEnrollmentListener(listener);
+
+        try (CourseShardExecutor executor = new CourseShardExecutor(service, 1)) {
+            failUpdates.set(true);
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> executor.enrollCourse("STU001", "CS101").get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertFalse(service.getEnrollmentRegistry().isEnrolled("STU001", "CS101"));
+            verify(listener).onDropped(eq("STU001"), any(Course.class), isNull());
+
+            // The seat was given back, so a retry takes the only seat
+            failUpdates.set(false);
+            assertNotNull(executor.enrollCourse("STU001", "CS101").get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, courses.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    void testTryEnroll_RejectionCompletesNormally() {
+        EnrollmentService service = mock(EnrollmentService.class);
+        when(service.stageEnrollment("STU001", "CS101"))
+                .thenReturn(EnrollmentService.StagedEnrollment.rejected(EnrollmentResult.Rejection.COURSE_FULL));
+
+        try (CourseShardExecutor executor = new CourseShardExecutor(service, 2)) {
+            assertSame(EnrollmentResult.Rejection.COURSE_FULL, executor.tryEnroll("STU001", "CS101").join());
+        }
+    }
+
+    @Test
+    void testDropCourse_PropagatesException() {
+        EnrollmentService service = mock(EnrollmentService.class);
+        doThrow(new IllegalStateException("boom")).when(service).dropCourse("STU001", "CS101");
+
+        try (CourseShardExecutor executor = new CourseShardExecutor(service, 2)) {
+            CompletionException e = assertThrows(CompletionException.class,
+                    () -> executor.dropCourse("STU001", "CS101").join());
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void testShardIndexOf_StableAndInRange() {
+        try (CourseShardExecutor executor = new CourseShardExecutor(mock(EnrollmentService.class), 8)) {
+            for (int i = 0; i < 100; i++) {
+                int shard = executor.shardIndexOf("C" + i);
+                assertTrue(shard >= 0 && shard < 8);
+                assertEquals(shard, executor.shardIndexOf("C" + i));
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test dan stress test untuk CourseWaitlist
+ */
+public class CourseWaitlistTest {
+
+    @Test
+    void testJoinPollLeave_Fifo() {
+        CourseWaitlist waitlist = new CourseWaitlist();
+
+        assertEquals(1, waitlist.join("CS101", "STU1"));
+        assertEquals(2, waitlist.join("CS101", "STU2"));
+        assertEquals(2, waitlist.join("CS101", "STU2"));
+        assertEquals(3, waitlist.join("CS101", "STU3"));
+
+        assertTrue(waitlist.leave("CS101", "STU2"));
+        assertFalse(waitlist.leave("CS101", "STU2"));
+        assertEquals(2, waitlist.positionOf("CS101", "STU3"));
+        assertEquals(2, waitlist.size("CS101"));
+
+        assertEquals("STU1", waitlist.poll("CS101"));
+        assertEquals("STU3", waitlist.poll("CS101"));
+        assertNull(waitlist.poll("CS101"));
+        assertNull(waitlist.poll("CS999"));
+    }
+
+    @Test
+    void testConcurrentLeave_NeverPolledAfterLeaving() throws Exception {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        int studentsPerThread = 5_000;
+        CourseWaitlist waitlist = new CourseWaitlist();
+        Set<String> polled = ConcurrentHashMap.newKeySet();
+        Set<String> left = ConcurrentHashMap.newKeySet();
+        AtomicBoolean joining = new AtomicBoolean(true);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> joiners = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            joiners.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < studentsPerThread; i++) {
+                    String studentId = "STU" + thread + "-" + i;
+                    waitlist.join("CS101", studentId);
+                    if (waitlist.leave("CS101", studentId)) {
+                        left.add(studentId);
+                    }
+                }
+                return null;
+            }));
+        }
+        Future<?> poller = pool.submit(() -> {
+            start.await();
+            while (joining.get() || waitlist.size("CS101") > 0) {
+                String studentId = waitlist.poll("CS101");
+                if (studentId != null) {
+                    polled.add(studentId);
+                }
+            }
+            return null;
+        });
+        start.countDown();
+
+        for (Future<?> joiner : joiners) {
+            joiner.get(60, TimeUnit.SECONDS);
+        }
+        joining.set(false);
+        poller.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        // Every student either left or was polled, never both
+        assertEquals(threads * studentsPerThread, polled.size() + left.size());
+        for (String studentId : left) {
+            assertFalse(polled.contains(studentId), studentId);
+        }
+        assertEquals(0, waitlist.size("CS101"));
+    }
+}
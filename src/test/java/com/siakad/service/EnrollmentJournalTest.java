@@ -0,0 +1,208 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import com.siakad.repository.WriteAheadLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test persistensi dan crash recovery untuk EnrollmentJournal
+ */
+public class EnrollmentJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private InMemoryStudentRepository students;
+    private InMemoryCourseRepository courses;
+
+    /** Data awal yang sama seperti saat aplikasi start */
+    private EnrollmentService seededService(EnrollmentJournal journal) {
+        students = new InMemoryStudentRepository();
+        courses = new InMemoryCourseRepository(students);
+        for (int i = 0; i < 10; i++) {
+            students.save(new Student("STU" + i, "Student " + i, "s" + i + "@test.com", "CS", 1, 3.0, "ACTIVE"));
+        }
+        courses.save(new Course("CS101", "Intro to Programming", 3, 30, 2, "Dr. A"));
+        courses.save(new Course("CS102", "Discrete Math", 3, 30, 0, "Dr. B"));
+        journal.restoreInto(courses);
+
+        EnrollmentService service = new EnrollmentService(students, courses,
+                mock(NotificationService.class), new GradeCalculator());
+        service.addEnrollmentListener(journal);
+        return service;
+    }
+
+    @Test
+    void testRecovery_RestoresCountsAndEnrollments() {
+        String droppedId;
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024)) {
+            EnrollmentService service = seededService(journal);
+            service.enrollCourse("STU1", "CS101");
+            droppedId = service.enrollCourse("STU2", "CS101").getEnrollmentId();
+            service.enrollCourse("STU3", "CS102");
+            service.dropCourse("STU2", "CS101");
+        }
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024)) {
+            seededService(journal);
+
+            assertEquals(3, courses.findByCourseCode("CS101").getEnrolledCount());
+            assertEquals(1, courses.findByCourseCode("CS102").getEnrolledCount());
+            assertEquals(2, journal.getActiveEnrollments().size());
+            assertNotNull(journal.findEnrollment("STU1", "CS101"));
+            assertNull(journal.findEnrollment("STU2", "CS101"));
+            assertNotEquals(droppedId, journal.findEnrollment("STU1", "CS101").getEnrollmentId());
+        }
+    }
+
+    @Test
+    void testCheckpoint_SnapshotPlusTailReplay() throws Exception {
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024)) {
+            EnrollmentService service = seededService(journal);
+            service.enrollCourse("STU1", "CS101");
+            service.enrollCourse("STU2", "CS101");
+            journal.checkpoint();
+            service.enrollCourse("STU3", "CS101");
+            service.dropCourse("STU1", "CS101");
+
+            // Segments before the snapshot are gone
+            assertEquals(1, WriteAheadLog.generations(directory).size());
+        }
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024)) {
+            seededService(journal);
+
+            assertEquals(4, courses.findByCourseCode("CS101").getEnrolledCount());
+            assertEquals(2, journal.getEnrolledDelta("CS101"));
+            assertNull(journal.findEnrollment("STU1", "CS101"));
+            assertNotNull(journal.findEnrollment("STU2", "CS101"));
+            assertNotNull(journal.findEnrollment("STU3", "CS101"));
+        }
+    }
+
+    @Test
+    void testOutbox_UndeliveredNotificationsSurviveRestart() throws Exception {
+        NotificationService down = mock(NotificationService.class);
+        doThrow(new RuntimeException("SMTP down")).when(down).sendEmail(anyString(), anyString(), anyString());
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024)) {
+            EnrollmentService service = seededService(journal);
+            try (OutboxNotificationService outbox =
+                         new OutboxNotificationService(down, journal, 4, 1, Duration.ofMillis(1))) {
+                service.enrollCourse("STU1", "CS101");
+                service.dropCourse("STU1", "CS101");
+                assertTrue(outbox.awaitIdle(Duration.ofSeconds(5)));
+                assertEquals(2, outbox.deadLetters().size());
+            }
+            journal.checkpoint();
+            // Recorded with the seat change even though the outbox is already closed
+            service.enrollCourse("STU2", "CS102");
+            assertEquals(3, journal.getPendingNotificationCount());
+        }
+
+        NotificationService mail = mock(NotificationService.class);
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024);
+             OutboxNotificationService outbox = new OutboxNotificationService(mail, journal)) {
+            assertTrue(outbox.awaitIdle(Duration.ofSeconds(5)));
+            assertEquals(0, journal.getPendingNotificationCount());
+        }
+        verify(mail).sendEmail("s1@test.com", "Enrollment Confirmation", "You have been enrolled in: Intro to Programming");
+        verify(mail).sendEmail("s1@test.com", "Course Drop Confirmation", "You have dropped: Intro to Programming");
+        verify(mail).sendEmail("s2@test.com", "Enrollment Confirmation", "You have been enrolled in: Discrete Math");
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024)) {
+            assertEquals(0, journal.getPendingNotificationCount());
+        }
+    }
+
+    @Test
+    void testRecovery_IgnoresTornTailAndKeepsWriting() throws Exception {
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024)) {
+            EnrollmentService service = seededService(journal);
+            service.enrollCourse("STU1", "CS101");
+        }
+
+        // Half-written record at the end of the last segment
+        long generation = WriteAheadLog.generations(directory).get(0);
+        try (FileChannel segment = FileChannel.open(directory.resolve(String.format("wal-%016d.log", generation)),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            long position = 0;
+            while (true) {
+                header.clear();
+                segment.read(header, position);
+                int length = header.getInt(0);
+                if (length == 0) {
+                    break;
+                }
+                position += 8 + length;
+            }
+            segment.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 60, 1, 2, 3, 4, 1}), position);
+        }
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024)) {
+            EnrollmentService service = seededService(journal);
+            assertEquals(1, journal.getActiveEnrollments().size());
+            service.enrollCourse("STU2", "CS101");
+        }
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024)) {
+            assertEquals(2, journal.getActiveEnrollments().size());
+        }
+    }
+
+    @Test
+    void testCrash_KilledProcessLosesNoAcknowledgedEnrollment() throws Exception {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                JournalCrashWriter.class.getName(), directory.toString())
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        Set<String> acknowledged = ConcurrentHashMap.newKeySet();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("ACK ")) {
+                    acknowledged.add("STU" + line.substring(4));
+                }
+                if (acknowledged.size() >= 2_000) {
+                    // Kill while the writers are in the middle of appending
+                    process.destroyForcibly();
+                    break;
+                }
+            }
+        }
+        assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+        assertTrue(acknowledged.size() >= 2_000, "writer exited early");
+
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024)) {
+            List<Enrollment> recovered = journal.getActiveEnrollments();
+            for (String studentId : acknowledged) {
+                assertNotNull(journal.findEnrollment(studentId, "CS101"), "lost " + studentId);
+            }
+            assertEquals(recovered.size(), journal.getEnrolledDelta("CS101"));
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk EnrollmentLedger dan proyeksinya
+ */
+public class EnrollmentLedgerTest {
+
+    @TempDir
+    Path directory;
+
+    private static final int STUDENTS = 500;
+    private static final int COURSES = 40;
+
+    private static Course course(int i) {
+        return new Course("C" + i, "Course " + i, 1 + i % 4, 1_000, 0, "Lecturer " + (i % 7));
+    }
+
+    private static Enrollment enrollment(long id, String studentId, String courseCode) {
+        return new Enrollment("ENR-" + id, studentId, courseCode, LocalDateTime.now(), "APPROVED");
+    }
+
+    /** Event acak: enroll jika belum terdaftar, drop jika sudah */
+    private static void feedRandomEvents(EnrollmentListener ledger, int count, long seed) {
+        Random random = new Random(seed);
+        boolean[][] enrolled = new boolean[STUDENTS][COURSES];
+        for (int i = 0; i < count; i++) {
+            int student = random.nextInt(STUDENTS);
+            int course = random.nextInt(COURSES);
+            if (enrolled[student][course]) {
+                ledger.onDropped("STU" + student, course(course));
+            } else {
+                ledger.onEnrolled(enrollment(i, "STU" + student, "C" + course), course(course));
+            }
+            enrolled[student][course] = !enrolled[student][course];
+        }
+    }
+
+    private static void assertSameProjections(EnrollmentLedger expected, EnrollmentLedger actual) {
+        assertEquals(expected.getCourseOccupancy().snapshot(), actual.getCourseOccupancy().snapshot());
+        for (int s = 0; s < STUDENTS; s++) {
+            assertEquals(expected.getStudentSchedules().scheduleOf("STU" + s),
+                    actual.getStudentSchedules().scheduleOf("STU" + s));
+        }
+        for (int l = 0; l < 7; l++) {
+            String lecturer = "Lecturer " + l;
+            assertEquals(expected.getLecturerLoad().studentCountOf(lecturer), actual.getLecturerLoad().studentCountOf(lecturer));
+            assertEquals(expected.getLecturerLoad().creditLoadOf(lecturer), actual.getLecturerLoad().creditLoadOf(lecturer));
+        }
+    }
+
+    @Test
+    void testProjections_MaintainedIncrementallyFromService() {
+        InMemoryStudentRepository students = new InMemoryStudentRepository();
+        InMemoryCourseRepository courses = new InMemoryCourseRepository(students);
+        students.save(new Student("STU001", "Ani", "ani@test.com", "CS", 3, 3.2, "ACTIVE"));
+        courses.save(new Course("CS101", "Intro to Programming", 3, 30, 0, "Dr. A"));
+        courses.save(new Course("CS102", "Discrete Math", 2, 30, 0, "Dr. A"));
+        EnrollmentLedger ledger = new EnrollmentLedger();
+        EnrollmentService service = new EnrollmentService(students, courses,
+                mock(NotificationService.class), new GradeCalculator());
+        service.addEnrollmentListener(ledger);
+
+        service.enrollCourse("STU001", "CS101");
+        service.enrollCourse("STU001", "CS102");
+        service.dropCourse("STU001", "CS101");
+
+        assertEquals(3, ledger.size());
+        assertInstanceOf(EnrollmentEvent.EnrollmentDropped.class, ledger.eventAt(3));
+        assertEquals(0, ledger.getCourseOccupancy().occupancyOf("CS101"));
+        assertEquals(1, ledger.getCourseOccupancy().occupancyOf("CS102"));
+        assertEquals(List.of("CS102"), ledger.getStudentSchedules().scheduleOf("STU001"));
+        assertFalse(ledger.getStudentSchedules().isEnrolled("STU001", "CS101"));
+        assertEquals(1, ledger.getLecturerLoad().studentCountOf("Dr. A"));
+        assertEquals(2, ledger.getLecturerLoad().creditLoadOf("Dr. A"));
+    }
+
+    @Test
+    void testRebuildProjections_ParallelMatchesIncremental() {
+        EnrollmentLedger incremental = new EnrollmentLedger();
+        feedRandomEvents(incremental, 200_000, 42);
+
+        EnrollmentLedger rebuilt = EnrollmentLedger.replay(eventsOf(incremental), 8);
+
+        assertEquals(incremental.size(), rebuilt.size());
+        assertSameProjections(incremental, rebuilt);
+
+        incremental.rebuildProjections(3);
+        assertSameProjections(rebuilt, incremental);
+    }
+
+    @Test
+    void testOpen_RecoversFromJournalAndContinuesSequence() {
+        EnrollmentLedger original;
+        EnrollmentLedger ledger = new EnrollmentLedger();
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024, ledger)) {
+            feedRandomEvents(journal, 5_000, 7);
+            // Fed by the journal, so listening as well must not duplicate events
+            ledger.onEnrolled(enrollment(9_998, "STU-DUP", "C1"), course(1));
+            original = EnrollmentLedger.replay(eventsOf(ledger), 1);
+        }
+        assertEquals(5_000, original.size());
+
+        EnrollmentLedger reopened = new EnrollmentLedger();
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024, reopened)) {
+            assertEquals(5_000, reopened.size());
+            assertSameProjections(original, reopened);
+
+            journal.onEnrolled(enrollment(9_999, "STU-NEW", "C1"), course(1));
+            assertEquals(5_001, reopened.eventAt(5_001).sequence());
+        }
+
+        EnrollmentLedger again = new EnrollmentLedger();
+        try (EnrollmentJournal ignored = EnrollmentJournal.open(directory, 64 * 1024, again)) {
+            assertTrue(again.getStudentSchedules().isEnrolled("STU-NEW", "C1"));
+            assertEquals(2, again.getLecturerLoad().creditLoadOf("Lecturer 1")
+                    - original.getLecturerLoad().creditLoadOf("Lecturer 1"));
+        }
+    }
+
+    @Test
+    void testOpen_CheckpointCompactsHistoryIntoActiveEnrollments() {
+        EnrollmentLedger original;
+        EnrollmentLedger ledger = new EnrollmentLedger();
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024, ledger)) {
+            feedRandomEvents(journal, 3_000, 11);
+            journal.checkpoint();
+            journal.onEnrolled(enrollment(9_000, "STU-A", "C1"), course(1));
+            journal.onEnrolled(enrollment(9_001, "STU-B", "C2"), course(2));
+            journal.onDropped("STU-A", course(1));
+            original = EnrollmentLedger.replay(eventsOf(ledger), 1);
+        }
+
+        EnrollmentLedger reopened = new EnrollmentLedger();
+        try (EnrollmentJournal journal = EnrollmentJournal.open(directory, 64 * 1024, reopened)) {
+            assertSameProjections(original, reopened);
+            assertTrue(reopened.size() < original.size());
+            assertThrows(IllegalStateException.class,
+                    () -> EnrollmentJournal.open(directory.resolve("other"), 64 * 1024, reopened));
+        }
+    }
+
+    private static List<EnrollmentEvent> eventsOf(EnrollmentLedger ledger) {
+        List<EnrollmentEvent> events = new ArrayList<>();
+        for (long sequence = 1; sequence <= ledger.size(); sequence++) {
+            events.add(ledger.eventAt(sequence));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,61 @@
+package com.siakad.service;
+
+import com.siakad.model.Enrollment;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk EnrollmentRegistry
+ */
+public class EnrollmentRegistryTest {
+
+    @Test
+    void testAdd_RejectsDuplicate() {
+        EnrollmentRegistry registry = new EnrollmentRegistry();
+
+        assertTrue(registry.add("STU001", "CS101"));
+        assertFalse(registry.add("STU001", "CS101"));
+        assertTrue(registry.add("STU002", "CS101"));
+        assertTrue(registry.isEnrolled("STU001", "CS101"));
+    }
+
+    @Test
+    void testRemove_OnlyWhenEnrolled() {
+        EnrollmentRegistry registry = new EnrollmentRegistry();
+        registry.add("STU001", "CS101");
+
+        assertFalse(registry.remove("STU001", "CS102"));
+        assertFalse(registry.remove("STU002", "CS101"));
+        assertTrue(registry.remove("STU001", "CS101"));
+        assertFalse(registry.remove("STU001", "CS101"));
+        assertFalse(registry.isEnrolled("STU001", "CS101"));
+    }
+
+    @Test
+    void testCoursesOf_SortedAndGrowsPastInitialCapacity() {
+        EnrollmentRegistry registry = new EnrollmentRegistry();
+        for (int i = 9; i >= 0; i--) {
+            registry.add("STU001", "CS10" + i);
+        }
+        registry.remove("STU001", "CS105");
+
+        assertEquals(List.of("CS100", "CS101", "CS102", "CS103", "CS104",
+                "CS106", "CS107", "CS108", "CS109"), registry.coursesOf("STU001"));
+        assertEquals(List.of(), registry.coursesOf("STU999"));
+    }
+
+    @Test
+    void testRestore_FromActiveEnrollments() {
+        EnrollmentRegistry registry = new EnrollmentRegistry();
+        registry.restore(List.of(
+                new Enrollment("ENR-1", "STU001", "CS101", LocalDateTime.now(), "APPROVED"),
+                new Enrollment("ENR-2", "STU001", "CS102", LocalDateTime.now(), "APPROVED")));
+
+        assertEquals(List.of("CS101", "CS102"), registry.coursesOf("STU001"));
+        assertFalse(registry.add("STU001", "CS102"));
+    }
+}
@@ -5,12 +5,21 @@ import com.siakad.model.Course;
 import com.siakad.model.Enrollment;
 import com.siakad.model.Student;
 import com.siakad.repository.CourseRepository;
+import com.siakad.repository.SeatReservation;
+import com.siakad.repository.SeatReservationRepository;
 import com.siakad.repository.StudentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -80,6 +89,155 @@ public class EnrollmentServiceTest {
         );
     }
 
+    @Test
+    void testEnrollCourse_DurableListenerTakesOverNotification() {
+        Student student = new Student("STU001", "Ani", "student@test.com", "CS", 3, 3.2, "ACTIVE");
+        Course course = new Course("CS101", "Intro to Programming", 3, 30, 10, "Dr. A");
+        when(studentRepository.findById("STU001")).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(course);
+        when(courseRepository.isPrerequisiteMet("STU001", "CS101")).thenReturn(true);
+        EnrollmentListener outboxJournal = mock(EnrollmentListener.class);
+        when(outboxJournal.onEnrolled(any(), any(), any())).thenReturn(true);
+        enrollmentService.addEnrollmentListener(outboxJournal);
+
+        enrollmentService.enrollCourse("STU001", "CS101");
+
+        verify(outboxJournal).onEnrolled(any(Enrollment.class), eq(course), eq(new EmailMessage(
+                "student@test.com", "Enrollment Confirmation", "You have been enrolled in: Intro to Programming")));
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testEnrollCourse_FailingListenerReleasesSeatAndSlot() {
+        Student student = new Student("STU001", "Ani", "student@test.com", "CS", 3, 3.2, "ACTIVE");
+        Course course = new Course("CS101", "Intro to Programming", 3, 30, 10, "Dr. A");
+        when(studentRepository.findById("STU001")).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(course);
+        when(courseRepository.isPrerequisiteMet("STU001", "CS101")).thenReturn(true);
+        EnrollmentListener journal = mock(EnrollmentListener.class);
+        when(journal.onEnrolled(any(), any(), any()))
+                .thenThrow(new IllegalStateException("disk full"))
+                .thenReturn(false);
+        enrollmentService.addEnrollmentListener(journal);
+
+        assertThrows(IllegalStateException.class, () -> enrollmentService.enrollCourse("STU001", "CS101"));
+        assertFalse(enrollmentService.getEnrollmentRegistry().isEnrolled("STU001", "CS101"));
+        assertEquals(10, course.getEnrolledCount());
+        verifyNoInteractions(notificationService);
+
+        // Nothing leaked, so the retry goes through
+        enrollmentService.enrollCourse("STU001", "CS101");
+        assertEquals(11, course.getEnrolledCount());
+    }
+
+    @Test
+    void testEnrollAll_FailingListenerUndoesWholeCart() {
+        Student student = new Student("STU001", "Ani", "student@test.com", "CS", 3, 3.2, "ACTIVE");
+        Course first = new Course("CS101", "Intro to Programming", 3, 30, 10, "Dr. A");
+        Course second = new Course("CS102", "Discrete Math", 3, 30, 5, "Dr. B");
+        when(studentRepository.findById("STU001")).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(first);
+        when(courseRepository.findByCourseCode("CS102")).thenReturn(second);
+        when(courseRepository.isPrerequisiteMet(eq("STU001"), anyString())).thenReturn(true);
+        when(gradeCalculator.calculateMaxCredits(3.2)).thenReturn(24);
+        EnrollmentListener journal = mock(EnrollmentListener.class);
+        when(journal.onEnrolled(any(), eq(second), any())).thenThrow(new IllegalStateException("disk full"));
+        enrollmentService.addEnrollmentListener(journal);
+
+        assertThrows(IllegalStateException.class,
+                () -> enrollmentService.enrollAll("STU001", List.of("CS101", "CS102")));
+
+        verify(journal).onDropped("STU001", first, null);
+        assertEquals(List.of(), enrollmentService.getEnrollmentRegistry().coursesOf("STU001"));
+        assertEquals(10, first.getEnrolledCount());
+        assertEquals(5, second.getEnrolledCount());
+    }
+
+    @Test
+    void testEnrollAll_FailingPublishUndoesWholeCart() {
+        Student student = new Student("STU001", "Ani", "student@test.com", "CS", 3, 3.2, "ACTIVE");
+        Course first = new Course("CS101", "Intro to Programming", 3, 30, 10, "Dr. A");
+        Course second = new Course("CS102", "Discrete Math", 3, 30, 5, "Dr. B");
+        when(studentRepository.findById("STU001")).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(first);
+        when(courseRepository.findByCourseCode("CS102")).thenReturn(second);
+        when(courseRepository.isPrerequisiteMet(eq("STU001"), anyString())).thenReturn(true);
+        when(gradeCalculator.calculateMaxCredits(3.2)).thenReturn(24);
+        doThrow(new DataAccessException("connection lost")).when(courseRepository).update(second);
+        EnrollmentListener journal = mock(EnrollmentListener.class);
+        enrollmentService.addEnrollmentListener(journal);
+
+        assertThrows(DataAccessException.class,
+                () -> enrollmentService.enrollAll("STU001", List.of("CS101", "CS102")));
+
+        verify(journal).onDropped("STU001", first, null);
+        verify(journal, never()).onEnrolled(any(), eq(second), any());
+        assertEquals(List.of(), enrollmentService.getEnrollmentRegistry().coursesOf("STU001"));
+        assertEquals(10, first.getEnrolledCount());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testEnrollCourse_UniqueEnrollmentIds() {
+        Student student = new Student();
+        student.setStudentId("STU001");
+        student.setAcademicStatus("ACTIVE");
+
+        Course course = new Course();
+        course.setCourseCode("CS101");
+        course.setCapacity(30);
+
+        when(studentRepository.findById(anyString())).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(course);
+        when(courseRepository.isPrerequisiteMet(anyString(), eq("CS101"))).thenReturn(true);
+
+        Enrollment first = enrollmentService.enrollCourse("STU001", "CS101");
+        Enrollment second = enrollmentService.enrollCourse("STU002", "CS101");
+
+        assertNotEquals(first.getEnrollmentId(), second.getEnrollmentId());
+    }
+
+    @Test
+    void testEnrollCourse_DuplicateRejected() {
+        Student student = new Student("STU001", "Ani", "student@test.com", "CS", 3, 3.2, "ACTIVE");
+        Course course = new Course("CS101", "Intro to Programming", 3, 30, 10, "Dr. A");
+        when(studentRepository.findById("STU001")).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(course);
+        when(courseRepository.isPrerequisiteMet("STU001", "CS101")).thenReturn(true);
+
+        enrollmentService.enrollCourse("STU001", "CS101");
+
+        // Retry dari client (double-click) tidak boleh memakan kursi kedua
+        assertThrows(EnrollmentException.class, () ->
+                enrollmentService.enrollCourse("STU001", "CS101"));
+        assertSame(EnrollmentResult.Rejection.ALREADY_ENROLLED,
+                enrollmentService.tryEnroll("STU001", "CS101"));
+        assertEquals(11, course.getEnrolledCount());
+        verify(courseRepository, times(1)).update(course);
+    }
+
+    @Test
+    void testEnrollCourse_FailedPublishUndoesEnrollmentSoRetrySucceeds() {
+        Student student = new Student("STU001", "Ani", "student@test.com", "CS", 3, 3.2, "ACTIVE");
+        Course course = new Course("CS101", "Intro to Programming", 3, 30, 10, "Dr. A");
+        when(studentRepository.findById("STU001")).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(course);
+        when(courseRepository.isPrerequisiteMet("STU001", "CS101")).thenReturn(true);
+        doThrow(new DataAccessException("connection lost")).doNothing().when(courseRepository).update(course);
+        EnrollmentListener journal = mock(EnrollmentListener.class);
+        enrollmentService.addEnrollmentListener(journal);
+
+        assertThrows(DataAccessException.class, () -> enrollmentService.enrollCourse("STU001", "CS101"));
+        verify(journal).onDropped("STU001", course, null);
+        assertFalse(enrollmentService.getEnrollmentRegistry().isEnrolled("STU001", "CS101"));
+        assertEquals(10, course.getEnrolledCount());
+        verifyNoInteractions(notificationService);
+
+        assertNotNull(enrollmentService.enrollCourse("STU001", "CS101"));
+        assertEquals(11, course.getEnrolledCount());
+        verify(notificationService, times(1)).sendEmail(anyString(), anyString(), anyString());
+    }
+
     @Test
     void testEnrollCourse_StudentNotFound() {
         when(studentRepository.findById("STU001")).thenReturn(null);
@@ -147,6 +305,564 @@ public class EnrollmentServiceTest {
                 enrollmentService.enrollCourse("STU001", "CS101"));
     }
 
+    // ============================================================
+    // TEST: tryEnroll() dan mode stackless
+    // ============================================================
+
+    @Test
+    void testTryEnroll_CourseFullReturnsRejection() {
+        Student student = new Student();
+        student.setStudentId("STU001");
+        student.setAcademicStatus("ACTIVE");
+
+        Course course = new Course();
+        course.setCourseCode("CS101");
+        course.setCapacity(10);
+        course.setEnrolledCount(10);
+
+        when(studentRepository.findById("STU001")).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(course);
+
+        EnrollmentResult result = enrollmentService.tryEnroll("STU001", "CS101");
+
+        assertSame(EnrollmentResult.Rejection.COURSE_FULL, result);
+        assertFalse(result.isEnrolled());
+        verify(courseRepository, never()).update(any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testTryEnroll_Success() {
+        Student student = new Student();
+        student.setStudentId("STU001");
+        student.setAcademicStatus("ACTIVE");
+
+        Course course = new Course();
+        course.setCourseCode("CS101");
+        course.setCapacity(30);
+
+        when(studentRepository.findById("STU001")).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(course);
+        when(courseRepository.isPrerequisiteMet("STU001", "CS101")).thenReturn(true);
+
+        EnrollmentResult result = enrollmentService.tryEnroll("STU001", "CS101");
+
+        assertTrue(result.isEnrolled());
+        assertEquals("CS101", ((EnrollmentResult.Enrolled) result).enrollment().getCourseCode());
+        assertEquals(1, course.getEnrolledCount());
+    }
+
+    @Test
+    void testEnrollCourse_StacklessException() {
+        when(studentRepository.findById("STU001")).thenReturn(null);
+        enrollmentService.setStacklessExceptions(true);
+
+        StudentNotFoundException exception = assertThrows(StudentNotFoundException.class, () ->
+                enrollmentService.enrollCourse("STU001", "CS101"));
+        assertEquals("Student not found: STU001", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    // ============================================================
+    // TEST: waitlist
+    // ============================================================
+
+    @Test
+    void testEnrollOrWaitlist_FullCourseJoinsWaitlist() {
+        Student student = new Student();
+        student.setStudentId("STU002");
+        student.setAcademicStatus("ACTIVE");
+
+        Course course = new Course();
+        course.setCourseCode("CS101");
+        course.setCapacity(1);
+        course.setEnrolledCount(1);
+
+        when(studentRepository.findById("STU002")).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(course);
+
+        EnrollmentResult result = enrollmentService.enrollOrWaitlist("STU002", "CS101");
+
+        assertEquals(new EnrollmentResult.Waitlisted("CS101", 1), result);
+        assertEquals(1, enrollmentService.getWaitlistPosition("STU002", "CS101"));
+        assertTrue(enrollmentService.leaveWaitlist("STU002", "CS101"));
+        assertEquals(0, enrollmentService.getWaitlistPosition("STU002", "CS101"));
+    }
+
+    @Test
+    void testDropCourse_PromotesNextEligibleFromWaitlist() {
+        Student dropping = new Student();
+        dropping.setStudentId("STU001");
+        dropping.setEmail("stu001@test.com");
+        dropping.setAcademicStatus("ACTIVE");
+
+        Student suspended = new Student();
+        suspended.setStudentId("STU002");
+        suspended.setEmail("stu002@test.com");
+        suspended.setAcademicStatus("ACTIVE");
+
+        Student waiting = new Student();
+        waiting.setStudentId("STU003");
+        waiting.setEmail("stu003@test.com");
+        waiting.setAcademicStatus("ACTIVE");
+
+        Course course = new Course();
+        course.setCourseCode("CS101");
+        course.setCourseName("Intro to Programming");
+        course.setCapacity(1);
+        course.setEnrolledCount(1);
+
+        when(studentRepository.findById("STU001")).thenReturn(dropping);
+        when(studentRepository.findById("STU002")).thenReturn(suspended);
+        when(studentRepository.findById("STU003")).thenReturn(waiting);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(course);
+        when(courseRepository.isPrerequisiteMet(anyString(), eq("CS101"))).thenReturn(true);
+
+        enrollmentService.enrollOrWaitlist("STU002", "CS101");
+        enrollmentService.enrollOrWaitlist("STU003", "CS101");
+        assertEquals(2, enrollmentService.getWaitlistPosition("STU003", "CS101"));
+
+        // STU002 di-suspend setelah masuk waitlist, sehingga harus dilewati
+        suspended.setAcademicStatus("SUSPENDED");
+        enrollmentService.getEnrollmentRegistry().add("STU001", "CS101");
+        Enrollment promoted = enrollmentService.dropCourse("STU001", "CS101");
+
+        assertEquals("STU003", promoted.getStudentId());
+        assertEquals("CS101", promoted.getCourseCode());
+        assertTrue(enrollmentService.getEnrollmentRegistry().isEnrolled("STU003", "CS101"));
+        assertEquals(1, course.getEnrolledCount());
+        assertEquals(0, enrollmentService.getWaitlistPosition("STU003", "CS101"));
+        verify(notificationService).sendEmail(
+                eq("stu003@test.com"),
+                contains("Waitlist Promotion"),
+                contains("Intro to Programming")
+        );
+        verify(notificationService, never()).sendEmail(eq("stu002@test.com"), anyString(), anyString());
+    }
+
+    // ============================================================
+    // TEST: seat hold
+    // ============================================================
+
+    private Course stubHoldableCourse(AtomicLong clock) {
+        Student student = new Student();
+        student.setStudentId("STU001");
+        student.setEmail("student@test.com");
+        student.setAcademicStatus("ACTIVE");
+
+        Course course = new Course();
+        course.setCourseCode("CS101");
+        course.setCourseName("Intro to Programming");
+        course.setCapacity(1);
+
+        when(studentRepository.findById("STU001")).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(course);
+        when(courseRepository.isPrerequisiteMet("STU001", "CS101")).thenReturn(true);
+
+        enrollmentService.setNanoClock(clock::get);
+        enrollmentService.setSeatHoldTtl(Duration.ofMinutes(10));
+        return course;
+    }
+
+    @Test
+    void testHoldSeat_ConfirmCreatesEnrollment() {
+        AtomicLong clock = new AtomicLong();
+        Course course = stubHoldableCourse(clock);
+
+        SeatHold hold = enrollmentService.holdSeat("STU001", "CS101");
+        assertEquals(1, course.getEnrolledCount());
+
+        Enrollment enrollment = enrollmentService.confirmHold(hold.holdId());
+
+        assertEquals("CS101", enrollment.getCourseCode());
+        assertEquals(0, enrollmentService.getActiveHoldCount());
+        clock.addAndGet(Duration.ofMinutes(30).toNanos());
+        assertEquals(0, enrollmentService.expireHolds());
+        assertEquals(1, course.getEnrolledCount());
+        verify(notificationService).sendEmail(
+                eq("student@test.com"),
+                contains("Enrollment Confirmation"),
+                contains("Intro to Programming")
+        );
+    }
+
+    @Test
+    void testHoldSeat_ExpiresAfterTtl() {
+        AtomicLong clock = new AtomicLong();
+        Course course = stubHoldableCourse(clock);
+
+        SeatHold hold = enrollmentService.holdSeat("STU001", "CS101");
+        // A second hold by the same student is a duplicate, not a full course
+        EnrollmentException duplicate = assertThrows(EnrollmentException.class,
+                () -> enrollmentService.holdSeat("STU001", "CS101"));
+        assertEquals("Student is already enrolled in: CS101", duplicate.getMessage());
+
+        Student other = new Student();
+        other.setStudentId("STU002");
+        other.setAcademicStatus("ACTIVE");
+        when(studentRepository.findById("STU002")).thenReturn(other);
+        when(courseRepository.isPrerequisiteMet("STU002", "CS101")).thenReturn(true);
+        assertThrows(CourseFullException.class, () -> enrollmentService.holdSeat("STU002", "CS101"));
+
+        clock.addAndGet(Duration.ofMinutes(9).toNanos());
+        assertEquals(0, enrollmentService.expireHolds());
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertEquals(1, enrollmentService.expireHolds());
+
+        assertEquals(0, course.getEnrolledCount());
+        assertThrows(EnrollmentException.class, () -> enrollmentService.confirmHold(hold.holdId()));
+    }
+
+    @Test
+    void testReleaseHold_FreesSeat() {
+        AtomicLong clock = new AtomicLong();
+        Course course = stubHoldableCourse(clock);
+
+        SeatHold hold = enrollmentService.holdSeat("STU001", "CS101");
+
+        assertTrue(enrollmentService.releaseHold(hold.holdId()));
+        assertFalse(enrollmentService.releaseHold(hold.holdId()));
+        assertEquals(0, course.getEnrolledCount());
+    }
+
+    @Test
+    void testDropCourse_CancelsHoldSoLaterExpiryReleasesNothing() {
+        AtomicLong clock = new AtomicLong();
+        Course course = stubHoldableCourse(clock);
+        EnrollmentListener journal = mock(EnrollmentListener.class);
+        enrollmentService.addEnrollmentListener(journal);
+
+        enrollmentService.holdSeat("STU001", "CS101");
+        // A held seat is not an enrollment that can be swapped away
+        assertThrows(EnrollmentException.class, () -> enrollmentService.swapCourse("STU001", "CS101", "CS102"));
+
+        assertNull(enrollmentService.dropCourse("STU001", "CS101"));
+        assertEquals(0, course.getEnrolledCount());
+        assertEquals(0, enrollmentService.getActiveHoldCount());
+        verify(journal, never()).onDropped(anyString(), any(Course.class), any());
+
+        // Another student takes the freed seat before the old hold's deadline passes
+        Student other = new Student();
+        other.setStudentId("STU002");
+        other.setEmail("stu002@test.com");
+        other.setAcademicStatus("ACTIVE");
+        when(studentRepository.findById("STU002")).thenReturn(other);
+        when(courseRepository.isPrerequisiteMet("STU002", "CS101")).thenReturn(true);
+        assertNotNull(enrollmentService.enrollCourse("STU002", "CS101"));
+
+        clock.addAndGet(Duration.ofMinutes(11).toNanos());
+        assertEquals(0, enrollmentService.expireHolds());
+        assertEquals(1, course.getEnrolledCount());
+        assertTrue(enrollmentService.getEnrollmentRegistry().isEnrolled("STU002", "CS101"));
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("STU001", "CS101"));
+    }
+
+    @Test
+    void testConfirmHold_RejectsHoldPastTtlBeforeExpiryRuns() {
+        AtomicLong clock = new AtomicLong();
+        Course course = stubHoldableCourse(clock);
+
+        SeatHold hold = enrollmentService.holdSeat("STU001", "CS101");
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        assertThrows(EnrollmentException.class, () -> enrollmentService.confirmHold(hold.holdId()));
+        assertEquals(0, course.getEnrolledCount());
+        assertEquals(0, enrollmentService.getActiveHoldCount());
+        assertFalse(enrollmentService.getEnrollmentRegistry().isEnrolled("STU001", "CS101"));
+    }
+
+    // ============================================================
+    // TEST: enrollAll()
+    // ============================================================
+
+    private Course stubCartCourse(String code, int credits, int capacity, int enrolled) {
+        Course course = new Course(code, "Course " + code, credits, capacity, enrolled, "Dr. A");
+        when(courseRepository.findByCourseCode(code)).thenReturn(course);
+        when(courseRepository.isPrerequisiteMet("STU001", code)).thenReturn(true);
+        return course;
+    }
+
+    private void stubCartStudent() {
+        Student student = new Student();
+        student.setStudentId("STU001");
+        student.setEmail("student@test.com");
+        student.setAcademicStatus("ACTIVE");
+        student.setGpa(3.5);
+        when(studentRepository.findById("STU001")).thenReturn(student);
+        when(gradeCalculator.calculateMaxCredits(3.5)).thenReturn(24);
+    }
+
+    @Test
+    void testEnrollAll_Success() {
+        stubCartStudent();
+        Course algorithms = stubCartCourse("CS201", 3, 30, 0);
+        Course databases = stubCartCourse("CS102", 3, 30, 5);
+
+        List<Enrollment> enrollments = enrollmentService.enrollAll("STU001", List.of("CS201", "CS102", "CS201"));
+
+        assertEquals(2, enrollments.size());
+        assertEquals("CS102", enrollments.get(0).getCourseCode());
+        assertEquals("CS201", enrollments.get(1).getCourseCode());
+        assertEquals(1, algorithms.getEnrolledCount());
+        assertEquals(6, databases.getEnrolledCount());
+        verify(notificationService, times(1)).sendEmail(
+                eq("student@test.com"),
+                contains("Enrollment Confirmation"),
+                contains("Course CS102, Course CS201")
+        );
+    }
+
+    @Test
+    void testEnrollAll_RollsBackWhenOneCourseFull() {
+        stubCartStudent();
+        Course first = stubCartCourse("CS101", 3, 1, 0);
+        stubCartCourse("CS102", 3, 10, 10);
+
+        assertThrows(CourseFullException.class, () ->
+                enrollmentService.enrollAll("STU001", List.of("CS101", "CS102")));
+
+        // Kursi CS101 dikembalikan dan jumlah yang sudah pulih dipublikasikan
+        verify(courseRepository).update(first);
+        assertEquals(0, first.getEnrolledCount());
+        verify(courseRepository, never()).update(argThat(course -> course.getCourseCode().equals("CS102")));
+        verifyNoInteractions(notificationService);
+        assertTrue(enrollmentService.tryEnroll("STU001", "CS101").isEnrolled());
+        assertEquals(1, first.getEnrolledCount());
+    }
+
+    @Test
+    void testEnrollAll_RollbackPromotesWaitlistAndKeepsRealRejection() {
+        SeatReservationRepository seatReservations = mock(SeatReservationRepository.class);
+        enrollmentService.setSeatReservationRepository(seatReservations);
+        stubCartStudent();
+        Course first = stubCartCourse("CS101", 3, 1, 0);
+        stubCartCourse("CS102", 3, 30, 0);
+        Student waiting = new Student("STU002", "Budi", "budi@test.com", "CS", 3, 3.0, "ACTIVE");
+        when(studentRepository.findById("STU002")).thenReturn(waiting);
+        when(courseRepository.isPrerequisiteMet("STU002", "CS101")).thenReturn(true);
+
+        when(seatReservations.reserveSeat("STU001", "CS101"))
+                .thenReturn(new SeatReservation(SeatReservation.Status.RESERVED, null, first));
+        when(seatReservations.reserveSeat("STU002", "CS101"))
+                .thenReturn(new SeatReservation(SeatReservation.Status.COURSE_FULL, null, null))
+                .thenReturn(new SeatReservation(SeatReservation.Status.RESERVED, waiting, first));
+        when(seatReservations.releaseSeat("CS101")).thenReturn(true);
+        // STU002 melihat CS101 penuh selama kursinya masih ditahan keranjang STU001
+        when(seatReservations.reserveSeat("STU001", "CS102")).thenAnswer(invocation -> {
+            assertTrue(enrollmentService.enrollOrWaitlist("STU002", "CS101") instanceof EnrollmentResult.Waitlisted);
+            return new SeatReservation(SeatReservation.Status.PREREQUISITE_NOT_MET, null, null);
+        });
+
+        assertThrows(PrerequisiteNotMetException.class, () ->
+                enrollmentService.enrollAll("STU001", List.of("CS101", "CS102")));
+
+        assertTrue(enrollmentService.getEnrollmentRegistry().isEnrolled("STU002", "CS101"));
+        assertFalse(enrollmentService.getEnrollmentRegistry().isEnrolled("STU001", "CS101"));
+        assertEquals(0, enrollmentService.getWaitlistPosition("STU002", "CS101"));
+        verify(seatReservations).releaseSeat("CS101");
+        verify(seatReservations, times(2)).reserveSeat("STU002", "CS101");
+        verify(notificationService).sendEmail(eq("budi@test.com"), contains("Waitlist Promotion"), anyString());
+    }
+
+    @Test
+    void testEnrollAll_CreditLimitExceeded() {
+        stubCartStudent();
+        stubCartCourse("CS101", 12, 30, 0);
+        stubCartCourse("CS102", 13, 30, 0);
+
+        assertThrows(EnrollmentException.class, () ->
+                enrollmentService.enrollAll("STU001", List.of("CS101", "CS102")));
+        verify(courseRepository, never()).update(any());
+    }
+
+    // ============================================================
+    // TEST: swapCourse()
+    // ============================================================
+
+    @Test
+    void testSwapCourse_Success() {
+        stubCartStudent();
+        Course from = stubCartCourse("CS101", 3, 30, 10);
+        Course to = stubCartCourse("CS102", 3, 30, 4);
+        enrollmentService.getEnrollmentRegistry().add("STU001", "CS101");
+
+        Enrollment enrollment = enrollmentService.swapCourse("STU001", "CS101", "CS102");
+
+        assertEquals("CS102", enrollment.getCourseCode());
+        assertEquals(List.of("CS102"), enrollmentService.getEnrollmentRegistry().coursesOf("STU001"));
+        assertEquals(9, from.getEnrolledCount());
+        assertEquals(5, to.getEnrolledCount());
+        verify(notificationService, times(1)).sendEmail(anyString(), anyString(), anyString());
+        verify(notificationService).sendEmail(
+                eq("student@test.com"),
+                contains("Course Swap Confirmation"),
+                contains("Course CS102")
+        );
+    }
+
+    @Test
+    void testSwapCourse_TargetFullKeepsOldSeat() {
+        stubCartStudent();
+        Course from = stubCartCourse("CS101", 3, 30, 10);
+        Course to = stubCartCourse("CS102", 3, 4, 4);
+        enrollmentService.getEnrollmentRegistry().add("STU001", "CS101");
+
+        assertThrows(CourseFullException.class, () ->
+                enrollmentService.swapCourse("STU001", "CS101", "CS102"));
+        assertEquals(List.of("CS101"), enrollmentService.getEnrollmentRegistry().coursesOf("STU001"));
+
+        assertEquals(10, from.getEnrolledCount());
+        assertEquals(4, to.getEnrolledCount());
+        verify(courseRepository, never()).update(any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testSwapCourse_NotEnrolledInSourceCourse() {
+        stubCartStudent();
+        Course from = stubCartCourse("CS101", 3, 30, 10);
+        Course to = stubCartCourse("CS102", 3, 30, 4);
+
+        assertThrows(EnrollmentException.class, () ->
+                enrollmentService.swapCourse("STU001", "CS101", "CS102"));
+
+        assertEquals(10, from.getEnrolledCount());
+        assertEquals(4, to.getEnrolledCount());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testSwapCourse_FailingEnrollListenerKeepsOldSeat() {
+        stubCartStudent();
+        Course from = stubCartCourse("CS101", 3, 30, 10);
+        Course to = stubCartCourse("CS102", 3, 30, 4);
+        enrollmentService.getEnrollmentRegistry().add("STU001", "CS101");
+        EnrollmentListener journal = mock(EnrollmentListener.class);
+        when(journal.onEnrolled(any(), eq(to), any())).thenThrow(new IllegalStateException("disk full"));
+        enrollmentService.addEnrollmentListener(journal);
+
+        assertThrows(IllegalStateException.class, () ->
+                enrollmentService.swapCourse("STU001", "CS101", "CS102"));
+
+        verify(journal, never()).onDropped(anyString(), any(Course.class), any());
+        assertEquals(List.of("CS101"), enrollmentService.getEnrollmentRegistry().coursesOf("STU001"));
+        assertEquals(10, from.getEnrolledCount());
+        assertEquals(4, to.getEnrolledCount());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testSwapCourse_FailingDropListenerUndoesNewEnrollment() {
+        stubCartStudent();
+        Course from = stubCartCourse("CS101", 3, 30, 10);
+        Course to = stubCartCourse("CS102", 3, 30, 4);
+        enrollmentService.getEnrollmentRegistry().add("STU001", "CS101");
+        EnrollmentListener journal = mock(EnrollmentListener.class);
+        when(journal.onDropped(eq("STU001"), eq(from), any())).thenThrow(new IllegalStateException("disk full"));
+        enrollmentService.addEnrollmentListener(journal);
+
+        assertThrows(IllegalStateException.class, () ->
+                enrollmentService.swapCourse("STU001", "CS101", "CS102"));
+
+        verify(journal).onDropped("STU001", to, null);
+        assertEquals(List.of("CS101"), enrollmentService.getEnrollmentRegistry().coursesOf("STU001"));
+        assertEquals(10, from.getEnrolledCount());
+        assertEquals(4, to.getEnrolledCount());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testSwapCourse_SameCourse() {
+        assertThrows(EnrollmentException.class, () ->
+                enrollmentService.swapCourse("STU001", "CS101", "CS101"));
+    }
+
+    // ============================================================
+    // TEST: enrollCourse() dengan SeatReservationRepository
+    // ============================================================
+
+    @Test
+    void testEnrollCourse_SingleReservationRoundTrip() {
+        SeatReservationRepository seatReservations = mock(SeatReservationRepository.class);
+        enrollmentService.setSeatReservationRepository(seatReservations);
+
+        Student student = new Student("STU001", "Ani", "student@test.com", "CS", 3, 3.2, "ACTIVE");
+        Course course = new Course("CS101", "Intro to Programming", 3, 30, 11, "Dr. A");
+        when(seatReservations.reserveSeat("STU001", "CS101"))
+                .thenReturn(new SeatReservation(SeatReservation.Status.RESERVED, student, course));
+
+        Enrollment enrollment = enrollmentService.enrollCourse("STU001", "CS101");
+
+        assertEquals("CS101", enrollment.getCourseCode());
+        verify(seatReservations, times(1)).reserveSeat("STU001", "CS101");
+        verifyNoInteractions(studentRepository, courseRepository);
+        verify(notificationService).sendEmail(eq("student@test.com"), anyString(), anyString());
+    }
+
+    @Test
+    void testEnrollCourse_ReservationRejectionMapsToException() {
+        SeatReservationRepository seatReservations = mock(SeatReservationRepository.class);
+        enrollmentService.setSeatReservationRepository(seatReservations);
+        when(seatReservations.reserveSeat("STU001", "CS101"))
+                .thenReturn(new SeatReservation(SeatReservation.Status.COURSE_FULL, null, null));
+        when(seatReservations.reserveSeat("STU001", "CS999"))
+                .thenReturn(new SeatReservation(SeatReservation.Status.COURSE_NOT_FOUND, null, null));
+
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("STU001", "CS101"));
+        assertEquals(EnrollmentResult.Rejection.COURSE_NOT_FOUND,
+                enrollmentService.tryEnroll("STU001", "CS999"));
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testDropCourse_ReleasesThroughReservationRepository() {
+        SeatReservationRepository seatReservations = mock(SeatReservationRepository.class);
+        enrollmentService.setSeatReservationRepository(seatReservations);
+
+        Student student = new Student("STU001", "Ani", "student@test.com", "CS", 3, 3.2, "ACTIVE");
+        Course course = new Course("CS101", "Intro to Programming", 3, 30, 5, "Dr. A");
+        when(studentRepository.findById("STU001")).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(course);
+        enrollmentService.getEnrollmentRegistry().add("STU001", "CS101");
+
+        enrollmentService.dropCourse("STU001", "CS101");
+
+        verify(seatReservations).releaseSeat("CS101");
+        verify(courseRepository, never()).update(any());
+    }
+
+    @Test
+    void testDropCourse_PromotesOnlyWhenReleaseFreedASeat() {
+        SeatReservationRepository seatReservations = mock(SeatReservationRepository.class);
+        enrollmentService.setSeatReservationRepository(seatReservations);
+        Student student = new Student("STU001", "Ani", "student@test.com", "CS", 3, 3.2, "ACTIVE");
+        Student waiting = new Student("STU002", "Budi", "budi@test.com", "CS", 3, 3.0, "ACTIVE");
+        // The service's copy is stale in both directions
+        Course staleFull = new Course("CS101", "Intro to Programming", 3, 30, 30, "Dr. A");
+        Course staleEmpty = new Course("CS102", "Discrete Math", 3, 30, 0, "Dr. B");
+        when(studentRepository.findById("STU001")).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(staleFull);
+        when(courseRepository.findByCourseCode("CS102")).thenReturn(staleEmpty);
+        when(seatReservations.reserveSeat("STU002", "CS101"))
+                .thenReturn(new SeatReservation(SeatReservation.Status.COURSE_FULL, waiting, staleFull));
+        when(seatReservations.reserveSeat("STU002", "CS102"))
+                .thenReturn(new SeatReservation(SeatReservation.Status.COURSE_FULL, waiting, staleEmpty))
+                .thenReturn(new SeatReservation(SeatReservation.Status.RESERVED, waiting, staleEmpty));
+        when(seatReservations.releaseSeat("CS101")).thenReturn(false);
+        when(seatReservations.releaseSeat("CS102")).thenReturn(true);
+        enrollmentService.enrollOrWaitlist("STU002", "CS101");
+        enrollmentService.enrollOrWaitlist("STU002", "CS102");
+        enrollmentService.getEnrollmentRegistry().add("STU001", "CS101");
+        enrollmentService.getEnrollmentRegistry().add("STU001", "CS102");
+
+        assertNull(enrollmentService.dropCourse("STU001", "CS101"));
+        assertEquals(1, enrollmentService.getWaitlistPosition("STU002", "CS101"));
+
+        Enrollment promoted = enrollmentService.dropCourse("STU001", "CS102");
+        assertEquals("STU002", promoted.getStudentId());
+        assertTrue(enrollmentService.getEnrollmentRegistry().isEnrolled("STU002", "CS102"));
+    }
+
     // ============================================================
     // TEST: validateCreditLimit() menggunakan STUB
     // ============================================================
@@ -184,6 +900,34 @@ public class EnrollmentServiceTest {
                 enrollmentService.validateCreditLimit("STU001", 10));
     }
 
+    @Test
+    void testValidateCreditLimit_UsesMajorRulesFromRegistry(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("Medicine.properties"), """
+                status.1+ = ACTIVE@0.00
+                maxCredits = 20@0.00
+                """);
+        Student medicine = new Student();
+        medicine.setStudentId("STU001");
+        medicine.setMajor("Medicine");
+        medicine.setGpa(3.5);
+        Student law = new Student();
+        law.setStudentId("STU002");
+        law.setMajor("Law");
+        law.setGpa(3.5);
+        when(studentRepository.findById("STU001")).thenReturn(medicine);
+        when(studentRepository.findById("STU002")).thenReturn(law);
+
+        try (AcademicRuleRegistry registry = AcademicRuleRegistry.open(directory)) {
+            enrollmentService.setRuleRegistry(registry);
+
+            assertTrue(enrollmentService.validateCreditLimit("STU001", 20));
+            assertFalse(enrollmentService.validateCreditLimit("STU001", 21));
+            // Majors without a rule file keep the default limit
+            assertTrue(enrollmentService.validateCreditLimit("STU002", 24));
+        }
+        verify(gradeCalculator, never()).calculateMaxCredits(anyDouble());
+    }
+
     // ============================================================
     // TEST: dropCourse() menggunakan STUB
     // ============================================================
@@ -201,6 +945,7 @@ public class EnrollmentServiceTest {
 
         when(studentRepository.findById("STU001")).thenReturn(student);
         when(courseRepository.findByCourseCode("CS101")).thenReturn(course);
+        enrollmentService.getEnrollmentRegistry().add("STU001", "CS101");
 
         enrollmentService.dropCourse("STU001", "CS101");
 
@@ -230,4 +975,35 @@ public class EnrollmentServiceTest {
         assertThrows(CourseNotFoundException.class, () ->
                 enrollmentService.dropCourse("STU001", "CS101"));
     }
+
+    @Test
+    void testDropCourse_NotEnrolled() {
+        Student student = new Student();
+        student.setStudentId("STU001");
+        Course course = new Course("CS101", "Intro to Programming", 3, 30, 5, "Dr. A");
+        when(studentRepository.findById("STU001")).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(course);
+
+        assertThrows(EnrollmentException.class, () ->
+                enrollmentService.dropCourse("STU001", "CS101"));
+        assertEquals(5, course.getEnrolledCount());
+        verify(courseRepository, never()).update(any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testDropCourse_SecondDropRejected() {
+        Student student = new Student("STU001", "Ani", "student@test.com", "CS", 3, 3.2, "ACTIVE");
+        Course course = new Course("CS101", "Intro to Programming", 3, 30, 5, "Dr. A");
+        when(studentRepository.findById("STU001")).thenReturn(student);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(course);
+        when(courseRepository.isPrerequisiteMet("STU001", "CS101")).thenReturn(true);
+
+        enrollmentService.enrollCourse("STU001", "CS101");
+        enrollmentService.dropCourse("STU001", "CS101");
+
+        assertThrows(EnrollmentException.class, () ->
+                enrollmentService.dropCourse("STU001", "CS101"));
+        assertEquals(5, course.getEnrolledCount());
+    }
 }
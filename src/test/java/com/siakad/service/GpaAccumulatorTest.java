@@ -0,0 +1,113 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk GpaAccumulator: hasilnya harus selalu sama dengan GradeCalculator.calculateGPA
+ */
+public class GpaAccumulatorTest {
+
+    // Includes half points so replacements regularly land on x.xx5 ties
+    private static final double[] GRADE_POINTS = {4.0, 3.7, 3.5, 3.3, 3.0, 2.7, 2.5, 2.3, 2.0, 1.7, 1.5, 1.3, 1.0, 0.5, 0.0};
+
+    private final GradeCalculator calculator = new GradeCalculator();
+
+    @Test
+    void testAddReplaceRemove_MatchesFullRecomputation() {
+        Random random = new Random(7);
+        for (int round = 0; round < 2_000; round++) {
+            List<CourseGrade> transcript = new ArrayList<>();
+            GpaAccumulator accumulator = new GpaAccumulator();
+            for (int i = 0; i < 1 + random.nextInt(60); i++) {
+                CourseGrade grade = randomGrade(random, "C" + i);
+                transcript.add(grade);
+                accumulator.add(grade);
+            }
+            assertEquals(calculator.calculateGPA(transcript), accumulator.getGpa());
+
+            int index = random.nextInt(transcript.size());
+            CourseGrade retake = randomGrade(random, transcript.get(index).getCourseCode());
+            accumulator.replace(transcript.get(index), retake);
+            transcript.set(index, retake);
+            assertEquals(calculator.calculateGPA(transcript), accumulator.getGpa());
+
+            accumulator.remove(transcript.remove(random.nextInt(transcript.size())));
+            assertEquals(calculator.calculateGPA(transcript), accumulator.getGpa());
+        }
+    }
+
+    @Test
+    void testRemoveAll_BackToZero() {
+        CourseGrade grade = new CourseGrade("CS101", 3, 3.7);
+        GpaAccumulator accumulator = GpaAccumulator.of(List.of(grade));
+
+        accumulator.remove(grade);
+
+        assertEquals(0.0, accumulator.getGpa());
+        assertEquals(0, accumulator.getTotalCredits());
+    }
+
+    @Test
+    void testReplace_MatchesByValueAndKeepsTranscriptOrder() {
+        // 1.675 exactly: the double sum rounds down, so the order of the grades matters
+        GpaAccumulator accumulator = GpaAccumulator.of(List.of(
+                new CourseGrade("CS101", 2, 3.5), new CourseGrade("CS102", 2, 1.3),
+                new CourseGrade("CS103", 3, 0.5), new CourseGrade("CS104", 1, 2.0)));
+
+        accumulator.replace(new CourseGrade("CS104", 1, 2.0), new CourseGrade("CS104", 1, 2.3));
+
+        assertEquals(1.67, accumulator.getGpa());
+        assertEquals(8, accumulator.getTotalCredits());
+    }
+
+    @Test
+    void testRemove_NeverAddedGrade() {
+        GpaAccumulator accumulator = GpaAccumulator.of(List.of(new CourseGrade("CS101", 2, 3.0)));
+        assertThrows(IllegalStateException.class, () ->
+                accumulator.remove(new CourseGrade("CS102", 3, 3.0)));
+        assertEquals(3.0, accumulator.getGpa());
+    }
+
+    @Test
+    void testAdd_SecondGradeForSameCourseRejected() {
+        GpaAccumulator accumulator = GpaAccumulator.of(List.of(new CourseGrade("CS101", 3, 2.0)));
+
+        assertThrows(IllegalStateException.class, () -> accumulator.add(new CourseGrade("CS101", 3, 4.0)));
+        assertThrows(IllegalArgumentException.class, () ->
+                accumulator.replace(new CourseGrade("CS101", 3, 2.0), new CourseGrade("CS102", 3, 4.0)));
+        assertEquals(2.0, accumulator.getGpa());
+        assertEquals(3, accumulator.getTotalCredits());
+    }
+
+    @Test
+    void testRemove_SameCourseDifferentGradeRejected() {
+        GpaAccumulator accumulator = GpaAccumulator.of(List.of(new CourseGrade("CS101", 3, 2.0)));
+
+        assertThrows(IllegalStateException.class, () -> accumulator.remove(new CourseGrade("CS101", 3, 3.0)));
+        assertEquals(2.0, accumulator.getGpa());
+    }
+
+    @Test
+    void testInvalidGradePoint_LeavesTotalsUntouched() {
+        CourseGrade grade = new CourseGrade("CS101", 3, 3.0);
+        GpaAccumulator accumulator = GpaAccumulator.of(List.of(grade));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                accumulator.add(new CourseGrade("CS102", 3, 4.5)));
+        assertThrows(IllegalArgumentException.class, () ->
+                accumulator.replace(grade, new CourseGrade("CS101", 3, -1.0)));
+        assertEquals(3.0, accumulator.getGpa());
+        assertEquals(3, accumulator.getTotalCredits());
+    }
+
+    private static CourseGrade randomGrade(Random random, String courseCode) {
+        return new CourseGrade(courseCode, 1 + random.nextInt(4), GRADE_POINTS[random.nextInt(GRADE_POINTS.length)]);
+    }
+}
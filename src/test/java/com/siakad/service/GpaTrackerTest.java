@@ -0,0 +1,104 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryStudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk GpaTracker dengan repository di memori
+ */
+public class GpaTrackerTest {
+
+    private final List<String> updated = new ArrayList<>();
+    private InMemoryStudentRepository repository;
+    private GpaTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryStudentRepository() {
+            @Override
+            public void updateAll(Collection<Student> students) {
+                students.forEach(student -> updated.add(student.getStudentId()));
+                super.updateAll(students);
+            }
+        };
+        for (String id : List.of("STU001", "STU002", "STU003")) {
+            repository.save(new Student(id, "Name", id + "@test.com", "CS", 3, 3.0, "ACTIVE"));
+        }
+        tracker = new GpaTracker(repository);
+        for (String id : List.of("STU001", "STU002", "STU003")) {
+            tracker.load(id, List.of(new CourseGrade("CS101", 3, 3.0)));
+        }
+    }
+
+    @Test
+    void testPostAll_UpdatesOnlyStudentsWhoseGpaChanged() {
+        CourseGrade oldGrade = new CourseGrade("CS101", 3, 3.0);
+
+        Map<String, Double> gpas = tracker.postAll(List.of(
+                GradePosting.add("STU001", new CourseGrade("CS102", 3, 4.0)),
+                GradePosting.replace("STU002", oldGrade, new CourseGrade("CS101", 3, 3.0)),
+                GradePosting.add("STU001", new CourseGrade("CS103", 2, 2.0))));
+
+        assertEquals(Map.of("STU001", 3.13, "STU002", 3.0), gpas);
+        assertEquals(List.of("STU001"), updated);
+        assertEquals(3.13, repository.findById("STU001").getGpa());
+        assertEquals(3.0, tracker.gpaOf("STU003"));
+    }
+
+    @Test
+    void testPost_RemoveGrade() {
+        CourseGrade extra = new CourseGrade("CS102", 3, 4.0);
+        tracker.post(GradePosting.add("STU003", extra));
+
+        assertEquals(3.0, tracker.post(GradePosting.remove("STU003", extra)));
+        assertEquals(3.0, repository.findById("STU003").getGpa());
+    }
+
+    @Test
+    void testPostAll_InvalidGradeAppliesNothing() {
+        assertThrows(IllegalArgumentException.class, () -> tracker.postAll(List.of(
+                GradePosting.add("STU001", new CourseGrade("CS102", 3, 4.0)),
+                GradePosting.add("STU002", new CourseGrade("CS102", 3, 5.0)))));
+
+        assertEquals(3.0, tracker.gpaOf("STU001"));
+        assertTrue(updated.isEmpty());
+    }
+
+    @Test
+    void testPostAll_UnknownPreviousOrDuplicateAppliesNothing() {
+        assertThrows(IllegalStateException.class, () -> tracker.postAll(List.of(
+                GradePosting.add("STU001", new CourseGrade("CS102", 3, 4.0)),
+                GradePosting.replace("STU002", new CourseGrade("CS101", 3, 2.0), new CourseGrade("CS101", 3, 4.0)))));
+        assertThrows(IllegalStateException.class, () -> tracker.postAll(List.of(
+                GradePosting.add("STU001", new CourseGrade("CS102", 3, 4.0)),
+                GradePosting.add("STU001", new CourseGrade("CS102", 3, 2.0)))));
+
+        assertEquals(3.0, tracker.gpaOf("STU001"));
+        assertEquals(3.0, tracker.gpaOf("STU002"));
+        assertTrue(updated.isEmpty());
+    }
+
+    @Test
+    void testPostAll_LaterPostingsSeeEarlierOnesInTheBatch() {
+        CourseGrade added = new CourseGrade("CS102", 3, 2.0);
+
+        Map<String, Double> gpas = tracker.postAll(List.of(
+                GradePosting.add("STU001", added),
+                GradePosting.replace("STU001", added, new CourseGrade("CS102", 3, 4.0)),
+                GradePosting.remove("STU002", new CourseGrade("CS101", 3, 3.0)),
+                GradePosting.add("STU002", new CourseGrade("CS101", 3, 4.0))));
+
+        assertEquals(Map.of("STU001", 3.5, "STU002", 4.0), gpas);
+        assertEquals(List.of("STU001", "STU002"), updated);
+    }
+}
@@ -1,4 +1,193 @@
 package com.siakad.service;
 
+import com.siakad.model.CourseGrade;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 public class GradeCalculatorTest {
+
+    // Includes half points so random transcripts regularly land on x.xx5 ties
+    private static final double[] GRADE_POINTS = {4.0, 3.7, 3.5, 3.3, 3.0, 2.7, 2.5, 2.3, 2.0, 1.7, 1.5, 1.3, 1.0, 0.5, 0.0};
+
+    private final GradeCalculator calculator = new GradeCalculator();
+
+    // ============================================================
+    // TEST: calculateGPA()
+    // ============================================================
+
+    private static List<CourseGrade> transcript(double[] gradePoints, int[] credits) {
+        List<CourseGrade> grades = new ArrayList<>();
+        for (int i = 0; i < gradePoints.length; i++) {
+            grades.add(new CourseGrade("C" + i, credits[i], gradePoints[i]));
+        }
+        return grades;
+    }
+
+    /**
+     * Rumus calculateGPA sebelum ada jalur inkremental dan batch, sebagai acuan
+     */
+    private static double baselineGpa(List<CourseGrade> grades) {
+        double totalPoints = 0.0;
+        int totalCredits = 0;
+        for (CourseGrade grade : grades) {
+            totalPoints += grade.getGradePoint() * grade.getCredits();
+            totalCredits += grade.getCredits();
+        }
+        if (totalCredits == 0) {
+            return 0.0;
+        }
+        return Math.round((totalPoints / totalCredits) * 100.0) / 100.0;
+    }
+
+    @Test
+    void testCalculateGPA_PinsBaselineResultsAtHalfCentTies() {
+        // IPK eksak semuanya x.xx5; arah pembulatan mengikuti penjumlahan double berurutan
+        double[][] gradePoints = {
+                {3.5, 1.3, 0.5, 2.3}, {2.7, 2.5, 2.0}, {1.7, 3.3, 0.0}, {3.3, 2.3, 0.5, 3.5},
+                {1.7, 1.0}, {0.0, 1.7, 1.5, 1.5}, {1.7, 0.5, 1.7, 3.0}};
+        int[][] credits = {
+                {2, 2, 3, 1}, {2, 4, 2}, {2, 1, 1}, {1, 2, 4, 1},
+                {3, 1}, {4, 4, 4, 4}, {2, 1, 3, 2}};
+        double[] expected = {1.67, 2.42, 1.67, 1.67, 1.53, 1.18, 1.88};
+
+        int total = 0;
+        for (int[] c : credits) {
+            total += c.length;
+        }
+        int[] flatCredits = new int[total];
+        double[] flatPoints = new double[total];
+        int[] offsets = new int[credits.length + 1];
+        for (int s = 0; s < credits.length; s++) {
+            List<CourseGrade> grades = transcript(gradePoints[s], credits[s]);
+            assertEquals(expected[s], calculator.calculateGPA(grades), "transcript " + s);
+            assertEquals(expected[s], GpaAccumulator.of(grades).getGpa(), "transcript " + s);
+
+            offsets[s + 1] = offsets[s] + credits[s].length;
+            System.arraycopy(credits[s], 0, flatCredits, offsets[s], credits[s].length);
+            System.arraycopy(gradePoints[s], 0, flatPoints, offsets[s], credits[s].length);
+        }
+        assertArrayEquals(expected, calculator.calculateGPAs(flatCredits, flatPoints, offsets));
+    }
+
+    @Test
+    void testCalculateGPA_MatchesBaselineFormula() {
+        Batch batch = new Batch(20_000, 21);
+        double[] gpas = calculator.calculateGPAs(batch.credits, batch.gradePoints, batch.offsets);
+
+        for (int s = 0; s < gpas.length; s++) {
+            List<CourseGrade> grades = batch.transcripts.get(s);
+            double expected = baselineGpa(grades);
+            assertEquals(expected, calculator.calculateGPA(grades), "student " + s);
+            assertEquals(expected, GpaAccumulator.of(grades).getGpa(), "student " + s);
+            assertEquals(expected, gpas[s], "student " + s);
+        }
+    }
+
+    @Test
+    void testCalculateGPA_RejectsNaNGradePoint() {
+        List<CourseGrade> grades = List.of(new CourseGrade("CS101", 3, 4.0), new CourseGrade("CS102", 3, Double.NaN));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> calculator.calculateGPA(grades));
+        assertEquals("Invalid grade point: NaN", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> GpaAccumulator.of(grades));
+    }
+
+    // ============================================================
+    // TEST: calculateGPAs() (batch, SIMD jika tersedia)
+    // ============================================================
+
+    /**
+     * Transkrip acak dalam format array padat, plus versi List untuk pembanding
+     */
+    private static final class Batch {
+        final List<List<CourseGrade>> transcripts = new ArrayList<>();
+        int[] credits;
+        double[] gradePoints;
+        int[] offsets;
+
+        Batch(int students, long seed) {
+            Random random = new Random(seed);
+            List<Integer> creditList = new ArrayList<>();
+            List<Double> pointList = new ArrayList<>();
+            offsets = new int[students + 1];
+            for (int s = 0; s < students; s++) {
+                List<CourseGrade> transcript = new ArrayList<>();
+                // Include empty and odd-sized transcripts to exercise the scalar tail
+                for (int c = 0; c < random.nextInt(45); c++) {
+                    CourseGrade grade = new CourseGrade("C" + c, 1 + random.nextInt(4),
+                            GRADE_POINTS[random.nextInt(GRADE_POINTS.length)]);
+                    transcript.add(grade);
+                    creditList.add(grade.getCredits());
+                    pointList.add(grade.getGradePoint());
+                }
+                transcripts.add(transcript);
+                offsets[s + 1] = creditList.size();
+            }
+            credits = creditList.stream().mapToInt(Integer::intValue).toArray();
+            gradePoints = pointList.stream().mapToDouble(Double::doubleValue).toArray();
+        }
+    }
+
+    @Test
+    void testCalculateGPAs_MatchesCalculateGPA() {
+        Batch batch = new Batch(3_000, 5);
+
+        double[] gpas = calculator.calculateGPAs(batch.credits, batch.gradePoints, batch.offsets);
+
+        for (int s = 0; s < gpas.length; s++) {
+            assertEquals(calculator.calculateGPA(batch.transcripts.get(s)), gpas[s], "student " + s);
+        }
+    }
+
+    @Test
+    void testKernels_ProduceIdenticalResults() {
+        Batch batch = new Batch(3_000, 9);
+        double[] scalar = new double[batch.offsets.length - 1];
+        new ScalarGpaKernel().computeGpas(batch.credits, batch.gradePoints, batch.offsets, scalar);
+
+        double[] batched = calculator.calculateGPAs(batch.credits, batch.gradePoints, batch.offsets);
+
+        assertArrayEquals(scalar, batched);
+    }
+
+    @Test
+    void testCalculateGPAs_RejectsInvalidGradePointInVectorAndTail() {
+        int[] credits = {3, 3, 3, 3, 3, 3, 3, 3, 3};
+        double[] gradePoints = {4.0, 3.0, 2.0, 4.1, 3.0, 3.0, 3.0, 3.0, 3.0};
+        int[] offsets = {0, 9};
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                calculator.calculateGPAs(credits, gradePoints, offsets));
+        assertEquals("Invalid grade point: 4.1", e.getMessage());
+
+        gradePoints[3] = 3.0;
+        gradePoints[8] = -0.5;
+        assertThrows(IllegalArgumentException.class, () ->
+                calculator.calculateGPAs(credits, gradePoints, offsets));
+
+        gradePoints[8] = 3.0;
+        gradePoints[1] = Double.NaN;
+        e = assertThrows(IllegalArgumentException.class, () ->
+                calculator.calculateGPAs(credits, gradePoints, offsets));
+        assertEquals("Invalid grade point: NaN", e.getMessage());
+    }
+
+    @Test
+    void testCalculateGPAs_InvalidOffsets() {
+        int[] credits = {3, 3};
+        double[] gradePoints = {4.0, 3.0};
+
+        assertThrows(IllegalArgumentException.class, () ->
+                calculator.calculateGPAs(credits, gradePoints, new int[]{0, 1}));
+        assertThrows(IllegalArgumentException.class, () ->
+                calculator.calculateGPAs(credits, gradePoints, new int[]{0, 2, 1, 2}));
+        assertThrows(IllegalArgumentException.class, () ->
+                calculator.calculateGPAs(credits, new double[]{4.0}, new int[]{0, 2}));
+        assertArrayEquals(new double[]{0.0, 3.5}, calculator.calculateGPAs(credits, gradePoints, new int[]{0, 0, 2}));
+    }
 }
@@ -0,0 +1,77 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk HashedTimingWheel
+ */
+public class HashedTimingWheelTest {
+
+    private static final long TICK = 10;
+
+    @Test
+    void testAdvance_ExpiresOnlyDueItems() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+        wheel.schedule("a", 25);
+        wheel.schedule("b", 50);
+
+        assertEquals(List.of(), wheel.advance(20));
+        assertEquals(List.of("a"), wheel.advance(30));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("b"), wheel.advance(50));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_HandlesMultipleRounds() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 4, 0);
+        // Tick 1 dan tick 9 jatuh di bucket yang sama
+        wheel.schedule("soon", 10);
+        wheel.schedule("later", 90);
+
+        assertEquals(List.of("soon"), wheel.advance(10));
+        assertEquals(List.of(), wheel.advance(80));
+        assertEquals(List.of("later"), wheel.advance(90));
+    }
+
+    @Test
+    void testAdvance_CatchesUpAfterLongPause() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(TICK, 4, 0);
+        for (int i = 1; i <= 20; i++) {
+            wheel.schedule(i, i * TICK);
+        }
+
+        assertEquals(20, wheel.advance(10_000).size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testCancel_RemovesTimeout() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+        HashedTimingWheel.Timeout<String> a = wheel.schedule("a", 20);
+        wheel.schedule("b", 20);
+
+        assertTrue(a.cancel());
+        assertFalse(a.cancel());
+        assertEquals(List.of("b"), wheel.advance(20));
+    }
+
+    @Test
+    void testSchedule_PastDeadlineExpiresOnNextTick() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+        wheel.advance(100);
+        wheel.schedule("late", 50);
+
+        assertEquals(List.of("late"), wheel.advance(110));
+    }
+
+    @Test
+    void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel<String>(0, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel<String>(TICK, 6, 0));
+    }
+}
@@ -0,0 +1,43 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Proses terpisah untuk crash test EnrollmentJournal: terus mencatat enrollment dari
+ * beberapa thread dan mencetak "ACK <id>" setelah setiap enrollment durable, sampai di-kill.
+ */
+public final class JournalCrashWriter {
+
+    private JournalCrashWriter() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        EnrollmentJournal journal = EnrollmentJournal.open(Path.of(args[0]), 64 * 1024);
+        AtomicInteger next = new AtomicInteger();
+        Course course = new Course("CS101", "Intro to Programming", 3, Integer.MAX_VALUE, 0, "Dr. A");
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                while (true) {
+                    int id = next.getAndIncrement();
+                    Enrollment enrollment = new Enrollment("ENR-" + id, "STU" + id, "CS101",
+                            LocalDateTime.now(), "APPROVED");
+                    journal.onEnrolled(enrollment, course);
+                    synchronized (System.out) {
+                        System.out.println("ACK " + id);
+                        System.out.flush();
+                    }
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+    }
+}
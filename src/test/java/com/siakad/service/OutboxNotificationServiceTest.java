@@ -0,0 +1,97 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk OutboxNotificationService
+ */
+public class OutboxNotificationServiceTest {
+
+    @Test
+    void testSendEmail_ReturnsBeforeDelivery() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationService slow = mock(NotificationService.class);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(slow).sendEmail(anyString(), anyString(), anyString());
+
+        try (OutboxNotificationService outbox = new OutboxNotificationService(slow)) {
+            outbox.sendEmail("student@test.com", "Enrollment Confirmation", "CS101");
+            assertEquals(1, outbox.pendingCount());
+
+            release.countDown();
+            assertTrue(outbox.awaitIdle(Duration.ofSeconds(5)));
+        }
+        verify(slow).sendEmail("student@test.com", "Enrollment Confirmation", "CS101");
+    }
+
+    @Test
+    void testSendEmail_RetriesUntilDelivered() throws Exception {
+        NotificationService flaky = mock(NotificationService.class);
+        doThrow(new RuntimeException("SMTP timeout"))
+                .doThrow(new RuntimeException("SMTP timeout"))
+                .doNothing()
+                .when(flaky).sendEmail(anyString(), anyString(), anyString());
+
+        try (OutboxNotificationService outbox =
+                     new OutboxNotificationService(flaky, 4, 5, Duration.ofMillis(1))) {
+            outbox.sendEmail("student@test.com", "Subject", "Body");
+            assertTrue(outbox.awaitIdle(Duration.ofSeconds(5)));
+            assertTrue(outbox.deadLetters().isEmpty());
+        }
+        verify(flaky, times(3)).sendEmail("student@test.com", "Subject", "Body");
+    }
+
+    @Test
+    void testSendSMS_DeadLetterAfterMaxAttempts() throws Exception {
+        NotificationService broken = mock(NotificationService.class);
+        doThrow(new RuntimeException("Gateway down")).when(broken).sendSMS(anyString(), anyString());
+
+        try (OutboxNotificationService outbox =
+                     new OutboxNotificationService(broken, 4, 3, Duration.ofMillis(1))) {
+            outbox.sendSMS("08123", "Hello");
+            assertTrue(outbox.awaitIdle(Duration.ofSeconds(5)));
+            assertEquals(1, outbox.deadLetters().size());
+            assertEquals(new SmsMessage("08123", "Hello"), outbox.deadLetters().get(0));
+        }
+        verify(broken, times(3)).sendSMS("08123", "Hello");
+    }
+
+    @Test
+    void testDeliver_ErrorFromDelegateIsRetriedAndDoesNotHang() throws Exception {
+        NotificationService crashing = mock(NotificationService.class);
+        doThrow(new AssertionError("driver bug"))
+                .doNothing()
+                .when(crashing).sendEmail(anyString(), anyString(), anyString());
+
+        try (OutboxNotificationService outbox =
+                     new OutboxNotificationService(crashing, 4, 3, Duration.ofMillis(1))) {
+            outbox.sendEmail("student@test.com", "Subject", "Body");
+            assertTrue(outbox.awaitIdle(Duration.ofSeconds(5)));
+            assertEquals(0, outbox.pendingCount());
+        }
+        verify(crashing, times(2)).sendEmail("student@test.com", "Subject", "Body");
+    }
+
+    @Test
+    void testClose_DrainsPendingMessages() {
+        NotificationService delegate = mock(NotificationService.class);
+        OutboxNotificationService outbox = new OutboxNotificationService(delegate);
+        for (int i = 0; i < 100; i++) {
+            outbox.sendEmail("student" + i + "@test.com", "Subject", "Body");
+        }
+        outbox.close();
+
+        assertEquals(0, outbox.pendingCount());
+        verify(delegate, times(100)).sendEmail(anyString(), eq("Subject"), eq("Body"));
+        assertThrows(IllegalStateException.class, () -> outbox.sendEmail("a@test.com", "S", "B"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test dan stress test untuk SeatLedger
+ */
+public class SeatLedgerTest {
+
+    private Course course(int capacity, int enrolled) {
+        return new Course("CS101", "Intro to Programming", 3, capacity, enrolled, "Dr. A");
+    }
+
+    @Test
+    void testTryReserve_StopsAtCapacity() {
+        SeatLedger ledger = new SeatLedger();
+        Course course = course(2, 1);
+
+        assertTrue(ledger.tryReserve(course));
+        assertFalse(ledger.tryReserve(course));
+        assertTrue(ledger.isFull(course));
+        assertEquals(2, ledger.enrolledCount(course));
+    }
+
+    @Test
+    void testRelease_NeverBelowZero() {
+        SeatLedger ledger = new SeatLedger();
+        Course course = course(5, 0);
+
+        assertFalse(ledger.release(course));
+        assertEquals(0, ledger.enrolledCount(course));
+    }
+
+    @Test
+    void testPublish_WritesCounterToRepository() {
+        SeatLedger ledger = new SeatLedger();
+        CourseRepository repository = mock(CourseRepository.class);
+        Course course = course(5, 3);
+
+        ledger.tryReserve(course);
+        ledger.publish(course, repository);
+
+        assertEquals(4, course.getEnrolledCount());
+        verify(repository).update(course);
+    }
+
+    @Test
+    void testInvalidate_ReseedsFromCourse() {
+        SeatLedger ledger = new SeatLedger();
+        Course course = course(5, 3);
+        ledger.tryReserve(course);
+
+        course.setEnrolledCount(1);
+        ledger.invalidate("CS101");
+
+        assertEquals(1, ledger.enrolledCount(course));
+    }
+
+    @Test
+    void testConcurrentReserve_NoOversell() throws Exception {
+        int capacity = 500;
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        int attemptsPerThread = 2_000;
+
+        SeatLedger ledger = new SeatLedger();
+        CourseRepository repository = mock(CourseRepository.class);
+        Course course = course(capacity, 0);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int won = 0;
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (ledger.tryReserve(course)) {
+                        won++;
+                        ledger.publish(course, repository);
+                    }
+                }
+                return won;
+            }));
+        }
+        start.countDown();
+
+        int totalWon = 0;
+        for (Future<Integer> result : results) {
+            totalWon += result.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(capacity, totalWon);
+        assertEquals(capacity, ledger.enrolledCount(course));
+        assertEquals(capacity, course.getEnrolledCount());
+    }
+}
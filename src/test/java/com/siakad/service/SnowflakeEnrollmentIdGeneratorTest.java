@@ -0,0 +1,123 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk SnowflakeEnrollmentIdGenerator
+ */
+public class SnowflakeEnrollmentIdGeneratorTest {
+
+    private static final long NOW = SnowflakeEnrollmentIdGenerator.EPOCH + 1_000_000L;
+
+    @Test
+    void testNextId_IncreasingWithinThread() {
+        SnowflakeEnrollmentIdGenerator generator = new SnowflakeEnrollmentIdGenerator(1, 8, () -> NOW);
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void testNextId_EncodesTimestamp() {
+        SnowflakeEnrollmentIdGenerator generator = new SnowflakeEnrollmentIdGenerator(5, 8, () -> NOW);
+        assertEquals(NOW, SnowflakeEnrollmentIdGenerator.timestampOf(generator.nextId()));
+    }
+
+    @Test
+    void testNextId_BorrowsNextMillisecondWhenSequenceExhausted() {
+        SnowflakeEnrollmentIdGenerator generator = new SnowflakeEnrollmentIdGenerator(0, 4096, () -> NOW);
+        for (int i = 0; i < 4096; i++) {
+            generator.nextId();
+        }
+        assertEquals(NOW + 1, SnowflakeEnrollmentIdGenerator.timestampOf(generator.nextId()));
+    }
+
+    @Test
+    void testNextId_VirtualThreadDoesNotReserveBlock() throws Exception {
+        SnowflakeEnrollmentIdGenerator generator = new SnowflakeEnrollmentIdGenerator(0, 64, () -> NOW);
+        long[] fromVirtual = new long[1];
+        Thread thread = Thread.ofVirtual().start(() -> fromVirtual[0] = generator.nextId());
+        thread.join();
+
+        // A block of 64 would have pushed this ID 64 sequences further
+        assertEquals(fromVirtual[0] + 1, generator.nextId());
+    }
+
+    @Test
+    void testNextId_NodesDoNotCollide() {
+        SnowflakeEnrollmentIdGenerator a = new SnowflakeEnrollmentIdGenerator(1, 8, () -> NOW);
+        SnowflakeEnrollmentIdGenerator b = new SnowflakeEnrollmentIdGenerator(2, 8, () -> NOW);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(ids.add(a.nextId()));
+            assertTrue(ids.add(b.nextId()));
+        }
+    }
+
+    @Test
+    void testNextId_UniqueAcrossThreads() throws Exception {
+        SnowflakeEnrollmentIdGenerator generator = new SnowflakeEnrollmentIdGenerator(0);
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                long[] ids = new long[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    ids[i] = generator.nextId();
+                }
+                return ids;
+            }));
+        }
+
+        Set<Long> all = new HashSet<>();
+        for (Future<long[]> result : results) {
+            for (long id : result.get(30, TimeUnit.SECONDS)) {
+                assertTrue(all.add(id), "Duplicate ID: " + id);
+            }
+        }
+        pool.shutdown();
+        assertEquals(threads * perThread, all.size());
+    }
+
+    @Test
+    void testFormat_CompactString() {
+        EnrollmentIdGenerator generator = new SnowflakeEnrollmentIdGenerator(0);
+        assertEquals("ENR-ZZ", generator.format(36 * 36 - 1));
+        assertTrue(generator.nextIdString().startsWith("ENR-"));
+    }
+
+    @Test
+    void testShared_OneGeneratorForEveryService() {
+        assertSame(SnowflakeEnrollmentIdGenerator.shared(), SnowflakeEnrollmentIdGenerator.shared());
+    }
+
+    @Test
+    void testParseNodeId_FromConfiguration() {
+        assertEquals(0, SnowflakeEnrollmentIdGenerator.parseNodeId(null));
+        assertEquals(17, SnowflakeEnrollmentIdGenerator.parseNodeId(" 17 "));
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeEnrollmentIdGenerator.parseNodeId("node-1"));
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeEnrollmentIdGenerator.parseNodeId("1024"));
+    }
+
+    @Test
+    void testConstructor_InvalidNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeEnrollmentIdGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeEnrollmentIdGenerator(-1));
+    }
+}